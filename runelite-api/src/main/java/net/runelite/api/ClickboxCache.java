@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.geometry.RectangleUnion;
+
+/**
+ * Clickboxes computed during the current frame, along with the scratch buffers used to compute them.
+ * Several overlays often highlight the same object, and each asks for its clickbox every frame.
+ * <p>
+ * Entries are keyed by model identity, a hash of the model's vertices, orientation and position, and the
+ * whole cache is dropped as soon as the game cycle or any part of the camera changes. The vertex hash is
+ * needed because the client shares one model instance between animated actors, posing it for each in turn. Instances are not thread safe;
+ * {@link Perspective} keeps one per thread.
+ */
+final class ClickboxCache
+{
+	private static final int CAPACITY = 1024; // must be a power of two
+	private static final int MAX_ENTRIES = CAPACITY * 3 / 4;
+	// stored for models which have no clickbox, so that null can mean an empty slot
+	private static final Shape NONE = new Path2D.Float();
+
+	// scratch space for Perspective.getClickbox
+	final float[] aabbX = new float[8];
+	final float[] aabbY = new float[8];
+	final float[] aabbZ = new float[8];
+	final int[] aabbX2d = new int[8];
+	final int[] aabbY2d = new int[8];
+	int[] vertexX2d = new int[0];
+	int[] vertexY2d = new int[0];
+	final List<RectangleUnion.Rectangle> rects = new ArrayList<>();
+
+	private final Model[] models = new Model[CAPACITY];
+	private final long[] vertexHashes = new long[CAPACITY];
+	private final int[] orientations = new int[CAPACITY];
+	private final int[] xs = new int[CAPACITY];
+	private final int[] ys = new int[CAPACITY];
+	private final int[] zs = new int[CAPACITY];
+	private final Shape[] shapes = new Shape[CAPACITY];
+	private int size;
+
+	// the frame the entries were computed for
+	private int gameCycle;
+	private boolean gpu;
+	private int cameraX, cameraY, cameraZ, cameraPitch, cameraYaw;
+	private double cameraFpX, cameraFpY, cameraFpZ, cameraFpPitch, cameraFpYaw;
+	private int scale;
+	private int viewportX, viewportY, viewportWidth, viewportHeight;
+
+	Shape getClickbox(Client client, WorldView wv, Model model, int orientation, int x, int y, int z)
+	{
+		checkFrame(client);
+
+		final long vertexHash = vertexHash(model);
+		int hash = System.identityHashCode(model);
+		hash = hash * 31 + (int) (vertexHash ^ vertexHash >>> 32);
+		hash = hash * 31 + orientation;
+		hash = hash * 31 + x;
+		hash = hash * 31 + y;
+		hash = hash * 31 + z;
+		hash ^= hash >>> 16;
+
+		int slot = hash & (CAPACITY - 1);
+		for (Model m; (m = models[slot]) != null; slot = (slot + 1) & (CAPACITY - 1))
+		{
+			if (m == model && vertexHashes[slot] == vertexHash && orientations[slot] == orientation && xs[slot] == x && ys[slot] == y && zs[slot] == z)
+			{
+				Shape shape = shapes[slot];
+				return shape == NONE ? null : shape;
+			}
+		}
+
+		Shape shape = Perspective.computeClickbox(client, wv, model, orientation, x, y, z, this);
+		if (size < MAX_ENTRIES)
+		{
+			models[slot] = model;
+			vertexHashes[slot] = vertexHash;
+			orientations[slot] = orientation;
+			xs[slot] = x;
+			ys[slot] = y;
+			zs[slot] = z;
+			shapes[slot] = shape == null ? NONE : shape;
+			++size;
+		}
+		return shape;
+	}
+
+	private static long vertexHash(Model model)
+	{
+		final int count = model.getVerticesCount();
+		final float[] verticesX = model.getVerticesX();
+		final float[] verticesY = model.getVerticesY();
+		final float[] verticesZ = model.getVerticesZ();
+		long hash = count;
+		for (int i = 0; i < count; ++i)
+		{
+			hash = hash * 0x9E3779B97F4A7C15L + Float.floatToRawIntBits(verticesX[i]);
+			hash = hash * 0x9E3779B97F4A7C15L + Float.floatToRawIntBits(verticesY[i]);
+			hash = hash * 0x9E3779B97F4A7C15L + Float.floatToRawIntBits(verticesZ[i]);
+		}
+		return hash;
+	}
+
+	private void checkFrame(Client client)
+	{
+		final int gameCycle = client.getGameCycle();
+		final boolean gpu = client.isGpu();
+		final int cameraX = client.getCameraX(), cameraY = client.getCameraY(), cameraZ = client.getCameraZ();
+		final int cameraPitch = client.getCameraPitch(), cameraYaw = client.getCameraYaw();
+		final double cameraFpX = client.getCameraFpX(), cameraFpY = client.getCameraFpY(), cameraFpZ = client.getCameraFpZ();
+		final double cameraFpPitch = client.getCameraFpPitch(), cameraFpYaw = client.getCameraFpYaw();
+		final int scale = client.getScale();
+		final int viewportX = client.getViewportXOffset(), viewportY = client.getViewportYOffset();
+		final int viewportWidth = client.getViewportWidth(), viewportHeight = client.getViewportHeight();
+
+		if (gameCycle == this.gameCycle && gpu == this.gpu
+			&& cameraX == this.cameraX && cameraY == this.cameraY && cameraZ == this.cameraZ
+			&& cameraPitch == this.cameraPitch && cameraYaw == this.cameraYaw
+			&& cameraFpX == this.cameraFpX && cameraFpY == this.cameraFpY && cameraFpZ == this.cameraFpZ
+			&& cameraFpPitch == this.cameraFpPitch && cameraFpYaw == this.cameraFpYaw
+			&& scale == this.scale
+			&& viewportX == this.viewportX && viewportY == this.viewportY
+			&& viewportWidth == this.viewportWidth && viewportHeight == this.viewportHeight)
+		{
+			return;
+		}
+
+		this.gameCycle = gameCycle;
+		this.gpu = gpu;
+		this.cameraX = cameraX;
+		this.cameraY = cameraY;
+		this.cameraZ = cameraZ;
+		this.cameraPitch = cameraPitch;
+		this.cameraYaw = cameraYaw;
+		this.cameraFpX = cameraFpX;
+		this.cameraFpY = cameraFpY;
+		this.cameraFpZ = cameraFpZ;
+		this.cameraFpPitch = cameraFpPitch;
+		this.cameraFpYaw = cameraFpYaw;
+		this.scale = scale;
+		this.viewportX = viewportX;
+		this.viewportY = viewportY;
+		this.viewportWidth = viewportWidth;
+		this.viewportHeight = viewportHeight;
+
+		if (size > 0)
+		{
+			// also drops the references to last frame's models
+			Arrays.fill(models, null);
+			Arrays.fill(shapes, null);
+			size = 0;
+		}
+	}
+
+	/**
+	 * Grow the projected vertex buffers to hold at least {@code count} vertices
+	 */
+	void ensureVertexCapacity(int count)
+	{
+		if (vertexX2d.length < count)
+		{
+			int capacity = Math.max(count, vertexX2d.length * 2);
+			vertexX2d = new int[capacity];
+			vertexY2d = new int[capacity];
+		}
+	}
+}
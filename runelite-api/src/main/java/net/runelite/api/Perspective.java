@@ -30,7 +30,6 @@ import java.awt.Polygon;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
@@ -69,6 +68,12 @@ public class Perspective
 
 	private static final int ESCENE_OFFSET = (Constants.EXTENDED_SCENE_SIZE - Constants.SCENE_SIZE) / 2;
 
+	private static final ThreadLocal<ClickboxCache> CLICKBOX_CACHE = ThreadLocal.withInitial(ClickboxCache::new);
+
+	// vertices are projected in blocks of this many, through per-thread buffers
+	private static final int PROJECTION_BLOCK = 256;
+	private static final ThreadLocal<float[][]> PROJECTION_SCRATCH = ThreadLocal.withInitial(() -> new float[4][PROJECTION_BLOCK]);
+
 	static
 	{
 		for (int i = 0; i < 2048; ++i)
@@ -382,44 +387,38 @@ public class Perspective
 
 			zoom3d = client.getScale();
 
-		for (int i = 0; i < end; i++)
+		final float[][] scratch = PROJECTION_SCRATCH.get();
+		final float[] screenXs = scratch[0], screenYs = scratch[1], depths = scratch[2], tmp = scratch[3];
+
+		for (int offset = 0; offset < end; offset += PROJECTION_BLOCK)
 		{
-			float x = x3d[i];
-			float y = y3d[i];
-			float z = z3d[i];
+			final int count = Math.min(PROJECTION_BLOCK, end - offset);
+			projectBlock(x3d, y3d, z3d, offset, count, rotate, rotateSin, rotateCos, cx, cy, cz,
+				yawSin, yawCos, pitchSin, pitchCos, zoom3d, screenXs, screenYs, depths, tmp);
 
-			if (rotate != 0)
+			for (int i = 0; i < count; i++)
 			{
-				float x0 = x;
-				x = x0 * rotateCos + y * rotateSin;
-				y = y * rotateCos - x0 * rotateSin;
-			}
-
-			x += cx;
-			y += cy;
-			z += cz;
+				final float
+					screenX = screenXs[i],
+					screenY = screenYs[i],
+					depth = depths[i];
 
-			final float
-				x1 = x * yawCos + y * yawSin,
-				y1 = y * yawCos - x * yawSin,
-				y2 = z * pitchCos - y1 * pitchSin,
-				z1 = y1 * pitchCos + z * pitchSin;
+				int viewX, viewY;
 
-			int viewX, viewY;
+				if (depth < 50)
+				{
+					viewX = Integer.MIN_VALUE;
+					viewY = Integer.MIN_VALUE;
+				}
+				else
+				{
+					viewX = Math.round((viewportXMiddle + screenX) + viewportXOffset);
+					viewY = Math.round((viewportYMiddle + screenY) + viewportYOffset);
+				}
 
-			if (z1 < 50)
-			{
-				viewX = Integer.MIN_VALUE;
-				viewY = Integer.MIN_VALUE;
-			}
-			else
-			{
-				viewX = Math.round((viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset);
-				viewY = Math.round((viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset);
+				x2d[offset + i] = viewX;
+				y2d[offset + i] = viewY;
 			}
-
-			x2d[i] = viewX;
-			y2d[i] = viewY;
 		}
 	}
 
@@ -449,44 +448,104 @@ public class Perspective
 
 			zoom3d = client.getScale();
 
-		for (int i = 0; i < end; i++)
+		final float[][] scratch = PROJECTION_SCRATCH.get();
+		final float[] screenXs = scratch[0], screenYs = scratch[1], depths = scratch[2], tmp = scratch[3];
+
+		for (int offset = 0; offset < end; offset += PROJECTION_BLOCK)
 		{
-			float x = x3d[i];
-			float y = y3d[i];
-			float z = z3d[i];
+			final int count = Math.min(PROJECTION_BLOCK, end - offset);
+			projectBlock(x3d, y3d, z3d, offset, count, rotate, rotateSin, rotateCos, cx, cy, cz,
+				yawSin, yawCos, pitchSin, pitchCos, zoom3d, screenXs, screenYs, depths, tmp);
 
-			if (rotate != 0)
+			for (int i = 0; i < count; i++)
 			{
-				float x0 = x;
-				x = x0 * rotateCos + y * rotateSin;
-				y = y * rotateCos - x0 * rotateSin;
-			}
+				final float
+					screenX = screenXs[i],
+					screenY = screenYs[i],
+					depth = depths[i];
 
-			x += cx;
-			y += cy;
-			z += cz;
+				int viewX, viewY;
 
-			final float
-				x1 = x * yawCos + y * yawSin,
-				y1 = y * yawCos - x * yawSin,
-				y2 = z * pitchCos - y1 * pitchSin,
-				z1 = y1 * pitchCos + z * pitchSin;
+				if (depth < 50)
+				{
+					viewX = Integer.MIN_VALUE;
+					viewY = Integer.MIN_VALUE;
+				}
+				else
+				{
+					viewX = (int) (viewportXMiddle + screenX) + viewportXOffset;
+					viewY = (int) (viewportYMiddle + screenY) + viewportYOffset;
+				}
 
-			int viewX, viewY;
+				x2d[offset + i] = viewX;
+				y2d[offset + i] = viewY;
+			}
+		}
+	}
 
-			if (z1 < 50)
+	/**
+	 * Rotate a block of model vertices, move them relative to the camera, and perspective divide them.
+	 * The screen offsets from the middle of the viewport and the depth of each vertex are stored in
+	 * {@code outX}, {@code outY} and {@code outZ}, and {@code tmp} is clobbered.
+	 * <p>
+	 * Each pass is a single line of float math writing one array at the same index it reads, which
+	 * is the shape the JIT will vectorize. Every operation is done in the same order as the
+	 * per-vertex projection used to, so the results are identical.
+	 */
+	private static void projectBlock(float[] x3d, float[] y3d, float[] z3d, int offset, int count,
+		int rotate, float rotateSin, float rotateCos, float cx, float cy, float cz,
+		float yawSin, float yawCos, float pitchSin, float pitchCos, float zoom3d,
+		float[] outX, float[] outY, float[] outZ, float[] tmp)
+	{
+		System.arraycopy(x3d, offset, outX, 0, count);
+		System.arraycopy(y3d, offset, outY, 0, count);
+		System.arraycopy(z3d, offset, outZ, 0, count);
+
+		float[] x = outX, free = tmp;
+		if (rotate != 0)
+		{
+			for (int i = 0; i < count; i++)
 			{
-				viewX = Integer.MIN_VALUE;
-				viewY = Integer.MIN_VALUE;
+				tmp[i] = outX[i] * rotateCos + outY[i] * rotateSin;
 			}
-			else
+			for (int i = 0; i < count; i++)
 			{
-				viewX = (int) (viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset;
-				viewY = (int) (viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset;
+				outY[i] = outY[i] * rotateCos - outX[i] * rotateSin;
 			}
+			x = tmp;
+			free = outX;
+		}
 
-			x2d[i] = viewX;
-			y2d[i] = viewY;
+		// yaw, into x1 and y1
+		final float[] x1 = free;
+		for (int i = 0; i < count; i++)
+		{
+			x1[i] = (x[i] + cx) * yawCos + (outY[i] + cy) * yawSin;
+		}
+		for (int i = 0; i < count; i++)
+		{
+			outY[i] = (outY[i] + cy) * yawCos - (x[i] + cx) * yawSin;
+		}
+
+		// pitch, into y2 and z1. x is no longer needed
+		final float[] y2 = x;
+		for (int i = 0; i < count; i++)
+		{
+			y2[i] = (outZ[i] + cz) * pitchCos - outY[i] * pitchSin;
+		}
+		for (int i = 0; i < count; i++)
+		{
+			outZ[i] = outY[i] * pitchCos + (outZ[i] + cz) * pitchSin;
+		}
+
+		// y2 may live in outX, so it is divided first
+		for (int i = 0; i < count; i++)
+		{
+			outY[i] = y2[i] * zoom3d / outZ[i];
+		}
+		for (int i = 0; i < count; i++)
+		{
+			outX[i] = x1[i] * zoom3d / outZ[i];
 		}
 	}
 
@@ -978,7 +1037,19 @@ public class Perspective
 			return null;
 		}
 
-		SimplePolygon bounds = calculateAABB(client, wv, model, orientation, x, y, z);
+		final ClickboxCache cache = CLICKBOX_CACHE.get();
+		if (!wv.isTopLevel())
+		{
+			// the projection of other worldviews moves with them, so these are not cached
+			return computeClickbox(client, wv, model, orientation, x, y, z, cache);
+		}
+
+		return cache.getClickbox(client, wv, model, orientation, x, y, z);
+	}
+
+	static Shape computeClickbox(Client client, WorldView wv, Model model, int orientation, int x, int y, int z, ClickboxCache scratch)
+	{
+		SimplePolygon bounds = calculateAABB(client, wv, model, orientation, x, y, z, scratch);
 		if (bounds == null)
 		{
 			return null;
@@ -989,7 +1060,7 @@ public class Perspective
 			return bounds;
 		}
 
-		Shapes<SimplePolygon> bounds2d = calculate2DBounds(client, wv, model, orientation, x, y, z);
+		Shapes<SimplePolygon> bounds2d = calculate2DBounds(client, wv, model, orientation, x, y, z, scratch);
 		if (bounds2d == null)
 		{
 			return null;
@@ -1003,7 +1074,7 @@ public class Perspective
 		return bounds2d;
 	}
 
-	private static SimplePolygon calculateAABB(Client client, WorldView wv, Model m, int jauOrient, int x, int y, int z)
+	private static SimplePolygon calculateAABB(Client client, WorldView wv, Model m, int jauOrient, int x, int y, int z, ClickboxCache scratch)
 	{
 		AABB aabb = m.getAABB(jauOrient);
 
@@ -1023,31 +1094,30 @@ public class Perspective
 		y1 -= ey;
 		z1 -= ez;
 
-		float[] xa = new float[]{
-			x1, x2, x1, x2,
-			x1, x2, x1, x2
-		};
-		float[] ya = new float[]{
-			y1, y1, y2, y2,
-			y1, y1, y2, y2
-		};
-		float[] za = new float[]{
-			z1, z1, z1, z1,
-			z2, z2, z2, z2
-		};
-
-		int[] x2d = new int[8];
-		int[] y2d = new int[8];
+		// the eight corners of the box
+		final float[] xa = scratch.aabbX;
+		final float[] ya = scratch.aabbY;
+		final float[] za = scratch.aabbZ;
+		for (int i = 0; i < 8; i++)
+		{
+			xa[i] = (i & 1) == 0 ? x1 : x2;
+			ya[i] = (i & 2) == 0 ? y1 : y2;
+			za[i] = (i & 4) == 0 ? z1 : z2;
+		}
+
+		final int[] x2d = scratch.aabbX2d;
+		final int[] y2d = scratch.aabbY2d;
 
 		modelToCanvas(client, wv, 8, x, y, z, 0, xa, ya, za, x2d, y2d);
 
 		return Jarvis.convexHull(x2d, y2d);
 	}
 
-	private static Shapes<SimplePolygon> calculate2DBounds(Client client, WorldView wv, Model m, int jauOrient, int x, int y, int z)
+	private static Shapes<SimplePolygon> calculate2DBounds(Client client, WorldView wv, Model m, int jauOrient, int x, int y, int z, ClickboxCache scratch)
 	{
-		int[] x2d = new int[m.getVerticesCount()];
-		int[] y2d = new int[m.getVerticesCount()];
+		scratch.ensureVertexCapacity(m.getVerticesCount());
+		final int[] x2d = scratch.vertexX2d;
+		final int[] y2d = scratch.vertexY2d;
 		final int[] faceColors3 = m.getFaceColors3();
 
 		Perspective.modelToCanvas(client, wv,
@@ -1059,78 +1129,65 @@ public class Perspective
 
 		final int radius = 5;
 
-		int[][] tris = new int[][]{
-			m.getFaceIndices1(),
-			m.getFaceIndices2(),
-			m.getFaceIndices3()
-		};
+		final int[] indices1 = m.getFaceIndices1();
+		final int[] indices2 = m.getFaceIndices2();
+		final int[] indices3 = m.getFaceIndices3();
 
 		int vpX1 = client.getViewportXOffset();
 		int vpY1 = client.getViewportXOffset();
 		int vpX2 = vpX1 + client.getViewportWidth();
 		int vpY2 = vpY1 + client.getViewportHeight();
 
-		List<RectangleUnion.Rectangle> rects = new ArrayList<>(m.getFaceCount());
+		final List<RectangleUnion.Rectangle> rects = scratch.rects;
+		rects.clear();
 
-		nextTri:
-		for (int tri = 0; tri < m.getFaceCount(); tri++)
+		int lastMinX = 0, lastMinY = 0, lastMaxX = -1, lastMaxY = -1;
+		final int faceCount = m.getFaceCount();
+		for (int tri = 0; tri < faceCount; tri++)
 		{
 			if (faceColors3[tri] == -2)
 			{
 				continue;
 			}
 
-			int
-				minX = Integer.MAX_VALUE,
-				minY = Integer.MAX_VALUE,
-				maxX = Integer.MIN_VALUE,
-				maxY = Integer.MIN_VALUE;
+			final int xa = x2d[indices1[tri]], ya = y2d[indices1[tri]];
+			final int xb = x2d[indices2[tri]], yb = y2d[indices2[tri]];
+			final int xc = x2d[indices3[tri]], yc = y2d[indices3[tri]];
 
-			for (int[] vertex : tris)
+			if (xa == Integer.MIN_VALUE || ya == Integer.MIN_VALUE
+				|| xb == Integer.MIN_VALUE || yb == Integer.MIN_VALUE
+				|| xc == Integer.MIN_VALUE || yc == Integer.MIN_VALUE)
 			{
-				final int idx = vertex[tri];
-				final int xs = x2d[idx];
-				final int ys = y2d[idx];
-
-				if (xs == Integer.MIN_VALUE || ys == Integer.MIN_VALUE)
-				{
-					continue nextTri;
-				}
-
-				if (xs < minX)
-				{
-					minX = xs;
-				}
-				if (xs > maxX)
-				{
-					maxX = xs;
-				}
-				if (ys < minY)
-				{
-					minY = ys;
-				}
-				if (ys > maxY)
-				{
-					maxY = ys;
-				}
+				continue;
 			}
 
-			minX -= radius;
-			minY -= radius;
-			maxX += radius;
-			maxY += radius;
+			final int minX = Math.min(xa, Math.min(xb, xc)) - radius;
+			final int minY = Math.min(ya, Math.min(yb, yc)) - radius;
+			final int maxX = Math.max(xa, Math.max(xb, xc)) + radius;
+			final int maxY = Math.max(ya, Math.max(yb, yc)) + radius;
 
 			if (vpX1 > maxX || vpX2 < minX || vpY1 > maxY || vpY2 < minY)
 			{
 				continue;
 			}
 
-			RectangleUnion.Rectangle r = new RectangleUnion.Rectangle(minX, minY, maxX, maxY);
+			// neighbouring faces often fall inside the previous face's padded bounds, and dropping
+			// them here leaves the union unchanged but saves it a lot of work
+			if (minX >= lastMinX && minY >= lastMinY && maxX <= lastMaxX && maxY <= lastMaxY)
+			{
+				continue;
+			}
 
-			rects.add(r);
+			rects.add(new RectangleUnion.Rectangle(minX, minY, maxX, maxY));
+			lastMinX = minX;
+			lastMinY = minY;
+			lastMaxX = maxX;
+			lastMaxY = maxY;
 		}
 
-		return RectangleUnion.union(rects);
+		final Shapes<SimplePolygon> union = RectangleUnion.union(rects);
+		rects.clear();
+		return union;
 	}
 
 	/**
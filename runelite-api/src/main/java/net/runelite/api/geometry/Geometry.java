@@ -29,6 +29,7 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.BiPredicate;
@@ -451,4 +452,152 @@ public class Geometry
 	{
 		return clipPath(path.getPathIterator(new AffineTransform()), shape);
 	}
+
+	/**
+	 * Collects the lines of a path into a flat array of line endpoints, with four
+	 * floats (x1, y1, x2, y2) per line. Closing a sub path adds the line back to its start.
+	 * Working on the array avoids building a new path for every step of processing.
+	 *
+	 * @param it The iterator of the path to collect the lines of.
+	 * @return The line endpoints.
+	 */
+	public static float[] toLineArray(PathIterator it)
+	{
+		float[] lines = new float[64];
+		int length = 0;
+		float[] coords = new float[2];
+		float prevX = 0;
+		float prevY = 0;
+		float startX = 0;
+		float startY = 0;
+		while (!it.isDone())
+		{
+			int type = it.currentSegment(coords);
+			if (type == PathIterator.SEG_MOVETO)
+			{
+				startX = prevX = coords[0];
+				startY = prevY = coords[1];
+			}
+			else if (type == PathIterator.SEG_LINETO || type == PathIterator.SEG_CLOSE)
+			{
+				float x = type == PathIterator.SEG_CLOSE ? startX : coords[0];
+				float y = type == PathIterator.SEG_CLOSE ? startY : coords[1];
+				if (type == PathIterator.SEG_LINETO || x != prevX || y != prevY)
+				{
+					if (length + 4 > lines.length)
+					{
+						lines = Arrays.copyOf(lines, lines.length * 2);
+					}
+					lines[length++] = prevX;
+					lines[length++] = prevY;
+					lines[length++] = x;
+					lines[length++] = y;
+				}
+				prevX = x;
+				prevY = y;
+			}
+			it.next();
+		}
+
+		return Arrays.copyOf(lines, length);
+	}
+
+	/**
+	 * Collects the lines of a path into a flat array of line endpoints, with four
+	 * floats (x1, y1, x2, y2) per line. Closing a sub path adds the line back to its start.
+	 *
+	 * @param path The path to collect the lines of.
+	 * @return The line endpoints.
+	 */
+	public static float[] toLineArray(GeneralPath path)
+	{
+		return toLineArray(path.getPathIterator(new AffineTransform()));
+	}
+
+	/**
+	 * Cuts a line so it lies within a rectangle.
+	 *
+	 * @param lines An array of line endpoints, as returned by {@link #toLineArray(PathIterator)}.
+	 * @param offset The index of the first coordinate of the line in the array.
+	 * @param minX The smallest x coordinate of the rectangle.
+	 * @param minY The smallest y coordinate of the rectangle.
+	 * @param maxX The largest x coordinate of the rectangle.
+	 * @param maxY The largest y coordinate of the rectangle.
+	 * @param out A float[4] array the endpoints of the clipped line are written to.
+	 * @return False if no part of the line is within the rectangle, otherwise true.
+	 */
+	public static boolean clipLine(float[] lines, int offset,
+		float minX, float minY, float maxX, float maxY, float[] out)
+	{
+		// https://en.wikipedia.org/wiki/Liang%E2%80%93Barsky_algorithm
+		final float x1 = lines[offset];
+		final float y1 = lines[offset + 1];
+		final float x2 = lines[offset + 2];
+		final float y2 = lines[offset + 3];
+		final float dx = x2 - x1;
+		final float dy = y2 - y1;
+
+		float t0 = 0;
+		float t1 = 1;
+		for (int edge = 0; edge < 4; edge++)
+		{
+			final float p;
+			final float q;
+			switch (edge)
+			{
+				case 0:
+					p = -dx;
+					q = x1 - minX;
+					break;
+				case 1:
+					p = dx;
+					q = maxX - x1;
+					break;
+				case 2:
+					p = -dy;
+					q = y1 - minY;
+					break;
+				default:
+					p = dy;
+					q = maxY - y1;
+					break;
+			}
+
+			if (p == 0)
+			{
+				if (q < 0)
+				{
+					// Parallel to and outside of this edge
+					return false;
+				}
+			}
+			else
+			{
+				final float t = q / p;
+				if (p < 0)
+				{
+					if (t > t1)
+					{
+						return false;
+					}
+					t0 = Math.max(t0, t);
+				}
+				else
+				{
+					if (t < t0)
+					{
+						return false;
+					}
+					t1 = Math.min(t1, t);
+				}
+			}
+		}
+
+		// Keep unclipped endpoints exact
+		out[0] = t0 == 0 ? x1 : x1 + t0 * dx;
+		out[1] = t0 == 0 ? y1 : y1 + t0 * dy;
+		out[2] = t1 == 1 ? x2 : x1 + t1 * dx;
+		out[3] = t1 == 1 ? y2 : y1 + t1 * dy;
+		return true;
+	}
 }
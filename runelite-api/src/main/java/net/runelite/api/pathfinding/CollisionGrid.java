@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.Arrays;
+import lombok.Getter;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+
+/**
+ * A rectangular grid of collision flags, stored row-major in a flat array,
+ * together with the moves a 1x1 actor can make out of each tile.
+ * <p>
+ * The move rules are the same as {@link net.runelite.api.coords.WorldArea#canTravelInDirection}:
+ * a cardinal step checks the wall on the near side of the destination, and a diagonal
+ * step additionally needs both of the cardinal steps it cuts across to be open.
+ */
+public class CollisionGrid
+{
+	/**
+	 * Step directions, in the order the game's own pathfinder expands them.
+	 */
+	public static final int WEST = 0;
+	public static final int EAST = 1;
+	public static final int SOUTH = 2;
+	public static final int NORTH = 3;
+	public static final int SOUTH_WEST = 4;
+	public static final int SOUTH_EAST = 5;
+	public static final int NORTH_WEST = 6;
+	public static final int NORTH_EAST = 7;
+
+	static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+	static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+	@Getter
+	private final int width;
+
+	@Getter
+	private final int height;
+
+	private final int[] flags;
+
+	/**
+	 * Bit d is set when a step in direction d out of the tile is allowed.
+	 */
+	private final byte[] moves;
+
+	/**
+	 * Scratch state for {@link #update(int[][])}, marking tiles already
+	 * collected in the current call.
+	 */
+	private final int[] stamp;
+	private int stampId;
+
+	public CollisionGrid(int width, int height)
+	{
+		this(width, height, new int[Math.max(width, 0) * Math.max(height, 0)]);
+	}
+
+	private CollisionGrid(int width, int height, int[] flags)
+	{
+		if (width <= 0 || height <= 0)
+		{
+			throw new IllegalArgumentException("invalid grid size " + width + "x" + height);
+		}
+
+		this.width = width;
+		this.height = height;
+		this.flags = flags;
+		this.moves = new byte[flags.length];
+		this.stamp = new int[flags.length];
+		for (int i = 0; i < moves.length; ++i)
+		{
+			moves[i] = computeMoves(i % width, i / width);
+		}
+	}
+
+	/**
+	 * Creates a grid from flags indexed [x][y], as returned by {@link CollisionData#getFlags()}.
+	 */
+	public static CollisionGrid fromFlags(int[][] flags)
+	{
+		int width = flags.length;
+		int height = width == 0 ? 0 : flags[0].length;
+		int[] grid = new int[width * height];
+		for (int x = 0; x < width; ++x)
+		{
+			int[] column = flags[x];
+			for (int y = 0; y < height; ++y)
+			{
+				grid[x + y * width] = column[y];
+			}
+		}
+		return new CollisionGrid(width, height, grid);
+	}
+
+	public int index(int x, int y)
+	{
+		return x + y * width;
+	}
+
+	public boolean contains(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	public int getFlags(int x, int y)
+	{
+		return flags[index(x, y)];
+	}
+
+	/**
+	 * Tests whether a 1x1 actor can step from the tile in the given direction.
+	 */
+	public boolean canMove(int x, int y, int direction)
+	{
+		return contains(x, y) && (moves[index(x, y)] & (1 << direction)) != 0;
+	}
+
+	int getMoves(int index)
+	{
+		return moves[index] & 0xff;
+	}
+
+	/**
+	 * Changes the flags of a single tile.
+	 *
+	 * @return the indices of the tiles whose moves changed, possibly empty
+	 */
+	public int[] setFlags(int x, int y, int value)
+	{
+		int[] affected = new int[9];
+		int count = 0;
+		int index = index(x, y);
+		if (flags[index] != value)
+		{
+			flags[index] = value;
+			++stampId;
+			count = refreshAround(x, y, affected, 0);
+		}
+		return trim(affected, count);
+	}
+
+	/**
+	 * Replaces the flags of the grid with the given flags indexed [x][y], which must
+	 * be the same size as the grid. Only tiles next to a changed flag are recomputed.
+	 *
+	 * @return the indices of the tiles whose moves changed, possibly empty
+	 */
+	public int[] update(int[][] newFlags)
+	{
+		if (newFlags.length != width || newFlags[0].length != height)
+		{
+			throw new IllegalArgumentException("flags are " + newFlags.length + "x" + newFlags[0].length
+				+ ", grid is " + width + "x" + height);
+		}
+
+		int[] affected = null;
+		int count = 0;
+		++stampId;
+		for (int x = 0; x < width; ++x)
+		{
+			int[] column = newFlags[x];
+			for (int y = 0; y < height; ++y)
+			{
+				int index = x + y * width;
+				if (flags[index] == column[y])
+				{
+					continue;
+				}
+
+				flags[index] = column[y];
+				if (affected == null)
+				{
+					affected = new int[16];
+				}
+				else if (affected.length - count < 9)
+				{
+					affected = Arrays.copyOf(affected, affected.length * 2);
+				}
+				count = refreshAround(x, y, affected, count);
+			}
+		}
+		return affected == null ? new int[0] : trim(affected, count);
+	}
+
+	/**
+	 * Recomputes the moves of the tile and its eight neighbours, which are the only
+	 * tiles whose moves read the tile's flags.
+	 */
+	private int refreshAround(int x, int y, int[] affected, int count)
+	{
+		for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ++ny)
+		{
+			for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); ++nx)
+			{
+				int index = nx + ny * width;
+				byte m = computeMoves(nx, ny);
+				if (m != moves[index])
+				{
+					moves[index] = m;
+					if (stamp[index] != stampId)
+					{
+						stamp[index] = stampId;
+						affected[count++] = index;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	private byte computeMoves(int x, int y)
+	{
+		int m = 0;
+		for (int d = 0; d < 8; ++d)
+		{
+			if (allowed(x, y, DX[d], DY[d]))
+			{
+				m |= 1 << d;
+			}
+		}
+		return (byte) m;
+	}
+
+	private boolean allowed(int x, int y, int dx, int dy)
+	{
+		int nx = x + dx, ny = y + dy;
+		if (!contains(nx, ny))
+		{
+			return false;
+		}
+
+		int xFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int yFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int xyFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		if (dx < 0)
+		{
+			xFlags |= CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+		}
+		else if (dx > 0)
+		{
+			xFlags |= CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+		}
+		if (dy < 0)
+		{
+			yFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+		}
+		else if (dy > 0)
+		{
+			yFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+		}
+
+		if (dx == 0)
+		{
+			return (flags[nx + ny * width] & yFlags) == 0;
+		}
+		if (dy == 0)
+		{
+			return (flags[nx + ny * width] & xFlags) == 0;
+		}
+
+		if (dx < 0 && dy < 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+		}
+		else if (dx < 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+		}
+		else if (dy < 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+		}
+		else
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+		}
+
+		return (flags[nx + ny * width] & xyFlags) == 0
+			&& (flags[nx + y * width] & xFlags) == 0
+			&& (flags[x + ny * width] & yFlags) == 0;
+	}
+
+	private static int[] trim(int[] array, int length)
+	{
+		return array.length == length ? array : Arrays.copyOf(array, length);
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Walking distances from a set of source tiles to every tile of a {@link CollisionGrid},
+ * computed by breadth-first search.
+ * <p>
+ * The field keeps a reference to its grid; after the grid's flags change, pass the
+ * tiles it reports as affected to {@link #update(int[])} to bring the field up to date
+ * without searching the whole grid again.
+ */
+public class DistanceField
+{
+	public static final int UNREACHABLE = -1;
+
+	@Getter
+	private final CollisionGrid grid;
+
+	private final int[] sources;
+	private final int[] distance;
+	private final int[] queue;
+
+	/**
+	 * Number of tiles with a known distance, including the sources.
+	 */
+	@Getter
+	private int reachableCount;
+
+	private DistanceField(CollisionGrid grid, int[] sources)
+	{
+		this.grid = grid;
+		this.sources = sources;
+		this.distance = new int[grid.getWidth() * grid.getHeight()];
+		this.queue = new int[distance.length];
+		recompute();
+	}
+
+	/**
+	 * Computes the distances from a single tile.
+	 */
+	public static DistanceField compute(CollisionGrid grid, int x, int y)
+	{
+		if (!grid.contains(x, y))
+		{
+			throw new IllegalArgumentException("source " + x + "," + y + " is outside of the grid");
+		}
+		return new DistanceField(grid, new int[]{grid.index(x, y)});
+	}
+
+	/**
+	 * Computes the distance to the nearest of several tiles, given as grid indices.
+	 */
+	public static DistanceField compute(CollisionGrid grid, int[] sourceIndices)
+	{
+		int size = grid.getWidth() * grid.getHeight();
+		for (int index : sourceIndices)
+		{
+			if (index < 0 || index >= size)
+			{
+				throw new IllegalArgumentException("source index " + index + " is outside of the grid");
+			}
+		}
+		return new DistanceField(grid, sourceIndices.clone());
+	}
+
+	/**
+	 * @return the number of steps to the tile, or {@link #UNREACHABLE}
+	 */
+	public int getDistance(int x, int y)
+	{
+		return grid.contains(x, y) ? distance[grid.index(x, y)] : UNREACHABLE;
+	}
+
+	public boolean isReachable(int x, int y)
+	{
+		return getDistance(x, y) != UNREACHABLE;
+	}
+
+	/**
+	 * Builds a shortest path to the tile by walking the field back downhill.
+	 *
+	 * @return the grid indices of the tiles from a source to the target, both inclusive,
+	 * or null if the target can't be reached
+	 */
+	public int[] getPath(int x, int y)
+	{
+		int d = getDistance(x, y);
+		if (d == UNREACHABLE)
+		{
+			return null;
+		}
+
+		final int width = grid.getWidth();
+		int[] path = new int[d + 1];
+		int cx = x, cy = y;
+		path[d] = grid.index(x, y);
+		while (d > 0)
+		{
+			boolean stepped = false;
+			for (int dir = 0; dir < 8; ++dir)
+			{
+				int px = cx - CollisionGrid.DX[dir];
+				int py = cy - CollisionGrid.DY[dir];
+				if (!grid.contains(px, py))
+				{
+					continue;
+				}
+
+				int p = px + py * width;
+				if (distance[p] == d - 1 && (grid.getMoves(p) & (1 << dir)) != 0)
+				{
+					cx = px;
+					cy = py;
+					path[--d] = p;
+					stepped = true;
+					break;
+				}
+			}
+
+			if (!stepped)
+			{
+				throw new IllegalStateException("distance field is out of date with its grid");
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Searches the whole grid again from the sources.
+	 */
+	public void recompute()
+	{
+		Arrays.fill(distance, UNREACHABLE);
+		int tail = 0;
+		for (int s : sources)
+		{
+			if (distance[s] == UNREACHABLE)
+			{
+				distance[s] = 0;
+				queue[tail++] = s;
+			}
+		}
+		reachableCount = 0;
+		search(tail);
+	}
+
+	/**
+	 * Updates the field after the moves of the given tiles changed.
+	 * <p>
+	 * Let {@code min} be the smallest distance of any affected tile. Every tile within
+	 * {@code min} steps has a shortest path that only leaves unaffected tiles, so its
+	 * distance still holds; only the tiles further away are searched again, starting
+	 * from the ring at {@code min}.
+	 *
+	 * @param affected grid indices as returned by {@link CollisionGrid#update(int[][])}
+	 */
+	public void update(int[] affected)
+	{
+		int min = Integer.MAX_VALUE;
+		for (int index : affected)
+		{
+			int d = distance[index];
+			if (d != UNREACHABLE && d < min)
+			{
+				min = d;
+			}
+		}
+
+		if (min == Integer.MAX_VALUE)
+		{
+			// none of the changed moves start on a reachable tile
+			return;
+		}
+
+		int tail = 0;
+		int kept = 0;
+		for (int i = 0; i < distance.length; ++i)
+		{
+			int d = distance[i];
+			if (d > min)
+			{
+				distance[i] = UNREACHABLE;
+			}
+			else if (d == min)
+			{
+				queue[tail++] = i;
+			}
+			else if (d != UNREACHABLE)
+			{
+				++kept;
+			}
+		}
+		reachableCount = kept;
+		search(tail);
+	}
+
+	private void search(int tail)
+	{
+		final CollisionGrid grid = this.grid;
+		final int width = grid.getWidth();
+		final int[] distance = this.distance;
+		final int[] queue = this.queue;
+		int head = 0;
+		while (head < tail)
+		{
+			int index = queue[head++];
+			int moves = grid.getMoves(index);
+			int next = distance[index] + 1;
+			for (int dir = 0; moves != 0; ++dir, moves >>>= 1)
+			{
+				if ((moves & 1) == 0)
+				{
+					continue;
+				}
+
+				int n = index + CollisionGrid.DX[dir] + CollisionGrid.DY[dir] * width;
+				if (distance[n] == UNREACHABLE)
+				{
+					distance[n] = next;
+					queue[tail++] = n;
+				}
+			}
+		}
+		reachableCount += tail;
+	}
+}
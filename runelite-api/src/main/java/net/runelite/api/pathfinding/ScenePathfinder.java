@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import net.runelite.api.CollisionData;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Answers reachability and walking path queries about a {@link WorldView}.
+ * <p>
+ * The collision grids and the distance fields from recently queried tiles are kept
+ * until the world view loads a different scene. On each query the cached grid is
+ * compared against the current collision flags, and cached fields are updated in place
+ * for any doors, gates or objects that changed since the last query.
+ */
+public class ScenePathfinder
+{
+	private static final int MAX_CACHED_FIELDS = 16;
+
+	private int worldViewId;
+	private int baseX;
+	private int baseY;
+	private CollisionGrid[] grids;
+
+	private final Map<Long, DistanceField> fields = new LinkedHashMap<Long, DistanceField>(MAX_CACHED_FIELDS, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, DistanceField> eldest)
+		{
+			return size() > MAX_CACHED_FIELDS;
+		}
+	};
+
+	/**
+	 * Gets the walking distances from a tile to the rest of its plane of the scene.
+	 *
+	 * @return the distance field, indexed by scene coordinates, or null if the tile
+	 * is outside of the scene
+	 */
+	@Nullable
+	public synchronized DistanceField getDistances(WorldView wv, WorldPoint source)
+	{
+		CollisionGrid grid = getGrid(wv, source.getPlane());
+		if (grid == null)
+		{
+			return null;
+		}
+
+		int sceneX = source.getX() - baseX;
+		int sceneY = source.getY() - baseY;
+		if (!grid.contains(sceneX, sceneY))
+		{
+			return null;
+		}
+
+		long key = (long) source.getPlane() << 32 | grid.index(sceneX, sceneY);
+		DistanceField field = fields.get(key);
+		if (field == null)
+		{
+			field = DistanceField.compute(grid, sceneX, sceneY);
+			fields.put(key, field);
+		}
+		return field;
+	}
+
+	/**
+	 * Gets the number of steps a 1x1 actor needs to walk between two tiles.
+	 *
+	 * @return the distance, or {@link DistanceField#UNREACHABLE}
+	 */
+	public synchronized int getDistance(WorldView wv, WorldPoint from, WorldPoint to)
+	{
+		DistanceField field = from.getPlane() == to.getPlane() ? getDistances(wv, from) : null;
+		if (field == null)
+		{
+			return DistanceField.UNREACHABLE;
+		}
+		return field.getDistance(to.getX() - baseX, to.getY() - baseY);
+	}
+
+	/**
+	 * Finds a shortest walking path between two tiles.
+	 *
+	 * @return the tiles of the path, including both ends, or null if there is no path
+	 */
+	@Nullable
+	public synchronized List<WorldPoint> getPath(WorldView wv, WorldPoint from, WorldPoint to)
+	{
+		DistanceField field = from.getPlane() == to.getPlane() ? getDistances(wv, from) : null;
+		if (field == null)
+		{
+			return null;
+		}
+
+		int[] path = field.getPath(to.getX() - baseX, to.getY() - baseY);
+		if (path == null)
+		{
+			return null;
+		}
+
+		int width = field.getGrid().getWidth();
+		List<WorldPoint> points = new ArrayList<>(path.length);
+		for (int index : path)
+		{
+			points.add(new WorldPoint(baseX + index % width, baseY + index / width, from.getPlane()));
+		}
+		return points;
+	}
+
+	/**
+	 * Drops all cached grids and fields.
+	 */
+	public synchronized void reset()
+	{
+		grids = null;
+		fields.clear();
+	}
+
+	@Nullable
+	private CollisionGrid getGrid(WorldView wv, int plane)
+	{
+		CollisionData[] maps = wv.getCollisionMaps();
+		if (maps == null || plane < 0 || plane >= maps.length || maps[plane] == null)
+		{
+			return null;
+		}
+
+		if (grids == null || grids.length != maps.length
+			|| worldViewId != wv.getId() || baseX != wv.getBaseX() || baseY != wv.getBaseY())
+		{
+			// a new scene was loaded
+			reset();
+			grids = new CollisionGrid[maps.length];
+			worldViewId = wv.getId();
+			baseX = wv.getBaseX();
+			baseY = wv.getBaseY();
+		}
+
+		int[][] flags = maps[plane].getFlags();
+		CollisionGrid grid = grids[plane];
+		if (grid == null || grid.getWidth() != flags.length || grid.getHeight() != flags[0].length)
+		{
+			grid = grids[plane] = CollisionGrid.fromFlags(flags);
+			fields.keySet().removeIf(key -> (int) (key >>> 32) == plane);
+			return grid;
+		}
+
+		int[] affected = grid.update(flags);
+		if (affected.length > 0)
+		{
+			for (DistanceField field : fields.values())
+			{
+				if (field.getGrid() == grid)
+				{
+					field.update(affected);
+				}
+			}
+		}
+		return grid;
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class ClickboxCacheTest
+{
+	private static final int CAMERA_X = 6400;
+	private static final int CAMERA_Y = 6400;
+
+	// values returned by the client stand in, by method name
+	private final Map<String, Object> clientState = new HashMap<>();
+	private Client client;
+	private WorldView worldView;
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Map<String, Object> values)
+	{
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+		{
+			Object value = values.get(method.getName());
+			if (value != null || !method.getReturnType().isPrimitive())
+			{
+				return value;
+			}
+			if (method.getReturnType() == boolean.class)
+			{
+				return false;
+			}
+			if (method.getReturnType() == double.class)
+			{
+				return 0d;
+			}
+			return 0;
+		});
+	}
+
+	private static Model model(Random random, int vertices, int faces)
+	{
+		// a random walk, so that neighbouring vertices make small faces like a real mesh
+		float[] vx = new float[vertices], vy = new float[vertices], vz = new float[vertices];
+		for (int i = 1; i < vertices; i++)
+		{
+			vx[i] = Math.max(-100, Math.min(100, vx[i - 1] + random.nextInt(41) - 20));
+			vy[i] = Math.max(-200, Math.min(0, vy[i - 1] + random.nextInt(41) - 20));
+			vz[i] = Math.max(-100, Math.min(100, vz[i - 1] + random.nextInt(41) - 20));
+		}
+
+		int[] f1 = new int[faces], f2 = new int[faces], f3 = new int[faces];
+		for (int i = 0; i < faces; i++)
+		{
+			int v = random.nextInt(vertices - 2);
+			f1[i] = v;
+			f2[i] = v + 1;
+			f3[i] = v + 2;
+		}
+
+		Map<String, Object> aabb = new HashMap<>();
+		aabb.put("getCenterY", -100);
+		aabb.put("getExtremeX", 100);
+		aabb.put("getExtremeY", 100);
+		aabb.put("getExtremeZ", 100);
+
+		Map<String, Object> model = new HashMap<>();
+		model.put("getVerticesCount", vertices);
+		model.put("getVerticesX", vx);
+		model.put("getVerticesY", vy);
+		model.put("getVerticesZ", vz);
+		model.put("getFaceCount", faces);
+		model.put("getFaceIndices1", f1);
+		model.put("getFaceIndices2", f2);
+		model.put("getFaceIndices3", f3);
+		model.put("getFaceColors3", new int[faces]);
+		model.put("getAABB", proxy(AABB.class, aabb));
+		return proxy(Model.class, model);
+	}
+
+	@Before
+	public void before()
+	{
+		clientState.put("getGameCycle", 1);
+		clientState.put("getCameraX", CAMERA_X);
+		clientState.put("getCameraY", CAMERA_Y);
+		clientState.put("getCameraZ", -1000);
+		clientState.put("getCameraPitch", 256);
+		clientState.put("getCameraFpX", (double) CAMERA_X);
+		clientState.put("getCameraFpY", (double) CAMERA_Y);
+		clientState.put("getCameraFpZ", -1000d);
+		clientState.put("getCameraFpPitch", 256 * Perspective.UNIT);
+		clientState.put("getScale", 512);
+		clientState.put("getViewportWidth", 765);
+		clientState.put("getViewportHeight", 503);
+		client = proxy(Client.class, clientState);
+
+		Map<String, Object> wv = new HashMap<>();
+		wv.put("isTopLevel", true);
+		worldView = proxy(WorldView.class, wv);
+	}
+
+	@Test
+	public void testCachedWithinFrame()
+	{
+		Model model = model(new Random(1), 120, 200);
+
+		Shape first = Perspective.getClickbox(client, worldView, model, 512, CAMERA_X, CAMERA_Y + 1500, 0);
+		assertNotNull(first);
+		assertSame(first, Perspective.getClickbox(client, worldView, model, 512, CAMERA_X, CAMERA_Y + 1500, 0));
+
+		Shape expected = Perspective.computeClickbox(client, worldView, model, 512, CAMERA_X, CAMERA_Y + 1500, 0, new ClickboxCache());
+		assertTrue(new Area(expected).equals(new Area(first)));
+
+		// a different orientation or position is a different clickbox
+		assertNotSame(first, Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0));
+		assertNotSame(first, Perspective.getClickbox(client, worldView, model, 512, CAMERA_X + 128, CAMERA_Y + 1500, 0));
+	}
+
+	@Test
+	public void testSharedModel()
+	{
+		Model model = model(new Random(4), 120, 200);
+		Shape first = Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0);
+
+		// the client poses one shared model for each actor using it, so the same instance can change within a frame
+		float[] vy = model.getVerticesY();
+		for (int i = 0; i < vy.length; ++i)
+		{
+			vy[i] -= 100;
+		}
+		Shape posed = Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0);
+		assertNotSame(first, posed);
+		Shape expected = Perspective.computeClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0, new ClickboxCache());
+		assertTrue(new Area(expected).equals(new Area(posed)));
+	}
+
+	@Test
+	public void testInvalidatedByFrame()
+	{
+		Model model = model(new Random(2), 120, 200);
+
+		Shape first = Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0);
+
+		clientState.put("getCameraYaw", 20);
+		clientState.put("getCameraFpYaw", 20 * Perspective.UNIT);
+		Shape rotated = Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0);
+		assertNotSame(first, rotated);
+		Shape expected = Perspective.computeClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0, new ClickboxCache());
+		assertTrue(new Area(expected).equals(new Area(rotated)));
+
+		// animations advance with the game cycle even if the camera is still
+		clientState.put("getGameCycle", 2);
+		assertNotSame(rotated, Perspective.getClickbox(client, worldView, model, 0, CAMERA_X, CAMERA_Y + 1500, 0));
+	}
+
+	@Test
+	@Ignore
+	public void testBenchmark()
+	{
+		final Random random = new Random(3);
+		final int highlighted = 300;
+		final int overlays = 3;
+		final int frames = 20;
+
+		List<Model> models = new ArrayList<>();
+		int[] xs = new int[highlighted], ys = new int[highlighted], orientations = new int[highlighted];
+		for (int i = 0; i < highlighted; i++)
+		{
+			models.add(model(random, 150, 250));
+			xs[i] = CAMERA_X + random.nextInt(3000) - 1500;
+			ys[i] = CAMERA_Y + 500 + random.nextInt(2500);
+			orientations[i] = random.nextInt(2048);
+		}
+
+		for (int pass = 0; pass < 2; ++pass)
+		{
+			long uncached = 0, cached = 0;
+			for (int frame = 0; frame < frames; ++frame)
+			{
+				clientState.put("getGameCycle", frame);
+				clientState.put("getCameraYaw", frame);
+				clientState.put("getCameraFpYaw", frame * Perspective.UNIT);
+
+				ClickboxCache scratch = new ClickboxCache();
+				long start = System.nanoTime();
+				for (int o = 0; o < overlays; ++o)
+				{
+					for (int i = 0; i < highlighted; ++i)
+					{
+						Perspective.computeClickbox(client, worldView, models.get(i), orientations[i], xs[i], ys[i], 0, scratch);
+					}
+				}
+				uncached += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int o = 0; o < overlays; ++o)
+				{
+					for (int i = 0; i < highlighted; ++i)
+					{
+						Perspective.getClickbox(client, worldView, models.get(i), orientations[i], xs[i], ys[i], 0);
+					}
+				}
+				cached += System.nanoTime() - start;
+			}
+
+			// the first pass is warmup
+			if (pass == 1)
+			{
+				log.info("{} models x {} overlays: {}us/frame uncached, {}us/frame cached",
+					highlighted, overlays, uncached / frames / 1000, cached / frames / 1000);
+			}
+		}
+	}
+}
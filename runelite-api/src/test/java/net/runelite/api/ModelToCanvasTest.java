@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import static net.runelite.api.Perspective.COSINE;
+import static net.runelite.api.Perspective.SINE;
+import static org.junit.Assert.assertArrayEquals;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class ModelToCanvasTest
+{
+	private final Map<String, Object> clientState = new HashMap<>();
+	private Client client;
+	private WorldView worldView;
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Map<String, Object> values)
+	{
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+		{
+			Object value = values.get(method.getName());
+			if (value != null || !method.getReturnType().isPrimitive())
+			{
+				return value;
+			}
+			if (method.getReturnType() == boolean.class)
+			{
+				return false;
+			}
+			if (method.getReturnType() == double.class)
+			{
+				return 0d;
+			}
+			return 0;
+		});
+	}
+
+	@Before
+	public void before()
+	{
+		clientState.put("getViewportXOffset", 4);
+		clientState.put("getViewportYOffset", 4);
+		clientState.put("getViewportWidth", 765);
+		clientState.put("getViewportHeight", 503);
+		client = proxy(Client.class, clientState);
+
+		Map<String, Object> wv = new HashMap<>();
+		wv.put("isTopLevel", true);
+		worldView = proxy(WorldView.class, wv);
+	}
+
+	private void randomCamera(Random random, boolean gpu)
+	{
+		int pitch = 128 + random.nextInt(256);
+		int yaw = random.nextInt(2048);
+		int x = 6400 + random.nextInt(1000), y = 6400 + random.nextInt(1000), z = -500 - random.nextInt(1500);
+		clientState.put("isGpu", gpu);
+		clientState.put("getCameraPitch", pitch);
+		clientState.put("getCameraYaw", yaw);
+		clientState.put("getCameraX", x);
+		clientState.put("getCameraY", y);
+		clientState.put("getCameraZ", z);
+		clientState.put("getCameraFpPitch", pitch * Perspective.UNIT + random.nextDouble() * 0.001);
+		clientState.put("getCameraFpYaw", yaw * Perspective.UNIT + random.nextDouble() * 0.001);
+		clientState.put("getCameraFpX", x + random.nextDouble());
+		clientState.put("getCameraFpY", y + random.nextDouble());
+		clientState.put("getCameraFpZ", z + random.nextDouble());
+		clientState.put("getScale", 256 + random.nextInt(1024));
+	}
+
+	private static float[] randomVertices(Random random, int count, int range)
+	{
+		float[] v = new float[count];
+		for (int i = 0; i < count; i++)
+		{
+			v[i] = random.nextInt(range * 2) - range;
+		}
+		return v;
+	}
+
+	@Test
+	public void testMatchesScalarProjection()
+	{
+		Random random = new Random(7);
+		for (int iteration = 0; iteration < 200; iteration++)
+		{
+			boolean gpu = (iteration & 1) != 0;
+			randomCamera(random, gpu);
+
+			// cover partial blocks, and vertices far enough away to land behind the camera
+			int count = 1 + random.nextInt(1200);
+			float[] x3d = randomVertices(random, count, 4000);
+			float[] y3d = randomVertices(random, count, 4000);
+			float[] z3d = randomVertices(random, count, 1000);
+			int rotate = iteration % 3 == 0 ? 0 : random.nextInt(2048);
+			int x = 6400 + random.nextInt(2000) - 1000, y = 6400 + random.nextInt(2000) - 1000, z = random.nextInt(500);
+
+			int[] expectedX = new int[count], expectedY = new int[count];
+			int[] actualX = new int[count], actualY = new int[count];
+			if (gpu)
+			{
+				scalarGpu(client, count, x, y, z, rotate, x3d, y3d, z3d, expectedX, expectedY);
+			}
+			else
+			{
+				scalarCpu(client, count, x, y, z, rotate, x3d, y3d, z3d, expectedX, expectedY);
+			}
+			Perspective.modelToCanvas(client, worldView, count, x, y, z, rotate, x3d, y3d, z3d, actualX, actualY);
+
+			assertArrayEquals(expectedX, actualX);
+			assertArrayEquals(expectedY, actualY);
+		}
+	}
+
+	@Test
+	@Ignore
+	public void testBenchmark()
+	{
+		final Random random = new Random(8);
+		final int vertices = 20_000;
+		final int iterations = 1_000;
+		final float[] x3d = randomVertices(random, vertices, 300);
+		final float[] y3d = randomVertices(random, vertices, 300);
+		final float[] z3d = randomVertices(random, vertices, 300);
+		final int[] x2d = new int[vertices], y2d = new int[vertices];
+
+		for (boolean gpu : new boolean[]{false, true})
+		{
+			randomCamera(random, gpu);
+			// the best of several passes, as the first is warmup and the machine may be busy
+			long scalar = Long.MAX_VALUE, batched = Long.MAX_VALUE;
+			for (int pass = 0; pass < 5; pass++)
+			{
+				long scalarPass = 0, batchedPass = 0;
+				for (int i = 0; i < iterations; i++)
+				{
+					long start = System.nanoTime();
+					if (gpu)
+					{
+						scalarGpu(client, vertices, 7000, 7000, 0, i & 2047, x3d, y3d, z3d, x2d, y2d);
+					}
+					else
+					{
+						scalarCpu(client, vertices, 7000, 7000, 0, i & 2047, x3d, y3d, z3d, x2d, y2d);
+					}
+					scalarPass += System.nanoTime() - start;
+
+					start = System.nanoTime();
+					Perspective.modelToCanvas(client, worldView, vertices, 7000, 7000, 0, i & 2047, x3d, y3d, z3d, x2d, y2d);
+					batchedPass += System.nanoTime() - start;
+				}
+				scalar = Math.min(scalar, scalarPass);
+				batched = Math.min(batched, batchedPass);
+			}
+
+			log.info("{} projection of {} vertices: {}us scalar, {}us batched", gpu ? "GPU" : "CPU", vertices,
+				scalar / iterations / 1000, batched / iterations / 1000);
+		}
+	}
+
+	// the per-vertex projection which the batched one must match exactly
+	private static void scalarGpu(Client client, int end, int x3dCenter, int y3dCenter, int z3dCenter, int rotate, float[] x3d, float[] y3d, float[] z3d, int[] x2d, int[] y2d)
+	{
+		final double
+			cameraPitch = client.getCameraFpPitch(),
+			cameraYaw = client.getCameraFpYaw();
+		final float
+			pitchSin = (float) Math.sin(cameraPitch),
+			pitchCos = (float) Math.cos(cameraPitch),
+			yawSin = (float) Math.sin(cameraYaw),
+			yawCos = (float) Math.cos(cameraYaw),
+			rotateSin = SINE[rotate] / 65536.0f,
+			rotateCos = COSINE[rotate] / 65536.0f,
+
+			cx = x3dCenter - (float) client.getCameraFpX(),
+			cy = y3dCenter - (float) client.getCameraFpY(),
+			cz = z3dCenter - (float) client.getCameraFpZ(),
+
+			viewportXMiddle = client.getViewportWidth() / 2f,
+			viewportYMiddle = client.getViewportHeight() / 2f,
+			viewportXOffset = client.getViewportXOffset(),
+			viewportYOffset = client.getViewportYOffset(),
+
+			zoom3d = client.getScale();
+
+		for (int i = 0; i < end; i++)
+		{
+			float x = x3d[i];
+			float y = y3d[i];
+			float z = z3d[i];
+
+			if (rotate != 0)
+			{
+				float x0 = x;
+				x = x0 * rotateCos + y * rotateSin;
+				y = y * rotateCos - x0 * rotateSin;
+			}
+
+			x += cx;
+			y += cy;
+			z += cz;
+
+			final float
+				x1 = x * yawCos + y * yawSin,
+				y1 = y * yawCos - x * yawSin,
+				y2 = z * pitchCos - y1 * pitchSin,
+				z1 = y1 * pitchCos + z * pitchSin;
+
+			int viewX, viewY;
+
+			if (z1 < 50)
+			{
+				viewX = Integer.MIN_VALUE;
+				viewY = Integer.MIN_VALUE;
+			}
+			else
+			{
+				viewX = Math.round((viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset);
+				viewY = Math.round((viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset);
+			}
+
+			x2d[i] = viewX;
+			y2d[i] = viewY;
+		}
+	}
+
+	private static void scalarCpu(Client client, int end, int x3dCenter, int y3dCenter, int z3dCenter, int rotate, float[] x3d, float[] y3d, float[] z3d, int[] x2d, int[] y2d)
+	{
+		final int
+			cameraPitch = client.getCameraPitch(),
+			cameraYaw = client.getCameraYaw();
+
+		final float
+			pitchSin = (float) Math.sin(cameraPitch * Perspective.UNIT),
+			pitchCos = (float) Math.cos(cameraPitch * Perspective.UNIT),
+			yawSin = (float) Math.sin(cameraYaw * Perspective.UNIT),
+			yawCos = (float) Math.cos(cameraYaw * Perspective.UNIT),
+			rotateSin = (float) Math.sin(rotate * Perspective.UNIT),
+			rotateCos = (float) Math.cos(rotate * Perspective.UNIT);
+
+		final int
+			cx = x3dCenter - client.getCameraX(),
+			cy = y3dCenter - client.getCameraY(),
+			cz = z3dCenter - client.getCameraZ(),
+
+			viewportXMiddle = client.getViewportWidth() / 2,
+			viewportYMiddle = client.getViewportHeight() / 2,
+			viewportXOffset = client.getViewportXOffset(),
+			viewportYOffset = client.getViewportYOffset(),
+
+			zoom3d = client.getScale();
+
+		for (int i = 0; i < end; i++)
+		{
+			float x = x3d[i];
+			float y = y3d[i];
+			float z = z3d[i];
+
+			if (rotate != 0)
+			{
+				float x0 = x;
+				x = x0 * rotateCos + y * rotateSin;
+				y = y * rotateCos - x0 * rotateSin;
+			}
+
+			x += cx;
+			y += cy;
+			z += cz;
+
+			final float
+				x1 = x * yawCos + y * yawSin,
+				y1 = y * yawCos - x * yawSin,
+				y2 = z * pitchCos - y1 * pitchSin,
+				z1 = y1 * pitchCos + z * pitchSin;
+
+			int viewX, viewY;
+
+			if (z1 < 50)
+			{
+				viewX = Integer.MIN_VALUE;
+				viewY = Integer.MIN_VALUE;
+			}
+			else
+			{
+				viewX = (int) (viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset;
+				viewY = (int) (viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset;
+			}
+
+			x2d[i] = viewX;
+			y2d[i] = viewY;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.geometry;
+
+import java.awt.geom.GeneralPath;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class GeometryTest
+{
+	private static final float DELTA = 1e-4f;
+
+	@Test
+	public void testToLineArray()
+	{
+		GeneralPath path = new GeneralPath();
+		path.moveTo(0, 0);
+		path.lineTo(2, 0);
+		path.lineTo(2, 2);
+		path.closePath();
+		path.moveTo(5, 5);
+		path.lineTo(6, 5);
+
+		assertArrayEquals(new float[]{
+			0, 0, 2, 0,
+			2, 0, 2, 2,
+			2, 2, 0, 0,
+			5, 5, 6, 5,
+		}, Geometry.toLineArray(path), 0);
+	}
+
+	@Test
+	public void testToLineArrayClosedAtStart()
+	{
+		GeneralPath path = new GeneralPath();
+		path.moveTo(0, 0);
+		path.lineTo(1, 0);
+		path.lineTo(0, 0);
+		path.closePath();
+
+		// Closing where the path already is adds no line
+		assertArrayEquals(new float[]{0, 0, 1, 0, 1, 0, 0, 0}, Geometry.toLineArray(path), 0);
+	}
+
+	@Test
+	public void testClipLine()
+	{
+		float[] out = new float[4];
+
+		// Inside, untouched
+		assertTrue(Geometry.clipLine(new float[]{1, 1, 3, 2}, 0, 0, 0, 4, 4, out));
+		assertArrayEquals(new float[]{1, 1, 3, 2}, out, 0);
+
+		// Crossing both sides
+		assertTrue(Geometry.clipLine(new float[]{-2, 1, 6, 1}, 0, 0, 0, 4, 4, out));
+		assertArrayEquals(new float[]{0, 1, 4, 1}, out, DELTA);
+
+		// Diagonal leaving through a corner, read from an offset
+		assertTrue(Geometry.clipLine(new float[]{9, 9, 9, 9, 2, 2, 6, 6}, 4, 0, 0, 4, 4, out));
+		assertArrayEquals(new float[]{2, 2, 4, 4}, out, DELTA);
+
+		// Outside, and parallel to an edge outside
+		assertFalse(Geometry.clipLine(new float[]{5, 5, 6, 7}, 0, 0, 0, 4, 4, out));
+		assertFalse(Geometry.clipLine(new float[]{-1, 5, 3, 5}, 0, 0, 0, 4, 4, out));
+		assertFalse(Geometry.clipLine(new float[]{-3, 2, 2, 7}, 0, 0, 0, 4, 4, out));
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class PathfindingTest
+{
+	private static final int SCENE_SIZE = 104;
+
+	@Test
+	public void testOpenGridIsChebyshev()
+	{
+		CollisionGrid grid = new CollisionGrid(10, 8);
+		DistanceField field = DistanceField.compute(grid, 3, 2);
+
+		for (int x = 0; x < 10; ++x)
+		{
+			for (int y = 0; y < 8; ++y)
+			{
+				assertEquals(Math.max(Math.abs(x - 3), Math.abs(y - 2)), field.getDistance(x, y));
+			}
+		}
+		assertEquals(80, field.getReachableCount());
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(-1, 0));
+	}
+
+	@Test
+	public void testWalls()
+	{
+		int[][] flags = new int[5][5];
+		// a wall along the east side of x=1, with the west side marked on x=2
+		for (int y = 0; y < 4; ++y)
+		{
+			flags[1][y] |= CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+			flags[2][y] |= CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+		}
+		CollisionGrid grid = CollisionGrid.fromFlags(flags);
+
+		assertFalse(grid.canMove(1, 0, CollisionGrid.EAST));
+		assertFalse(grid.canMove(2, 0, CollisionGrid.WEST));
+		assertTrue(grid.canMove(1, 0, CollisionGrid.NORTH));
+		// cutting the corner at the end of the wall is not allowed
+		assertFalse(grid.canMove(1, 3, CollisionGrid.NORTH_EAST));
+		assertTrue(grid.canMove(1, 4, CollisionGrid.EAST));
+
+		DistanceField field = DistanceField.compute(grid, 1, 0);
+		assertEquals(4, field.getDistance(1, 4));
+		assertEquals(8, field.getDistance(2, 0));
+		assertPathValid(grid, field, 2, 0);
+	}
+
+	@Test
+	public void testBlockedTile()
+	{
+		int[][] flags = new int[3][3];
+		flags[1][1] = CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+		CollisionGrid grid = CollisionGrid.fromFlags(flags);
+
+		DistanceField field = DistanceField.compute(grid, 0, 0);
+		assertFalse(field.isReachable(1, 1));
+		assertNull(field.getPath(1, 1));
+		// no corner of the object can be cut, so walk around the edge
+		assertEquals(4, field.getDistance(2, 2));
+		assertEquals(8, field.getReachableCount());
+	}
+
+	@Test
+	public void testPath()
+	{
+		CollisionGrid grid = new CollisionGrid(6, 6);
+		DistanceField field = DistanceField.compute(grid, 0, 0);
+
+		assertArrayEquals(new int[]{
+			grid.index(0, 0), grid.index(1, 1), grid.index(2, 2), grid.index(3, 2),
+		}, field.getPath(3, 2));
+		assertArrayEquals(new int[]{grid.index(0, 0)}, field.getPath(0, 0));
+	}
+
+	@Test
+	public void testMultipleSources()
+	{
+		CollisionGrid grid = new CollisionGrid(9, 1);
+		DistanceField field = DistanceField.compute(grid, new int[]{grid.index(0, 0), grid.index(8, 0)});
+
+		assertEquals(4, field.getDistance(4, 0));
+		assertEquals(1, field.getDistance(7, 0));
+	}
+
+	@Test
+	public void testSetFlags()
+	{
+		CollisionGrid grid = new CollisionGrid(5, 1);
+		DistanceField field = DistanceField.compute(grid, 0, 0);
+		assertEquals(4, field.getDistance(4, 0));
+
+		int[] affected = grid.setFlags(2, 0, CollisionDataFlag.BLOCK_MOVEMENT_OBJECT);
+		Arrays.sort(affected);
+		assertArrayEquals(new int[]{1, 3}, affected);
+		field.update(affected);
+		assertFalse(field.isReachable(4, 0));
+		assertEquals(2, field.getReachableCount());
+
+		field.update(grid.setFlags(2, 0, 0));
+		assertEquals(4, field.getDistance(4, 0));
+		assertEquals(0, grid.setFlags(2, 0, 0).length);
+	}
+
+	@Test
+	public void testIncrementalUpdateMatchesRecompute()
+	{
+		Random random = new Random(46);
+		int[][] flags = randomFlags(random, 0.3);
+		CollisionGrid grid = CollisionGrid.fromFlags(flags);
+		DistanceField field = DistanceField.compute(grid, SCENE_SIZE / 2, SCENE_SIZE / 2);
+
+		for (int round = 0; round < 200; ++round)
+		{
+			// toggle a few doors and objects
+			for (int i = 0; i < 1 + random.nextInt(4); ++i)
+			{
+				int x = random.nextInt(SCENE_SIZE), y = random.nextInt(SCENE_SIZE);
+				flags[x][y] = randomFlag(random, 0.5);
+			}
+
+			field.update(grid.update(flags));
+
+			CollisionGrid fresh = CollisionGrid.fromFlags(flags);
+			DistanceField expected = DistanceField.compute(fresh, SCENE_SIZE / 2, SCENE_SIZE / 2);
+			for (int x = 0; x < SCENE_SIZE; ++x)
+			{
+				for (int y = 0; y < SCENE_SIZE; ++y)
+				{
+					for (int dir = 0; dir < 8; ++dir)
+					{
+						assertEquals(fresh.canMove(x, y, dir), grid.canMove(x, y, dir));
+					}
+					assertEquals(expected.getDistance(x, y), field.getDistance(x, y));
+				}
+			}
+			assertEquals(expected.getReachableCount(), field.getReachableCount());
+		}
+	}
+
+	@Test
+	public void testScenePathfinder()
+	{
+		int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+		int[] base = {3200, 3200};
+		WorldView wv = worldView(flags, base);
+		ScenePathfinder pathfinder = new ScenePathfinder();
+
+		WorldPoint from = new WorldPoint(3210, 3210, 0);
+		WorldPoint to = new WorldPoint(3215, 3212, 0);
+		DistanceField field = pathfinder.getDistances(wv, from);
+		assertNotNull(field);
+		assertEquals(5, pathfinder.getDistance(wv, from, to));
+
+		List<WorldPoint> path = pathfinder.getPath(wv, from, to);
+		assertNotNull(path);
+		assertEquals(6, path.size());
+		assertEquals(from, path.get(0));
+		assertEquals(to, path.get(5));
+
+		// wall the target in; the cached field is updated rather than replaced
+		for (int x = 14; x <= 16; ++x)
+		{
+			for (int y = 11; y <= 13; ++y)
+			{
+				if (x != 15 || y != 12)
+				{
+					flags[x][y] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+				}
+			}
+		}
+		assertEquals(DistanceField.UNREACHABLE, pathfinder.getDistance(wv, from, to));
+		assertNull(pathfinder.getPath(wv, from, to));
+		assertTrue(field == pathfinder.getDistances(wv, from));
+
+		// a new scene drops the cache
+		base[0] = 3208;
+		assertFalse(field == pathfinder.getDistances(wv, from));
+		assertNull(pathfinder.getDistances(wv, new WorldPoint(3100, 3210, 0)));
+		assertEquals(DistanceField.UNREACHABLE, pathfinder.getDistance(wv, from, new WorldPoint(3215, 3212, 1)));
+	}
+
+	@Test
+	@Ignore
+	public void testSceneSearchPerformance()
+	{
+		Random random = new Random(0);
+		int[][] flags = randomFlags(random, 0.25);
+		CollisionGrid grid = CollisionGrid.fromFlags(flags);
+		int[][] sources = new int[256][];
+		for (int i = 0; i < sources.length; ++i)
+		{
+			sources[i] = new int[]{random.nextInt(SCENE_SIZE), random.nextInt(SCENE_SIZE)};
+		}
+
+		long checksum = 0;
+		for (int round = 0; round < 5; ++round)
+		{
+			long start = System.nanoTime();
+			for (int[] source : sources)
+			{
+				checksum += DistanceField.compute(grid, source[0], source[1]).getReachableCount();
+			}
+			long search = System.nanoTime() - start;
+
+			DistanceField field = DistanceField.compute(grid, SCENE_SIZE / 2, SCENE_SIZE / 2);
+			start = System.nanoTime();
+			for (int i = 0; i < sources.length; ++i)
+			{
+				int x = random.nextInt(SCENE_SIZE), y = random.nextInt(SCENE_SIZE);
+				field.update(grid.setFlags(x, y, grid.getFlags(x, y) ^ CollisionDataFlag.BLOCK_MOVEMENT_OBJECT));
+			}
+			long update = System.nanoTime() - start;
+			checksum += field.getReachableCount();
+
+			start = System.nanoTime();
+			for (int i = 0; i < sources.length; ++i)
+			{
+				CollisionGrid.fromFlags(flags);
+			}
+			long build = System.nanoTime() - start;
+
+			log.info("{}x{} scene: {}us/search, {}us/incremental update, {}us/grid build",
+				SCENE_SIZE, SCENE_SIZE, search / 1000 / sources.length, update / 1000 / sources.length,
+				build / 1000 / sources.length);
+		}
+		assertTrue(checksum > 0);
+	}
+
+	private static void assertPathValid(CollisionGrid grid, DistanceField field, int x, int y)
+	{
+		int[] path = field.getPath(x, y);
+		assertNotNull(path);
+		assertEquals(field.getDistance(x, y) + 1, path.length);
+		for (int i = 1; i < path.length; ++i)
+		{
+			int px = path[i - 1] % grid.getWidth(), py = path[i - 1] / grid.getWidth();
+			int dx = path[i] % grid.getWidth() - px, dy = path[i] / grid.getWidth() - py;
+			int dir = -1;
+			for (int d = 0; d < 8; ++d)
+			{
+				if (CollisionGrid.DX[d] == dx && CollisionGrid.DY[d] == dy)
+				{
+					dir = d;
+				}
+			}
+			assertTrue(grid.canMove(px, py, dir));
+		}
+	}
+
+	private static int[][] randomFlags(Random random, double density)
+	{
+		int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+		for (int[] column : flags)
+		{
+			for (int y = 0; y < SCENE_SIZE; ++y)
+			{
+				column[y] = randomFlag(random, density);
+			}
+		}
+		return flags;
+	}
+
+	private static int randomFlag(Random random, double density)
+	{
+		if (random.nextDouble() >= density)
+		{
+			return 0;
+		}
+		// mostly single walls, with some solid objects
+		return random.nextInt(4) == 0 ? CollisionDataFlag.BLOCK_MOVEMENT_OBJECT : 1 << random.nextInt(8);
+	}
+
+	private static WorldView worldView(int[][] flags, int[] base)
+	{
+		CollisionData collision = () -> flags;
+		CollisionData[] maps = {collision, null, null, null};
+		return (WorldView) Proxy.newProxyInstance(WorldView.class.getClassLoader(), new Class<?>[]{WorldView.class},
+			(proxy, method, args) ->
+			{
+				switch (method.getName())
+				{
+					case "getCollisionMaps":
+						return maps;
+					case "getId":
+						return -1;
+					case "getBaseX":
+						return base[0];
+					case "getBaseY":
+						return base[1];
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+}
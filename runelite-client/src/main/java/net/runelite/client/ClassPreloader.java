@@ -24,16 +24,48 @@
  */
 package net.runelite.client;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedClassLoader;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.ui.FontManager;
 
 /**
  * Loads some slow to initialize classes (hopefully) before they are needed to streamline client startup
  */
 @SuppressWarnings({"ResultOfMethodCallIgnored", "unused"})
+@Slf4j
 class ClassPreloader
 {
+	/**
+	 * Records the classes loaded during startup to {@link #CLASS_LIST}, instead of preloading them
+	 */
+	static final boolean RECORD_CLASS_LOADS = Boolean.getBoolean("runelite.recordClassLoads");
+
+	/**
+	 * List of classes loaded during a previous startup, in the format of a CDS class list so
+	 * it can also be passed to -XX:SharedClassListFile by the launcher
+	 */
+	private static final File CLASS_LIST = new File(RuneLite.CACHE_DIR, "startup.classlist");
+
+	private static ClassLoadRecorder recorder;
+
 	static void preload()
 	{
 		// This needs to enumerate the system fonts for some reason, and that takes a while
@@ -45,4 +77,167 @@ class ClassPreloader
 		// This just needs to call 20 different DateTimeFormatter constructors, which are slow
 		Object unused = DateTimeFormatter.BASIC_ISO_DATE;
 	}
+
+	/**
+	 * Load the classes recorded during a previous startup on background threads. The classes are loaded
+	 * but not initialized, which is safe to do from any thread and is where most of the time goes.
+	 */
+	static void preloadRecorded()
+	{
+		if (RECORD_CLASS_LOADS)
+		{
+			return;
+		}
+
+		final List<String> classes;
+		try
+		{
+			classes = Files.readAllLines(CLASS_LIST.toPath(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e)
+		{
+			log.debug("No recorded class list to preload");
+			return;
+		}
+
+		final int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+			.setNameFormat("Preloader-%d")
+			.setDaemon(true)
+			.setPriority(Thread.MIN_PRIORITY)
+			.build());
+
+		// contiguous chunks keep classes near their dependencies, which were recorded just before them
+		final int chunk = (classes.size() + threads - 1) / threads;
+		for (int i = 0; i < classes.size(); i += chunk)
+		{
+			final List<String> part = classes.subList(i, Math.min(classes.size(), i + chunk));
+			executor.execute(() ->
+			{
+				final ClassLoader classLoader = ClassPreloader.class.getClassLoader();
+				for (String name : part)
+				{
+					try
+					{
+						Class.forName(name.replace('/', '.'), false, classLoader);
+					}
+					catch (ClassNotFoundException | LinkageError e)
+					{
+						// the list is from another version, or the class is from the gamepack
+					}
+				}
+			});
+		}
+		executor.shutdown();
+
+		log.debug("Preloading {} recorded classes on {} threads", classes.size(), threads);
+	}
+
+	static void startRecording()
+	{
+		if (!RECORD_CLASS_LOADS)
+		{
+			return;
+		}
+
+		try
+		{
+			recorder = new ClassLoadRecorder();
+		}
+		catch (LinkageError e)
+		{
+			// the runtime may be built without jdk.jfr
+			log.warn("Unable to record class loads", e);
+		}
+	}
+
+	static void stopRecording()
+	{
+		if (recorder == null)
+		{
+			return;
+		}
+
+		try
+		{
+			recorder.stop(CLASS_LIST);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to write class list", e);
+		}
+		recorder = null;
+	}
+
+	/**
+	 * Uses a flight recording of class load events, since the JVM doesn't otherwise expose which classes
+	 * have been loaded without an agent
+	 */
+	private static class ClassLoadRecorder
+	{
+		private final Recording recording = new Recording();
+
+		ClassLoadRecorder()
+		{
+			recording.setName("runelite-class-loads");
+			recording.enable("jdk.ClassLoad").withoutThreshold().withoutStackTrace();
+			recording.setToDisk(true);
+			recording.start();
+		}
+
+		void stop(File out) throws IOException
+		{
+			recording.stop();
+
+			Path dump = Files.createTempFile("runelite", ".jfr");
+			try
+			{
+				recording.dump(dump);
+
+				// in load order, which is roughly the order they are needed
+				Set<String> classes = new LinkedHashSet<>();
+				for (RecordedEvent event : RecordingFile.readAllEvents(dump))
+				{
+					RecordedClass clazz = event.getClass("loadedClass");
+					if (clazz != null && isPreloadable(clazz))
+					{
+						classes.add(clazz.getName().replace('.', '/'));
+					}
+				}
+
+				out.getParentFile().mkdirs();
+				try (PrintWriter writer = new PrintWriter(out, StandardCharsets.UTF_8))
+				{
+					for (String name : classes)
+					{
+						writer.println(name);
+					}
+				}
+
+				log.info("Recorded {} class loads to {}", classes.size(), out);
+			}
+			finally
+			{
+				recording.close();
+				Files.deleteIfExists(dump);
+			}
+		}
+
+		private static boolean isPreloadable(RecordedClass clazz)
+		{
+			// hidden classes, such as lambdas, can't be loaded by name, and the recorder's own classes aren't
+			// otherwise used
+			String name = clazz.getName();
+			if (name.contains("$$Lambda") || name.contains("+0x") || name.indexOf('/') != -1 || name.startsWith("jdk.jfr."))
+			{
+				return false;
+			}
+
+			// only classes from the builtin loaders, not from the gamepack or plugin hub loaders
+			RecordedClassLoader classLoader = clazz.getClassLoader();
+			return classLoader == null
+				|| classLoader.getType() == null
+				|| classLoader.getType().getName().startsWith("jdk.internal.loader.ClassLoaders$");
+		}
+	}
 }
@@ -216,6 +216,9 @@ public class RuneLite
 			}
 		});
 
+		ClassPreloader.startRecording();
+		ClassPreloader.preloadRecorded();
+
 		final OkHttpClient okHttpClient = buildHttpClient(options.has("insecure-skip-tls-verification"));
 		RuneLiteAPI.CLIENT = okHttpClient;
 
@@ -274,6 +277,7 @@ public class RuneLite
 			));
 
 			injector.getInstance(RuneLite.class).start();
+			ClassPreloader.stopRecording();
 
 			final long end = System.currentTimeMillis();
 			final long uptime = runtime.getUptime();
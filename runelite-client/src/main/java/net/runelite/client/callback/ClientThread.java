@@ -25,9 +25,14 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -36,19 +41,38 @@ import net.runelite.api.Client;
 @Slf4j
 public class ClientThread
 {
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokesAtTickEnd = new ConcurrentLinkedQueue<>();
+	private static final int INVOKE_QUEUE_SIZE = 4096;
+	private static final int TICK_END_QUEUE_SIZE = 256;
+
+	private final InvokeQueue invokes = new InvokeQueue(INVOKE_QUEUE_SIZE);
+	private final InvokeQueue invokesAtTickEnd = new InvokeQueue(TICK_END_QUEUE_SIZE);
+
+	/**
+	 * Suppliers which returned false, to be retried on the next pass. Only used on the client thread.
+	 */
+	private final ArrayDeque<BooleanSupplier> deferredInvokes = new ArrayDeque<>();
+	private final ArrayDeque<BooleanSupplier> deferredInvokesAtTickEnd = new ArrayDeque<>();
+	private volatile int deferredCount;
+
+	// keyed by class name rather than class, so that unloaded plugins' classes can be collected
+	private final Map<String, AtomicLong> sourceCounts = new ConcurrentHashMap<>();
+	private volatile long tasksRun;
+	private volatile long totalLatencyNanos;
+	private volatile long maxLatencyNanos;
+	private volatile boolean resetStats;
 
 	@Inject
 	private Client client;
 
 	public void invoke(Runnable r)
 	{
-		invoke(() ->
+		if (client.isClientThread())
 		{
 			r.run();
-			return true;
-		});
+			return;
+		}
+
+		queue(invokes, r, false);
 	}
 
 	/**
@@ -61,7 +85,7 @@ public class ClientThread
 		{
 			if (!r.getAsBoolean())
 			{
-				invokes.add(r);
+				queue(invokes, r, true);
 			}
 			return;
 		}
@@ -75,65 +99,154 @@ public class ClientThread
 	 */
 	public void invokeLater(Runnable r)
 	{
-		invokeLater(() ->
-		{
-			r.run();
-			return true;
-		});
+		queue(invokes, r, false);
 	}
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		queue(invokes, r, true);
 	}
 
 	public void invokeAtTickEnd(Runnable r)
 	{
-		invokesAtTickEnd.add(() ->
-		{
-			r.run();
-			return true;
-		});
+		queue(invokesAtTickEnd, r, false);
+	}
+
+	/**
+	 * Gets the current depth of the invoke queues, and the latency and sources of the tasks run
+	 * through them since the stats were last reset.
+	 */
+	public InvokeStats getStats()
+	{
+		final long run = tasksRun;
+		final Map<String, Long> sources = sourceCounts.entrySet().stream()
+			.collect(Collectors.groupingBy(e -> sourceName(e.getKey()), Collectors.summingLong(e -> e.getValue().get())))
+			.entrySet().stream()
+			.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+		return new InvokeStats(
+			invokes.size() + invokesAtTickEnd.size() + deferredCount,
+			run,
+			run == 0 ? 0 : totalLatencyNanos / run,
+			maxLatencyNanos,
+			sources);
+	}
+
+	public void resetStats()
+	{
+		sourceCounts.clear();
+		// the counters are only written on the client thread, so are reset there on the next pass
+		resetStats = true;
 	}
 
 	void invoke()
 	{
-		invokeList(invokes);
+		invokeList(invokes, deferredInvokes);
 	}
 
 	void invokeTickEnd()
 	{
-		invokeList(invokesAtTickEnd);
+		invokeList(invokesAtTickEnd, deferredInvokesAtTickEnd);
 	}
 
-	private void invokeList(ConcurrentLinkedQueue<BooleanSupplier> invokes)
+	private void queue(InvokeQueue queue, Object task, boolean supplier)
+	{
+		final String source = task.getClass().getName();
+		AtomicLong count = sourceCounts.get(source);
+		if (count == null)
+		{
+			count = sourceCounts.computeIfAbsent(source, k -> new AtomicLong());
+		}
+		count.incrementAndGet();
+
+		queue.add(task, supplier);
+	}
+
+	private void invokeList(InvokeQueue queue, ArrayDeque<BooleanSupplier> deferred)
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		while (ir.hasNext())
+
+		if (resetStats)
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
-			{
-				remove = r.getAsBoolean();
-			}
-			catch (ThreadDeath d)
+			resetStats = false;
+			tasksRun = totalLatencyNanos = maxLatencyNanos = 0;
+		}
+
+		// deferred suppliers were queued before anything still in the queue, so go first
+		for (int i = deferred.size(); i > 0; --i)
+		{
+			final BooleanSupplier r = deferred.poll();
+			if (!run(r, true))
 			{
-				throw d;
+				deferred.add(r);
 			}
-			catch (Throwable e)
+		}
+
+		long run = 0;
+		long latency = 0;
+		long maxLatency = maxLatencyNanos;
+		while (queue.poll())
+		{
+			final Object task = queue.task;
+			final boolean supplier = queue.supplier;
+			final long waited = System.nanoTime() - queue.enqueueTime;
+			++run;
+			latency += waited;
+			maxLatency = Math.max(maxLatency, waited);
+
+			if (!run(task, supplier))
 			{
-				log.error("Exception in invoke", e);
+				deferred.add((BooleanSupplier) task);
 			}
-			if (remove)
+		}
+
+		if (run > 0)
+		{
+			tasksRun += run;
+			totalLatencyNanos += latency;
+			maxLatencyNanos = maxLatency;
+		}
+		deferredCount = deferredInvokes.size() + deferredInvokesAtTickEnd.size();
+	}
+
+	/**
+	 * @return false if the task is a supplier which should be retried
+	 */
+	private static boolean run(Object task, boolean supplier)
+	{
+		try
+		{
+			if (supplier)
 			{
-				ir.remove();
+				if (!((BooleanSupplier) task).getAsBoolean())
+				{
+					log.trace("Deferring task {}", task);
+					return false;
+				}
 			}
 			else
 			{
-				log.trace("Deferring task {}", r);
+				((Runnable) task).run();
 			}
 		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.error("Exception in invoke", e);
+		}
+		return true;
+	}
+
+	/**
+	 * Names a task by the class it was created in, so that all of the lambdas from one plugin class
+	 * are counted together.
+	 */
+	private static String sourceName(String name)
+	{
+		final int idx = name.indexOf('$');
+		return idx == -1 ? name : name.substring(0, idx);
 	}
 }
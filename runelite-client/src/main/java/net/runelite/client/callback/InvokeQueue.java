@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.AllArgsConstructor;
+
+/**
+ * Multi-producer, single-consumer queue of tasks for the client thread.
+ * <p>
+ * Tasks are stored in a ring of preallocated slots, so adding one does not allocate. Each slot
+ * has a sequence number which tells producers whether it is free for the lap they are on, and
+ * the consumer whether it has been published. If the ring is full, tasks go to an unbounded
+ * overflow queue until the consumer has caught up.
+ * <p>
+ * {@link #poll()} may only be called from the consumer thread, and leaves the task it took in
+ * {@link #task}, {@link #supplier} and {@link #enqueueTime}.
+ */
+class InvokeQueue
+{
+	@AllArgsConstructor
+	private static class Overflow
+	{
+		final Object task;
+		final boolean supplier;
+		final long enqueueTime;
+	}
+
+	private final int mask;
+	private final Object[] tasks;
+	private final boolean[] suppliers;
+	private final long[] enqueueTimes;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+	private final ConcurrentLinkedQueue<Overflow> overflow = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger overflowSize = new AtomicInteger();
+
+	Object task;
+	boolean supplier;
+	long enqueueTime;
+
+	InvokeQueue(int capacity)
+	{
+		if (Integer.bitCount(capacity) != 1)
+		{
+			throw new IllegalArgumentException("capacity must be a power of two");
+		}
+
+		mask = capacity - 1;
+		tasks = new Object[capacity];
+		suppliers = new boolean[capacity];
+		enqueueTimes = new long[capacity];
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; ++i)
+		{
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * @param supplier whether the task is a {@link java.util.function.BooleanSupplier} rather than a {@link Runnable}
+	 */
+	void add(Object task, boolean supplier)
+	{
+		final long now = System.nanoTime();
+
+		// once tasks have overflowed, keep queueing behind them until they are drained
+		if (overflowSize.get() == 0 && offer(task, supplier, now))
+		{
+			return;
+		}
+
+		overflow.add(new Overflow(task, supplier, now));
+		overflowSize.incrementAndGet();
+	}
+
+	private boolean offer(Object task, boolean supplier, long now)
+	{
+		long t;
+		int index;
+		for (;;)
+		{
+			t = tail.get();
+			index = (int) t & mask;
+			final long lap = sequences.get(index) - t;
+			if (lap == 0)
+			{
+				if (tail.compareAndSet(t, t + 1))
+				{
+					break;
+				}
+			}
+			else if (lap < 0)
+			{
+				// the consumer hasn't freed this slot from the previous lap yet
+				return false;
+			}
+		}
+
+		tasks[index] = task;
+		suppliers[index] = supplier;
+		enqueueTimes[index] = now;
+		// publishes the plain writes above to the consumer
+		sequences.set(index, t + 1);
+		return true;
+	}
+
+	/**
+	 * Takes the oldest published task.
+	 *
+	 * @return false if there was no task
+	 */
+	boolean poll()
+	{
+		final long h = head;
+		final int index = (int) h & mask;
+		if (sequences.get(index) == h + 1)
+		{
+			task = tasks[index];
+			supplier = suppliers[index];
+			enqueueTime = enqueueTimes[index];
+			tasks[index] = null;
+			// free the slot for the producers' next lap
+			sequences.lazySet(index, h + mask + 1);
+			head = h + 1;
+			return true;
+		}
+
+		final Overflow o = overflow.poll();
+		if (o != null)
+		{
+			overflowSize.decrementAndGet();
+			task = o.task;
+			supplier = o.supplier;
+			enqueueTime = o.enqueueTime;
+			return true;
+		}
+
+		task = null;
+		return false;
+	}
+
+	/**
+	 * @return the approximate number of queued tasks
+	 */
+	int size()
+	{
+		return (int) Math.max(0, tail.get() - head) + overflowSize.get();
+	}
+}
@@ -28,9 +28,6 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
-import com.google.common.hash.Hashing;
-import com.google.common.hash.HashingInputStream;
-import com.google.common.io.Files;
 import com.google.gson.Gson;
 import java.io.File;
 import java.io.IOException;
@@ -71,13 +68,9 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginInstantiationException;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.ui.SplashScreen;
-import net.runelite.client.util.CountingInputStream;
 import net.runelite.client.util.Text;
 import net.runelite.client.util.VerificationException;
-import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 
 @Singleton
 @Slf4j
@@ -231,39 +224,25 @@ public class ExternalPluginManager
 				}
 
 				int toDownload = needsDownload.stream().mapToInt(PluginHubManifest.JarData::getJarSize).sum();
-				int downloaded = 0;
-
-				for (PluginHubManifest.JarData jarData : needsDownload)
-				{
-					HttpUrl url = externalPluginClient.getJarURL(jarData);
-
-					try (Response res = okHttpClient.newCall(new Request.Builder().url(url).build()).execute())
-					{
-						int fdownloaded = downloaded;
-						downloaded += jarData.getJarSize();
-						HashingInputStream his = new HashingInputStream(Hashing.sha256(),
-							new CountingInputStream(res.body().byteStream(), i ->
-								SplashScreen.stage(splashStart + (splashLength * .2), splashStart + (splashLength * .8),
-									null, "Downloading " + jarData.getDisplayName(),
-									i + fdownloaded, toDownload, true)));
-						Files.asByteSink(jarData.getJarFile()).writeFrom(his);
-						if (!PluginHubManifest.HASH_ENCODER.encodeToString(his.hash().asBytes()).equals(jarData.getJarHash()))
-						{
-							throw new VerificationException("Plugin " + jarData.getInternalName() + " didn't match its hash");
-						}
-					}
-					catch (IOException | VerificationException e)
-					{
-						externalPlugins.remove(jarData);
-						log.error("Unable to download external plugin \"{}\"", jarData.getInternalName(), e);
-					}
-				}
+				PluginHubDownloader downloader = new PluginHubDownloader(okHttpClient, externalPluginClient::getJarURL,
+					RuneLite.PLUGINS_DIR, PluginHubDownloader.DEFAULT_PARALLELISM);
+				Set<PluginHubManifest.JarData> failed = downloader.download(needsDownload, downloaded ->
+					SplashScreen.stage(splashStart + (splashLength * .2), splashStart + (splashLength * .8),
+						null, "Downloading external plugins",
+						downloaded, toDownload, true));
+				externalPlugins.removeAll(failed);
 			}
 			catch (IOException | VerificationException e)
 			{
 				log.error("Unable to download external plugins", e);
 				return;
 			}
+			catch (InterruptedException e)
+			{
+				log.warn("Interrupted while downloading external plugins", e);
+				Thread.currentThread().interrupt();
+				return;
+			}
 
 			SplashScreen.stage(splashStart + (splashLength * .8), null, "Starting external plugins");
 
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.externalplugins;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.util.CountingInputStream;
+import net.runelite.client.util.VerificationException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Downloads plugin hub jars concurrently into a plugin directory.
+ * <p>
+ * Jars are streamed into a {@code .part} file next to their final location, which is kept
+ * if the transfer is interrupted so that the next attempt (or the next client start) can
+ * resume it with a HTTP range request. Once complete, the jar is hashed on the download
+ * thread and atomically moved into place, so a jar in the plugin directory is always whole.
+ */
+@Slf4j
+class PluginHubDownloader
+{
+	static final int DEFAULT_PARALLELISM = 4;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final String PART_SUFFIX = ".part";
+
+	private final OkHttpClient okHttpClient;
+	private final Function<PluginHubManifest.JarData, HttpUrl> jarUrl;
+	private final File directory;
+	private final int parallelism;
+
+	PluginHubDownloader(OkHttpClient okHttpClient, Function<PluginHubManifest.JarData, HttpUrl> jarUrl, File directory, int parallelism)
+	{
+		this.okHttpClient = okHttpClient;
+		this.jarUrl = jarUrl;
+		this.directory = directory;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Download and verify the given jars
+	 *
+	 * @param jars     jars to download
+	 * @param progress receives the total number of bytes downloaded so far, may be called from any thread
+	 * @return the jars which could not be downloaded or verified
+	 */
+	Set<PluginHubManifest.JarData> download(Collection<PluginHubManifest.JarData> jars, IntConsumer progress) throws InterruptedException
+	{
+		if (jars.isEmpty())
+		{
+			return Collections.emptySet();
+		}
+
+		final AtomicInteger downloaded = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, jars.size()),
+			new ThreadFactoryBuilder()
+				.setNameFormat("plugin-download-%d")
+				.setDaemon(true)
+				.build());
+
+		try
+		{
+			List<PluginHubManifest.JarData> order = new ArrayList<>(jars);
+			List<Future<?>> futures = new ArrayList<>(order.size());
+			for (PluginHubManifest.JarData jarData : order)
+			{
+				futures.add(executor.submit(() ->
+				{
+					new Download(jarData, downloaded, progress).run();
+					return null;
+				}));
+			}
+
+			Set<PluginHubManifest.JarData> failed = new HashSet<>();
+			for (int i = 0; i < futures.size(); ++i)
+			{
+				PluginHubManifest.JarData jarData = order.get(i);
+				try
+				{
+					futures.get(i).get();
+				}
+				catch (ExecutionException e)
+				{
+					failed.add(jarData);
+					log.error("Unable to download external plugin \"{}\"", jarData.getInternalName(), e.getCause());
+				}
+			}
+			return failed;
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private class Download
+	{
+		private final PluginHubManifest.JarData jarData;
+		private final AtomicInteger downloaded;
+		private final IntConsumer progress;
+		private final File jarFile;
+		private final File partFile;
+		private int reported;
+
+		Download(PluginHubManifest.JarData jarData, AtomicInteger downloaded, IntConsumer progress)
+		{
+			this.jarData = jarData;
+			this.downloaded = downloaded;
+			this.progress = progress;
+			this.jarFile = jarData.getJarFile(directory);
+			this.partFile = new File(directory, jarFile.getName() + PART_SUFFIX);
+		}
+
+		void run() throws IOException, VerificationException
+		{
+			for (int attempt = 1; ; ++attempt)
+			{
+				try
+				{
+					fetch();
+				}
+				catch (IOException e)
+				{
+					if (attempt >= MAX_ATTEMPTS)
+					{
+						throw e;
+					}
+
+					// the partial file is kept, so the next attempt resumes from where this one stopped
+					log.debug("Download of {} interrupted at {} bytes, retrying", jarData.getInternalName(), partFile.length(), e);
+					continue;
+				}
+
+				HashCode hash = com.google.common.io.Files.asByteSource(partFile).hash(Hashing.sha256());
+				if (PluginHubManifest.HASH_ENCODER.encodeToString(hash.asBytes()).equals(jarData.getJarHash()))
+				{
+					break;
+				}
+
+				// a corrupt partial file can't be resumed from, so restart from scratch
+				partFile.delete();
+				update(0);
+				if (attempt >= MAX_ATTEMPTS)
+				{
+					throw new VerificationException("Plugin " + jarData.getInternalName() + " didn't match its hash");
+				}
+			}
+
+			try
+			{
+				Files.move(partFile.toPath(), jarFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(partFile.toPath(), jarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		private void fetch() throws IOException
+		{
+			long existing = partFile.exists() ? partFile.length() : 0;
+			if (existing > jarData.getJarSize())
+			{
+				partFile.delete();
+				existing = 0;
+			}
+
+			update((int) existing);
+			if (existing == jarData.getJarSize())
+			{
+				// fully downloaded on a previous run, but never verified
+				return;
+			}
+
+			Request.Builder request = new Request.Builder().url(jarUrl.apply(jarData));
+			if (existing > 0)
+			{
+				request.header("Range", "bytes=" + existing + "-");
+			}
+
+			try (Response res = okHttpClient.newCall(request.build()).execute())
+			{
+				final boolean append;
+				if (res.code() == 206 && existing > 0 && isContentRangeFrom(res.header("Content-Range"), existing))
+				{
+					append = true;
+				}
+				else if (res.code() == 200)
+				{
+					// the server ignored the range, start over
+					append = false;
+					existing = 0;
+				}
+				else
+				{
+					if (res.code() == 416)
+					{
+						partFile.delete();
+					}
+					throw new IOException("Non-OK response code: " + res.code());
+				}
+
+				final int offset = (int) existing;
+				try (InputStream in = new CountingInputStream(res.body().byteStream(), i -> update(offset + i));
+					OutputStream out = new FileOutputStream(partFile, append))
+				{
+					ByteStreams.copy(in, out);
+				}
+			}
+		}
+
+		private void update(int length)
+		{
+			int total = downloaded.addAndGet(length - reported);
+			reported = length;
+			progress.accept(total);
+		}
+	}
+
+	private static boolean isContentRangeFrom(String contentRange, long start)
+	{
+		return contentRange != null && contentRange.startsWith("bytes " + start + "-");
+	}
+}
@@ -50,7 +50,12 @@ public class PluginHubManifest
 
 		File getJarFile()
 		{
-			return new File(RuneLite.PLUGINS_DIR, internalName + "_" + jarHash + ".jar");
+			return getJarFile(RuneLite.PLUGINS_DIR);
+		}
+
+		File getJarFile(File directory)
+		{
+			return new File(directory, internalName + "_" + jarHash + ".jar");
 		}
 
 		boolean isValid()
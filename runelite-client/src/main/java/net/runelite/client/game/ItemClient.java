@@ -24,30 +24,51 @@
  */
 package net.runelite.client.game;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
 import net.runelite.http.api.item.ItemPrice;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
+/**
+ * Fetches item prices and stats. The last successful response for each is kept on disk, which lets
+ * the client start with last-known data and revalidate it with a conditional request.
+ */
 @Slf4j
 public class ItemClient
 {
+	private static final String PRICES = "prices.json";
+	private static final String STATS = "stats.json";
+
 	private final OkHttpClient client;
 	private final HttpUrl apiBase, staticBase;
 	private final Gson gson;
+	private final File snapshotDir;
 
 	@Inject
 	private ItemClient(OkHttpClient client,
@@ -55,75 +76,245 @@ public class ItemClient
 		@Named("runelite.static.base") HttpUrl staticBase,
 		Gson gson
 	)
+	{
+		this(client, apiBase, staticBase, gson, new File(RuneLite.CACHE_DIR, "items"));
+	}
+
+	ItemClient(OkHttpClient client, HttpUrl apiBase, HttpUrl staticBase, Gson gson, File snapshotDir)
 	{
 		this.client = client;
 		this.apiBase = apiBase;
 		this.staticBase = staticBase;
 		this.gson = gson;
+		this.snapshotDir = snapshotDir;
 	}
 
+	/**
+	 * Look up item prices, revalidating the on-disk snapshot if there is one
+	 *
+	 * @return the prices, or null if the snapshot is still current or the lookup failed
+	 * @throws IOException
+	 */
+	@Nullable
 	public ItemPrice[] getPrices() throws IOException
 	{
-		HttpUrl.Builder urlBuilder = apiBase.newBuilder()
+		HttpUrl url = apiBase.newBuilder()
 			.addPathSegment("item")
-			.addPathSegment("prices.js");
+			.addPathSegment("prices.js")
+			.build();
 
-		HttpUrl url = urlBuilder.build();
+		return fetch(url, PRICES, this::readPrices);
+	}
 
-		log.debug("Built URI: {}", url);
+	/**
+	 * Read the prices from the last successful {@link #getPrices()}
+	 *
+	 * @return the prices, or null if there is no usable snapshot
+	 */
+	@Nullable
+	public ItemPrice[] getCachedPrices()
+	{
+		return readSnapshot(PRICES, this::readPrices);
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
+	/**
+	 * Look up item stats, revalidating the on-disk snapshot if there is one
+	 *
+	 * @return the stats, or null if the snapshot is still current or the lookup failed
+	 * @throws IOException
+	 */
+	@Nullable
+	public Map<Integer, ItemStats> getStats() throws IOException
+	{
+		HttpUrl url = staticBase.newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("stats.ids.min.json")
 			.build();
 
-		try (Response response = client.newCall(request).execute())
+		return fetch(url, STATS, this::readStats);
+	}
+
+	/**
+	 * Read the stats from the last successful {@link #getStats()}
+	 *
+	 * @return the stats, or null if there is no usable snapshot
+	 */
+	@Nullable
+	public Map<Integer, ItemStats> getCachedStats()
+	{
+		return readSnapshot(STATS, this::readStats);
+	}
+
+	@Nullable
+	private <T> T fetch(HttpUrl url, String name, SnapshotParser<T> parser) throws IOException
+	{
+		log.debug("Built URI: {}", url);
+
+		File file = new File(snapshotDir, name);
+		File metaFile = new File(snapshotDir, name + ".meta");
+
+		Request.Builder request = new Request.Builder()
+			.url(url);
+
+		if (file.exists())
 		{
+			Properties meta = readMeta(metaFile);
+			String etag = meta.getProperty("ETag");
+			String lastModified = meta.getProperty("Last-Modified");
+			if (etag != null)
+			{
+				request.header("If-None-Match", etag);
+			}
+			if (lastModified != null)
+			{
+				request.header("If-Modified-Since", lastModified);
+			}
+		}
+
+		try (Response response = client.newCall(request.build()).execute())
+		{
+			if (response.code() == 304)
+			{
+				log.debug("{} is unchanged", name);
+				return null;
+			}
+
 			if (!response.isSuccessful())
 			{
-				log.warn("Error looking up prices: {}", response);
+				log.warn("Error looking up {}: {}", name, response);
 				return null;
 			}
 
-			InputStream in = response.body().byteStream();
-			return gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), ItemPrice[].class);
+			// the body is written to disk first and parsed from there, so a truncated or
+			// malformed response never replaces a good snapshot
+			File tmp = new File(snapshotDir, name + ".tmp");
+			try
+			{
+				snapshotDir.mkdirs();
+				try (InputStream in = response.body().byteStream())
+				{
+					Files.copy(in, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+
+				T result = parse(tmp, parser);
+				try
+				{
+					Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch (AtomicMoveNotSupportedException ex)
+				{
+					log.debug("atomic move not supported", ex);
+					Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				writeMeta(metaFile, response.header("ETag"), response.header("Last-Modified"));
+				return result;
+			}
+			finally
+			{
+				tmp.delete();
+			}
 		}
-		catch (JsonParseException ex)
+	}
+
+	@Nullable
+	private <T> T readSnapshot(String name, SnapshotParser<T> parser)
+	{
+		File file = new File(snapshotDir, name);
+		if (!file.exists())
 		{
-			throw new IOException(ex);
+			return null;
+		}
+
+		try
+		{
+			return parse(file, parser);
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to read {} snapshot", name, ex);
+			// drop the snapshot so the next lookup is unconditional
+			file.delete();
+			new File(snapshotDir, name + ".meta").delete();
+			return null;
 		}
 	}
 
-	public Map<Integer, ItemStats> getStats() throws IOException
+	private static <T> T parse(File file, SnapshotParser<T> parser) throws IOException
 	{
-		HttpUrl.Builder urlBuilder = staticBase.newBuilder()
-			.addPathSegment("item")
-			.addPathSegment("stats.ids.min.json");
+		try (JsonReader reader = new JsonReader(new InputStreamReader(new BufferedInputStream(new FileInputStream(file)), StandardCharsets.UTF_8)))
+		{
+			return parser.parse(reader);
+		}
+		catch (JsonParseException | IllegalStateException | NumberFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
 
-		HttpUrl url = urlBuilder.build();
+	private ItemPrice[] readPrices(JsonReader reader) throws IOException
+	{
+		List<ItemPrice> prices = new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext())
+		{
+			prices.add(gson.fromJson(reader, ItemPrice.class));
+		}
+		reader.endArray();
+		return prices.toArray(new ItemPrice[0]);
+	}
 
-		log.debug("Built URI: {}", url);
+	private Map<Integer, ItemStats> readStats(JsonReader reader) throws IOException
+	{
+		ImmutableMap.Builder<Integer, ItemStats> stats = ImmutableMap.builder();
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			int id = Integer.parseInt(reader.nextName());
+			stats.put(id, gson.fromJson(reader, ItemStats.class));
+		}
+		reader.endObject();
+		return stats.build();
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
+	private static Properties readMeta(File metaFile)
+	{
+		Properties meta = new Properties();
+		try (InputStream in = new FileInputStream(metaFile))
+		{
+			meta.load(in);
+		}
+		catch (IOException ex)
+		{
+			// no validators, the request is sent unconditionally
+		}
+		return meta;
+	}
 
-		try (Response response = client.newCall(request).execute())
+	private static void writeMeta(File metaFile, @Nullable String etag, @Nullable String lastModified)
+	{
+		Properties meta = new Properties();
+		if (etag != null)
 		{
-			if (!response.isSuccessful())
-			{
-				log.warn("Error looking up item stats: {}", response);
-				return null;
-			}
+			meta.setProperty("ETag", etag);
+		}
+		if (lastModified != null)
+		{
+			meta.setProperty("Last-Modified", lastModified);
+		}
 
-			InputStream in = response.body().byteStream();
-			final Type typeToken = new TypeToken<Map<Integer, ItemStats>>()
-			{
-			}.getType();
-			return gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), typeToken);
+		try (OutputStream out = new FileOutputStream(metaFile))
+		{
+			meta.store(out, null);
 		}
-		catch (JsonParseException ex)
+		catch (IOException ex)
 		{
-			throw new IOException(ex);
+			log.warn("unable to write {}", metaFile, ex);
 		}
 	}
+
+	@FunctionalInterface
+	private interface SnapshotParser<T>
+	{
+		T parse(JsonReader reader) throws IOException;
+	}
 }
@@ -32,7 +32,6 @@ import com.google.inject.Inject;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -94,7 +93,7 @@ public class ItemManager
 	@SuppressWarnings("PMD.ImmutableField")
 	private int lowPriceThreshold = 1000;
 
-	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	private ItemPriceTable itemPrices = ItemPriceTable.EMPTY;
 	private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<OutlineKey, BufferedImage> itemOutlines;
@@ -234,17 +233,23 @@ public class ItemManager
 
 	private void loadPrices()
 	{
+		if (itemPrices.size() == 0)
+		{
+			// use the last known prices until they have been revalidated
+			ItemPrice[] cached = itemClient.getCachedPrices();
+			if (cached != null)
+			{
+				itemPrices = new ItemPriceTable(cached);
+				log.debug("Loaded {} cached prices", itemPrices.size());
+			}
+		}
+
 		try
 		{
 			ItemPrice[] prices = itemClient.getPrices();
 			if (prices != null)
 			{
-				ImmutableMap.Builder<Integer, ItemPrice> map = ImmutableMap.builderWithExpectedSize(prices.length);
-				for (ItemPrice price : prices)
-				{
-					map.put(price.getId(), price);
-				}
-				itemPrices = map.build();
+				itemPrices = new ItemPriceTable(prices);
 			}
 
 			log.debug("Loaded {} prices", itemPrices.size());
@@ -257,12 +262,19 @@ public class ItemManager
 
 	private void loadStats()
 	{
+		final Map<Integer, ItemStats> cached = itemClient.getCachedStats();
+		if (cached != null)
+		{
+			itemStats = cached;
+			log.debug("Loaded {} cached stats", itemStats.size());
+		}
+
 		try
 		{
 			final Map<Integer, ItemStats> stats = itemClient.getStats();
 			if (stats != null)
 			{
-				itemStats = ImmutableMap.copyOf(stats);
+				itemStats = stats;
 			}
 
 			log.debug("Loaded {} stats", itemStats.size());
@@ -315,12 +327,8 @@ public class ItemManager
 
 		if (mappedItems == null)
 		{
-			final ItemPrice ip = itemPrices.get(itemID);
-
-			if (ip != null)
-			{
-				price = useWikiPrice ? getWikiPrice(ip) : ip.getPrice();
-			}
+			final int jagPrice = itemPrices.getPrice(itemID);
+			price = useWikiPrice ? getWikiPrice(itemPrices.getWikiPrice(itemID), jagPrice) : jagPrice;
 		}
 		else
 		{
@@ -340,8 +348,11 @@ public class ItemManager
 	 */
 	public int getWikiPrice(ItemPrice itemPrice)
 	{
-		final int wikiPrice = itemPrice.getWikiPrice();
-		final int jagPrice = itemPrice.getPrice();
+		return getWikiPrice(itemPrice.getWikiPrice(), itemPrice.getPrice());
+	}
+
+	private int getWikiPrice(int wikiPrice, int jagPrice)
+	{
 		if (wikiPrice <= 0)
 		{
 			return jagPrice;
@@ -394,25 +405,16 @@ public class ItemManager
 	}
 
 	/**
-	 * Search for tradeable items based on item name
+	 * Search for tradeable items based on item name. Exact matches are first, followed by
+	 * names starting with the search, then names containing a word starting with it, then
+	 * any other name containing it.
 	 *
 	 * @param itemName item name
 	 * @return
 	 */
 	public List<ItemPrice> search(String itemName)
 	{
-		itemName = itemName.toLowerCase();
-
-		List<ItemPrice> result = new ArrayList<>();
-		for (ItemPrice itemPrice : itemPrices.values())
-		{
-			final String name = itemPrice.getName();
-			if (name.toLowerCase().contains(itemName))
-			{
-				result.add(itemPrice);
-			}
-		}
-		return result;
+		return itemPrices.search(itemName);
 	}
 
 	/**
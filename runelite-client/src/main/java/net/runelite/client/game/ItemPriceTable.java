@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * Item prices stored in flat arrays indexed by item id, so price lookups
+ * neither box nor hash the id.
+ */
+class ItemPriceTable
+{
+	static final ItemPriceTable EMPTY = new ItemPriceTable(new ItemPrice[0]);
+
+	private final List<ItemPrice> items;
+	private final int[] prices;
+	private final int[] wikiPrices;
+	private final ItemSearchIndex searchIndex;
+
+	ItemPriceTable(ItemPrice[] items)
+	{
+		int maxId = -1;
+		for (ItemPrice item : items)
+		{
+			maxId = Math.max(maxId, item.getId());
+		}
+
+		this.items = Collections.unmodifiableList(Arrays.asList(items));
+		this.prices = new int[maxId + 1];
+		this.wikiPrices = new int[maxId + 1];
+
+		for (ItemPrice item : items)
+		{
+			int id = item.getId();
+			if (id >= 0)
+			{
+				prices[id] = item.getPrice();
+				wikiPrices[id] = item.getWikiPrice();
+			}
+		}
+
+		this.searchIndex = new ItemSearchIndex(this.items);
+	}
+
+	/**
+	 * @return the Jagex price of the item, or 0 if it has no price
+	 */
+	int getPrice(int itemId)
+	{
+		return itemId >= 0 && itemId < prices.length ? prices[itemId] : 0;
+	}
+
+	/**
+	 * @return the wiki price of the item, or 0 if it has no price
+	 */
+	int getWikiPrice(int itemId)
+	{
+		return itemId >= 0 && itemId < wikiPrices.length ? wikiPrices[itemId] : 0;
+	}
+
+	/**
+	 * @see ItemSearchIndex#search(String)
+	 */
+	List<ItemPrice> search(String itemName)
+	{
+		return searchIndex.search(itemName);
+	}
+
+	int size()
+	{
+		return items.size();
+	}
+}
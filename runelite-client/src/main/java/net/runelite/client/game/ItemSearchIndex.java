@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * An inverted index from every 1, 2 and 3 character substring of the item names to the items containing it.
+ * Queries of up to 3 characters are answered directly from a posting list; longer queries intersect the
+ * posting lists of their trigrams and verify the few remaining candidates.
+ */
+class ItemSearchIndex
+{
+	private static final int MAX_GRAM = 3;
+
+	private static final int RANK_EXACT = 0;
+	private static final int RANK_PREFIX = 1;
+	private static final int RANK_WORD_PREFIX = 2;
+	private static final int RANK_SUBSTRING = 3;
+
+	private final List<ItemPrice> items;
+	private final String[] names;
+	private final Map<String, int[]> postings;
+
+	ItemSearchIndex(List<ItemPrice> items)
+	{
+		this.items = items;
+		this.names = new String[items.size()];
+
+		Map<String, Posting> builder = new HashMap<>();
+		for (int i = 0; i < names.length; ++i)
+		{
+			final String name = items.get(i).getName();
+			names[i] = name == null ? "" : name.toLowerCase();
+
+			for (int len = 1; len <= MAX_GRAM; ++len)
+			{
+				for (int start = 0; start + len <= names[i].length(); ++start)
+				{
+					builder.computeIfAbsent(names[i].substring(start, start + len), k -> new Posting()).add(i);
+				}
+			}
+		}
+
+		postings = new HashMap<>(builder.size() * 4 / 3 + 1);
+		builder.forEach((gram, posting) -> postings.put(gram, posting.toArray()));
+	}
+
+	/**
+	 * Find the items whose name contains the query. Exact matches are returned first, then names starting
+	 * with the query, then names with a word starting with the query, then any other match.
+	 *
+	 * @param query query, case insensitive
+	 * @return matching items, ranked
+	 */
+	List<ItemPrice> search(String query)
+	{
+		query = query.toLowerCase();
+		if (query.isEmpty())
+		{
+			return new ArrayList<>(items);
+		}
+
+		final int[] candidates = candidates(query);
+		if (candidates.length == 0)
+		{
+			return new ArrayList<>();
+		}
+
+		// rank each match into its own bucket; candidates are in index order, so each bucket stays in index order
+		final int[][] buckets = new int[RANK_SUBSTRING + 1][];
+		final int[] counts = new int[RANK_SUBSTRING + 1];
+		for (int idx : candidates)
+		{
+			final String name = names[idx];
+			final int pos = name.indexOf(query);
+			if (pos == -1)
+			{
+				// trigram candidates which don't contain the whole query
+				continue;
+			}
+
+			final int rank = rank(name, query, pos);
+			if (buckets[rank] == null)
+			{
+				buckets[rank] = new int[candidates.length];
+			}
+			buckets[rank][counts[rank]++] = idx;
+		}
+
+		final List<ItemPrice> result = new ArrayList<>(counts[0] + counts[1] + counts[2] + counts[3]);
+		for (int rank = 0; rank < buckets.length; ++rank)
+		{
+			for (int i = 0; i < counts[rank]; ++i)
+			{
+				result.add(items.get(buckets[rank][i]));
+			}
+		}
+		return result;
+	}
+
+	private int[] candidates(String query)
+	{
+		if (query.length() <= MAX_GRAM)
+		{
+			return postings.getOrDefault(query, new int[0]);
+		}
+
+		// gather the trigram posting lists and intersect them, shortest first
+		final int[][] lists = new int[query.length() - MAX_GRAM + 1][];
+		for (int i = 0; i < lists.length; ++i)
+		{
+			lists[i] = postings.get(query.substring(i, i + MAX_GRAM));
+			if (lists[i] == null)
+			{
+				return new int[0];
+			}
+		}
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+		int[] result = lists[0].clone();
+		int size = result.length;
+		for (int i = 1; i < lists.length && size > 0; ++i)
+		{
+			size = intersect(result, size, lists[i]);
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Intersect the first {@code size} elements of {@code a} with {@code b}, both sorted, writing the result
+	 * into the front of {@code a}.
+	 */
+	private int intersect(int[] a, int size, int[] b)
+	{
+		int out = 0;
+		for (int i = 0, j = 0; i < size && j < b.length; )
+		{
+			if (a[i] < b[j])
+			{
+				++i;
+			}
+			else if (a[i] > b[j])
+			{
+				++j;
+			}
+			else
+			{
+				a[out++] = a[i];
+				++i;
+				++j;
+			}
+		}
+		return out;
+	}
+
+	private static int rank(String name, String query, int pos)
+	{
+		if (pos == 0)
+		{
+			return name.length() == query.length() ? RANK_EXACT : RANK_PREFIX;
+		}
+
+		// an earlier occurrence may be mid-word while a later one starts a word
+		for (; pos != -1; pos = name.indexOf(query, pos + 1))
+		{
+			if (!Character.isLetterOrDigit(name.charAt(pos - 1)))
+			{
+				return RANK_WORD_PREFIX;
+			}
+		}
+		return RANK_SUBSTRING;
+	}
+
+	private static class Posting
+	{
+		private int[] ids = new int[4];
+		private int size;
+
+		void add(int id)
+		{
+			// a name containing the same gram more than once is only listed once
+			if (size > 0 && ids[size - 1] == id)
+			{
+				return;
+			}
+			if (size == ids.length)
+			{
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		int[] toArray()
+		{
+			return Arrays.copyOf(ids, size);
+		}
+	}
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.DecorativeObject;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.GroundObject;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WallObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.events.WorldViewUnloaded;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Index of the game, wall, decorative and ground objects in the loaded scenes, by object id,
+ * by region and by tile. It is kept up to date from the object spawn and despawn events, so
+ * plugins can look objects up here instead of each keeping their own lists.
+ * <p>
+ * Objects are indexed by their base id, not by the id of their current impostor. Locations are
+ * those of the scene the object is in, which in instances are instance coordinates; use
+ * {@link WorldPoint#toLocalInstance(WorldView, WorldPoint)} to find the tiles of a template
+ * location. Game objects larger than one tile are indexed on every tile they cover.
+ * <p>
+ * The index must only be used from the client thread. The returned collections are live views
+ * and must not be held across ticks. The index handles events before plugins do, so a plugin
+ * handling a spawn or despawn event already sees the index updated for it.
+ */
+@Singleton
+@Slf4j
+public class SceneObjectIndex
+{
+	private final Client client;
+
+	private final SetMultimap<Integer, TileObject> byId = HashMultimap.create();
+	private final SetMultimap<Integer, TileObject> byRegion = HashMultimap.create();
+	private final ListMultimap<WorldPoint, TileObject> byTile = ArrayListMultimap.create();
+
+	@Inject
+	private SceneObjectIndex(Client client, ClientThread clientThread, EventBus eventBus)
+	{
+		this.client = client;
+		eventBus.register(this);
+		// pick up the objects of a scene which was loaded before the index was created
+		clientThread.invoke(this::rebuild);
+	}
+
+	/**
+	 * Gets the loaded objects with the given base id.
+	 */
+	public Set<TileObject> getObjects(int id)
+	{
+		return Collections.unmodifiableSet(byId.get(id));
+	}
+
+	/**
+	 * Gets the loaded objects in the given region.
+	 */
+	public Set<TileObject> getObjectsInRegion(int regionId)
+	{
+		return Collections.unmodifiableSet(byRegion.get(regionId));
+	}
+
+	/**
+	 * Gets the loaded objects on the given tile.
+	 */
+	public Collection<TileObject> getObjectsAt(WorldPoint point)
+	{
+		return Collections.unmodifiableList(byTile.get(point));
+	}
+
+	/**
+	 * Gets all loaded objects.
+	 */
+	public Collection<TileObject> getObjects()
+	{
+		return Collections.unmodifiableCollection(byId.values());
+	}
+
+	public int size()
+	{
+		return byId.size();
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		add(event.getGameObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		remove(event.getGameObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		add(event.getWallObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		remove(event.getWallObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		add(event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		remove(event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		add(event.getGroundObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		remove(event.getGroundObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING)
+		{
+			// the new scene's objects arrive as spawn events, without despawns for the old ones
+			removeWorldView(client.getTopLevelWorldView());
+		}
+		else if (event.getGameState() == GameState.LOGIN_SCREEN)
+		{
+			clear();
+		}
+	}
+
+	@Subscribe(priority = 1)
+	public void onWorldViewUnloaded(WorldViewUnloaded event)
+	{
+		removeWorldView(event.getWorldView());
+	}
+
+	private void add(TileObject object)
+	{
+		if (byId.put(object.getId(), object))
+		{
+			byRegion.put(object.getWorldLocation().getRegionID(), object);
+			forEachTile(object, point -> byTile.put(point, object));
+		}
+	}
+
+	private void remove(TileObject object)
+	{
+		if (byId.remove(object.getId(), object))
+		{
+			byRegion.remove(object.getWorldLocation().getRegionID(), object);
+			forEachTile(object, point -> byTile.remove(point, object));
+		}
+	}
+
+	private static void forEachTile(TileObject object, Consumer<WorldPoint> consumer)
+	{
+		final WorldView wv = object.getWorldView();
+		if (!(object instanceof GameObject) || wv == null)
+		{
+			consumer.accept(object.getWorldLocation());
+			return;
+		}
+
+		final GameObject gameObject = (GameObject) object;
+		final Point min = gameObject.getSceneMinLocation();
+		final Point max = gameObject.getSceneMaxLocation();
+		for (int x = min.getX(); x <= max.getX(); ++x)
+		{
+			for (int y = min.getY(); y <= max.getY(); ++y)
+			{
+				consumer.accept(WorldPoint.fromScene(wv, x, y, object.getPlane()));
+			}
+		}
+	}
+
+	private void removeWorldView(WorldView wv)
+	{
+		if (wv == null || byId.isEmpty())
+		{
+			return;
+		}
+
+		byId.values().removeIf(o -> o.getWorldView() == wv);
+		byRegion.values().removeIf(o -> o.getWorldView() == wv);
+		byTile.values().removeIf(o -> o.getWorldView() == wv);
+	}
+
+	private void clear()
+	{
+		byId.clear();
+		byRegion.clear();
+		byTile.clear();
+	}
+
+	private void rebuild()
+	{
+		clear();
+		if (client.getGameState() != GameState.LOGGED_IN)
+		{
+			return;
+		}
+
+		final WorldView wv = client.getTopLevelWorldView();
+		if (wv != null)
+		{
+			scan(wv);
+			log.debug("Indexed {} scene objects", byId.size());
+		}
+	}
+
+	private void scan(WorldView wv)
+	{
+		final Scene scene = wv.getScene();
+		for (Tile[][] plane : scene.getTiles())
+		{
+			for (Tile[] column : plane)
+			{
+				for (Tile tile : column)
+				{
+					if (tile == null)
+					{
+						continue;
+					}
+
+					for (GameObject object : tile.getGameObjects())
+					{
+						// larger objects are on each tile they cover, but are only indexed from their origin
+						if (object != null && object.getSceneMinLocation().equals(tile.getSceneLocation()))
+						{
+							add(object);
+						}
+					}
+
+					final WallObject wallObject = tile.getWallObject();
+					if (wallObject != null)
+					{
+						add(wallObject);
+					}
+
+					final DecorativeObject decorativeObject = tile.getDecorativeObject();
+					if (decorativeObject != null)
+					{
+						add(decorativeObject);
+					}
+
+					final GroundObject groundObject = tile.getGroundObject();
+					if (groundObject != null)
+					{
+						add(groundObject);
+					}
+				}
+			}
+		}
+
+		for (WorldView sub : wv.worldViews())
+		{
+			scan(sub);
+		}
+	}
+}
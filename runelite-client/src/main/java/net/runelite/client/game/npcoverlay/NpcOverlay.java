@@ -64,9 +64,18 @@ class NpcOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		for (HighlightedNpc highlightedNpc : highlightedNpcs.values())
+		// Outlines are rasterized together once every npc has been visited
+		modelOutlineRenderer.beginBatch();
+		try
 		{
-			renderNpcOverlay(graphics, highlightedNpc);
+			for (HighlightedNpc highlightedNpc : highlightedNpcs.values())
+			{
+				renderNpcOverlay(graphics, highlightedNpc);
+			}
+		}
+		finally
+		{
+			modelOutlineRenderer.endBatch();
 		}
 
 		return null;
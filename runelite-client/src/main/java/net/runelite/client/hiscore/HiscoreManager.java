@@ -24,18 +24,32 @@
  */
 package net.runelite.client.hiscore;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.util.concurrent.ScheduledExecutorService;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Caches hiscore lookups. Concurrent lookups of the same player and endpoint share a single
+ * request, and at most {@link #MAX_CONCURRENT_LOOKUPS} requests are made at once.
+ */
 @Singleton
+@Slf4j
 public class HiscoreManager
 {
 	@AllArgsConstructor
@@ -46,20 +60,37 @@ public class HiscoreManager
 		HiscoreEndpoint type;
 	}
 
-	static final HiscoreResult EMPTY = new HiscoreResult(null, ImmutableMap.of());
+	private static final int MAX_CONCURRENT_LOOKUPS = 4;
+
 	static final HiscoreResult NONE = new HiscoreResult(null, ImmutableMap.of());
 
-	private final LoadingCache<HiscoreKey, HiscoreResult> hiscoreCache;
 	private final HiscoreClient hiscoreClient;
+	private final Cache<HiscoreKey, HiscoreResult> hiscoreCache = CacheBuilder.newBuilder()
+		.maximumSize(2048L)
+		.expireAfterWrite(1, TimeUnit.HOURS)
+		.build();
+	// failed lookups, so that lookupAsync callers polling every frame don't retry immediately
+	private final Cache<HiscoreKey, Boolean> failures = CacheBuilder.newBuilder()
+		.maximumSize(256L)
+		.expireAfterWrite(1, TimeUnit.MINUTES)
+		.build();
+	private final ConcurrentHashMap<HiscoreKey, CompletableFuture<HiscoreResult>> inFlight = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
 
 	@Inject
-	private HiscoreManager(ScheduledExecutorService executor, HiscoreClient hiscoreClient)
+	private HiscoreManager(HiscoreClient hiscoreClient)
 	{
 		this.hiscoreClient = hiscoreClient;
-		hiscoreCache = CacheBuilder.newBuilder()
-			.maximumSize(128L)
-			.expireAfterWrite(1, TimeUnit.HOURS)
-			.build(new HiscoreLoader(executor, hiscoreClient));
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENT_LOOKUPS, MAX_CONCURRENT_LOOKUPS,
+			60L, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("hiscore-%d")
+				.setDaemon(true)
+				.build());
+		executor.allowCoreThreadTimeOut(true);
+		this.executor = executor;
 	}
 
 	/**
@@ -70,24 +101,33 @@ public class HiscoreManager
 	 * @return HiscoreResult or null
 	 * @throws IOException Upon error in fetching hiscore
 	 */
+	@Nullable
 	public HiscoreResult lookup(String username, HiscoreEndpoint endpoint) throws IOException
 	{
 		HiscoreKey hiscoreKey = new HiscoreKey(username, endpoint);
 		HiscoreResult hiscoreResult = hiscoreCache.getIfPresent(hiscoreKey);
-		if (hiscoreResult != null && hiscoreResult != EMPTY)
+		if (hiscoreResult != null)
 		{
 			return hiscoreResult == NONE ? null : hiscoreResult;
 		}
 
-		hiscoreResult = hiscoreClient.lookup(username, endpoint);
-		if (hiscoreResult == null)
-		{
-			hiscoreCache.put(hiscoreKey, NONE);
-			return null;
-		}
+		return await(fetch(hiscoreKey));
+	}
 
-		hiscoreCache.put(hiscoreKey, hiscoreResult);
-		return hiscoreResult;
+	/**
+	 * Synchronously look up a players hiscore from a specified endpoint, ignoring any cached result. This is
+	 * for lookups a user has asked for, such as chat commands, which should not show an hour old result. The
+	 * cache is updated with the new result.
+	 *
+	 * @param username Players username
+	 * @param endpoint Hiscore endpoint
+	 * @return HiscoreResult or null
+	 * @throws IOException Upon error in fetching hiscore
+	 */
+	@Nullable
+	public HiscoreResult lookupUncached(String username, HiscoreEndpoint endpoint) throws IOException
+	{
+		return await(fetch(new HiscoreKey(username, endpoint)));
 	}
 
 	/**
@@ -95,18 +135,89 @@ public class HiscoreManager
 	 *
 	 * @param username Players username
 	 * @param endpoint Hiscore endpoint
-	 * @return HiscoreResult or null
+	 * @return HiscoreResult, or null if it is not cached yet
 	 */
+	@Nullable
 	public HiscoreResult lookupAsync(String username, HiscoreEndpoint endpoint)
 	{
 		HiscoreKey hiscoreKey = new HiscoreKey(username, endpoint);
 		HiscoreResult hiscoreResult = hiscoreCache.getIfPresent(hiscoreKey);
-		if (hiscoreResult != null && hiscoreResult != EMPTY)
+		if (hiscoreResult != null)
 		{
 			return hiscoreResult == NONE ? null : hiscoreResult;
 		}
 
-		hiscoreCache.refresh(hiscoreKey);
+		if (failures.getIfPresent(hiscoreKey) == null)
+		{
+			fetch(hiscoreKey);
+		}
 		return null;
 	}
+
+	/**
+	 * Look up a players hiscore from a specified endpoint, ignoring any cached result. The cache is
+	 * updated with the new result.
+	 *
+	 * @param username Players username
+	 * @param endpoint Hiscore endpoint
+	 * @return future HiscoreResult, which completes with null if the player is not found
+	 */
+	public CompletableFuture<HiscoreResult> refresh(String username, HiscoreEndpoint endpoint)
+	{
+		return fetch(new HiscoreKey(username, endpoint));
+	}
+
+	private static HiscoreResult await(CompletableFuture<HiscoreResult> future) throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		catch (ExecutionException ex)
+		{
+			if (ex.getCause() instanceof IOException)
+			{
+				throw (IOException) ex.getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+	}
+
+	private CompletableFuture<HiscoreResult> fetch(HiscoreKey hiscoreKey)
+	{
+		CompletableFuture<HiscoreResult> future = new CompletableFuture<>();
+		CompletableFuture<HiscoreResult> existing = inFlight.putIfAbsent(hiscoreKey, future);
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		log.debug("Submitting hiscore lookup for {} type {}", hiscoreKey.getUsername(), hiscoreKey.getType());
+
+		executor.execute(() ->
+		{
+			try
+			{
+				HiscoreResult result = hiscoreClient.lookup(hiscoreKey.getUsername(), hiscoreKey.getType());
+				// cache before leaving the in-flight map so later lookups see one or the other
+				hiscoreCache.put(hiscoreKey, result == null ? NONE : result);
+				// leave the in-flight map before completing so callers reacting to the result start a new lookup
+				inFlight.remove(hiscoreKey, future);
+				future.complete(result);
+			}
+			catch (Exception ex)
+			{
+				log.debug("Unable to look up hiscore for {} type {}", hiscoreKey.getUsername(), hiscoreKey.getType(), ex);
+				failures.put(hiscoreKey, Boolean.TRUE);
+				inFlight.remove(hiscoreKey, future);
+				future.completeExceptionally(ex);
+			}
+		});
+		return future;
+	}
 }
@@ -26,19 +26,24 @@ package net.runelite.client.plugins;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -46,17 +51,28 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -86,7 +102,15 @@ public class PluginManager
 	 * Base package where the core plugins are
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
+	/**
+	 * Index of the core plugins, generated at build time
+	 */
+	private static final String PLUGIN_INDEX = "plugins.index";
 	private static final File SIDELOADED_PLUGINS = new File(RuneLite.RUNELITE_DIR, "sideloaded-plugins");
+	/**
+	 * Time spent starting plugins per EDT invocation during startup
+	 */
+	private static final long EDT_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
 	private final boolean developerMode;
 	private final boolean safeMode;
@@ -225,21 +249,32 @@ public class PluginManager
 	public void startPlugins()
 	{
 		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
-		int loaded = 0;
-		for (Plugin plugin : scannedPlugins)
+		AtomicInteger loaded = new AtomicInteger();
+		Map<Plugin, Long> startTimes = new HashMap<>();
+		while (loaded.get() < scannedPlugins.size())
 		{
 			try
 			{
+				// start as many plugins as fit in the budget per EDT invocation, so the splash screen
+				// still gets repainted without paying for a round trip per plugin
 				SwingUtilities.invokeAndWait(() ->
 				{
-					try
+					final long deadline = System.nanoTime() + EDT_BATCH_NANOS;
+					do
 					{
-						startPlugin(plugin);
-					}
-					catch (PluginInstantiationException ex)
-					{
-						log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+						Plugin plugin = scannedPlugins.get(loaded.getAndIncrement());
+						long start = System.nanoTime();
+						try
+						{
+							startPlugin(plugin);
+						}
+						catch (PluginInstantiationException ex)
+						{
+							log.error("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+						}
+						startTimes.put(plugin, System.nanoTime() - start);
 					}
+					while (loaded.get() < scannedPlugins.size() && System.nanoTime() < deadline);
 				});
 			}
 			catch (InterruptedException | InvocationTargetException e)
@@ -247,8 +282,16 @@ public class PluginManager
 				throw new RuntimeException(e);
 			}
 
-			loaded++;
-			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded, scannedPlugins.size(), false);
+			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded.get(), scannedPlugins.size(), false);
+		}
+
+		if (log.isDebugEnabled())
+		{
+			startTimes.entrySet().stream()
+				.sorted(Map.Entry.<Plugin, Long>comparingByValue().reversed())
+				.limit(10)
+				.forEach(e -> log.debug("Plugin {} took {}ms to start", e.getKey().getClass().getSimpleName(),
+					TimeUnit.NANOSECONDS.toMillis(e.getValue())));
 		}
 
 		for (Plugin plugin : plugins)
@@ -260,16 +303,64 @@ public class PluginManager
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
 
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		List<Class<?>> plugins;
+		try (InputStream in = PluginManager.class.getResourceAsStream(PLUGIN_INDEX))
+		{
+			if (in != null)
+			{
+				plugins = readPluginIndex(in);
+			}
+			else
+			{
+				// the index is built by the runelite-maven-plugin, which isn't run when building from some IDEs
+				log.debug("No plugin index found, scanning the classpath for plugins");
+				ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+
+				plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
+					.map(ClassInfo::load)
+					.collect(Collectors.toList());
+			}
+		}
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
 	}
 
+	/**
+	 * Load the plugin classes listed in a plugin index. Each line is a class name followed by a tab
+	 * and the plugin's developerPlugin flag.
+	 */
+	private List<Class<?>> readPluginIndex(InputStream in) throws IOException
+	{
+		List<Class<?>> plugins = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		for (String line; (line = reader.readLine()) != null; )
+		{
+			if (line.isEmpty())
+			{
+				continue;
+			}
+
+			String[] fields = line.split("\t", -1);
+			if (Boolean.parseBoolean(fields[1]) && !developerMode)
+			{
+				// don't bother loading developer plugins which would be skipped anyway
+				continue;
+			}
+
+			try
+			{
+				plugins.add(getClass().getClassLoader().loadClass(fields[0]));
+			}
+			catch (ClassNotFoundException e)
+			{
+				throw new IOException("Plugin index contains missing class " + fields[0], e);
+			}
+		}
+		return plugins;
+	}
+
 	public void loadSideLoadPlugins()
 	{
 		if (!developerMode)
@@ -372,30 +463,93 @@ public class PluginManager
 
 		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
 
-		int loaded = 0;
-		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		// Plugins are instantiated as soon as all of their dependencies are, so independent branches
+		// of the dependency graph are created concurrently
+		Map<Class<? extends Plugin>, CompletableFuture<Plugin>> instantiated = new ConcurrentHashMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(sortedPlugins.size(), Runtime.getRuntime().availableProcessors())),
+			new ThreadFactoryBuilder()
+				.setNameFormat("plugin-loader-%d")
+				.setDaemon(true)
+				.build());
+		try
 		{
-			Plugin plugin;
-			try
+			for (Class<? extends Plugin> pluginClazz : sortedPlugins)
 			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
-			}
-			catch (PluginInstantiationException ex)
-			{
-				log.error("Error instantiating plugin!", ex);
+				CompletableFuture<?>[] dependencies = graph.predecessors(pluginClazz).stream()
+					.map(instantiated::get)
+					.toArray(CompletableFuture<?>[]::new);
+
+				instantiated.put(pluginClazz, CompletableFuture.allOf(dependencies).handleAsync((v, ex) ->
+				{
+					if (ex != null)
+					{
+						// a dependency failed with an unexpected exception, which is rethrown below
+						return null;
+					}
+
+					try
+					{
+						long start = System.nanoTime();
+						Plugin plugin = instantiate(dependency -> getInstantiated(instantiated, dependency), (Class<Plugin>) pluginClazz);
+						log.debug("Loaded plugin {} in {}ms", pluginClazz.getSimpleName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+						return plugin;
+					}
+					catch (PluginInstantiationException e)
+					{
+						log.error("Error instantiating plugin!", e);
+						return null;
+					}
+				}, executor));
 			}
 
-			loaded++;
-			if (onPluginLoaded != null)
+			List<Plugin> newPlugins = new ArrayList<>();
+			int loaded = 0;
+			for (Class<? extends Plugin> pluginClazz : sortedPlugins)
 			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				Plugin plugin;
+				try
+				{
+					plugin = instantiated.get(pluginClazz).join();
+				}
+				catch (CompletionException e)
+				{
+					Throwables.throwIfUnchecked(e.getCause());
+					throw e;
+				}
+
+				// reported from this thread, in order, so that progress never goes backwards
+				if (onPluginLoaded != null)
+				{
+					onPluginLoaded.accept(++loaded, sortedPlugins.size());
+				}
+
+				if (plugin != null)
+				{
+					// added in dependency order, so that dependencies are always started first
+					newPlugins.add(plugin);
+					this.plugins.add(plugin);
+				}
 			}
+
+			return newPlugins;
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Nullable
+	private Plugin getInstantiated(Map<Class<? extends Plugin>, CompletableFuture<Plugin>> instantiated, Class<? extends Plugin> clazz)
+	{
+		CompletableFuture<Plugin> future = instantiated.get(clazz);
+		if (future != null)
+		{
+			// dependencies have always completed by the time their dependents are instantiated
+			return future.getNow(null);
 		}
 
-		return newPlugins;
+		return plugins.stream().filter(p -> p.getClass() == clazz).findFirst().orElse(null);
 	}
 
 	public boolean startPlugin(Plugin plugin) throws PluginInstantiationException
@@ -532,18 +686,18 @@ public class PluginManager
 		return activePlugins.contains(plugin);
 	}
 
-	private Plugin instantiate(List<Plugin> scannedPlugins, Class<Plugin> clazz) throws PluginInstantiationException
+	private Plugin instantiate(Function<Class<? extends Plugin>, Plugin> dependencyLookup, Class<Plugin> clazz) throws PluginInstantiationException
 	{
 		PluginDependency[] pluginDependencies = clazz.getAnnotationsByType(PluginDependency.class);
 		List<Plugin> deps = new ArrayList<>();
 		for (PluginDependency pluginDependency : pluginDependencies)
 		{
-			Optional<Plugin> dependency = scannedPlugins.stream().filter(p -> p.getClass() == pluginDependency.value()).findFirst();
-			if (!dependency.isPresent())
+			Plugin dependency = dependencyLookup.apply(pluginDependency.value());
+			if (dependency == null)
 			{
 				throw new PluginInstantiationException("Unmet dependency for " + clazz.getSimpleName() + ": " + pluginDependency.value().getSimpleName());
 			}
-			deps.add(dependency.get());
+			deps.add(dependency);
 		}
 
 		Plugin plugin;
@@ -602,7 +756,6 @@ public class PluginManager
 			throw new PluginInstantiationException(ex);
 		}
 
-		log.debug("Loaded plugin {}", clazz.getSimpleName());
 		return plugin;
 	}
 
@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A compiled set of filter words and regexes.
+ * <p>
+ * Words are matched together in one pass over the text with an Aho-Corasick automaton. Regexes which can be
+ * safely wrapped in a group are also joined into one alternation, which is used to skip running each regex
+ * on text that none of them match. Both behave the same as matching each word and regex separately with
+ * {@link Pattern#CASE_INSENSITIVE}: every word and regex censors its own leftmost non-overlapping matches.
+ * <p>
+ * Results are cached by text, so this is not thread safe.
+ */
+@Slf4j
+class ChatFilter
+{
+	private static final int CACHE_SIZE = 512;
+	private static final int[] NO_MATCH = new int[0];
+
+	// automaton, with the failure transitions already resolved. Row 0 is the root.
+	private final int[] transitions;
+	private final int alphabetSize;
+	private final int[] asciiAlphabet = new int[128];
+	private final Map<Character, Integer> alphabet = new HashMap<>();
+	// word ending at each node, or -1, and the next node along the failure chain which ends a word, or -1
+	private final int[] nodeWord;
+	private final int[] nodeNextOutput;
+	private final int[] wordLength;
+
+	@Nullable
+	private final Pattern combinedPattern;
+	private final List<Pattern> combinedPatterns;
+	private final List<Pattern> patterns;
+
+	private final Map<String, int[]> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest)
+		{
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Number of texts matched which were not already cached
+	 */
+	@Getter
+	private long matches;
+	/**
+	 * Number of texts matched from the cache
+	 */
+	@Getter
+	private long cacheHits;
+	/**
+	 * Total and longest time spent matching texts which were not cached, in nanoseconds
+	 */
+	@Getter
+	private long totalMatchTime;
+	@Getter
+	private long maxMatchTime;
+
+	/**
+	 * Compile a filter. Regexes which do not compile are ignored.
+	 *
+	 * @param words words to match literally, ignoring ASCII case
+	 * @param regexes regexes to match, ignoring ASCII case
+	 */
+	static ChatFilter compile(Collection<String> words, Collection<String> regexes)
+	{
+		final long start = System.nanoTime();
+		final ChatFilter filter = new ChatFilter(words, regexes);
+		log.debug("Compiled {} words and {} regexes in {}us", words.size(), regexes.size(), (System.nanoTime() - start) / 1000);
+		return filter;
+	}
+
+	private ChatFilter(Collection<String> words, Collection<String> regexes)
+	{
+		// identical words produce identical matches
+		final Set<String> uniqueWords = new LinkedHashSet<>();
+		for (String word : words)
+		{
+			if (!word.isEmpty())
+			{
+				uniqueWords.add(foldCase(word));
+			}
+		}
+
+		// build the trie
+		final List<Map<Character, Integer>> children = new ArrayList<>();
+		final List<Integer> ends = new ArrayList<>();
+		children.add(new HashMap<>());
+		ends.add(-1);
+		wordLength = new int[uniqueWords.size()];
+		int wordId = 0;
+		for (String word : uniqueWords)
+		{
+			int node = 0;
+			for (int i = 0; i < word.length(); ++i)
+			{
+				final char c = word.charAt(i);
+				Integer next = children.get(node).get(c);
+				if (next == null)
+				{
+					next = children.size();
+					children.get(node).put(c, next);
+					children.add(new HashMap<>());
+					ends.add(-1);
+				}
+				node = next;
+
+				if (c < asciiAlphabet.length)
+				{
+					if (asciiAlphabet[c] == 0)
+					{
+						asciiAlphabet[c] = alphabet.size() + 1;
+						alphabet.put(c, alphabet.size() + 1);
+					}
+				}
+				else
+				{
+					alphabet.putIfAbsent(c, alphabet.size() + 1);
+				}
+			}
+			ends.set(node, wordId);
+			wordLength[wordId++] = word.length();
+		}
+
+		// resolve the failure links breadth first, so each node's failure node is done before its children
+		final int nodes = children.size();
+		alphabetSize = alphabet.size() + 1;
+		transitions = new int[nodes * alphabetSize];
+		nodeWord = new int[nodes];
+		nodeNextOutput = new int[nodes];
+		final int[] fail = new int[nodes];
+		for (int i = 0; i < nodes; ++i)
+		{
+			nodeWord[i] = ends.get(i);
+		}
+		nodeNextOutput[0] = -1;
+
+		final ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(0);
+		while (!queue.isEmpty())
+		{
+			final int node = queue.poll();
+			final int row = node * alphabetSize;
+			final int failRow = fail[node] * alphabetSize;
+			if (node != 0)
+			{
+				System.arraycopy(transitions, failRow, transitions, row, alphabetSize);
+			}
+
+			for (Map.Entry<Character, Integer> child : children.get(node).entrySet())
+			{
+				final int next = child.getValue();
+				final int symbol = alphabet.get(child.getKey());
+				fail[next] = node == 0 ? 0 : transitions[failRow + symbol];
+				final int f = fail[next];
+				nodeNextOutput[next] = nodeWord[f] != -1 ? f : nodeNextOutput[f];
+				transitions[row + symbol] = next;
+				queue.add(next);
+			}
+		}
+
+		// join the regexes which keep their meaning when wrapped in a group and can't refer to each other's groups
+		final List<Pattern> combinable = new ArrayList<>();
+		final List<Pattern> separate = new ArrayList<>();
+		final StringBuilder alternation = new StringBuilder();
+		for (String regex : regexes)
+		{
+			final Pattern pattern = compilePattern(regex);
+			if (pattern == null)
+			{
+				continue;
+			}
+
+			if (isCombinable(regex))
+			{
+				if (alternation.length() > 0)
+				{
+					alternation.append('|');
+				}
+				alternation.append("(?:").append(regex).append(')');
+				combinable.add(pattern);
+			}
+			else
+			{
+				separate.add(pattern);
+			}
+		}
+
+		Pattern combined = null;
+		if (combinable.size() > 1)
+		{
+			combined = compilePattern(alternation.toString());
+			if (combined == null)
+			{
+				separate.addAll(combinable);
+				combinable.clear();
+			}
+		}
+		else
+		{
+			separate.addAll(combinable);
+			combinable.clear();
+		}
+
+		combinedPattern = combined;
+		combinedPatterns = combinable;
+		patterns = separate;
+	}
+
+	/**
+	 * Test if any word or regex matches the text
+	 */
+	boolean matches(String text)
+	{
+		return match(text) != null;
+	}
+
+	/**
+	 * Find the parts of the text matched by any word or regex.
+	 *
+	 * @return the matched ranges as sorted, non-overlapping start and end index pairs, which may be empty
+	 * if only empty matches were found, or null if nothing matched. The array must not be modified.
+	 */
+	@Nullable
+	int[] match(String text)
+	{
+		int[] ranges = cache.get(text);
+		if (ranges != null)
+		{
+			++cacheHits;
+			return ranges == NO_MATCH ? null : ranges;
+		}
+
+		final long start = System.nanoTime();
+
+		final boolean[] matched = new boolean[text.length()];
+		boolean found = matchWords(text, matched);
+		if (combinedPattern == null || combinedPattern.matcher(text).find())
+		{
+			found |= matchPatterns(combinedPatterns, text, matched);
+		}
+		found |= matchPatterns(patterns, text, matched);
+		ranges = found ? toRanges(matched) : NO_MATCH;
+
+		final long time = System.nanoTime() - start;
+		++matches;
+		totalMatchTime += time;
+		maxMatchTime = Math.max(maxMatchTime, time);
+
+		cache.put(text, ranges);
+		return ranges == NO_MATCH ? null : ranges;
+	}
+
+	private boolean matchWords(String text, boolean[] matched)
+	{
+		if (wordLength.length == 0)
+		{
+			return false;
+		}
+
+		// end of the last accepted match of each word, allocated once something matches
+		int[] lastEnd = null;
+		int node = 0;
+		for (int i = 0; i < text.length(); ++i)
+		{
+			final char c = foldCase(text.charAt(i));
+			final int symbol = c < asciiAlphabet.length ? asciiAlphabet[c] : alphabet.getOrDefault(c, 0);
+			node = transitions[node * alphabetSize + symbol];
+
+			for (int out = nodeWord[node] != -1 ? node : nodeNextOutput[node]; out != -1; out = nodeNextOutput[out])
+			{
+				final int word = nodeWord[out];
+				final int end = i + 1;
+				final int begin = end - wordLength[word];
+				if (lastEnd == null)
+				{
+					lastEnd = new int[wordLength.length];
+				}
+				if (begin >= lastEnd[word])
+				{
+					lastEnd[word] = end;
+					Arrays.fill(matched, begin, end, true);
+				}
+			}
+		}
+		return lastEnd != null;
+	}
+
+	private static boolean matchPatterns(List<Pattern> patterns, String text, boolean[] matched)
+	{
+		boolean found = false;
+		for (Pattern pattern : patterns)
+		{
+			final Matcher m = pattern.matcher(text);
+			while (m.find())
+			{
+				Arrays.fill(matched, m.start(), m.end(), true);
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private static int[] toRanges(boolean[] matched)
+	{
+		int count = 0;
+		for (int i = 0; i < matched.length; ++i)
+		{
+			if (matched[i] && (i == 0 || !matched[i - 1]))
+			{
+				++count;
+			}
+		}
+
+		final int[] ranges = new int[count * 2];
+		int n = 0;
+		for (int i = 0; i < matched.length; ++i)
+		{
+			if (matched[i] && (i == 0 || !matched[i - 1]))
+			{
+				ranges[n] = i;
+			}
+			if (matched[i] && (i + 1 == matched.length || !matched[i + 1]))
+			{
+				ranges[n + 1] = i + 1;
+				n += 2;
+			}
+		}
+		return ranges;
+	}
+
+	/**
+	 * Test if a regex can be joined with others in an alternation and keep its meaning. Back references would
+	 * refer to the wrong group, and quoting or comments may run into the closing parenthesis.
+	 */
+	private static boolean isCombinable(String regex)
+	{
+		for (int i = 0; i < regex.length() - 1; ++i)
+		{
+			if (regex.charAt(i) == '\\')
+			{
+				final char next = regex.charAt(i + 1);
+				if (Character.isDigit(next) || next == 'k' || next == 'Q')
+				{
+					return false;
+				}
+				// skip the escaped character
+				++i;
+			}
+		}
+		return regex.indexOf('#') == -1;
+	}
+
+	@Nullable
+	static Pattern compilePattern(String pattern)
+	{
+		try
+		{
+			return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+		}
+		catch (PatternSyntaxException ex)
+		{
+			return null;
+		}
+	}
+
+	private static String foldCase(String s)
+	{
+		final char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; ++i)
+		{
+			chars[i] = foldCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	// Pattern.CASE_INSENSITIVE without UNICODE_CASE only folds ASCII
+	private static char foldCase(char c)
+	{
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+}
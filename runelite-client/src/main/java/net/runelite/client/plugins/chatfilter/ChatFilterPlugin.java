@@ -30,18 +30,14 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Provides;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import net.runelite.api.ChatMessageType;
 import static net.runelite.api.ChatMessageType.ENGINE;
@@ -98,8 +94,8 @@ public class ChatFilterPlugin extends Plugin
 	);
 
 	private static final CharMatcher jagexPrintableCharMatcher = Text.JAGEX_PRINTABLE_CHAR_MATCHER;
-	private List<Pattern> filteredPatterns = Collections.emptyList();
-	private List<Pattern> filteredNamePatterns = Collections.emptyList();
+	private ChatFilter filter = ChatFilter.compile(Collections.emptyList(), Collections.emptyList());
+	private ChatFilter nameFilter = ChatFilter.compile(Collections.emptyList(), Collections.emptyList());
 
 	private static class Duplicate
 	{
@@ -153,8 +149,8 @@ public class ChatFilterPlugin extends Plugin
 	@Override
 	protected void shutDown() throws Exception
 	{
-		filteredPatterns = Collections.emptyList();
-		filteredNamePatterns = Collections.emptyList();
+		filter = ChatFilter.compile(Collections.emptyList(), Collections.emptyList());
+		nameFilter = ChatFilter.compile(Collections.emptyList(), Collections.emptyList());
 		duplicateChatCache.clear();
 		filterCache.clear();
 		client.refreshChat();
@@ -362,38 +358,26 @@ public class ChatFilterPlugin extends Plugin
 			}
 		}
 
-		boolean filtered = false;
-		for (Pattern pattern : filteredPatterns)
+		final int[] ranges = filter.match(strippedAccents);
+		if (ranges == null)
 		{
-			Matcher m = pattern.matcher(strippedAccents);
-
-			StringBuilder sb = new StringBuilder();
-			int idx = 0;
-
-			while (m.find())
-			{
-				switch (config.filterType())
-				{
-					case CENSOR_WORDS:
-						MatchResult matchResult = m.toMatchResult();
-						sb.append(strippedMessage, idx, matchResult.start())
-							.append(StringUtils.repeat('*', matchResult.group().length()));
-						idx = m.end();
-						filtered = true;
-						break;
-					case CENSOR_MESSAGE:
-						return CENSOR_MESSAGE;
-					case REMOVE_MESSAGE:
-						return null;
-				}
-			}
-			sb.append(strippedMessage.substring(idx));
+			return message;
+		}
 
-			strippedMessage = sb.toString();
-			assert strippedMessage.length() == strippedAccents.length();
+		switch (config.filterType())
+		{
+			case CENSOR_MESSAGE:
+				return CENSOR_MESSAGE;
+			case REMOVE_MESSAGE:
+				return null;
 		}
 
-		return filtered ? strippedMessage : message;
+		final char[] censored = strippedMessage.toCharArray();
+		for (int i = 0; i < ranges.length; i += 2)
+		{
+			Arrays.fill(censored, ranges[i], ranges[i + 1], '*');
+		}
+		return new String(censored);
 	}
 
 	private String censorMessage(MessageNode messageNode, String username, String message)
@@ -417,28 +401,20 @@ public class ChatFilterPlugin extends Plugin
 
 	void updateFilteredPatterns()
 	{
-		List<Pattern> patterns = new ArrayList<>();
-		List<Pattern> namePatterns = new ArrayList<>();
-
-		Text.fromCSV(config.filteredWords()).stream()
+		List<String> words = Text.fromCSV(config.filteredWords()).stream()
 			.map(this::stripAccents)
-			.map(s -> Pattern.compile(Pattern.quote(s), Pattern.CASE_INSENSITIVE))
-			.forEach(patterns::add);
+			.collect(Collectors.toList());
 
-		NEWLINE_SPLITTER.splitToList(config.filteredRegex()).stream()
+		List<String> regexes = NEWLINE_SPLITTER.splitToList(config.filteredRegex()).stream()
 			.map(this::stripAccents)
-			.map(ChatFilterPlugin::compilePattern)
-			.filter(Objects::nonNull)
-			.forEach(patterns::add);
+			.collect(Collectors.toList());
 
-		NEWLINE_SPLITTER.splitToList(config.filteredNames()).stream()
+		List<String> nameRegexes = NEWLINE_SPLITTER.splitToList(config.filteredNames()).stream()
 			.map(this::stripAccents)
-			.map(ChatFilterPlugin::compilePattern)
-			.filter(Objects::nonNull)
-			.forEach(namePatterns::add);
+			.collect(Collectors.toList());
 
-		filteredPatterns = patterns;
-		filteredNamePatterns = namePatterns;
+		filter = ChatFilter.compile(words, regexes);
+		nameFilter = ChatFilter.compile(Collections.emptyList(), nameRegexes);
 
 		filterCache.clear();
 	}
@@ -448,18 +424,6 @@ public class ChatFilterPlugin extends Plugin
 		return config.stripAccents() ? StringUtils.stripAccents(input) : input;
 	}
 
-	private static Pattern compilePattern(String pattern)
-	{
-		try
-		{
-			return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
-		}
-		catch (PatternSyntaxException ex)
-		{
-			return null;
-		}
-	}
-
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
@@ -477,15 +441,6 @@ public class ChatFilterPlugin extends Plugin
 	@VisibleForTesting
 	boolean isNameFiltered(final String playerName)
 	{
-		String sanitizedName = Text.standardize(playerName);
-		for (Pattern pattern : filteredNamePatterns)
-		{
-			Matcher m = pattern.matcher(sanitizedName);
-			if (m.find())
-			{
-				return true;
-			}
-		}
-		return false;
+		return nameFilter.matches(Text.standardize(playerName));
 	}
 }
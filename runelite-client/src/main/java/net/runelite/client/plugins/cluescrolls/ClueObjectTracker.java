@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.cluescrolls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.DecorativeObject;
+import net.runelite.api.GameObject;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Point;
+import net.runelite.api.TileObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.game.SceneObjectIndex;
+
+/**
+ * Tracks the game and decorative objects standing on the tiles of an object clue.
+ * <p>
+ * The objects on the tiles are looked up in the {@link SceneObjectIndex} when the clue's locations
+ * or object ids change. After that the set of objects on them is kept up to date from spawn and despawn events, and the list of
+ * objects to highlight is only rebuilt when that set, the plane or a varbit which could
+ * change an impostor changes.
+ */
+class ClueObjectTracker
+{
+	private final Client client;
+	private final SceneObjectIndex sceneObjectIndex;
+
+	private WorldPoint[] locations = new WorldPoint[0];
+	private int[] objectIds = new int[0];
+	private Set<WorldPoint> targets = Collections.emptySet();
+
+	/**
+	 * Objects on a target tile, whether or not their id matches
+	 */
+	private final Set<TileObject> candidates = new LinkedHashSet<>();
+	private final Set<TileObject> multilocs = new HashSet<>();
+
+	private final List<TileObject> objects = new ArrayList<>();
+	private boolean dirty;
+	private int plane = -1;
+
+	@Inject
+	ClueObjectTracker(Client client, SceneObjectIndex sceneObjectIndex)
+	{
+		this.client = client;
+		this.sceneObjectIndex = sceneObjectIndex;
+	}
+
+	/**
+	 * Sets the tiles and object ids to highlight. Does nothing if they are unchanged.
+	 */
+	void setTargets(@Nullable WorldPoint[] locations, @Nullable int[] objectIds)
+	{
+		if (locations == null || objectIds == null || objectIds.length == 0)
+		{
+			locations = new WorldPoint[0];
+			objectIds = new int[0];
+		}
+
+		if (Arrays.equals(locations, this.locations) && Arrays.equals(objectIds, this.objectIds))
+		{
+			return;
+		}
+
+		this.locations = locations;
+		this.objectIds = objectIds;
+
+		final Set<WorldPoint> targets = new HashSet<>();
+		for (WorldPoint location : locations)
+		{
+			if (location != null)
+			{
+				targets.add(location);
+			}
+		}
+		this.targets = targets;
+		rescan();
+	}
+
+	void clear()
+	{
+		setTargets(null, null);
+	}
+
+	/**
+	 * Forgets the objects of the old scene; the new scene's objects arrive as spawn events.
+	 */
+	void sceneLoading()
+	{
+		if (!candidates.isEmpty())
+		{
+			candidates.clear();
+			multilocs.clear();
+			dirty = true;
+		}
+	}
+
+	void objectSpawned(TileObject object)
+	{
+		if (!targets.isEmpty() && isOnTarget(object))
+		{
+			addCandidate(object);
+		}
+	}
+
+	void objectDespawned(TileObject object)
+	{
+		if (candidates.remove(object))
+		{
+			multilocs.remove(object);
+			dirty = true;
+		}
+	}
+
+	void varbitChanged()
+	{
+		if (!multilocs.isEmpty())
+		{
+			dirty = true;
+		}
+	}
+
+	/**
+	 * @return the objects to highlight, rebuilt first if anything affecting them changed
+	 */
+	List<TileObject> getObjects()
+	{
+		final int plane = client.getPlane();
+		if (dirty || plane != this.plane)
+		{
+			dirty = false;
+			this.plane = plane;
+			rebuild();
+		}
+		return objects;
+	}
+
+	private void rescan()
+	{
+		candidates.clear();
+		multilocs.clear();
+		dirty = true;
+
+		for (WorldPoint location : targets)
+		{
+			for (TileObject object : sceneObjectIndex.getObjectsAt(location))
+			{
+				if ((object instanceof GameObject || object instanceof DecorativeObject) && isTopLevel(object))
+				{
+					addCandidate(object);
+				}
+			}
+		}
+	}
+
+	private void addCandidate(TileObject object)
+	{
+		if (!candidates.add(object))
+		{
+			return;
+		}
+
+		dirty = true;
+		if (client.getObjectDefinition(object.getId()).getImpostorIds() != null)
+		{
+			multilocs.add(object);
+		}
+	}
+
+	private static boolean isTopLevel(TileObject object)
+	{
+		final WorldView wv = object.getWorldView();
+		return wv != null && wv.isTopLevel();
+	}
+
+	private boolean isOnTarget(TileObject object)
+	{
+		if (!isTopLevel(object))
+		{
+			return false;
+		}
+
+		final WorldView wv = object.getWorldView();
+
+		if (object instanceof GameObject)
+		{
+			// larger objects are on every tile they cover, not just their origin
+			final GameObject gameObject = (GameObject) object;
+			final Point min = gameObject.getSceneMinLocation();
+			final Point max = gameObject.getSceneMaxLocation();
+			for (int x = min.getX(); x <= max.getX(); ++x)
+			{
+				for (int y = min.getY(); y <= max.getY(); ++y)
+				{
+					if (targets.contains(WorldPoint.fromScene(wv, x, y, object.getPlane())))
+					{
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		return object instanceof DecorativeObject && targets.contains(object.getWorldLocation());
+	}
+
+	private void rebuild()
+	{
+		objects.clear();
+		for (TileObject object : candidates)
+		{
+			if (object.getPlane() == plane && matches(object))
+			{
+				objects.add(object);
+			}
+		}
+	}
+
+	private boolean matches(TileObject object)
+	{
+		ObjectComposition impostor = null;
+		for (int id : objectIds)
+		{
+			if (object.getId() == id)
+			{
+				return true;
+			}
+
+			if (multilocs.contains(object))
+			{
+				if (impostor == null)
+				{
+					impostor = client.getObjectDefinition(object.getId()).getImpostor();
+				}
+
+				if (impostor != null && impostor.getId() == id)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -28,6 +28,7 @@ package net.runelite.client.plugins.cluescrolls;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
+import com.google.common.collect.ObjectArrays;
 import com.google.inject.Binder;
 import com.google.inject.Provides;
 import java.awt.Color;
@@ -44,7 +45,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -65,12 +65,9 @@ import net.runelite.api.NPC;
 import net.runelite.api.ObjectComposition;
 import net.runelite.api.ParamID;
 import net.runelite.api.Point;
-import net.runelite.api.Scene;
 import net.runelite.api.ScriptID;
-import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 import net.runelite.api.annotations.Component;
-import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.CommandExecuted;
@@ -86,6 +83,7 @@ import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.events.WallObjectDespawned;
 import net.runelite.api.events.WallObjectSpawned;
 import net.runelite.api.events.WidgetLoaded;
@@ -99,18 +97,17 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.SceneObjectIndex;
 import net.runelite.client.game.chatbox.ChatboxPanelManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDependency;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.banktags.BankTagsPlugin;
 import net.runelite.client.plugins.banktags.TagManager;
-import net.runelite.client.plugins.cluescrolls.clues.AnagramClue;
 import net.runelite.client.plugins.cluescrolls.clues.BeginnerMapClue;
-import net.runelite.client.plugins.cluescrolls.clues.CipherClue;
+import net.runelite.client.plugins.cluescrolls.clues.ClueRegistry;
 import net.runelite.client.plugins.cluescrolls.clues.ClueScroll;
 import net.runelite.client.plugins.cluescrolls.clues.CoordinateClue;
-import net.runelite.client.plugins.cluescrolls.clues.CrypticClue;
 import net.runelite.client.plugins.cluescrolls.clues.EmoteClue;
 import net.runelite.client.plugins.cluescrolls.clues.FairyRingClue;
 import net.runelite.client.plugins.cluescrolls.clues.FaloTheBardClue;
@@ -165,9 +162,6 @@ public class ClueScrollPlugin extends Plugin
 	@Getter
 	private final List<NPC> npcsToMark = new ArrayList<>();
 
-	@Getter
-	private final List<TileObject> objectsToMark = new ArrayList<>();
-
 	@Getter
 	private final Set<TileObject> namedObjectsToMark = new HashSet<>();
 
@@ -217,6 +211,12 @@ public class ClueScrollPlugin extends Plugin
 	@Inject
 	private TagManager tagManager;
 
+	@Inject
+	private ClueObjectTracker objectTracker;
+
+	@Inject
+	private SceneObjectIndex sceneObjectIndex;
+
 	@Inject
 	@Named("developerMode")
 	boolean developerMode;
@@ -280,6 +280,7 @@ public class ClueScrollPlugin extends Plugin
 		overlayManager.remove(clueScrollMusicOverlay);
 		npcsToMark.clear();
 		namedObjectsToMark.clear();
+		objectTracker.clear();
 		inventoryItems = null;
 		equippedItems = null;
 		currentPlane = -1;
@@ -596,11 +597,19 @@ public class ClueScrollPlugin extends Plugin
 	private void tileObjectDespawnedHandler(final TileObject despawned)
 	{
 		namedObjectsToMark.remove(despawned);
+		objectTracker.objectDespawned(despawned);
 	}
 
 	private void tileObjectSpawnedHandler(final TileObject spawned)
 	{
 		checkClueNamedObject(clue, spawned);
+		objectTracker.objectSpawned(spawned);
+	}
+
+	@Subscribe
+	public void onVarbitChanged(final VarbitChanged event)
+	{
+		objectTracker.varbitChanged();
 	}
 
 	@Subscribe
@@ -622,7 +631,11 @@ public class ClueScrollPlugin extends Plugin
 			namedObjectsToMark.clear();
 		}
 
-		if (state == GameState.LOGIN_SCREEN)
+		if (state == GameState.LOADING)
+		{
+			objectTracker.sceneLoading();
+		}
+		else if (state == GameState.LOGIN_SCREEN)
 		{
 			resetClue(true);
 		}
@@ -635,7 +648,7 @@ public class ClueScrollPlugin extends Plugin
 	@Subscribe
 	public void onGameTick(final GameTick event)
 	{
-		objectsToMark.clear();
+		WorldPoint[] objectLocations = null;
 
 		if (clue instanceof LocationsClueScroll)
 		{
@@ -646,21 +659,7 @@ public class ClueScrollPlugin extends Plugin
 				addMapPoints(locations);
 			}
 
-			if (clue instanceof ObjectClueScroll)
-			{
-				int[] objectIds = ((ObjectClueScroll) clue).getObjectIds();
-
-				if (objectIds.length > 0)
-				{
-					for (WorldPoint location : locations)
-					{
-						if (location != null)
-						{
-							highlightObjectsForLocation(location, objectIds);
-						}
-					}
-				}
-			}
+			objectLocations = locations;
 		}
 
 		if (clue instanceof LocationClueScroll)
@@ -682,19 +681,13 @@ public class ClueScrollPlugin extends Plugin
 				}
 
 				addMapPoints(location);
-
-				if (clue instanceof ObjectClueScroll)
-				{
-					int[] objectIds = ((ObjectClueScroll) clue).getObjectIds();
-
-					if (objectIds.length > 0)
-					{
-						highlightObjectsForLocation(location, objectIds);
-					}
-				}
 			}
+
+			objectLocations = objectLocations == null ? locations : ObjectArrays.concat(objectLocations, locations, WorldPoint.class);
 		}
 
+		objectTracker.setTargets(objectLocations, clue instanceof ObjectClueScroll ? ((ObjectClueScroll) clue).getObjectIds() : null);
+
 		// Delay one tick when changing planes before scanning for new named objects on the new plane
 		if (currentPlane != client.getPlane())
 		{
@@ -770,6 +763,11 @@ public class ClueScrollPlugin extends Plugin
 		}
 	}
 
+	public List<TileObject> getObjectsToMark()
+	{
+		return objectTracker.getObjects();
+	}
+
 	public BufferedImage getClueScrollImage()
 	{
 		return itemManager.getImage(ItemID.TRAIL_CLUE_MASTER);
@@ -821,6 +819,7 @@ public class ClueScrollPlugin extends Plugin
 		worldMapPointsSet = false;
 		npcsToMark.clear();
 		namedObjectsToMark.clear();
+		objectTracker.clear();
 
 		if (config.displayHintArrows())
 		{
@@ -845,51 +844,10 @@ public class ClueScrollPlugin extends Plugin
 			return coordinatesToWorldPoint(text);
 		}
 
-		final AnagramClue anagramClue = AnagramClue.forText(this, text);
-		if (anagramClue != null)
-		{
-			return anagramClue;
-		}
-
-		final CipherClue cipherClue = CipherClue.forText(text);
-		if (cipherClue != null)
-		{
-			return cipherClue;
-		}
-
-		final CrypticClue crypticClue = CrypticClue.forText(text);
-
-		if (crypticClue != null)
-		{
-			return crypticClue;
-		}
-
-		final EmoteClue emoteClue = EmoteClue.forText(text);
-
-		if (emoteClue != null)
-		{
-			return emoteClue;
-		}
-
-		final FairyRingClue fairyRingClue = FairyRingClue.forText(text);
-
-		if (fairyRingClue != null)
-		{
-			return fairyRingClue;
-		}
-
-		final FaloTheBardClue faloTheBardClue = FaloTheBardClue.forText(text);
-
-		if (faloTheBardClue != null)
-		{
-			return faloTheBardClue;
-		}
-
-		final HotColdClue hotColdClue = HotColdClue.forText(text);
-
-		if (hotColdClue != null)
+		final ClueScroll clueScroll = ClueRegistry.forText(this, text);
+		if (clueScroll != null)
 		{
-			return hotColdClue;
+			return resetIfHotCold(clueScroll);
 		}
 
 		final SkillChallengeClue skillChallengeClue = SkillChallengeClue.forText(text, rawText);
@@ -907,68 +865,34 @@ public class ClueScrollPlugin extends Plugin
 			return threeStepCrypticClue;
 		}
 
-		return null;
-	}
-
-	private static ClueScroll findClueScroll(int itemId)
-	{
-		if (itemId == ItemID.TRAIL_CLUE_BEGINNER || itemId == ItemID.TRAIL_CLUE_MASTER)
-		{
-			return null;
-		}
-
-		final MapClue mapClue = MapClue.forItemId(itemId);
-		if (mapClue != null)
-		{
-			return mapClue;
-		}
-
-		final MusicClue musicClue = MusicClue.forItemId(itemId);
-		if (musicClue != null)
-		{
-			return musicClue;
-		}
-
-		final CoordinateClue coordinateClue = CoordinateClue.forItemId(itemId);
-		if (coordinateClue != null)
-		{
-			return coordinateClue;
-		}
-
-		final AnagramClue anagramClue = AnagramClue.forItemId(itemId);
-		if (anagramClue != null)
+		final ClueScroll nearestClue = ClueRegistry.findNearest(text);
+		if (nearestClue != null)
 		{
-			return anagramClue;
+			log.debug("Using nearest clue {} for unmatched text '{}'", nearestClue, text);
+			return resetIfHotCold(nearestClue);
 		}
 
-		final CipherClue cipherClue = CipherClue.forItemId(itemId);
-		if (cipherClue != null)
-		{
-			return cipherClue;
-		}
-
-		final CrypticClue crypticClue = CrypticClue.forItemId(itemId);
-
-		if (crypticClue != null)
-		{
-			return crypticClue;
-		}
-
-		final EmoteClue emoteClue = EmoteClue.forItemId(itemId);
+		return null;
+	}
 
-		if (emoteClue != null)
+	private static ClueScroll resetIfHotCold(ClueScroll clueScroll)
+	{
+		if (clueScroll instanceof HotColdClue)
 		{
-			return emoteClue;
+			// hot cold clues share one instance per tier, so start a fresh solve
+			((HotColdClue) clueScroll).reset();
 		}
+		return clueScroll;
+	}
 
-		final FairyRingClue fairyRingClue = FairyRingClue.forItemId(itemId);
-
-		if (fairyRingClue != null)
+	private static ClueScroll findClueScroll(int itemId)
+	{
+		if (itemId == ItemID.TRAIL_CLUE_BEGINNER || itemId == ItemID.TRAIL_CLUE_MASTER)
 		{
-			return fairyRingClue;
+			return null;
 		}
 
-		return null;
+		return ClueRegistry.forItemId(itemId);
 	}
 
 	private static ClueScroll findNpcChatClueScroll(String sender, String rawText)
@@ -1064,43 +988,6 @@ public class ClueScrollPlugin extends Plugin
 		}
 	}
 
-	private void highlightObjectsForLocation(final WorldPoint location, final int... objectIds)
-	{
-		final LocalPoint localLocation = LocalPoint.fromWorld(client, location);
-
-		if (localLocation == null)
-		{
-			return;
-		}
-
-		final Scene scene = client.getScene();
-		final Tile[][][] tiles = scene.getTiles();
-		final Tile tile = tiles[client.getPlane()][localLocation.getSceneX()][localLocation.getSceneY()];
-
-		Stream.concat(Stream.of(tile.getGameObjects()), Stream.of(tile.getDecorativeObject()))
-			.filter(Objects::nonNull)
-			.forEach((object) ->
-			{
-				for (int id : objectIds)
-				{
-					if (object.getId() == id)
-					{
-						objectsToMark.add(object);
-						continue;
-					}
-
-					// Check impostors
-					final ObjectComposition comp = client.getObjectDefinition(object.getId());
-					final ObjectComposition impostor = comp.getImpostorIds() != null ? comp.getImpostor() : comp;
-
-					if (impostor != null && impostor.getId() == id)
-					{
-						objectsToMark.add(object);
-					}
-				}
-			});
-	}
-
 	private void checkClueNPCs(ClueScroll clue, Iterable<? extends NPC> npcs)
 	{
 		if (!(clue instanceof NpcClueScroll))
@@ -1148,7 +1035,7 @@ public class ClueScrollPlugin extends Plugin
 	}
 
 	/**
-	 * Scans all of the current plane's loaded tiles for {@link TileObject}s and passes any found objects to
+	 * Passes all of the current plane's loaded game objects to
 	 * {@link ClueScrollPlugin#checkClueNamedObject(ClueScroll, TileObject)} for storing in the cache of discovered
 	 * named objects.
 	 *
@@ -1161,25 +1048,12 @@ public class ClueScrollPlugin extends Plugin
 			return;
 		}
 
-		// Search loaded tiles for objects
-		for (final Tile[] tiles : client.getScene().getTiles()[client.getPlane()])
+		for (final TileObject object : sceneObjectIndex.getObjects())
 		{
-			for (final Tile tile : tiles)
+			if (object instanceof GameObject && object.getPlane() == client.getPlane()
+				&& object.getWorldView() != null && object.getWorldView().isTopLevel())
 			{
-				if (tile == null)
-				{
-					continue;
-				}
-
-				for (final GameObject object : tile.getGameObjects())
-				{
-					if (object == null)
-					{
-						continue;
-					}
-
-					checkClueNamedObject(clue, object);
-				}
+				checkClueNamedObject(clue, object);
 			}
 		}
 	}
@@ -58,7 +58,7 @@ public class AnagramClue extends ClueScroll implements NpcClueScroll, ObjectClue
 {
 	@VisibleForTesting
 	static final String ANAGRAM_TEXT = "This anagram reveals who to speak to next: ";
-	private static final String ANAGRAM_TEXT_BEGINNER = "The anagram reveals who to speak to next: ";
+	static final String ANAGRAM_TEXT_BEGINNER = "The anagram reveals who to speak to next: ";
 
 	static final List<AnagramClue> CLUES = ImmutableList.of(
 		AnagramClue.builder()
@@ -911,7 +911,7 @@ public class AnagramClue extends ClueScroll implements NpcClueScroll, ObjectClue
 	);
 
 	private final int itemId;
-	@Getter(AccessLevel.NONE)
+	@Getter(AccessLevel.PACKAGE)
 	@Nullable
 	private final String text;
 	private final Function<ClueScrollPlugin, String> textProvider;
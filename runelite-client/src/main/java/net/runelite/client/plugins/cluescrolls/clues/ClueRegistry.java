@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.cluescrolls.clues;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import net.runelite.client.plugins.cluescrolls.ClueScrollPlugin;
+
+/**
+ * Lookup of the static clue scrolls by their text or item id.
+ * <p>
+ * The indexes are built once from the clue lists. Where a text or item id is shared between
+ * clue types, the entry from the type listed first wins, which is the same order
+ * {@link ClueScrollPlugin} used to try each type's {@code forText} and {@code forItemId} in.
+ */
+public class ClueRegistry
+{
+	/**
+	 * Minimum trigram similarity for {@link #findNearest(String)}
+	 */
+	private static final double NEAR_MATCH_THRESHOLD = 0.9;
+
+	private static final Map<String, ClueScroll> BY_TEXT;
+	private static final Map<Integer, ClueScroll> BY_ITEM_ID;
+	private static final Map<String, CrypticClue> CRYPTIC_BY_TEXT;
+
+	/**
+	 * Anagrams whose text depends on game state, so can't be indexed up front.
+	 */
+	private static final List<AnagramClue> DYNAMIC_ANAGRAMS;
+
+	/**
+	 * Free text clues for near matching. Anagram and cipher scroll texts are left out, as
+	 * they are a long shared prefix followed by a few letters that must match exactly.
+	 */
+	private static final List<String> NEAR_TEXTS;
+	private static final List<ClueScroll> NEAR_CLUES;
+	private static final int[] NEAR_TRIGRAM_COUNTS;
+	private static final ImmutableSetMultimap<String, Integer> NEAR_TRIGRAMS;
+
+	static
+	{
+		final Map<String, ClueScroll> byText = new HashMap<>();
+		final Map<String, ClueScroll> nearMatches = new LinkedHashMap<>();
+		final List<AnagramClue> dynamicAnagrams = new ArrayList<>();
+
+		for (AnagramClue clue : AnagramClue.CLUES)
+		{
+			if (clue.getText() != null)
+			{
+				addText(byText, AnagramClue.ANAGRAM_TEXT + clue.getText(), clue);
+				addText(byText, AnagramClue.ANAGRAM_TEXT_BEGINNER + clue.getText(), clue);
+			}
+			else
+			{
+				dynamicAnagrams.add(clue);
+			}
+			addText(byText, clue.getQuestion(), clue);
+			addText(nearMatches, clue.getQuestion(), clue);
+		}
+
+		for (CipherClue clue : CipherClue.CLUES)
+		{
+			addText(byText, clue.getText(), clue);
+			addText(byText, clue.getQuestion(), clue);
+			addText(nearMatches, clue.getQuestion(), clue);
+		}
+
+		final Map<String, CrypticClue> crypticByText = new HashMap<>();
+		for (CrypticClue clue : CrypticClue.CLUES)
+		{
+			addText(crypticByText, clue.getText(), clue);
+			addText(byText, clue.getText(), clue);
+			addText(byText, clue.getQuestionText(), clue);
+			addText(nearMatches, clue.getText(), clue);
+			addText(nearMatches, clue.getQuestionText(), clue);
+		}
+
+		for (EmoteClue clue : EmoteClue.CLUES)
+		{
+			addText(byText, clue.getText(), clue);
+			addText(nearMatches, clue.getText(), clue);
+		}
+
+		for (FairyRingClue clue : FairyRingClue.CLUES)
+		{
+			addText(byText, clue.getText(), clue);
+			addText(nearMatches, clue.getText(), clue);
+		}
+
+		for (FaloTheBardClue clue : FaloTheBardClue.CLUES)
+		{
+			addText(byText, clue.getText(), clue);
+			addText(nearMatches, clue.getText(), clue);
+		}
+
+		for (HotColdClue clue : new HotColdClue[]{HotColdClue.BEGINNER_CLUE, HotColdClue.MASTER_CLUE})
+		{
+			addText(byText, clue.getText(), clue);
+			addText(nearMatches, clue.getText(), clue);
+		}
+
+		final Map<Integer, ClueScroll> byItemId = new HashMap<>();
+		MapClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		MusicClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		CoordinateClue.CLUES.values().forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		AnagramClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		CipherClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		CrypticClue.CLUES.forEach(clue -> clue.getItemIds().forEach(itemId -> addItemId(byItemId, itemId, clue)));
+		EmoteClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+		FairyRingClue.CLUES.forEach(clue -> addItemId(byItemId, clue.getItemId(), clue));
+
+		final ImmutableList.Builder<String> nearTexts = ImmutableList.builder();
+		final ImmutableList.Builder<ClueScroll> nearClues = ImmutableList.builder();
+		final ImmutableSetMultimap.Builder<String, Integer> nearTrigrams = ImmutableSetMultimap.builder();
+		final int[] trigramCounts = new int[nearMatches.size()];
+		int i = 0;
+		for (Map.Entry<String, ClueScroll> entry : nearMatches.entrySet())
+		{
+			final Set<String> trigrams = trigrams(entry.getKey());
+			for (String trigram : trigrams)
+			{
+				nearTrigrams.put(trigram, i);
+			}
+			trigramCounts[i++] = trigrams.size();
+			nearTexts.add(entry.getKey());
+			nearClues.add(entry.getValue());
+		}
+
+		BY_TEXT = ImmutableMap.copyOf(byText);
+		BY_ITEM_ID = ImmutableMap.copyOf(byItemId);
+		CRYPTIC_BY_TEXT = ImmutableMap.copyOf(crypticByText);
+		DYNAMIC_ANAGRAMS = ImmutableList.copyOf(dynamicAnagrams);
+		NEAR_TEXTS = nearTexts.build();
+		NEAR_CLUES = nearClues.build();
+		NEAR_TRIGRAM_COUNTS = trigramCounts;
+		NEAR_TRIGRAMS = nearTrigrams.build();
+	}
+
+	/**
+	 * Finds the clue with exactly the given text, ignoring case and runs of whitespace.
+	 * Hot cold clues are returned as is; the caller is responsible for resetting them.
+	 */
+	@Nullable
+	public static ClueScroll forText(ClueScrollPlugin plugin, String text)
+	{
+		final String key = normalize(text);
+
+		for (AnagramClue clue : DYNAMIC_ANAGRAMS)
+		{
+			final String clueText = normalize(clue.getTextProvider().apply(plugin));
+			if (key.equals(normalize(AnagramClue.ANAGRAM_TEXT) + " " + clueText)
+				|| key.equals(normalize(AnagramClue.ANAGRAM_TEXT_BEGINNER) + " " + clueText))
+			{
+				return clue;
+			}
+		}
+
+		return BY_TEXT.get(key);
+	}
+
+	@Nullable
+	public static ClueScroll forItemId(int itemId)
+	{
+		return BY_ITEM_ID.get(itemId);
+	}
+
+	/**
+	 * Finds the cryptic clue whose scroll text is the given text, for the steps of
+	 * three step cryptic clues.
+	 */
+	@Nullable
+	static CrypticClue crypticForText(String text)
+	{
+		return CRYPTIC_BY_TEXT.get(normalize(text));
+	}
+
+	/**
+	 * Finds the clue whose text is most similar to the given text, for text which differs from
+	 * the clue lists by a typo or changed punctuation. Only returns a clue when the texts share
+	 * at least {@link #NEAR_MATCH_THRESHOLD} of their trigrams.
+	 */
+	@Nullable
+	public static ClueScroll findNearest(String text)
+	{
+		final Set<String> trigrams = trigrams(normalize(text));
+		if (trigrams.isEmpty())
+		{
+			return null;
+		}
+
+		final int[] shared = new int[NEAR_TEXTS.size()];
+		for (String trigram : trigrams)
+		{
+			for (int index : NEAR_TRIGRAMS.get(trigram))
+			{
+				++shared[index];
+			}
+		}
+
+		int best = -1;
+		double bestScore = 0;
+		for (int i = 0; i < shared.length; ++i)
+		{
+			final double score = 2.0 * shared[i] / (trigrams.size() + NEAR_TRIGRAM_COUNTS[i]);
+			if (score >= NEAR_MATCH_THRESHOLD && score > bestScore)
+			{
+				best = i;
+				bestScore = score;
+			}
+		}
+
+		return best == -1 ? null : NEAR_CLUES.get(best);
+	}
+
+	static String normalize(String text)
+	{
+		return CharMatcher.whitespace().trimAndCollapseFrom(text, ' ').toLowerCase(Locale.ROOT);
+	}
+
+	private static Set<String> trigrams(String text)
+	{
+		final Set<String> trigrams = new HashSet<>();
+		for (int i = 0; i + 3 <= text.length(); ++i)
+		{
+			trigrams.add(text.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	private static <T extends ClueScroll> void addText(Map<String, T> index, @Nullable String text, T clue)
+	{
+		if (text != null && !text.isEmpty())
+		{
+			index.putIfAbsent(normalize(text), clue);
+		}
+	}
+
+	private static void addItemId(Map<Integer, ClueScroll> index, int itemId, ClueScroll clue)
+	{
+		if (itemId != -1)
+		{
+			index.putIfAbsent(itemId, clue);
+		}
+	}
+}
@@ -58,16 +58,11 @@ public class ThreeStepCrypticClue extends ClueScroll implements ObjectClueScroll
 		{
 			boolean isDone = part.contains("<str>");
 			final String rawText = Text.sanitizeMultilineText(part);
+			final CrypticClue clue = ClueRegistry.crypticForText(rawText);
 
-			for (CrypticClue clue : CrypticClue.CLUES)
+			if (clue != null)
 			{
-				if (!rawText.equalsIgnoreCase(clue.getText()))
-				{
-					continue;
-				}
-
 				steps.add(new AbstractMap.SimpleEntry<>(clue, isDone));
-				break;
 			}
 		}
 
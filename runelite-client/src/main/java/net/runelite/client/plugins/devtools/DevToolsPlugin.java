@@ -70,6 +70,8 @@ import net.runelite.api.events.StatChanged;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.api.kit.KitType;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.InvokeStats;
 import net.runelite.client.chat.ChatMessageBuilder;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
@@ -102,6 +104,9 @@ public class DevToolsPlugin extends Plugin
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
 	@Inject
 	private ClientToolbar clientToolbar;
 
@@ -346,6 +351,23 @@ public class DevToolsPlugin extends Plugin
 				client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null);
 				break;
 			}
+			case "clientthread":
+			{
+				if (args.length > 0 && args[0].equalsIgnoreCase("reset"))
+				{
+					clientThread.resetStats();
+					client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "Client thread stats reset", null);
+					break;
+				}
+
+				final InvokeStats stats = clientThread.getStats();
+				client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", String.format("Queued: %d, run: %d, latency: %.2fms mean, %.2fms max",
+					stats.getQueueDepth(), stats.getTasksRun(), stats.getMeanLatencyNanos() / 1e6, stats.getMaxLatencyNanos() / 1e6), null);
+				stats.getSourceCounts().entrySet().stream()
+					.limit(5)
+					.forEach(e -> client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", e.getKey() + ": " + e.getValue(), null));
+				break;
+			}
 			case "getvarp":
 			{
 				int varp = Integer.parseInt(args[0]);
@@ -63,6 +63,7 @@ class GroundItem
 	boolean highlighted;
 	boolean hidden;
 	Color color;
+	String text;
 
 	int getHaPrice()
 	{
@@ -78,5 +79,6 @@ class GroundItem
 	{
 		highlighted = hidden = false;
 		color = null;
+		text = null;
 	}
 }
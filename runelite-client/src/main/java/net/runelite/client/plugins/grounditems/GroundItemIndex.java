@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.grounditems;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Ground items grouped by tile. Tiles in the top level world view are also bucketed by 8x8 chunk, so the
+ * tiles near a point can be found without visiting every tile.
+ */
+class GroundItemIndex
+{
+	private static final int CHUNK_SHIFT = 3;
+
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	static class TileItems
+	{
+		@Getter
+		private final WorldPoint worldPoint;
+		private final boolean topLevel;
+		// in spawn order
+		@Getter
+		private final List<GroundItem> items = new ArrayList<>(2);
+	}
+
+	private final Map<WorldPoint, TileItems> tiles = new HashMap<>();
+	private final Map<Integer, List<TileItems>> chunks = new HashMap<>();
+	// tiles of other world views are few, and are not filtered by distance
+	private final List<TileItems> otherTiles = new ArrayList<>();
+
+	@Nullable
+	GroundItem get(WorldPoint worldPoint, int id)
+	{
+		TileItems tile = tiles.get(worldPoint);
+		if (tile != null)
+		{
+			for (GroundItem item : tile.items)
+			{
+				if (item.getId() == id)
+				{
+					return item;
+				}
+			}
+		}
+		return null;
+	}
+
+	void add(WorldPoint worldPoint, GroundItem item)
+	{
+		TileItems tile = tiles.get(worldPoint);
+		if (tile == null)
+		{
+			WorldView wv = item.getItemLayer().getWorldView();
+			tile = new TileItems(worldPoint, wv == null || wv.isTopLevel());
+			tiles.put(worldPoint, tile);
+			if (tile.topLevel)
+			{
+				chunks.computeIfAbsent(chunk(worldPoint.getPlane(), worldPoint.getX(), worldPoint.getY()), k -> new ArrayList<>()).add(tile);
+			}
+			else
+			{
+				otherTiles.add(tile);
+			}
+		}
+		tile.items.add(item);
+	}
+
+	void remove(WorldPoint worldPoint, int id)
+	{
+		TileItems tile = tiles.get(worldPoint);
+		if (tile != null && tile.items.removeIf(item -> item.getId() == id) && tile.items.isEmpty())
+		{
+			removeTile(tile);
+		}
+	}
+
+	void removeIf(Predicate<GroundItem> filter)
+	{
+		for (TileItems tile : new ArrayList<>(tiles.values()))
+		{
+			if (tile.items.removeIf(filter) && tile.items.isEmpty())
+			{
+				removeTile(tile);
+			}
+		}
+	}
+
+	void clear()
+	{
+		tiles.clear();
+		chunks.clear();
+		otherTiles.clear();
+	}
+
+	List<GroundItem> getItems(WorldPoint worldPoint)
+	{
+		TileItems tile = tiles.get(worldPoint);
+		return tile == null ? Collections.emptyList() : tile.items;
+	}
+
+	Set<WorldPoint> getWorldPoints()
+	{
+		return tiles.keySet();
+	}
+
+	Stream<GroundItem> stream()
+	{
+		return tiles.values().stream().flatMap(tile -> tile.items.stream());
+	}
+
+	/**
+	 * Collect the tiles of the top level world view within {@code radius} tiles of {@code center} on its plane,
+	 * and all tiles of other world views. The radius is rounded up to whole chunks, so some tiles further away
+	 * may be included.
+	 *
+	 * @param center the center, or null to collect every tile
+	 * @param out list to add the tiles to
+	 */
+	void query(@Nullable WorldPoint center, int radius, List<TileItems> out)
+	{
+		out.addAll(otherTiles);
+
+		if (center == null)
+		{
+			for (TileItems tile : tiles.values())
+			{
+				if (tile.topLevel)
+				{
+					out.add(tile);
+				}
+			}
+			return;
+		}
+
+		final int plane = center.getPlane();
+		final int minX = center.getX() - radius, maxX = center.getX() + radius;
+		final int minY = center.getY() - radius, maxY = center.getY() + radius;
+		for (int cx = minX >> CHUNK_SHIFT; cx <= maxX >> CHUNK_SHIFT; ++cx)
+		{
+			for (int cy = minY >> CHUNK_SHIFT; cy <= maxY >> CHUNK_SHIFT; ++cy)
+			{
+				List<TileItems> chunk = chunks.get(chunk(plane, cx << CHUNK_SHIFT, cy << CHUNK_SHIFT));
+				if (chunk != null)
+				{
+					out.addAll(chunk);
+				}
+			}
+		}
+	}
+
+	private void removeTile(TileItems tile)
+	{
+		tiles.remove(tile.worldPoint);
+		if (tile.topLevel)
+		{
+			WorldPoint wp = tile.worldPoint;
+			int key = chunk(wp.getPlane(), wp.getX(), wp.getY());
+			List<TileItems> chunk = chunks.get(key);
+			chunk.remove(tile);
+			if (chunk.isEmpty())
+			{
+				chunks.remove(key);
+			}
+		}
+		else
+		{
+			otherTiles.remove(tile);
+		}
+	}
+
+	private static int chunk(int plane, int x, int y)
+	{
+		return plane << 28 | ((x >> CHUNK_SHIFT) & 0x3FFF) << 14 | ((y >> CHUNK_SHIFT) & 0x3FFF);
+	}
+}
@@ -34,9 +34,7 @@ import java.awt.Rectangle;
 import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
@@ -44,7 +42,6 @@ import net.runelite.api.Player;
 import net.runelite.api.Point;
 import net.runelite.api.WorldView;
 import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.client.plugins.grounditems.config.DespawnTimerMode;
@@ -64,6 +61,7 @@ import net.runelite.client.util.QuantityFormatter;
 public class GroundItemsOverlay extends Overlay
 {
 	private static final int MAX_DISTANCE = 2500;
+	private static final int MAX_TILE_DISTANCE = MAX_DISTANCE / Perspective.LOCAL_TILE_SIZE + 1;
 	// We must offset the text on the z-axis such that
 	// it doesn't obscure the ground items below it.
 	private static final int OFFSET_Z = 20;
@@ -82,7 +80,9 @@ public class GroundItemsOverlay extends Overlay
 	private final BackgroundComponent backgroundComponent = new BackgroundComponent();
 	private final TextComponent textComponent = new TextComponent();
 	private final ProgressPieComponent progressPieComponent = new ProgressPieComponent();
-	private final Map<WorldPoint, Integer> offsetMap = new HashMap<>();
+	private final List<GroundItemIndex.TileItems> tiles = new ArrayList<>();
+	private final List<GroundItem> groundItemList = new ArrayList<>();
+	private final List<LocalPoint> groundPoints = new ArrayList<>();
 
 	@Inject
 	private GroundItemsOverlay(Client client, GroundItemsPlugin plugin, GroundItemsConfig config)
@@ -113,57 +113,66 @@ public class GroundItemsOverlay extends Overlay
 			return null;
 		}
 
-		offsetMap.clear();
 		final Point mousePos = client.getMouseCanvasPosition();
-		Collection<GroundItem> groundItemList = plugin.getCollectedGroundItems().values();
+		final LocalPoint localLocation = player.getLocalLocation();
+		final WorldView playerWv = player.getWorldView();
+
+		// Only the tiles near the player can pass the distance check below, unless the player is on a
+		// world view other than the top level
+		tiles.clear();
+		plugin.getCollectedGroundItems().query(playerWv.isTopLevel() ? player.getWorldLocation() : null, MAX_TILE_DISTANCE, tiles);
+
+		// Flatten the tiles in range; the items of each tile are kept together, so the offset of each item is
+		// its index in the tile
+		groundItemList.clear();
+		groundPoints.clear();
+		for (GroundItemIndex.TileItems tile : tiles)
+		{
+			final List<GroundItem> items = tile.getItems();
+			final LocalPoint groundPoint = LocalPoint.fromWorld(items.get(0).getItemLayer().getWorldView(), tile.getWorldPoint());
+			if (groundPoint == null
+				|| (groundPoint.getWorldView() == WorldView.TOPLEVEL && localLocation.distanceTo(groundPoint) > MAX_DISTANCE))
+			{
+				continue;
+			}
+
+			for (int i = 0; i < items.size(); ++i)
+			{
+				final GroundItem item = items.get(i);
+				item.setOffset(i);
+				groundItemList.add(item);
+				groundPoints.add(groundPoint);
+			}
+		}
+
 		GroundItem topGroundItem = null;
 
 		if (plugin.isHotKeyPressed())
 		{
-			// Make copy of ground items because we are going to modify them here, and the array list supports our
-			// desired behaviour here
-			groundItemList = new ArrayList<>(groundItemList);
 			final java.awt.Point awtMousePos = new java.awt.Point(mousePos.getX(), mousePos.getY());
-			GroundItem groundItem = null;
 
 			for (GroundItem item : groundItemList)
 			{
-				item.setOffset(offsetMap.compute(item.getItemLayer().getWorldLocation(), (k, v) -> v != null ? v + 1 : 0));
-
-				if (groundItem != null)
-				{
-					continue;
-				}
-
-				if (plugin.getTextBoxBounds() != null
+				if ((plugin.getTextBoxBounds() != null
 					&& item.equals(plugin.getTextBoxBounds().getValue())
 					&& plugin.getTextBoxBounds().getKey().contains(awtMousePos))
-				{
-					groundItem = item;
-					continue;
-				}
-
-				if (plugin.getHiddenBoxBounds() != null
+					|| (plugin.getHiddenBoxBounds() != null
 					&& item.equals(plugin.getHiddenBoxBounds().getValue())
 					&& plugin.getHiddenBoxBounds().getKey().contains(awtMousePos))
-				{
-					groundItem = item;
-					continue;
-				}
-
-				if (plugin.getHighlightBoxBounds() != null
+					|| (plugin.getHighlightBoxBounds() != null
 					&& item.equals(plugin.getHighlightBoxBounds().getValue())
-					&& plugin.getHighlightBoxBounds().getKey().contains(awtMousePos))
+					&& plugin.getHighlightBoxBounds().getKey().contains(awtMousePos)))
 				{
-					groundItem = item;
+					topGroundItem = item;
+					break;
 				}
 			}
 
-			if (groundItem != null)
+			if (topGroundItem != null)
 			{
-				groundItemList.remove(groundItem);
-				groundItemList.add(groundItem);
-				topGroundItem = groundItem;
+				final int idx = groundItemList.indexOf(topGroundItem);
+				groundItemList.add(groundItemList.remove(idx));
+				groundPoints.add(groundPoints.remove(idx));
 			}
 		}
 
@@ -171,20 +180,25 @@ public class GroundItemsOverlay extends Overlay
 		plugin.setHiddenBoxBounds(null);
 		plugin.setHighlightBoxBounds(null);
 
-		final LocalPoint localLocation = player.getLocalLocation();
 		final DespawnTimerMode groundItemTimers = config.groundItemTimers();
 		final boolean outline = config.textOutline();
 		final OwnershipFilterMode ownershipFilterMode = config.ownershipFilterMode();
 		final int accountType = client.getVarbitValue(VarbitID.IRONMAN);
 
-		for (GroundItem item : groundItemList)
+		LocalPoint lastGroundPoint = null;
+		int tileOffset = 0;
+
+		for (int i = 0; i < groundItemList.size(); ++i)
 		{
-			final WorldView wv = item.getItemLayer().getWorldView();
-			final LocalPoint groundPoint = LocalPoint.fromWorld(wv, item.getItemLayer().getWorldLocation());
+			final GroundItem item = groundItemList.get(i);
+			final LocalPoint groundPoint = groundPoints.get(i);
+			if (groundPoint != lastGroundPoint)
+			{
+				lastGroundPoint = groundPoint;
+				tileOffset = 0;
+			}
 
-			if (groundPoint == null
-				|| (groundPoint.getWorldView() == WorldView.TOPLEVEL && localLocation.distanceTo(groundPoint) > MAX_DISTANCE)
-				|| !plugin.shouldDisplayItem(ownershipFilterMode, item.getOwnership(), accountType))
+			if (!plugin.shouldDisplayItem(ownershipFilterMode, item.getOwnership(), accountType))
 			{
 				continue;
 			}
@@ -223,52 +237,12 @@ public class GroundItemsOverlay extends Overlay
 				continue;
 			}
 
-			itemStringBuilder.append(item.getName());
-
-			if (item.getQuantity() > 1)
+			if (item.text == null)
 			{
-				itemStringBuilder.append(" (")
-					.append(QuantityFormatter.quantityToStackSize(item.getQuantity()))
-					.append(')');
+				item.text = buildItemString(item, config.priceDisplayMode());
 			}
 
-			if (item.getId() != ItemID.COINS)
-			{
-				PriceDisplayMode displayMode = config.priceDisplayMode();
-				if (displayMode == PriceDisplayMode.BOTH)
-				{
-					if (item.getGePrice() > 0)
-					{
-						itemStringBuilder.append(" (GE: ")
-							.append(QuantityFormatter.quantityToStackSize(item.getGePrice()))
-							.append(" gp)");
-					}
-
-					if (item.getHaPrice() > 0)
-					{
-						itemStringBuilder.append(" (HA: ")
-							.append(QuantityFormatter.quantityToStackSize(item.getHaPrice()))
-							.append(" gp)");
-					}
-				}
-				else if (displayMode != PriceDisplayMode.OFF)
-				{
-					final int price = displayMode == PriceDisplayMode.GE
-						? item.getGePrice()
-						: item.getHaPrice();
-
-					if (price > 0)
-					{
-						itemStringBuilder
-							.append(" (")
-							.append(QuantityFormatter.quantityToStackSize(price))
-							.append(" gp)");
-					}
-				}
-			}
-
-			final String itemString = itemStringBuilder.toString();
-			itemStringBuilder.setLength(0);
+			final String itemString = item.text;
 
 			final Point textPoint = Perspective.getCanvasTextLocation(client,
 				graphics,
@@ -283,7 +257,7 @@ public class GroundItemsOverlay extends Overlay
 
 			final int offset = plugin.isHotKeyPressed()
 				? item.getOffset()
-				: offsetMap.compute(item.getItemLayer().getWorldLocation(), (k, v) -> v != null ? v + 1 : 0);
+				: tileOffset++;
 
 			final int textX = textPoint.getX();
 			final int textY = textPoint.getY() - (STRING_GAP * offset);
@@ -388,6 +362,56 @@ public class GroundItemsOverlay extends Overlay
 		return null;
 	}
 
+	private String buildItemString(GroundItem item, PriceDisplayMode displayMode)
+	{
+		itemStringBuilder.append(item.getName());
+
+		if (item.getQuantity() > 1)
+		{
+			itemStringBuilder.append(" (")
+				.append(QuantityFormatter.quantityToStackSize(item.getQuantity()))
+				.append(')');
+		}
+
+		if (item.getId() != ItemID.COINS)
+		{
+			if (displayMode == PriceDisplayMode.BOTH)
+			{
+				if (item.getGePrice() > 0)
+				{
+					itemStringBuilder.append(" (GE: ")
+						.append(QuantityFormatter.quantityToStackSize(item.getGePrice()))
+						.append(" gp)");
+				}
+
+				if (item.getHaPrice() > 0)
+				{
+					itemStringBuilder.append(" (HA: ")
+						.append(QuantityFormatter.quantityToStackSize(item.getHaPrice()))
+						.append(" gp)");
+				}
+			}
+			else if (displayMode != PriceDisplayMode.OFF)
+			{
+				final int price = displayMode == PriceDisplayMode.GE
+					? item.getGePrice()
+					: item.getHaPrice();
+
+				if (price > 0)
+				{
+					itemStringBuilder
+						.append(" (")
+						.append(QuantityFormatter.quantityToStackSize(price))
+						.append(" gp)");
+				}
+			}
+		}
+
+		final String itemString = itemStringBuilder.toString();
+		itemStringBuilder.setLength(0);
+		return itemString;
+	}
+
 	private Instant calculateDespawnTime(GroundItem groundItem)
 	{
 		Instant spawnTime = groundItem.getSpawnTime();
@@ -28,9 +28,7 @@ package net.runelite.client.plugins.grounditems;
 import com.google.common.base.MoreObjects;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.LoadingCache;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
 import com.google.inject.Provides;
 import java.awt.Color;
 import java.awt.Rectangle;
@@ -189,8 +187,8 @@ public class GroundItemsPlugin extends Plugin
 	@Inject
 	private ColorPickerManager colorPickerManager;
 
-	@Getter
-	private final Table<WorldPoint, Integer, GroundItem> collectedGroundItems = HashBasedTable.create();
+	@Getter(AccessLevel.PACKAGE)
+	private final GroundItemIndex collectedGroundItems = new GroundItemIndex();
 	private List<PriceHighlight> priceChecks = ImmutableList.of();
 	private LoadingCache<NamedQuantity, Boolean> highlightedItems;
 	private LoadingCache<NamedQuantity, Boolean> hiddenItems;
@@ -262,7 +260,7 @@ public class GroundItemsPlugin extends Plugin
 	public void onWorldViewUnloaded(WorldViewUnloaded event)
 	{
 		var wv = event.getWorldView();
-		collectedGroundItems.values().removeIf(g -> g.getItemLayer().getWorldView() == wv);
+		collectedGroundItems.removeIf(g -> g.getItemLayer().getWorldView() == wv);
 		lootbeams.values().removeIf(l -> l.getWorldView() == wv.getId());
 	}
 
@@ -280,10 +278,12 @@ public class GroundItemsPlugin extends Plugin
 			existing.setQuantity(existing.getQuantity() + groundItem.getQuantity());
 			// The spawn time remains set at the oldest spawn
 			existing.reset();
+			updateItemColor(existing);
 		}
 		else
 		{
-			collectedGroundItems.put(tile.getWorldLocation(), item.getId(), groundItem);
+			collectedGroundItems.add(tile.getWorldLocation(), groundItem);
+			updateItemColor(groundItem);
 		}
 
 		if (shouldDisplayItem(config.ownershipFilterMode(), groundItem.getOwnership(), client.getVarbitValue(VarbitID.IRONMAN)))
@@ -489,7 +489,11 @@ public class GroundItemsPlugin extends Plugin
 
 		priceChecks = priceCheckBuilder.build();
 
-		clientThread.invokeLater(() -> collectedGroundItems.values().forEach(GroundItem::reset));
+		clientThread.invokeLater(() -> collectedGroundItems.stream().forEach(item ->
+		{
+			item.reset();
+			updateItemColor(item);
+		}));
 		clientThread.invokeLater(this::handleLootbeams);
 	}
 
@@ -579,7 +583,7 @@ public class GroundItemsPlugin extends Plugin
 					}));
 
 			var colors = Stream.concat(
-					collectedGroundItems.values().stream()
+					collectedGroundItems.stream()
 						.map(GroundItem::getColor)
 						.filter(Objects::nonNull),
 					// add some default colors
@@ -761,7 +765,7 @@ public class GroundItemsPlugin extends Plugin
 
 		int highestPrice = -1;
 		GroundItem highestItem = null;
-		Collection<GroundItem> groundItems = collectedGroundItems.row(worldPoint).values();
+		Collection<GroundItem> groundItems = collectedGroundItems.getItems(worldPoint);
 		final OwnershipFilterMode ownershipFilterMode = config.ownershipFilterMode();
 		final int accountType = client.getVarbitValue(VarbitID.IRONMAN);
 		for (GroundItem groundItem : groundItems)
@@ -817,7 +821,7 @@ public class GroundItemsPlugin extends Plugin
 
 	private void handleLootbeams()
 	{
-		for (WorldPoint worldPoint : collectedGroundItems.rowKeySet())
+		for (WorldPoint worldPoint : collectedGroundItems.getWorldPoints())
 		{
 			handleLootbeam(worldPoint);
 		}
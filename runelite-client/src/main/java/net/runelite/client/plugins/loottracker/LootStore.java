@@ -0,0 +1,739 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.loottracker;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.loottracker.LootRecordType;
+
+/**
+ * Loot history for a profile, kept as an append-only log of records in its own file rather than in the
+ * config. Opening a profile only indexes the records by source; the drops of a source are read when it is
+ * first asked for. The log is compacted to one record per source when it grows well past the number of
+ * sources.
+ */
+@Slf4j
+class LootStore
+{
+	private static final int OP_LOOT = 0;
+	private static final int OP_REMOVE = 1;
+	// a loot record followed by the config key it was imported from and a hash of the imported loot
+	private static final int OP_IMPORT = 2;
+
+	private final File directory;
+
+	@Nullable
+	private File file;
+	private final Map<Key, Source> sources = new HashMap<>();
+	private int records;
+
+	LootStore(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * The type is kept as its name so that records of types this version doesn't know, such as those written
+	 * by a newer client, are kept through compaction rather than dropped.
+	 */
+	@Value
+	private static class Key
+	{
+		String type;
+		String name;
+
+		Key(String type, String name)
+		{
+			this.type = type;
+			this.name = name;
+		}
+
+		Key(LootRecordType type, String name)
+		{
+			this(type.name(), name);
+		}
+	}
+
+	@Value
+	private static class Imported
+	{
+		long offset;
+		int kills;
+		long first;
+		long last;
+		int drops;
+		int hash;
+	}
+
+	private static class Source
+	{
+		// loot recorded by this client
+		private int kills;
+		private long first = Long.MAX_VALUE;
+		private long last;
+		// upper bound on the number of distinct drops, exact after compaction
+		private int drops;
+		private long[] offsets = new long[0];
+		private int numOffsets;
+		// config key to the loot last imported from it. The config is still written by older clients on other
+		// devices, so a later import of a key replaces the earlier one rather than adding to it.
+		@Nullable
+		private Map<String, Imported> imports;
+
+		void addRecord(long offset, int kills, long first, long last, int drops)
+		{
+			if (numOffsets == offsets.length)
+			{
+				offsets = Arrays.copyOf(offsets, Math.max(1, numOffsets * 2));
+			}
+			offsets[numOffsets++] = offset;
+			this.kills += kills;
+			this.first = Math.min(this.first, first);
+			this.last = Math.max(this.last, last);
+			this.drops += drops;
+		}
+
+		void addImport(String configKey, Imported imported)
+		{
+			if (imports == null)
+			{
+				imports = new HashMap<>(2);
+			}
+			imports.put(configKey, imported);
+		}
+
+		int kills()
+		{
+			int kills = this.kills;
+			if (imports != null)
+			{
+				for (Imported imported : imports.values())
+				{
+					kills += imported.kills;
+				}
+			}
+			return kills;
+		}
+
+		long first()
+		{
+			long first = this.first;
+			if (imports != null)
+			{
+				for (Imported imported : imports.values())
+				{
+					first = Math.min(first, imported.first);
+				}
+			}
+			return first;
+		}
+
+		long last()
+		{
+			long last = this.last;
+			if (imports != null)
+			{
+				for (Imported imported : imports.values())
+				{
+					last = Math.max(last, imported.last);
+				}
+			}
+			return last;
+		}
+
+		int drops()
+		{
+			int drops = this.drops;
+			if (imports != null)
+			{
+				for (Imported imported : imports.values())
+				{
+					drops += imported.drops;
+				}
+			}
+			return drops;
+		}
+	}
+
+	/**
+	 * Open the loot log for a profile, replacing any previously open profile
+	 */
+	synchronized void open(String profile, Instant expiry)
+	{
+		sources.clear();
+		records = 0;
+		file = new File(directory, profile.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+
+		long valid = 0;
+		try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+			DataInputStream in = new DataInputStream(counting))
+		{
+			while (true)
+			{
+				final long offset = counting.getCount();
+				final int op = in.read();
+				if (op == -1)
+				{
+					break;
+				}
+				if (op > OP_IMPORT)
+				{
+					throw new StreamCorruptedException("unknown op " + op);
+				}
+
+				final Key key = new Key(in.readUTF(), in.readUTF());
+				if (op == OP_REMOVE)
+				{
+					sources.remove(key);
+				}
+				else
+				{
+					final long first = in.readLong();
+					final long last = in.readLong();
+					final int kills = in.readInt();
+					final int drops = in.readInt();
+					if (drops < 0)
+					{
+						throw new StreamCorruptedException("negative drop count " + drops);
+					}
+					ByteStreams.skipFully(in, drops * 8L);
+					final Source source = sources.computeIfAbsent(key, k -> new Source());
+					if (op == OP_IMPORT)
+					{
+						final String configKey = in.readUTF();
+						source.addImport(configKey, new Imported(offset, kills, first, last, drops, in.readInt()));
+					}
+					else
+					{
+						source.addRecord(offset, kills, first, last, drops);
+					}
+				}
+
+				++records;
+				valid = counting.getCount();
+			}
+		}
+		catch (FileNotFoundException ex)
+		{
+			return;
+		}
+		catch (EOFException | UTFDataFormatException | StreamCorruptedException ex)
+		{
+			// a partially written or corrupt record; nothing after it can be framed, so drop it and the rest
+			log.warn("Truncating loot log {} at {}: {}", file, valid, ex.toString());
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+			{
+				raf.setLength(valid);
+			}
+			catch (IOException e)
+			{
+				log.warn("unable to truncate loot log", e);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to read loot log {}", file, ex);
+			return;
+		}
+
+		final boolean expired = sources.values().removeIf(s -> s.last() < expiry.toEpochMilli());
+		log.debug("Indexed {} loot records for {} sources", records, sources.size());
+
+		if (expired || records > sources.size() * 4 + 256)
+		{
+			compact();
+		}
+	}
+
+	synchronized boolean isOpen()
+	{
+		return file != null;
+	}
+
+	synchronized boolean isEmpty()
+	{
+		return sources.isEmpty();
+	}
+
+	/**
+	 * Get the most recent sources, up to roughly {@code maxDrops} distinct drops in total
+	 *
+	 * @return the sources, least recent first
+	 */
+	synchronized List<ConfigLoot> getRecent(int maxDrops)
+	{
+		List<Map.Entry<Key, Source>> entries = new ArrayList<>(sources.entrySet());
+		entries.sort(Comparator.comparingLong(e -> -e.getValue().last()));
+
+		List<ConfigLoot> loots = new ArrayList<>();
+		int drops = 0;
+		for (Map.Entry<Key, Source> entry : entries)
+		{
+			if (recordType(entry.getKey()) == null)
+			{
+				continue;
+			}
+
+			drops += entry.getValue().drops();
+			if (drops >= maxDrops && !loots.isEmpty())
+			{
+				break;
+			}
+
+			ConfigLoot loot = load(entry.getKey(), entry.getValue());
+			if (loot != null)
+			{
+				loots.add(0, loot);
+			}
+		}
+		return loots;
+	}
+
+	@Nullable
+	synchronized ConfigLoot get(LootRecordType type, String name)
+	{
+		Key key = new Key(type, name);
+		Source source = sources.get(key);
+		return source == null ? null : load(key, source);
+	}
+
+	/**
+	 * Append loot to the log. Each loot's kills and drops are added to those already stored for its source.
+	 *
+	 * @return whether the loot was written
+	 */
+	synchronized boolean add(Collection<ConfigLoot> loots)
+	{
+		return append(loots, null);
+	}
+
+	/**
+	 * Append loot imported from the config, marking each record with the key it came from. The loot replaces
+	 * any loot imported earlier from the same key.
+	 *
+	 * @param loots config key to loot
+	 * @return whether the loot was written
+	 */
+	synchronized boolean addImported(Map<String, ConfigLoot> loots)
+	{
+		return append(loots.values(), new ArrayList<>(loots.keySet()));
+	}
+
+	/**
+	 * @return whether the same loot has already been imported from the config key
+	 */
+	synchronized boolean isImported(String configKey, ConfigLoot loot)
+	{
+		Source source = sources.get(new Key(loot.type, loot.name));
+		Imported imported = source == null || source.imports == null ? null : source.imports.get(configKey);
+		return imported != null && imported.hash == importHash(loot);
+	}
+
+	private boolean append(Collection<ConfigLoot> loots, @Nullable List<String> configKeys)
+	{
+		if (file == null)
+		{
+			return false;
+		}
+
+		directory.mkdirs();
+		try (FileOutputStream fout = new FileOutputStream(file, true);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fout)))
+		{
+			final long base = fout.getChannel().position();
+			int i = 0;
+			for (ConfigLoot loot : loots)
+			{
+				final long offset = base + out.size();
+				final Source source = sources.computeIfAbsent(new Key(loot.type, loot.name), k -> new Source());
+				if (configKeys == null)
+				{
+					writeLoot(out, OP_LOOT, loot);
+					source.addRecord(offset, loot.kills, loot.first.toEpochMilli(), loot.last.toEpochMilli(), loot.numDrops());
+				}
+				else
+				{
+					// the key is part of the loot record, so a torn write loses both
+					final String configKey = configKeys.get(i++);
+					final int hash = importHash(loot);
+					writeLoot(out, OP_IMPORT, loot);
+					out.writeUTF(configKey);
+					out.writeInt(hash);
+					source.addImport(configKey, new Imported(offset, loot.kills, loot.first.toEpochMilli(), loot.last.toEpochMilli(), loot.numDrops(), hash));
+				}
+				++records;
+			}
+			out.flush();
+			fout.getFD().sync();
+			return true;
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to write loot log {}", file, ex);
+			return false;
+		}
+	}
+
+	synchronized void remove(LootRecordType type, String name)
+	{
+		if (file == null || sources.remove(new Key(type, name)) == null)
+		{
+			return;
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true))))
+		{
+			out.write(OP_REMOVE);
+			out.writeUTF(type.name());
+			out.writeUTF(name);
+			++records;
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to write loot log {}", file, ex);
+		}
+	}
+
+	synchronized void clear()
+	{
+		if (file == null)
+		{
+			return;
+		}
+
+		sources.clear();
+		records = 0;
+		if (!file.delete() && file.exists())
+		{
+			log.warn("unable to delete loot log {}", file);
+		}
+	}
+
+	/**
+	 * Rewrite the log with a single record per source, plus the latest record imported from each config key
+	 */
+	private void compact()
+	{
+		assert file != null;
+		File tmp = new File(directory, file.getName() + ".tmp");
+		Map<Key, Source> compacted = new HashMap<>();
+		int written = 0;
+		try
+		{
+			try (FileOutputStream fout = new FileOutputStream(tmp);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fout)))
+			{
+				for (Map.Entry<Key, Source> entry : sources.entrySet())
+				{
+					final Key key = entry.getKey();
+					final Source source = entry.getValue();
+					if (source.numOffsets > 0)
+					{
+						final int[] drops = readDrops(key, source.offsets, source.numOffsets, source.drops);
+						if (drops == null)
+						{
+							continue;
+						}
+
+						final long offset = out.size();
+						writeLoot(out, OP_LOOT, key.type, key.name, source.first, source.last, source.kills, drops);
+						compacted.computeIfAbsent(key, k -> new Source())
+							.addRecord(offset, source.kills, source.first, source.last, drops.length / 2);
+						++written;
+					}
+
+					if (source.imports != null)
+					{
+						for (Map.Entry<String, Imported> e : source.imports.entrySet())
+						{
+							final Imported imported = e.getValue();
+							final int[] drops = readDrops(key, new long[]{imported.offset}, 1, imported.drops);
+							if (drops == null)
+							{
+								continue;
+							}
+
+							final long offset = out.size();
+							writeLoot(out, OP_IMPORT, key.type, key.name, imported.first, imported.last, imported.kills, drops);
+							out.writeUTF(e.getKey());
+							out.writeInt(imported.hash);
+							compacted.computeIfAbsent(key, k -> new Source()).addImport(e.getKey(),
+								new Imported(offset, imported.kills, imported.first, imported.last, drops.length / 2, imported.hash));
+							++written;
+						}
+					}
+				}
+				out.flush();
+				fout.getFD().sync();
+			}
+
+			try
+			{
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex)
+			{
+				log.debug("atomic move not supported", ex);
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to compact loot log {}", file, ex);
+			tmp.delete();
+			return;
+		}
+
+		log.debug("Compacted loot log from {} to {} records", records, written);
+		sources.clear();
+		sources.putAll(compacted);
+		records = written;
+	}
+
+	@Nullable
+	private ConfigLoot load(Key key, Source source)
+	{
+		final LootRecordType type = recordType(key);
+		if (type == null)
+		{
+			return null;
+		}
+
+		long[] offsets = source.offsets;
+		int numOffsets = source.numOffsets;
+		if (source.imports != null)
+		{
+			offsets = Arrays.copyOf(offsets, numOffsets + source.imports.size());
+			for (Imported imported : source.imports.values())
+			{
+				offsets[numOffsets++] = imported.offset;
+			}
+		}
+
+		final int[] drops = readDrops(key, offsets, numOffsets, source.drops());
+		if (drops == null)
+		{
+			return null;
+		}
+
+		ConfigLoot loot = new ConfigLoot(type, key.name);
+		loot.kills = source.kills();
+		loot.first = Instant.ofEpochMilli(source.first());
+		loot.last = Instant.ofEpochMilli(source.last());
+		loot.drops = drops;
+		return loot;
+	}
+
+	@Nullable
+	private int[] readDrops(Key key, long[] offsets, int numOffsets, int expected)
+	{
+		assert file != null;
+		DropCounts counts = new DropCounts(expected);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			for (int i = 0; i < numOffsets; ++i)
+			{
+				raf.seek(offsets[i]);
+				readLoot(raf, counts);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to read loot for {} {}", key.type, key.name, ex);
+			return null;
+		}
+		return counts.toArray();
+	}
+
+	@Nullable
+	private static LootRecordType recordType(Key key)
+	{
+		try
+		{
+			return LootRecordType.valueOf(key.type);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Hash of the loot stored in a config key. Older clients set the last time on every save, so the kills,
+	 * last time and drops change whenever the key does.
+	 */
+	private static int importHash(ConfigLoot loot)
+	{
+		return (Integer.hashCode(loot.kills) * 31 + Long.hashCode(loot.last.toEpochMilli())) * 31 + Arrays.hashCode(loot.drops);
+	}
+
+	private static void writeLoot(DataOutputStream out, int op, ConfigLoot loot) throws IOException
+	{
+		writeLoot(out, op, loot.type.name(), loot.name, loot.first.toEpochMilli(), loot.last.toEpochMilli(), loot.kills, loot.drops);
+	}
+
+	private static void writeLoot(DataOutputStream out, int op, String type, String name, long first, long last, int kills, int[] drops) throws IOException
+	{
+		out.write(op);
+		out.writeUTF(type);
+		out.writeUTF(name);
+		out.writeLong(first);
+		out.writeLong(last);
+		out.writeInt(kills);
+		out.writeInt(drops.length / 2);
+		for (int drop : drops)
+		{
+			out.writeInt(drop);
+		}
+	}
+
+	private static void readLoot(DataInput in, DropCounts counts) throws IOException
+	{
+		in.readByte(); // op
+		in.readUTF(); // type
+		in.readUTF(); // name
+		in.readLong(); // first
+		in.readLong(); // last
+		in.readInt(); // kills
+		final int drops = in.readInt();
+		for (int i = 0; i < drops; ++i)
+		{
+			counts.add(in.readInt(), in.readInt());
+		}
+	}
+
+	/**
+	 * Open addressed item id to quantity map, which remembers the order ids were first added
+	 */
+	private static class DropCounts
+	{
+		private int[] ids;
+		private int[] qtys;
+		private int[] order;
+		private int size;
+
+		DropCounts(int expected)
+		{
+			// expected may be a large overestimate before the log is compacted
+			int capacity = Integer.highestOneBit(Math.min(Math.max(4, expected), 4096) * 2 - 1) << 1;
+			ids = new int[capacity];
+			qtys = new int[capacity];
+			order = new int[capacity];
+			Arrays.fill(ids, -1);
+		}
+
+		void add(int id, int qty)
+		{
+			if (size * 2 >= ids.length)
+			{
+				grow();
+			}
+
+			int slot = slot(id);
+			if (ids[slot] == -1)
+			{
+				ids[slot] = id;
+				order[size++] = slot;
+			}
+
+			qtys[slot] += qty;
+			if (qtys[slot] < 0)
+			{
+				qtys[slot] = Integer.MAX_VALUE;
+			}
+		}
+
+		private int slot(int id)
+		{
+			final int mask = ids.length - 1;
+			int slot = (id * 0x9E3779B9) >>> 16 & mask;
+			while (ids[slot] != -1 && ids[slot] != id)
+			{
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		private void grow()
+		{
+			final int[] oldIds = ids, oldQtys = qtys, oldOrder = order;
+			final int oldSize = size;
+			ids = new int[oldIds.length * 2];
+			qtys = new int[oldIds.length * 2];
+			order = new int[oldIds.length * 2];
+			Arrays.fill(ids, -1);
+			size = 0;
+			for (int i = 0; i < oldSize; ++i)
+			{
+				int slot = slot(oldIds[oldOrder[i]]);
+				ids[slot] = oldIds[oldOrder[i]];
+				qtys[slot] = oldQtys[oldOrder[i]];
+				order[size++] = slot;
+			}
+		}
+
+		/**
+		 * @return id, quantity pairs in the format of {@link ConfigLoot#drops}
+		 */
+		int[] toArray()
+		{
+			int[] drops = new int[size * 2];
+			for (int i = 0; i < size; ++i)
+			{
+				drops[i * 2] = ids[order[i]];
+				drops[i * 2 + 1] = qtys[order[i]];
+			}
+			return drops;
+		}
+	}
+}
@@ -38,14 +38,15 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +91,7 @@ import net.runelite.api.gameval.ItemID;
 import net.runelite.api.gameval.ObjectID;
 import net.runelite.api.gameval.SpriteID;
 import net.runelite.api.gameval.VarbitID;
+import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.account.SessionManager;
 import net.runelite.client.callback.ClientThread;
@@ -134,6 +136,7 @@ public class LootTrackerPlugin extends Plugin
 {
 	private static final int MAX_DROPS = 1024;
 	private static final Duration MAX_AGE = Duration.ofDays(365L);
+	private static final File LOOT_DIR = new File(RuneLite.RUNELITE_DIR, "loots");
 	private static final int INVCHANGE_TIMEOUT = 10; // server ticks
 
 	// Activity/Event loot handling
@@ -390,6 +393,7 @@ public class LootTrackerPlugin extends Plugin
 
 	private final List<LootRecord> queuedLoots = new ArrayList<>();
 	private String profileKey;
+	private final LootStore lootStore = new LootStore(LOOT_DIR);
 
 	private static Collection<ItemStack> stack(Collection<ItemStack> items)
 	{
@@ -474,12 +478,14 @@ public class LootTrackerPlugin extends Plugin
 
 	private void switchProfile(String profileKey)
 	{
+		// Current queued loot is for the previous profile, so save it first with the current profile key
+		submitLoot();
+
 		executor.execute(() ->
 		{
-			// Current queued loot is for the previous profile, so save it first with the current profile key
-			submitLoot();
-
 			this.profileKey = profileKey;
+			lootStore.open(profileKey, Instant.now().minus(MAX_AGE));
+			importConfigLoot(profileKey);
 
 			log.debug("Switched to profile {}", profileKey);
 
@@ -488,47 +494,7 @@ public class LootTrackerPlugin extends Plugin
 				return;
 			}
 
-			int drops = 0;
-			List<ConfigLoot> loots = new ArrayList<>();
-			Instant old = Instant.now().minus(MAX_AGE);
-			for (String key : configManager.getRSProfileConfigurationKeys(LootTrackerConfig.GROUP, profileKey, "drops_"))
-			{
-				String json = configManager.getConfiguration(LootTrackerConfig.GROUP, profileKey, key);
-				ConfigLoot configLoot;
-
-				try
-				{
-					configLoot = gson.fromJson(json, ConfigLoot.class);
-				}
-				catch (JsonSyntaxException ex)
-				{
-					log.warn("Removing loot with malformed json: {}", json, ex);
-					configManager.unsetConfiguration(LootTrackerConfig.GROUP, profileKey, key);
-					continue;
-				}
-
-				if (configLoot.last.isBefore(old))
-				{
-					log.debug("Removing old loot for {} {}", configLoot.type, configLoot.name);
-					configManager.unsetConfiguration(LootTrackerConfig.GROUP, profileKey, key);
-					continue;
-				}
-
-				if (drops >= MAX_DROPS && !loots.isEmpty() && loots.get(0).last.isAfter(configLoot.last))
-				{
-					// fast drop
-					continue;
-				}
-
-				sortedInsert(loots, configLoot, Comparator.comparing(ConfigLoot::getLast));
-				drops += configLoot.numDrops();
-
-				if (drops >= MAX_DROPS)
-				{
-					ConfigLoot top = loots.remove(0);
-					drops -= top.numDrops();
-				}
-			}
+			List<ConfigLoot> loots = lootStore.getRecent(MAX_DROPS);
 
 			log.debug("Loaded {} records", loots.size());
 
@@ -556,10 +522,56 @@ public class LootTrackerPlugin extends Plugin
 		});
 	}
 
-	private static <T> void sortedInsert(List<T> list, T value, Comparator<? super T> c)
+	/**
+	 * Import loot stored in the config by older versions into the loot store. The keys are left in place since
+	 * older clients on other devices still sync their loot through them; a key which has changed since it was
+	 * last imported replaces the loot imported from it before.
+	 */
+	private void importConfigLoot(String profileKey)
 	{
-		int idx = Collections.binarySearch(list, value, c);
-		list.add(idx < 0 ? -idx - 1 : idx, value);
+		List<String> keys = configManager.getRSProfileConfigurationKeys(LootTrackerConfig.GROUP, profileKey, "drops_");
+		if (keys.isEmpty())
+		{
+			return;
+		}
+
+		Map<String, ConfigLoot> loots = new LinkedHashMap<>();
+		Instant old = Instant.now().minus(MAX_AGE);
+		for (String key : keys)
+		{
+			String json = configManager.getConfiguration(LootTrackerConfig.GROUP, profileKey, key);
+			ConfigLoot configLoot;
+
+			try
+			{
+				configLoot = gson.fromJson(json, ConfigLoot.class);
+			}
+			catch (JsonSyntaxException ex)
+			{
+				log.warn("Skipping loot with malformed json: {}", json, ex);
+				continue;
+			}
+
+			if (configLoot == null || configLoot.type == null || configLoot.name == null || configLoot.drops == null
+				|| configLoot.last == null || configLoot.last.isBefore(old))
+			{
+				continue;
+			}
+
+			if (lootStore.isImported(key, configLoot))
+			{
+				continue;
+			}
+
+			loots.put(key, configLoot);
+		}
+
+		if (loots.isEmpty() || !lootStore.addImported(loots))
+		{
+			return;
+		}
+
+		log.debug("Imported {} loot records from the config", loots.size());
 	}
 
 	@Subscribe
@@ -643,25 +655,6 @@ public class LootTrackerPlugin extends Plugin
 		}
 	}
 
-	// if there is unloaded loot for a type+name, load it in
-	private void initLoot(LootRecordType type, String name)
-	{
-		if (panel.hasRecord(type, name) || !config.rememberLoot())
-		{
-			return;
-		}
-
-		ConfigLoot loot = getLootConfig(type, name);
-		if (loot == null)
-		{
-			return;
-		}
-
-		log.debug("Loaded {} records for {} {}", loot.numDrops(), type, name);
-
-		LootTrackerRecord record = convertToLootTrackerRecord(loot);
-		SwingUtilities.invokeLater(() -> panel.addRecords(Collections.singleton(record)));
-	}
 
 	void addLoot(@NonNull String name, int combatLevel, LootRecordType type, Object metadata, Collection<ItemStack> items)
 	{
@@ -670,20 +663,52 @@ public class LootTrackerPlugin extends Plugin
 
 	void addLoot(@NonNull String name, int combatLevel, LootRecordType type, Object metadata, Collection<ItemStack> items, int amount)
 	{
-		initLoot(type, name);
-
 		final LootTrackerItem[] entries = buildEntries(stack(items));
-		SwingUtilities.invokeLater(() -> panel.add(name, type, combatLevel, entries, amount));
+		final LootRecord lootRecord = new LootRecord(name, type, metadata, toGameItems(items), Instant.now(), getLootWorldId(), amount, null);
 
-		LootRecord lootRecord = new LootRecord(name, type, metadata, toGameItems(items), Instant.now(), getLootWorldId(), amount, null);
-		synchronized (queuedLoots)
+		if (panel.hasRecord(type, name) || !config.rememberLoot())
 		{
-			queuedLoots.add(lootRecord);
+			SwingUtilities.invokeLater(() -> panel.add(name, type, combatLevel, entries, amount));
+			queueLoot(lootRecord);
+		}
+		else
+		{
+			// load the stored loot for the type+name into the panel first. The loot store is read on the
+			// executor, and this kill is only queued after the read so that it isn't included.
+			executor.execute(() ->
+			{
+				final ConfigLoot loot = getLootConfig(type, name);
+				queueLoot(lootRecord);
+
+				clientThread.invokeLater(() ->
+				{
+					// convertToLootTrackerRecord must be called on client thread
+					final LootTrackerRecord record = loot == null ? null : convertToLootTrackerRecord(loot);
+					SwingUtilities.invokeLater(() ->
+					{
+						// an earlier kill may have loaded it already
+						if (record != null && !panel.hasRecord(type, name))
+						{
+							log.debug("Loaded {} records for {} {}", loot.numDrops(), type, name);
+							panel.addRecords(Collections.singleton(record));
+						}
+						panel.add(name, type, combatLevel, entries, amount);
+					});
+				});
+			});
 		}
 
 		eventBus.post(new LootReceived(name, combatLevel, type, items, amount));
 	}
 
+	private void queueLoot(LootRecord lootRecord)
+	{
+		synchronized (queuedLoots)
+		{
+			queuedLoots.add(lootRecord);
+		}
+	}
+
 	private Integer getLootWorldId()
 	{
 		// For the wiki to determine drop rates based on dmm brackets / identify leagues drops
@@ -1369,16 +1394,16 @@ public class LootTrackerPlugin extends Plugin
 			queuedLoots.clear();
 		}
 
-		saveLoot(copy);
+		CompletableFuture<Void> saved = CompletableFuture.runAsync(() -> saveLoot(copy), executor);
 
 		if (client.getEnvironment() != 0)
 		{
-			return null;
+			return saved;
 		}
 
 		log.debug("Submitting {} loot records", copy.size());
 
-		return lootTrackerClient.submit(copy);
+		return CompletableFuture.allOf(saved, lootTrackerClient.submit(copy));
 	}
 
 	private Collection<ConfigLoot> combine(List<LootRecord> records)
@@ -1399,26 +1424,20 @@ public class LootTrackerPlugin extends Plugin
 
 	private void saveLoot(List<LootRecord> records)
 	{
+		if (Strings.isNullOrEmpty(profileKey))
+		{
+			log.debug("Trying to save loot with no profile!");
+			return;
+		}
+
 		Instant now = Instant.now();
 		Collection<ConfigLoot> combinedRecords = combine(records);
 		for (ConfigLoot record : combinedRecords)
 		{
-			ConfigLoot lootConfig = getLootConfig(record.type, record.name);
-			if (lootConfig == null)
-			{
-				lootConfig = record;
-			}
-			else
-			{
-				lootConfig.kills += record.kills;
-				for (int i = 0; i < record.drops.length; i += 2)
-				{
-					lootConfig.add(record.drops[i], record.drops[i + 1]);
-				}
-			}
-			lootConfig.last = now;
-			setLootConfig(lootConfig.type, lootConfig.name, lootConfig);
+			record.first = now;
+			record.last = now;
 		}
+		lootStore.add(combinedRecords);
 	}
 
 	private void resetEvent()
@@ -1668,26 +1687,7 @@ public class LootTrackerPlugin extends Plugin
 			return null;
 		}
 
-		String json = configManager.getConfiguration(LootTrackerConfig.GROUP, profile, "drops_" + type + "_" + name);
-		if (json == null)
-		{
-			return null;
-		}
-
-		return gson.fromJson(json, ConfigLoot.class);
-	}
-
-	void setLootConfig(LootRecordType type, String name, ConfigLoot loot)
-	{
-		String profile = profileKey;
-		if (Strings.isNullOrEmpty(profile))
-		{
-			log.debug("Trying to set loot with no profile!");
-			return;
-		}
-
-		String json = gson.toJson(loot);
-		configManager.setConfiguration(LootTrackerConfig.GROUP, profile, "drops_" + type + "_" + name, json);
+		return lootStore.get(type, name);
 	}
 
 	void removeLootConfig(LootRecordType type, String name)
@@ -1699,6 +1699,14 @@ public class LootTrackerPlugin extends Plugin
 			return;
 		}
 
+		executor.execute(() ->
+		{
+			if (profile.equals(profileKey))
+			{
+				lootStore.remove(type, name);
+			}
+		});
+		// otherwise it would be imported again
 		configManager.unsetConfiguration(LootTrackerConfig.GROUP, profile, "drops_" + type + "_" + name);
 	}
 
@@ -1711,6 +1719,13 @@ public class LootTrackerPlugin extends Plugin
 			return;
 		}
 
+		executor.execute(() ->
+		{
+			if (profile.equals(profileKey))
+			{
+				lootStore.clear();
+			}
+		});
 		for (String key : configManager.getRSProfileConfigurationKeys(LootTrackerConfig.GROUP, profile, "drops_"))
 		{
 			configManager.unsetConfiguration(LootTrackerConfig.GROUP, profile, key);
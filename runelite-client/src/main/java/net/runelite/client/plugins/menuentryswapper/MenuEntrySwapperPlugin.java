@@ -30,16 +30,15 @@ import com.google.common.annotations.VisibleForTesting;
 import static com.google.common.base.Predicates.alwaysTrue;
 import static com.google.common.base.Predicates.equalTo;
 import com.google.common.base.Strings;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.inject.Provides;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -71,6 +70,8 @@ import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.ProfileChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemVariationMapping;
 import net.runelite.client.game.NpcUtil;
@@ -103,6 +104,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 	private static final String UI_KEY_PREFIX = "ui_";
 	private static final String UI_SHIFT_KEY_PREFIX = "ui_shift_";
 
+	private static final int NORMALIZED_CACHE_SIZE = 512;
+
 	private static final List<MenuAction> NPC_MENU_TYPES = ImmutableList.of(
 		MenuAction.NPC_FIRST_OPTION,
 		MenuAction.NPC_SECOND_OPTION,
@@ -207,8 +210,19 @@ public class MenuEntrySwapperPlugin extends Plugin
 	private NpcUtil npcUtil;
 
 	private final Multimap<String, Swap> swaps = LinkedHashMultimap.create();
-	private final ArrayListMultimap<String, Integer> cacheOptionIndexes = ArrayListMultimap.create();
-	private Menu cacheOptionMenu;
+	// built from the swaps and config when first needed, and rebuilt after the config changes
+	private SwapTable swapTable;
+	private int swapTableVersion;
+	private volatile int configVersion;
+	// option and target strings without tags and lower cased
+	private final Map<String, String> normalizedStrings = new LinkedHashMap<>(NORMALIZED_CACHE_SIZE, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+		{
+			return size() > NORMALIZED_CACHE_SIZE;
+		}
+	};
 	private boolean lastShift, curShift;
 
 	@Provides
@@ -228,6 +242,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 	public void shutDown()
 	{
 		swaps.clear();
+		swapTable = null;
+		normalizedStrings.clear();
 	}
 
 	@VisibleForTesting
@@ -356,17 +372,17 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 		swap("pick", "pick-lots", config::swapPick);
 
-		swap("view offer", "abort offer", () -> shiftModifier() && config.swapGEAbort());
+		swap("view offer", "abort offer", shift -> shift && config.swapGEAbort());
 
-		swap("value", "buy 1", () -> shiftModifier() && config.shopBuy() == BuyMode.BUY_1);
-		swap("value", "buy 5", () -> shiftModifier() && config.shopBuy() == BuyMode.BUY_5);
-		swap("value", "buy 10", () -> shiftModifier() && config.shopBuy() == BuyMode.BUY_10);
-		swap("value", "buy 50", () -> shiftModifier() && config.shopBuy() == BuyMode.BUY_50);
+		swap("value", "buy 1", shift -> shift && config.shopBuy() == BuyMode.BUY_1);
+		swap("value", "buy 5", shift -> shift && config.shopBuy() == BuyMode.BUY_5);
+		swap("value", "buy 10", shift -> shift && config.shopBuy() == BuyMode.BUY_10);
+		swap("value", "buy 50", shift -> shift && config.shopBuy() == BuyMode.BUY_50);
 
-		swap("value", "sell 1", () -> shiftModifier() && config.shopSell() == SellMode.SELL_1);
-		swap("value", "sell 5", () -> shiftModifier() && config.shopSell() == SellMode.SELL_5);
-		swap("value", "sell 10", () -> shiftModifier() && config.shopSell() == SellMode.SELL_10);
-		swap("value", "sell 50", () -> shiftModifier() && config.shopSell() == SellMode.SELL_50);
+		swap("value", "sell 1", shift -> shift && config.shopSell() == SellMode.SELL_1);
+		swap("value", "sell 5", shift -> shift && config.shopSell() == SellMode.SELL_5);
+		swap("value", "sell 10", shift -> shift && config.shopSell() == SellMode.SELL_10);
+		swap("value", "sell 50", shift -> shift && config.shopSell() == SellMode.SELL_50);
 
 		swap("wear", "tele to poh", config::swapTeleToPoh);
 
@@ -410,8 +426,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 		swap("tan 1", "tan all", config::swapTan);
 
-		swap("climb", "climb-up", () -> (shiftModifier() ? config.swapStairsShiftClick() : config.swapStairsLeftClick()) == MenuEntrySwapperConfig.StairsMode.CLIMB_UP);
-		swap("climb", "climb-down", () -> (shiftModifier() ? config.swapStairsShiftClick() : config.swapStairsLeftClick()) == MenuEntrySwapperConfig.StairsMode.CLIMB_DOWN);
+		swap("climb", "climb-up", shift -> (shift ? config.swapStairsShiftClick() : config.swapStairsLeftClick()) == MenuEntrySwapperConfig.StairsMode.CLIMB_UP);
+		swap("climb", "climb-down", shift -> (shift ? config.swapStairsShiftClick() : config.swapStairsLeftClick()) == MenuEntrySwapperConfig.StairsMode.CLIMB_DOWN);
 	}
 
 	private void removeOldSwaps()
@@ -450,6 +466,11 @@ public class MenuEntrySwapperPlugin extends Plugin
 		swap(option, alwaysTrue(), swappedOption, enabled);
 	}
 
+	private void swap(String option, String swappedOption, Predicate<Boolean> enabled)
+	{
+		swaps.put(option, new Swap(alwaysTrue(), alwaysTrue(), swappedOption, enabled, true));
+	}
+
 	private void swap(String option, String target, String swappedOption, Supplier<Boolean> enabled)
 	{
 		swap(option, equalTo(target), swappedOption, enabled);
@@ -457,24 +478,17 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 	private void swap(String option, Predicate<String> targetPredicate, String swappedOption, Supplier<Boolean> enabled)
 	{
-		swaps.put(option, new Swap(alwaysTrue(), targetPredicate, swappedOption, enabled, true));
+		swaps.put(option, new Swap(alwaysTrue(), targetPredicate, swappedOption, shift -> enabled.get(), true));
 	}
 
 	private void swapContains(String option, Predicate<String> targetPredicate, String swappedOption, Supplier<Boolean> enabled)
 	{
-		swaps.put(option, new Swap(alwaysTrue(), targetPredicate, swappedOption, enabled, false));
+		swaps.put(option, new Swap(alwaysTrue(), targetPredicate, swappedOption, shift -> enabled.get(), false));
 	}
 
 	private Integer getItemSwapConfig(boolean shift, int itemId)
 	{
-		itemId = ItemVariationMapping.map(itemId);
-		String config = configManager.getConfiguration(shift ? SHIFTCLICK_CONFIG_GROUP : MenuEntrySwapperConfig.GROUP, ITEM_KEY_PREFIX + itemId);
-		if (config == null || config.isEmpty())
-		{
-			return null;
-		}
-
-		return Integer.parseInt(config);
+		return getSwapTable().getCustomSwap(SwapTable.CustomSwap.ITEM, shift, ItemVariationMapping.map(itemId));
 	}
 
 	private void setItemSwapConfig(boolean shift, int itemId, int index)
@@ -491,15 +505,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 	private Integer getWornItemSwapConfig(boolean shift, int itemId)
 	{
-		itemId = ItemVariationMapping.map(itemId);
-		String config = configManager.getConfiguration(MenuEntrySwapperConfig.GROUP,
-			(shift ? WORN_ITEM_SHIFT_KEY_PREFIX : WORN_ITEM_KEY_PREFIX) + itemId);
-		if (config == null || config.isEmpty())
-		{
-			return null;
-		}
-
-		return Integer.parseInt(config);
+		return getSwapTable().getCustomSwap(SwapTable.CustomSwap.WORN_ITEM, shift, ItemVariationMapping.map(itemId));
 	}
 
 	private void setWornItemSwapConfig(boolean shift, int itemId, int index)
@@ -1471,8 +1477,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 		final int eventId = menuEntry.getIdentifier();
 		final MenuAction menuAction = menuEntry.getType();
-		final String option = Text.removeTags(menuEntry.getOption()).toLowerCase();
-		final String target = Text.removeTags(menuEntry.getTarget()).toLowerCase();
+		final String option = normalize(menuEntry.getOption());
+		final String target = normalize(menuEntry.getTarget());
 
 		final Widget w = parent != null ? parent.getWidget() : menuEntry.getWidget();
 		// Custom item swap
@@ -1627,10 +1633,9 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 
 		// Built-in swaps
-		Collection<Swap> swaps = this.swaps.get(option);
-		for (Swap swap : swaps)
+		for (Swap swap : getSwapTable().getSwaps(shiftModifier(), option))
 		{
-			if (swap.getTargetPredicate().test(target) && swap.getEnabled().get())
+			if (swap.getTargetPredicate().test(target))
 			{
 				if (swap(menu, menuEntries, swap.getSwappedOption(), target, index, swap.isStrict()))
 				{
@@ -1735,32 +1740,30 @@ public class MenuEntrySwapperPlugin extends Plugin
 		{
 			removeDeadNpcs();
 		}
-
-		// invalidate option index cache
-		cacheOptionIndexes.clear();
-		cacheOptionMenu = null;
 	}
 
 	private void removeDeadNpcs()
 	{
-		MenuEntry[] oldEntries = client.getMenuEntries();
-		MenuEntry[] newEntries = Arrays.stream(oldEntries)
-			.filter(e ->
+		MenuEntry[] entries = client.getMenuEntries();
+		int count = 0;
+		for (MenuEntry entry : entries)
+		{
+			final NPC npc = entry.getNpc();
+			if (npc == null || !npcUtil.isDying(npc))
 			{
-				final NPC npc = e.getNpc();
-				return npc == null || !npcUtil.isDying(npc);
-			})
-			.toArray(MenuEntry[]::new);
-		if (oldEntries.length != newEntries.length)
+				entries[count++] = entry;
+			}
+		}
+		if (count != entries.length)
 		{
-			client.setMenuEntries(newEntries);
+			client.setMenuEntries(Arrays.copyOf(entries, count));
 		}
 	}
 
 	private boolean swap(Menu menu, MenuEntry[] menuEntries, String option, String target, int index, boolean strict)
 	{
 		// find option to swap with
-		int optionIdx = findIndex(menu, menuEntries, index, option, target, strict);
+		int optionIdx = findIndex(menuEntries, index, option, target, strict);
 
 		if (optionIdx >= 0)
 		{
@@ -1771,64 +1774,25 @@ public class MenuEntrySwapperPlugin extends Plugin
 		return false;
 	}
 
-	private int findIndex(Menu menu, MenuEntry[] entries, int limit, String option, String target, boolean strict)
+	private int findIndex(MenuEntry[] entries, int limit, String option, String target, boolean strict)
 	{
-		if (strict)
+		// We want the last index which matches the target, as that is what is top-most
+		// on the menu. Limit to the entries prior to the current entry.
+		for (int i = limit - 1; i >= 0; i--)
 		{
-			List<Integer> indexes = findOptionIndex(menu, option);
+			MenuEntry entry = entries[i];
+			String entryOption = normalize(entry.getOption());
 
-			// We want the last index which matches the target, as that is what is top-most
-			// on the menu
-			for (int i = indexes.size() - 1; i >= 0; --i)
+			if ((strict ? entryOption.equals(option) : entryOption.contains(option))
+				&& normalize(entry.getTarget()).equals(target))
 			{
-				int idx = indexes.get(i);
-				MenuEntry entry = entries[idx];
-				String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
-
-				// Limit to the last index which is prior to the current entry
-				if (idx < limit && entryTarget.equals(target))
-				{
-					return idx;
-				}
-			}
-		}
-		else
-		{
-			// Without strict matching we have to iterate all entries up to the current limit...
-			for (int i = limit - 1; i >= 0; i--)
-			{
-				MenuEntry entry = entries[i];
-				String entryOption = Text.removeTags(entry.getOption()).toLowerCase();
-				String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
-
-				if (entryOption.contains(option.toLowerCase()) && entryTarget.equals(target))
-				{
-					return i;
-				}
+				return i;
 			}
-
 		}
 
 		return -1;
 	}
 
-	private List<Integer> findOptionIndex(Menu menu, String option)
-	{
-		if (cacheOptionMenu != menu || cacheOptionIndexes.isEmpty())
-		{
-			int idx = 0;
-			cacheOptionMenu = menu;
-			cacheOptionIndexes.clear();
-			for (MenuEntry entry : menu.getMenuEntries())
-			{
-				String opt = Text.removeTags(entry.getOption()).toLowerCase();
-				cacheOptionIndexes.put(opt, idx++);
-			}
-			log.trace("[{}] Rebuilt option index cache with {} entries", client.getGameCycle(), idx);
-		}
-		return cacheOptionIndexes.get(option);
-	}
-
 	private void swap(Menu menu, MenuEntry[] entries, int index1, int index2)
 	{
 		if (index1 == index2)
@@ -1854,47 +1818,168 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 
 		menu.setMenuEntries(entries);
+	}
 
-		// Update optionIndexes
-		if (cacheOptionMenu == menu)
+	private String normalize(String s)
+	{
+		String normalized = normalizedStrings.get(s);
+		if (normalized == null)
 		{
-			String option1 = Text.removeTags(entry1.getOption()).toLowerCase(),
-				option2 = Text.removeTags(entry2.getOption()).toLowerCase();
+			normalized = Text.removeTags(s).toLowerCase();
+			normalizedStrings.put(s, normalized);
+		}
+		return normalized;
+	}
 
-			List<Integer> list1 = cacheOptionIndexes.get(option1),
-				list2 = cacheOptionIndexes.get(option2);
+	private SwapTable getSwapTable()
+	{
+		// read the version first, so a change while building causes another rebuild
+		final int version = configVersion;
+		if (swapTable == null || swapTableVersion != version)
+		{
+			swapTable = buildSwapTable();
+			swapTableVersion = version;
+		}
+		return swapTable;
+	}
 
-			// call remove(Object) instead of remove(int)
-			list1.remove((Integer) index1);
-			list2.remove((Integer) index2);
+	private SwapTable buildSwapTable()
+	{
+		final SwapTable.Builder builder = new SwapTable.Builder(swaps);
 
-			sortedInsert(list1, index2);
-			sortedInsert(list2, index1);
+		for (String wholeKey : configManager.getConfigurationKeys(SHIFTCLICK_CONFIG_GROUP + "." + ITEM_KEY_PREFIX))
+		{
+			final String key = wholeKey.substring(SHIFTCLICK_CONFIG_GROUP.length() + 1);
+			final Integer value = getIntConfiguration(SHIFTCLICK_CONFIG_GROUP, key);
+			final Long id = parseSwapKey(key, ITEM_KEY_PREFIX);
+			if (value != null && id != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.ITEM, true, id, value);
+			}
+		}
 
-			log.trace("Swapped option index {} <-> {}", index1, index2);
+		for (String wholeKey : configManager.getConfigurationKeys(MenuEntrySwapperConfig.GROUP + "."))
+		{
+			final String key = wholeKey.substring(MenuEntrySwapperConfig.GROUP.length() + 1);
+			final Integer value = getIntConfiguration(MenuEntrySwapperConfig.GROUP, key);
+			if (value == null)
+			{
+				continue;
+			}
+
+			// the shift prefixes also start with the non-shift prefixes, so must be tried first
+			Long id;
+			if ((id = parseSwapKey(key, ITEM_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.ITEM, false, id, value);
+			}
+			else if ((id = parseSwapKey(key, WORN_ITEM_SHIFT_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.WORN_ITEM, true, id, value);
+			}
+			else if ((id = parseSwapKey(key, WORN_ITEM_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.WORN_ITEM, false, id, value);
+			}
+			else if ((id = parseSwapKey(key, OBJECT_SHIFT_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.OBJECT, true, id, value);
+			}
+			else if ((id = parseSwapKey(key, OBJECT_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.OBJECT, false, id, value);
+			}
+			else if ((id = parseSwapKey(key, NPC_SHIFT_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.NPC, true, id, value);
+			}
+			else if ((id = parseSwapKey(key, NPC_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.NPC, false, id, value);
+			}
+			else if ((id = parseSwapKey(key, UI_SHIFT_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.UI, true, id, value);
+			}
+			else if ((id = parseSwapKey(key, UI_KEY_PREFIX)) != null)
+			{
+				builder.customSwap(SwapTable.CustomSwap.UI, false, id, value);
+			}
 		}
+
+		return builder.build();
 	}
 
-	private static <T extends Comparable<? super T>> void sortedInsert(List<T> list, T value)
+	private Integer getIntConfiguration(String group, String key)
 	{
-		int idx = Collections.binarySearch(list, value);
-		list.add(idx < 0 ? -idx - 1 : idx, value);
+		String value = configManager.getConfiguration(group, key);
+		if (value == null || value.isEmpty())
+		{
+			return null;
+		}
+
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException ex)
+		{
+			return null;
+		}
 	}
 
-	private boolean shiftModifier()
+	/**
+	 * Parse the id from a custom swap key, which is the prefix followed by the id, or for ui swaps the
+	 * component id and optionally an underscore and the item id
+	 */
+	private static Long parseSwapKey(String key, String prefix)
 	{
-		return client.isKeyPressed(KeyCode.KC_SHIFT);
+		if (!key.startsWith(prefix))
+		{
+			return null;
+		}
+
+		try
+		{
+			final String id = key.substring(prefix.length());
+			if (prefix.equals(UI_KEY_PREFIX) || prefix.equals(UI_SHIFT_KEY_PREFIX))
+			{
+				final int sep = id.indexOf('_');
+				return sep == -1
+					? SwapTable.uiKey(Integer.parseInt(id), -1)
+					: SwapTable.uiKey(Integer.parseInt(id.substring(0, sep)), Integer.parseInt(id.substring(sep + 1)));
+			}
+			return (long) Integer.parseInt(id);
+		}
+		catch (NumberFormatException ex)
+		{
+			return null;
+		}
 	}
 
-	private Integer getObjectSwapConfig(boolean shift, int objectId)
+	@Subscribe
+	public void onConfigChanged(ConfigChanged configChanged)
 	{
-		String config = configManager.getConfiguration(MenuEntrySwapperConfig.GROUP, (shift ? OBJECT_SHIFT_KEY_PREFIX : OBJECT_KEY_PREFIX) + objectId);
-		if (config == null || config.isEmpty())
+		if (MenuEntrySwapperConfig.GROUP.equals(configChanged.getGroup()) || SHIFTCLICK_CONFIG_GROUP.equals(configChanged.getGroup()))
 		{
-			return null;
+			++configVersion;
 		}
+	}
+
+	@Subscribe
+	public void onProfileChanged(ProfileChanged profileChanged)
+	{
+		++configVersion;
+	}
+
+	private boolean shiftModifier()
+	{
+		return client.isKeyPressed(KeyCode.KC_SHIFT);
+	}
 
-		return Integer.parseInt(config);
+	private Integer getObjectSwapConfig(boolean shift, int objectId)
+	{
+		return getSwapTable().getCustomSwap(SwapTable.CustomSwap.OBJECT, shift, objectId);
 	}
 
 	private void setObjectSwapConfig(boolean shift, int objectId, int index)
@@ -1924,14 +2009,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 	private Integer getNpcSwapConfig(boolean shift, int npcId)
 	{
-		String config = configManager.getConfiguration(MenuEntrySwapperConfig.GROUP,
-			(shift ? NPC_SHIFT_KEY_PREFIX : NPC_KEY_PREFIX) + npcId);
-		if (config == null || config.isEmpty())
-		{
-			return null;
-		}
-
-		return Integer.parseInt(config);
+		return getSwapTable().getCustomSwap(SwapTable.CustomSwap.NPC, shift, npcId);
 	}
 
 	private void setNpcSwapConfig(boolean shift, int npcId, int index)
@@ -1984,14 +2062,7 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 	private Integer getUiSwapConfig(boolean shift, int componentId, int itemId)
 	{
-		String config = configManager.getConfiguration(MenuEntrySwapperConfig.GROUP,
-			(shift ? UI_SHIFT_KEY_PREFIX : UI_KEY_PREFIX) + componentId + (itemId != -1 ? "_" + itemId : ""));
-		if (config == null || config.isEmpty())
-		{
-			return null;
-		}
-
-		return Integer.parseInt(config);
+		return getSwapTable().getCustomSwap(SwapTable.CustomSwap.UI, shift, SwapTable.uiKey(componentId, itemId));
 	}
 
 	private void setUiSwapConfig(boolean shift, int componentId, int itemId, int op)
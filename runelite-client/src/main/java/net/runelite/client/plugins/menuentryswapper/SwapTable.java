@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.menuentryswapper;
+
+import com.google.common.collect.Multimap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * The swaps enabled by the current config. The built in swaps are filtered for both shift states and keyed by
+ * option, and the custom swaps are keyed by id, so the menu can be swapped without reading the config.
+ */
+class SwapTable
+{
+	enum CustomSwap
+	{
+		ITEM,
+		WORN_ITEM,
+		OBJECT,
+		NPC,
+		UI,
+	}
+
+	private static final Swap[] NO_SWAPS = new Swap[0];
+
+	private final Map<String, Swap[]> swaps;
+	private final Map<String, Swap[]> shiftSwaps;
+	// indexed by custom swap type and shift, with the keys sorted
+	private final long[][] customKeys;
+	private final int[][] customValues;
+
+	private SwapTable(Map<String, Swap[]> swaps, Map<String, Swap[]> shiftSwaps, long[][] customKeys, int[][] customValues)
+	{
+		this.swaps = swaps;
+		this.shiftSwaps = shiftSwaps;
+		this.customKeys = customKeys;
+		this.customValues = customValues;
+	}
+
+	/**
+	 * Get the enabled swaps for an option, in priority order
+	 */
+	Swap[] getSwaps(boolean shift, String option)
+	{
+		return (shift ? shiftSwaps : swaps).getOrDefault(option, NO_SWAPS);
+	}
+
+	@Nullable
+	Integer getCustomSwap(CustomSwap type, boolean shift, long key)
+	{
+		final int table = type.ordinal() * 2 + (shift ? 1 : 0);
+		final int idx = Arrays.binarySearch(customKeys[table], key);
+		return idx >= 0 ? customValues[table][idx] : null;
+	}
+
+	static long uiKey(int componentId, int itemId)
+	{
+		return (long) componentId << 32 | (itemId & 0xffffffffL);
+	}
+
+	static class Builder
+	{
+		private final Map<String, Swap[]> swaps;
+		private final Map<String, Swap[]> shiftSwaps;
+		private final List<Map<Long, Integer>> custom = new ArrayList<>();
+
+		Builder(Multimap<String, Swap> swaps)
+		{
+			this.swaps = enabled(swaps, false);
+			this.shiftSwaps = enabled(swaps, true);
+
+			for (int i = 0; i < CustomSwap.values().length * 2; ++i)
+			{
+				custom.add(new TreeMap<>());
+			}
+		}
+
+		private static Map<String, Swap[]> enabled(Multimap<String, Swap> swaps, boolean shift)
+		{
+			final Map<String, Swap[]> enabled = new HashMap<>();
+			for (Map.Entry<String, Collection<Swap>> entry : swaps.asMap().entrySet())
+			{
+				final Swap[] optionSwaps = entry.getValue().stream()
+					.filter(swap -> swap.getEnabled().test(shift))
+					.toArray(Swap[]::new);
+				if (optionSwaps.length > 0)
+				{
+					enabled.put(entry.getKey(), optionSwaps);
+				}
+			}
+			return enabled;
+		}
+
+		Builder customSwap(CustomSwap type, boolean shift, long key, int value)
+		{
+			custom.get(type.ordinal() * 2 + (shift ? 1 : 0)).put(key, value);
+			return this;
+		}
+
+		SwapTable build()
+		{
+			final long[][] keys = new long[custom.size()][];
+			final int[][] values = new int[custom.size()][];
+			for (int i = 0; i < custom.size(); ++i)
+			{
+				final Map<Long, Integer> map = custom.get(i);
+				keys[i] = map.keySet().stream().mapToLong(Long::longValue).toArray();
+				values[i] = map.values().stream().mapToInt(Integer::intValue).toArray();
+			}
+			return new SwapTable(swaps, shiftSwaps, keys, values);
+		}
+	}
+}
@@ -28,9 +28,9 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
 import java.awt.geom.GeneralPath;
 import java.time.Instant;
+import java.util.Arrays;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
@@ -45,11 +45,20 @@ import net.runelite.client.ui.overlay.OverlayPosition;
 class NpcAggroAreaOverlay extends Overlay
 {
 	private static final int MAX_LOCAL_DRAW_LENGTH = 20 * Perspective.LOCAL_TILE_SIZE;
+	private static final BasicStroke STROKE = new BasicStroke(1);
 
 	private final Client client;
 	private final NpcAggroAreaConfig config;
 	private final NpcAggroAreaPlugin plugin;
 
+	// The lines projected to the screen, which are reused until the
+	// lines, the camera, the viewport or the player's position change
+	private final GeneralPath projectedPath = new GeneralPath();
+	private float[] projectedLines;
+	private final double[] projectedView = new double[21];
+	private final double[] currentView = new double[21];
+	private final float[] clippedLine = new float[4];
+
 	@Inject
 	private NpcAggroAreaOverlay(Client client, NpcAggroAreaConfig config, NpcAggroAreaPlugin plugin)
 	{
@@ -76,7 +85,7 @@ class NpcAggroAreaOverlay extends Overlay
 			return null;
 		}
 
-		GeneralPath lines = plugin.getLinesToDisplay()[client.getPlane()];
+		float[] lines = plugin.getLinesToDisplay()[client.getPlane()];
 		if (lines == null)
 		{
 			return null;
@@ -88,33 +97,101 @@ class NpcAggroAreaOverlay extends Overlay
 			outlineColor = config.aggroAreaColor();
 		}
 
-		renderPath(graphics, lines, outlineColor);
+		LocalPoint playerLp = localPlayer.getLocalLocation();
+		readView(playerLp);
+		if (lines != projectedLines || !Arrays.equals(currentView, projectedView))
+		{
+			projectLines(lines, playerLp);
+			projectedLines = lines;
+			System.arraycopy(currentView, 0, projectedView, 0, currentView.length);
+		}
+
+		graphics.setColor(outlineColor);
+		graphics.setStroke(STROKE);
+		graphics.draw(projectedPath);
 		return null;
 	}
 
-	private void renderPath(Graphics2D graphics, GeneralPath path, Color color)
+	/**
+	 * Collects everything the projected lines depend on besides the lines themselves.
+	 */
+	private void readView(LocalPoint playerLp)
 	{
-		LocalPoint playerLp = client.getLocalPlayer().getLocalLocation();
-		Rectangle viewArea = new Rectangle(
-			playerLp.getX() - MAX_LOCAL_DRAW_LENGTH,
-			playerLp.getY() - MAX_LOCAL_DRAW_LENGTH,
-			MAX_LOCAL_DRAW_LENGTH * 2,
-			MAX_LOCAL_DRAW_LENGTH * 2);
-
-		graphics.setColor(color);
-		graphics.setStroke(new BasicStroke(1));
-
-		path = Geometry.clipPath(path, viewArea);
-		path = Geometry.filterPath(path, (p1, p2) ->
-			Perspective.localToCanvas(client, new LocalPoint((int)p1[0], (int)p1[1]), client.getPlane()) != null &&
-			Perspective.localToCanvas(client, new LocalPoint((int)p2[0], (int)p2[1]), client.getPlane()) != null);
-		path = Geometry.transformPath(path, coords ->
+		final double[] view = currentView;
+		view[0] = client.getCameraX();
+		view[1] = client.getCameraY();
+		view[2] = client.getCameraZ();
+		view[3] = client.getCameraPitch();
+		view[4] = client.getCameraYaw();
+		view[5] = client.getCameraFpX();
+		view[6] = client.getCameraFpY();
+		view[7] = client.getCameraFpZ();
+		view[8] = client.getCameraFpPitch();
+		view[9] = client.getCameraFpYaw();
+		view[10] = client.getScale();
+		view[11] = client.getViewportXOffset();
+		view[12] = client.getViewportYOffset();
+		view[13] = client.getViewportWidth();
+		view[14] = client.getViewportHeight();
+		view[15] = client.isGpu() ? 1 : 0;
+		view[16] = client.getPlane();
+		view[17] = client.getBaseX();
+		view[18] = client.getBaseY();
+		view[19] = playerLp.getX();
+		view[20] = playerLp.getY();
+	}
+
+	private void projectLines(float[] lines, LocalPoint playerLp)
+	{
+		final float minX = playerLp.getX() - MAX_LOCAL_DRAW_LENGTH;
+		final float minY = playerLp.getY() - MAX_LOCAL_DRAW_LENGTH;
+		final float maxX = playerLp.getX() + MAX_LOCAL_DRAW_LENGTH;
+		final float maxY = playerLp.getY() + MAX_LOCAL_DRAW_LENGTH;
+		final int plane = client.getPlane();
+		final float[] clipped = clippedLine;
+
+		projectedPath.reset();
+
+		// Consecutive lines share an endpoint, so the end of the last line is
+		// remembered to skip projecting it again and to continue the path from it
+		float lastX = Float.NaN;
+		float lastY = Float.NaN;
+		Point lastPoint = null;
+		boolean connected = false;
+
+		for (int i = 0; i < lines.length; i += 4)
 		{
-			Point point = Perspective.localToCanvas(client, new LocalPoint((int)coords[0], (int)coords[1]), client.getPlane());
-			coords[0] = point.getX();
-			coords[1] = point.getY();
-		});
+			if (!Geometry.clipLine(lines, i, minX, minY, maxX, maxY, clipped))
+			{
+				connected = false;
+				continue;
+			}
+
+			final boolean continues = clipped[0] == lastX && clipped[1] == lastY;
+			final Point start = continues ? lastPoint : project(clipped[0], clipped[1], plane);
+			final Point end = project(clipped[2], clipped[3], plane);
+
+			lastX = clipped[2];
+			lastY = clipped[3];
+			lastPoint = end;
+
+			if (start == null || end == null)
+			{
+				connected = false;
+				continue;
+			}
 
-		graphics.draw(path);
+			if (!connected || !continues)
+			{
+				projectedPath.moveTo(start.getX(), start.getY());
+			}
+			projectedPath.lineTo(end.getX(), end.getY());
+			connected = true;
+		}
+	}
+
+	private Point project(float x, float y, int plane)
+	{
+		return Perspective.localToCanvas(client, new LocalPoint((int) x, (int) y), plane);
 	}
 }
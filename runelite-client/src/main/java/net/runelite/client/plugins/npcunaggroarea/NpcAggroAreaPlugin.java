@@ -126,8 +126,11 @@ public class NpcAggroAreaPlugin extends Plugin
 	@Getter
 	private final WorldPoint[] safeCenters = new WorldPoint[2];
 
+	/**
+	 * The area lines of each plane in local coordinates, as an array of line endpoints.
+	 */
 	@Getter
-	private final GeneralPath[] linesToDisplay = new GeneralPath[Constants.MAX_Z];
+	private final float[][] linesToDisplay = new float[Constants.MAX_Z][];
 
 	@Getter
 	private boolean active;
@@ -220,7 +223,7 @@ public class NpcAggroAreaPlugin extends Plugin
 			lines = Geometry.clipPath(lines, sceneRect);
 			lines = Geometry.splitIntoSegments(lines, 1);
 			lines = Geometry.transformPath(lines, this::transformWorldToLocal);
-			linesToDisplay[i] = lines;
+			linesToDisplay[i] = Geometry.toLineArray(lines);
 		}
 	}
 
@@ -33,8 +33,10 @@ import com.google.inject.Provides;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,22 +47,15 @@ import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
-import lombok.AccessLevel;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
-import net.runelite.api.DecorativeObject;
 import net.runelite.api.GameObject;
-import net.runelite.api.GroundObject;
 import net.runelite.api.KeyCode;
 import net.runelite.api.Menu;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.ObjectComposition;
-import net.runelite.api.Scene;
-import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
-import net.runelite.api.WallObject;
 import net.runelite.api.WorldEntity;
 import net.runelite.api.WorldView;
 import net.runelite.api.coords.WorldPoint;
@@ -79,6 +74,7 @@ import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ProfileChanged;
+import net.runelite.client.game.SceneObjectIndex;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import static net.runelite.client.plugins.objectindicators.ColorTileObject.HF_CLICKBOX;
@@ -103,8 +99,8 @@ public class ObjectIndicatorsPlugin extends Plugin
 	private static final String MARK = "Mark object";
 	private static final String UNMARK = "Unmark object";
 
-	@Getter(AccessLevel.PACKAGE)
-	private final List<ColorTileObject> objects = new ArrayList<>();
+	// marked objects by identity, so that spawns and despawns don't scan them
+	private final Map<TileObject, ColorTileObject> objects = new IdentityHashMap<>();
 	private final Map<Integer, Set<ObjectPoint>> points = new HashMap<>();
 
 	@Inject
@@ -131,6 +127,9 @@ public class ObjectIndicatorsPlugin extends Plugin
 	@Inject
 	private ClientThread clientThread;
 
+	@Inject
+	private SceneObjectIndex sceneObjectIndex;
+
 	@Provides
 	ObjectIndicatorsConfig provideConfig(ConfigManager configManager)
 	{
@@ -167,7 +166,7 @@ public class ObjectIndicatorsPlugin extends Plugin
 	@Subscribe
 	public void onWallObjectDespawned(WallObjectDespawned event)
 	{
-		objects.removeIf(o -> o.getTileObject() == event.getWallObject());
+		objects.remove(event.getWallObject());
 	}
 
 	@Subscribe
@@ -185,13 +184,13 @@ public class ObjectIndicatorsPlugin extends Plugin
 	@Subscribe
 	public void onGameObjectDespawned(GameObjectDespawned event)
 	{
-		objects.removeIf(o -> o.getTileObject() == event.getGameObject());
+		objects.remove(event.getGameObject());
 	}
 
 	@Subscribe
 	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
 	{
-		objects.removeIf(o -> o.getTileObject() == event.getDecorativeObject());
+		objects.remove(event.getDecorativeObject());
 	}
 
 	@Subscribe
@@ -203,7 +202,12 @@ public class ObjectIndicatorsPlugin extends Plugin
 	@Subscribe
 	public void onGroundObjectDespawned(GroundObjectDespawned event)
 	{
-		objects.removeIf(o -> o.getTileObject() == event.getGroundObject());
+		objects.remove(event.getGroundObject());
+	}
+
+	Collection<ColorTileObject> getObjects()
+	{
+		return objects.values();
 	}
 
 	private void loadPoints()
@@ -217,6 +221,13 @@ public class ObjectIndicatorsPlugin extends Plugin
 		{
 			loadPoints(we.getWorldView());
 		}
+
+		// mark the objects already in the scene, which may be for a different profile's points
+		objects.clear();
+		for (TileObject object : sceneObjectIndex.getObjects())
+		{
+			checkObjectPoints(object);
+		}
 	}
 
 	private void loadPoints(WorldView wv)
@@ -248,7 +259,7 @@ public class ObjectIndicatorsPlugin extends Plugin
 	public void onWorldViewUnloaded(WorldViewUnloaded event)
 	{
 		var wv = event.getWorldView();
-		objects.removeIf(c -> c.getTileObject().getWorldView() == wv);
+		objects.values().removeIf(c -> c.getTileObject().getWorldView() == wv);
 		// TODO remove points when the last boat using it despawns?
 		if (wv.isTopLevel())
 		{
@@ -278,9 +289,9 @@ public class ObjectIndicatorsPlugin extends Plugin
 		}
 
 		int idx = -1;
-		final var marked = objects.stream().filter(o -> o.getTileObject() == tileObject).findFirst();
+		final ColorTileObject marked = objects.get(tileObject);
 		client.createMenuEntry(idx--)
-			.setOption(marked.isPresent() ? UNMARK : MARK)
+			.setOption(marked != null ? UNMARK : MARK)
 			.setTarget(event.getTarget())
 			.setWorldViewId(worldId)
 			.setParam0(event.getActionParam0())
@@ -289,10 +300,10 @@ public class ObjectIndicatorsPlugin extends Plugin
 			.setType(MenuAction.RUNELITE)
 			.onClick(this::markObject);
 
-		if (marked.isPresent())
+		if (marked != null)
 		{
-			idx = createTagBorderColorMenu(idx, event.getTarget(), tileObject, marked.get());
-			idx = createTagFillColorMenu(idx, event.getTarget(), tileObject, marked.get());
+			idx = createTagBorderColorMenu(idx, event.getTarget(), tileObject, marked);
+			idx = createTagFillColorMenu(idx, event.getTarget(), tileObject, marked);
 			idx = createTagStyleMenu(idx, event.getTarget(), tileObject);
 		}
 	}
@@ -513,11 +524,11 @@ public class ObjectIndicatorsPlugin extends Plugin
 		savePoints(regionId, objectPoints);
 
 		// rebuild the ColorTileObject from the new config
-		for (ColorTileObject o : new ArrayList<>(objects))
+		for (ColorTileObject o : new ArrayList<>(objects.values()))
 		{
 			if (o.getTileObject().getId() == object.getId())
 			{
-				objects.remove(o);
+				objects.remove(o.getTileObject());
 				checkObjectPoints(o.getTileObject());
 			}
 		}
@@ -531,6 +542,12 @@ public class ObjectIndicatorsPlugin extends Plugin
 			return;
 		}
 
+		if (objects.containsKey(object))
+		{
+			// already marked when the points were loaded
+			return;
+		}
+
 		final WorldPoint worldPoint = WorldPoint.fromLocalInstance(client, object.getLocalLocation(), object.getPlane());
 		final Set<ObjectPoint> objectPoints = points.get(worldPoint.getRegionID());
 
@@ -564,7 +581,7 @@ public class ObjectIndicatorsPlugin extends Plugin
 					(objectPoint.getOutline() == Boolean.TRUE ? HF_OUTLINE : 0) |
 					(objectPoint.getClickbox() == Boolean.TRUE ? HF_CLICKBOX : 0) |
 					(objectPoint.getTile() == Boolean.TRUE ? HF_TILE : 0);
-				objects.add(new ColorTileObject(object,
+				objects.put(object, new ColorTileObject(object,
 					objectComposition,
 					objectPoint.getName(),
 					objectPoint.getBorderColor(),
@@ -577,44 +594,26 @@ public class ObjectIndicatorsPlugin extends Plugin
 
 	private TileObject findTileObject(WorldView wv, int x, int y, int id)
 	{
-		int level = wv.getPlane();
-		Scene scene = wv.getScene();
-		Tile[][][] tiles = scene.getTiles();
-		final Tile tile = tiles[level][x][y];
-		if (tile == null)
+		final WorldPoint point = WorldPoint.fromScene(wv, x, y, wv.getPlane());
+		TileObject gameObject = null;
+		for (TileObject object : sceneObjectIndex.getObjectsAt(point))
 		{
-			return null;
-		}
-
-		final GameObject[] tileGameObjects = tile.getGameObjects();
-		final DecorativeObject tileDecorativeObject = tile.getDecorativeObject();
-		final WallObject tileWallObject = tile.getWallObject();
-		final GroundObject groundObject = tile.getGroundObject();
-
-		if (objectIdEquals(tileWallObject, id))
-		{
-			return tileWallObject;
-		}
-
-		if (objectIdEquals(tileDecorativeObject, id))
-		{
-			return tileDecorativeObject;
-		}
-
-		if (objectIdEquals(groundObject, id))
-		{
-			return groundObject;
-		}
+			if (object.getWorldView() != wv || !objectIdEquals(object, id))
+			{
+				continue;
+			}
 
-		for (GameObject object : tileGameObjects)
-		{
-			if (objectIdEquals(object, id))
+			// wall, decorative and ground objects take precedence over game objects on the same tile
+			if (!(object instanceof GameObject))
 			{
 				return object;
 			}
+			if (gameObject == null)
+			{
+				gameObject = object;
+			}
 		}
-
-		return null;
+		return gameObject;
 	}
 
 	private boolean objectIdEquals(TileObject tileObject, int id)
@@ -655,7 +654,7 @@ public class ObjectIndicatorsPlugin extends Plugin
 			TileObject object = findTileObject(wv, x, y, objectConfig.getId());
 			if (object != null)
 			{
-				objects.add(new ColorTileObject(object,
+				objects.put(object, new ColorTileObject(object,
 					client.getObjectDefinition(object.getId()),
 					objectConfig.getName(),
 					config.markerColor(),
@@ -678,7 +677,7 @@ public class ObjectIndicatorsPlugin extends Plugin
 			TileObject object = findTileObject(wv, x, y, objectConfig.getId());
 			if (object != null)
 			{
-				if (!objects.removeIf(o -> o.getTileObject() == object))
+				if (objects.remove(object) == null)
 				{
 					log.warn("unable to find object point for unmarked object {}", object.getId());
 				}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+
+/**
+ * An additive pattern database heuristic.
+ * <p>
+ * The 24 tiles are split into six disjoint groups of four. For each group a table holds the
+ * number of moves of that group's tiles needed to bring them home, found by a breadth first
+ * search backwards from the goal in which moving any other tile is free. The values of the
+ * groups can be added together and are never less than the manhattan distance.
+ * <p>
+ * Building the tables takes a few seconds, so they are built on first use and then cached in a file.
+ *
+ * https://en.wikipedia.org/wiki/Pattern_database
+ */
+@Slf4j
+public class PatternDatabase implements Heuristic
+{
+	public static final int GROUP_COUNT = 6;
+
+	private static final int CELLS = DIMENSION * DIMENSION;
+	private static final int GROUP_SIZE = 4;
+	private static final int TABLE_SIZE = CELLS * CELLS * CELLS * CELLS;
+	private static final int FORMAT_VERSION = 1;
+
+	// The tiles of each group in slot order. Groups 2 and 4 are the transpositions of
+	// groups 1 and 3 with their tiles in matching slots, so their tables are mirrored.
+	private static final int[][] GROUPS = {
+		{0, 1, 5, 6},
+		{2, 3, 7, 8},
+		{10, 15, 11, 16},
+		{4, 9, 14, 19},
+		{20, 21, 22, 23},
+		{12, 13, 17, 18},
+	};
+	private static final int[] MIRROR_OF = {-1, -1, 1, -1, 3, -1};
+
+	private static final int[] TILE_GROUP = new int[CELLS - 1];
+	private static final int[] TILE_WEIGHT = new int[CELLS - 1];
+
+	static
+	{
+		for (int group = 0; group < GROUP_COUNT; group++)
+		{
+			int weight = 1;
+			for (int tile : GROUPS[group])
+			{
+				TILE_GROUP[tile] = group;
+				TILE_WEIGHT[tile] = weight;
+				weight *= CELLS;
+			}
+		}
+	}
+
+	private final File file;
+	private byte[][] tables;
+
+	/**
+	 * @param file The file the tables are cached in, or null to always build them
+	 */
+	public PatternDatabase(File file)
+	{
+		this.file = file;
+	}
+
+	/**
+	 * The group a tile belongs to.
+	 */
+	public static int getGroup(int tile)
+	{
+		return TILE_GROUP[tile];
+	}
+
+	/**
+	 * What a tile's position is multiplied by in its group's table index.
+	 * The index of a group is the sum of this for each of its tiles.
+	 */
+	public static int getWeight(int tile)
+	{
+		return TILE_WEIGHT[tile];
+	}
+
+	/**
+	 * Gets the table of each group, loading or building them if they are not yet available.
+	 * The tables must not be modified.
+	 */
+	public synchronized byte[][] getTables()
+	{
+		if (tables == null)
+		{
+			tables = read();
+			if (tables == null)
+			{
+				tables = build();
+				write(tables);
+			}
+		}
+		return tables;
+	}
+
+	@Override
+	public int computeValue(PuzzleState state)
+	{
+		byte[][] tables = getTables();
+		int[] index = new int[GROUP_COUNT];
+		for (int pos = 0; pos < CELLS; pos++)
+		{
+			int piece = state.getPiece(pos % DIMENSION, pos / DIMENSION);
+			if (piece != BLANK_TILE_VALUE)
+			{
+				index[TILE_GROUP[piece]] += pos * TILE_WEIGHT[piece];
+			}
+		}
+
+		int value = 0;
+		for (int group = 0; group < GROUP_COUNT; group++)
+		{
+			value += tables[group][index[group]];
+		}
+		return value;
+	}
+
+	private byte[][] read()
+	{
+		if (file == null || !file.exists())
+		{
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))))
+		{
+			if (in.readInt() != FORMAT_VERSION)
+			{
+				return null;
+			}
+
+			byte[][] tables = new byte[GROUP_COUNT][TABLE_SIZE];
+			for (byte[] table : tables)
+			{
+				in.readFully(table);
+			}
+			return tables;
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to read puzzle pattern database {}", file, ex);
+			return null;
+		}
+	}
+
+	private void write(byte[][] tables)
+	{
+		if (file == null)
+		{
+			return;
+		}
+
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)))))
+		{
+			out.writeInt(FORMAT_VERSION);
+			for (byte[] table : tables)
+			{
+				out.write(table);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to write puzzle pattern database {}", file, ex);
+		}
+	}
+
+	static byte[][] build()
+	{
+		long start = System.nanoTime();
+		byte[][] tables = new byte[GROUP_COUNT][];
+		for (int group = 0; group < GROUP_COUNT; group++)
+		{
+			if (MIRROR_OF[group] == -1)
+			{
+				tables[group] = buildGroup(GROUPS[group]);
+			}
+		}
+		for (int group = 0; group < GROUP_COUNT; group++)
+		{
+			if (MIRROR_OF[group] != -1)
+			{
+				tables[group] = mirror(tables[MIRROR_OF[group]]);
+			}
+		}
+		log.debug("Built puzzle pattern database in {}ms", (System.nanoTime() - start) / 1_000_000);
+		return tables;
+	}
+
+	/**
+	 * Searches backwards from the goal over the positions of a group's tiles and the blank.
+	 * Moving the blank into a cell not holding one of the group's tiles is free, so the
+	 * search is done one cost level at a time, finishing the free moves of a level first.
+	 */
+	private static byte[] buildGroup(int[] tiles)
+	{
+		final int blankWeight = TABLE_SIZE;
+		final byte[] dist = new byte[TABLE_SIZE * CELLS];
+		Arrays.fill(dist, (byte) -1);
+
+		int goal = (CELLS - 1) * blankWeight;
+		for (int slot = 0, weight = 1; slot < GROUP_SIZE; slot++, weight *= CELLS)
+		{
+			goal += tiles[slot] * weight;
+		}
+
+		int[] level = new int[1024];
+		int[] nextLevel = new int[1024];
+		int levelSize = 1;
+		level[0] = goal;
+		dist[goal] = 0;
+
+		final int[] pos = new int[GROUP_SIZE];
+		for (int cost = 0; levelSize > 0; cost++)
+		{
+			int nextLevelSize = 0;
+			for (int i = 0; i < levelSize; i++)
+			{
+				final int state = level[i];
+				if (dist[state] != cost)
+				{
+					// Reached again later through free moves
+					continue;
+				}
+
+				int rest = state;
+				for (int slot = 0; slot < GROUP_SIZE; slot++)
+				{
+					pos[slot] = rest % CELLS;
+					rest /= CELLS;
+				}
+				final int blank = rest;
+				final int blankX = blank % DIMENSION;
+
+				for (int dir = 0; dir < 4; dir++)
+				{
+					final int next;
+					if (dir == 0 && blankX > 0)
+					{
+						next = blank - 1;
+					}
+					else if (dir == 1 && blankX < DIMENSION - 1)
+					{
+						next = blank + 1;
+					}
+					else if (dir == 2 && blank >= DIMENSION)
+					{
+						next = blank - DIMENSION;
+					}
+					else if (dir == 3 && blank < CELLS - DIMENSION)
+					{
+						next = blank + DIMENSION;
+					}
+					else
+					{
+						continue;
+					}
+
+					int moved = -1;
+					for (int slot = 0, weight = 1; slot < GROUP_SIZE; slot++, weight *= CELLS)
+					{
+						if (pos[slot] == next)
+						{
+							moved = weight;
+							break;
+						}
+					}
+
+					int successor = state + (next - blank) * blankWeight;
+					if (moved == -1)
+					{
+						if (dist[successor] == -1 || dist[successor] > cost)
+						{
+							dist[successor] = (byte) cost;
+							if (levelSize == level.length)
+							{
+								level = Arrays.copyOf(level, levelSize * 2);
+							}
+							level[levelSize++] = successor;
+						}
+					}
+					else
+					{
+						successor += (blank - next) * moved;
+						if (dist[successor] == -1)
+						{
+							dist[successor] = (byte) (cost + 1);
+							if (nextLevelSize == nextLevel.length)
+							{
+								nextLevel = Arrays.copyOf(nextLevel, nextLevelSize * 2);
+							}
+							nextLevel[nextLevelSize++] = successor;
+						}
+					}
+				}
+			}
+
+			int[] swap = level;
+			level = nextLevel;
+			nextLevel = swap;
+			levelSize = nextLevelSize;
+		}
+
+		// The group's value is the cheapest over wherever the blank is
+		final byte[] table = new byte[TABLE_SIZE];
+		Arrays.fill(table, Byte.MAX_VALUE);
+		for (int state = 0; state < dist.length; state++)
+		{
+			final byte d = dist[state];
+			final int index = state % TABLE_SIZE;
+			if (d != -1 && d < table[index])
+			{
+				table[index] = d;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Creates the table of the transposed group from a group's table.
+	 */
+	private static byte[] mirror(byte[] source)
+	{
+		final byte[] table = new byte[TABLE_SIZE];
+		for (int index = 0; index < TABLE_SIZE; index++)
+		{
+			int rest = index;
+			int transposed = 0;
+			for (int slot = 0, weight = 1; slot < GROUP_SIZE; slot++, weight *= CELLS)
+			{
+				int pos = rest % CELLS;
+				rest /= CELLS;
+				transposed += (pos % DIMENSION * DIMENSION + pos / DIMENSION) * weight;
+			}
+			table[index] = source[transposed];
+		}
+		return table;
+	}
+}
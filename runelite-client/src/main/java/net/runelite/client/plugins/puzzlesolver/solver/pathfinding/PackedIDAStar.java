@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.PatternDatabase;
+
+/**
+ * An implementation of the IDA* algorithm which searches without allocating.
+ * <p>
+ * The board is packed into two longs of 5 bit cells, cells 0-11 in the first and 12-23 in
+ * the second. The last cell has no bits of its own: while the blank is elsewhere, the cell
+ * under the blank holds the tile in the last cell instead. Moving the blank then swaps two
+ * cells, or changes nothing at all when the last cell is involved.
+ * <p>
+ * The heuristic is the pattern database, updated per move from the group of the moved tile.
+ */
+public class PackedIDAStar extends Pathfinder
+{
+	private static final int CELLS = DIMENSION * DIMENSION;
+	private static final int LAST_CELL = CELLS - 1;
+	private static final int CELLS_PER_LONG = 12;
+	private static final int CELL_BITS = 5;
+	private static final long CELL_MASK = (1 << CELL_BITS) - 1;
+
+	private static final int FOUND = -1;
+
+	private final PatternDatabase patternDatabase;
+
+	// Search state, only valid during computePath
+	private byte[][] tables;
+	private final int[] groupIndex = new int[PatternDatabase.GROUP_COUNT];
+	private int[] path = new int[128];
+	private int pathLength;
+
+	public PackedIDAStar(PatternDatabase patternDatabase)
+	{
+		super(patternDatabase);
+		this.patternDatabase = patternDatabase;
+	}
+
+	@Override
+	public List<PuzzleState> computePath(PuzzleState root)
+	{
+		if (!isSolvable(root))
+		{
+			return null;
+		}
+
+		tables = patternDatabase.getTables();
+		try
+		{
+			return search(root);
+		}
+		finally
+		{
+			tables = null;
+		}
+	}
+
+	private List<PuzzleState> search(PuzzleState root)
+	{
+		long low = 0;
+		long high = 0;
+		int blank = root.getEmptyPiece();
+		Arrays.fill(groupIndex, 0);
+
+		for (int pos = 0; pos < CELLS; pos++)
+		{
+			int piece = root.getPiece(pos % DIMENSION, pos / DIMENSION);
+			if (piece == BLANK_TILE_VALUE)
+			{
+				continue;
+			}
+
+			groupIndex[PatternDatabase.getGroup(piece)] += pos * PatternDatabase.getWeight(piece);
+
+			// A tile in the last cell is kept under the blank
+			int cell = pos == LAST_CELL ? blank : pos;
+			if (cell < CELLS_PER_LONG)
+			{
+				low |= (long) piece << (cell * CELL_BITS);
+			}
+			else
+			{
+				high |= (long) piece << ((cell - CELLS_PER_LONG) * CELL_BITS);
+			}
+		}
+
+		int h = 0;
+		for (int group = 0; group < groupIndex.length; group++)
+		{
+			h += tables[group][groupIndex[group]];
+		}
+
+		int bound = h;
+		while (true)
+		{
+			int t = search(low, high, blank, -1, 0, h, bound);
+			if (t == FOUND)
+			{
+				break;
+			}
+
+			if (Thread.currentThread().isInterrupted())
+			{
+				return null;
+			}
+
+			bound = t;
+		}
+
+		// Replay the recorded moves of the blank
+		List<PuzzleState> states = new ArrayList<>();
+		PuzzleState state = root;
+		states.add(state);
+		for (int depth = 0; depth < pathLength; depth++)
+		{
+			int from = state.getEmptyPiece();
+			int to = path[depth];
+			state = state.swap(from % DIMENSION, from / DIMENSION, to % DIMENSION, to / DIMENSION);
+			states.add(state);
+		}
+		return states;
+	}
+
+	/**
+	 * @return FOUND if the goal was reached, otherwise the smallest f which exceeded the bound
+	 */
+	private int search(long low, long high, int blank, int previousBlank, int g, int h, int bound)
+	{
+		int f = g + h;
+		if (f > bound)
+		{
+			return f;
+		}
+
+		if (h == 0)
+		{
+			pathLength = g;
+			return FOUND;
+		}
+
+		if (g == path.length)
+		{
+			path = Arrays.copyOf(path, g * 2);
+		}
+
+		int min = Integer.MAX_VALUE;
+		int blankX = blank % DIMENSION;
+
+		for (int dir = 0; dir < 4; dir++)
+		{
+			final int next;
+			if (dir == 0 && blankX > 0)
+			{
+				next = blank - 1;
+			}
+			else if (dir == 1 && blankX < DIMENSION - 1)
+			{
+				next = blank + 1;
+			}
+			else if (dir == 2 && blank >= DIMENSION)
+			{
+				next = blank - DIMENSION;
+			}
+			else if (dir == 3 && blank < CELLS - DIMENSION)
+			{
+				next = blank + DIMENSION;
+			}
+			else
+			{
+				continue;
+			}
+
+			if (next == previousBlank)
+			{
+				continue;
+			}
+
+			// The tile at next slides into the blank
+			final int tile;
+			long nextLow = low;
+			long nextHigh = high;
+			if (next == LAST_CELL)
+			{
+				// The tile is already stored under the blank, where it is moving to
+				tile = cell(low, high, blank);
+			}
+			else if (blank == LAST_CELL)
+			{
+				// The tile is stored where it is, which is where the blank is moving to
+				tile = cell(low, high, next);
+			}
+			else
+			{
+				tile = cell(low, high, next);
+				long diff = tile ^ cell(low, high, blank);
+				if (blank < CELLS_PER_LONG)
+				{
+					nextLow ^= diff << (blank * CELL_BITS);
+				}
+				else
+				{
+					nextHigh ^= diff << ((blank - CELLS_PER_LONG) * CELL_BITS);
+				}
+				if (next < CELLS_PER_LONG)
+				{
+					nextLow ^= diff << (next * CELL_BITS);
+				}
+				else
+				{
+					nextHigh ^= diff << ((next - CELLS_PER_LONG) * CELL_BITS);
+				}
+			}
+
+			final int group = PatternDatabase.getGroup(tile);
+			final byte[] table = tables[group];
+			final int index = groupIndex[group];
+			final int nextIndex = index + (blank - next) * PatternDatabase.getWeight(tile);
+			final int nextH = h - table[index] + table[nextIndex];
+
+			path[g] = next;
+			groupIndex[group] = nextIndex;
+			int t = search(nextLow, nextHigh, next, blank, g + 1, nextH, bound);
+			groupIndex[group] = index;
+
+			if (t == FOUND)
+			{
+				return FOUND;
+			}
+			if (t < min)
+			{
+				min = t;
+			}
+		}
+
+		return min;
+	}
+
+	private static int cell(long low, long high, int cell)
+	{
+		return cell < CELLS_PER_LONG
+			? (int) ((low >>> (cell * CELL_BITS)) & CELL_MASK)
+			: (int) ((high >>> ((cell - CELLS_PER_LONG) * CELL_BITS)) & CELL_MASK);
+	}
+
+	/**
+	 * Checks the permutation parity of the tiles. With an odd board width only boards
+	 * with an even number of inversions can reach the goal.
+	 */
+	private static boolean isSolvable(PuzzleState state)
+	{
+		int[] tiles = new int[CELLS - 1];
+		int count = 0;
+		for (int pos = 0; pos < CELLS; pos++)
+		{
+			int piece = state.getPiece(pos % DIMENSION, pos / DIMENSION);
+			if (piece != BLANK_TILE_VALUE)
+			{
+				tiles[count++] = piece;
+			}
+		}
+
+		int inversions = 0;
+		for (int i = 0; i < count; i++)
+		{
+			for (int j = i + 1; j < count; j++)
+			{
+				if (tiles[i] > tiles[j])
+				{
+					inversions++;
+				}
+			}
+		}
+		return (inversions & 1) == 0;
+	}
+}
@@ -29,6 +29,8 @@ import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
 import net.runelite.client.config.Keybind;
+import net.runelite.client.config.Range;
+import net.runelite.client.util.PngEncoder;
 
 @ConfigGroup("screenshot")
 public interface ScreenshotConfig extends Config
@@ -95,6 +97,20 @@ public interface ScreenshotConfig extends Config
 		return Keybind.NOT_SET;
 	}
 
+	@Range(
+		max = 9
+	)
+	@ConfigItem(
+		keyName = "compressionLevel",
+		name = "PNG compression",
+		description = "Higher levels make smaller screenshots, but take longer to save.",
+		position = 5
+	)
+	default int compressionLevel()
+	{
+		return PngEncoder.DEFAULT_COMPRESSION;
+	}
+
 	@ConfigItem(
 		keyName = "rewards",
 		name = "Screenshot rewards",
@@ -39,7 +39,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -170,9 +169,6 @@ public class ScreenshotPlugin extends Plugin
 	@Inject
 	private DrawManager drawManager;
 
-	@Inject
-	private ScheduledExecutorService executor;
-
 	@Inject
 	private KeyManager keyManager;
 
@@ -948,25 +944,23 @@ public class ScreenshotPlugin extends Plugin
 
 		Consumer<Image> imageCallback = (img) ->
 		{
-			// This callback is on the game thread, move to executor thread
-			executor.submit(() ->
-			{
-				saveScreenshot(fileName, subDir, img);
+			// This callback is on the game thread, hand the frame off to be saved
+			imageCapture.queueScreenshot(img, config.includeFrame(), fileName, subDir,
+				config.notifyWhenTaken(), config.copyToClipboard(), config.compressionLevel());
 
-				if (reportButtonText != null)
+			if (reportButtonText != null)
+			{
+				clientThread.invokeLater(() ->
 				{
-					clientThread.invokeLater(() ->
+					final Widget reportButtonTextWidget = client.getWidget(InterfaceID.Chatbox.REPORTABUSE_TEXT1);
+					if (reportButtonTextWidget != null)
 					{
-						final Widget reportButtonTextWidget = client.getWidget(InterfaceID.Chatbox.REPORTABUSE_TEXT1);
-						if (reportButtonTextWidget != null)
-						{
-							reportButtonTextWidget.setText(reportButtonText);
-						}
-
-						reportButtonText = null;
-					});
-				}
-			});
+						reportButtonTextWidget.setText(reportButtonText);
+					}
+
+					reportButtonText = null;
+				});
+			}
 		};
 
 		if (config.displayDate() && REPORT_BUTTON_TLIS.contains(client.getTopLevelInterfaceId()))
@@ -984,22 +978,6 @@ public class ScreenshotPlugin extends Plugin
 		consumers.add(screenshotConsumer);
 	}
 
-	private void saveScreenshot(String fileName, String subDir, Image image)
-	{
-		final BufferedImage screenshot;
-		if (!config.includeFrame())
-		{
-			// just simply copy the image
-			screenshot = ImageUtil.bufferedImageFromImage(image);
-		}
-		else
-		{
-			screenshot = imageCapture.addClientFrame(image);
-		}
-
-		imageCapture.saveScreenshot(screenshot, fileName, subDir, config.notifyWhenTaken(), config.copyToClipboard());
-	}
-
 	private boolean isInsideGauntlet()
 	{
 		return this.client.isInInstancedRegion()
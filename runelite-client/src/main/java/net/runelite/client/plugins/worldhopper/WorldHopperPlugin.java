@@ -31,11 +31,13 @@ import com.google.common.collect.ImmutableList;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -81,6 +83,7 @@ import net.runelite.client.input.KeyManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.worldhopper.ping.Ping;
+import net.runelite.client.plugins.worldhopper.ping.WorldPinger;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
@@ -106,6 +109,11 @@ public class WorldHopperPlugin extends Plugin
 
 	private static final int DISPLAY_SWITCHER_MAX_ATTEMPTS = 3;
 
+	private static final int MAX_CONCURRENT_PINGS = 8;
+	private static final int PING_BATCH_SIZE = 16;
+	// the refresh pings a single world each interval, cycling through the world list
+	private static final int PING_REFRESH_SECONDS = 3;
+
 	private static final String HOP_TO = "Hop-to";
 	private static final String KICK_OPTION = "Kick";
 	private static final ImmutableList<String> BEFORE_OPTIONS = ImmutableList.of("Add friend", "Remove friend", KICK_OPTION);
@@ -155,13 +163,12 @@ public class WorldHopperPlugin extends Plugin
 	private int favoriteWorld1, favoriteWorld2;
 
 	private ScheduledFuture<?> pingFuture, currPingFuture;
-	private int currentWorld;
+	private WorldPinger worldPinger;
 	private Instant lastFetch;
 
 	@Getter(AccessLevel.PACKAGE)
 	private int currentPing;
-
-	private final Map<Integer, Integer> storedPings = new HashMap<>();
+	private int nextPingWorld;
 
 	private final HotkeyListener previousKeyListener = new HotkeyListener(() -> config.previousKey())
 	{
@@ -215,6 +222,10 @@ public class WorldHopperPlugin extends Plugin
 		panel.setRegionFilterMode(config.regionFilter());
 		panel.setWorldTypeFilters(config.worldTypeFilter());
 
+		// Worlds are pinged on their own pool, as each ping blocks for a long time
+		worldPinger = new WorldPinger(Ping::ping, MAX_CONCURRENT_PINGS, PING_BATCH_SIZE,
+			pings -> SwingUtilities.invokeLater(() -> panel.updatePings(pings)));
+
 		// The plugin has its own executor for pings, as it blocks for a long time
 		hopperExecutorService = new ExecutorServiceExceptionLogger(Executors.newSingleThreadScheduledExecutor());
 		// populate initial world list
@@ -222,8 +233,8 @@ public class WorldHopperPlugin extends Plugin
 		// Run the first-run ping
 		hopperExecutorService.execute(this::pingInitialWorlds);
 
-		// Give some initial delay - this won't run until after pingInitialWorlds finishes anyway
-		pingFuture = hopperExecutorService.scheduleWithFixedDelay(this::pingNextWorld, 15, 3, TimeUnit.SECONDS);
+		// Passes never overlap, so a refresh scheduled while the first-run ping is still going is skipped
+		pingFuture = hopperExecutorService.scheduleWithFixedDelay(this::pingNextWorld, 15, PING_REFRESH_SECONDS, TimeUnit.SECONDS);
 		currPingFuture = hopperExecutorService.scheduleWithFixedDelay(this::pingCurrentWorld, 15, 1, TimeUnit.SECONDS);
 	}
 
@@ -245,6 +256,9 @@ public class WorldHopperPlugin extends Plugin
 
 		hopperExecutorService.shutdown();
 		hopperExecutorService = null;
+
+		worldPinger.shutdown();
+		worldPinger = null;
 	}
 
 	@Subscribe
@@ -807,7 +821,7 @@ public class WorldHopperPlugin extends Plugin
 	}
 
 	/**
-	 * Ping all worlds. This takes a long time and is only run on first run.
+	 * Ping all worlds. This is only run on first run.
 	 */
 	private void pingInitialWorlds()
 	{
@@ -818,20 +832,15 @@ public class WorldHopperPlugin extends Plugin
 		}
 
 		Stopwatch stopwatch = Stopwatch.createStarted();
-
-		for (World world : worldResult.getWorlds())
+		CompletableFuture<Void> pass = worldPinger.pingAll(worldResult.getWorlds());
+		if (pass != null)
 		{
-			int ping = ping(world);
-			SwingUtilities.invokeLater(() -> panel.updatePing(world.getId(), ping));
+			pass.thenRun(() -> log.debug("Done pinging worlds in {}", stopwatch.elapsed()));
 		}
-
-		stopwatch.stop();
-
-		log.debug("Done pinging worlds in {}", stopwatch.elapsed());
 	}
 
 	/**
-	 * Ping the next world
+	 * Refresh the ping of the next world
 	 */
 	private void pingNextWorld()
 	{
@@ -847,13 +856,13 @@ public class WorldHopperPlugin extends Plugin
 			return;
 		}
 
-		if (currentWorld >= worlds.size())
+		if (nextPingWorld >= worlds.size())
 		{
 			// Wrap back around
-			currentWorld = 0;
+			nextPingWorld = 0;
 		}
 
-		World world = worlds.get(currentWorld++);
+		World world = worlds.get(nextPingWorld++);
 
 		// If we are displaying the ping overlay, there is a separate scheduled task for the current world
 		boolean displayPing = config.displayPing() && client.getGameState() == GameState.LOGGED_IN;
@@ -862,13 +871,7 @@ public class WorldHopperPlugin extends Plugin
 			return;
 		}
 
-		int ping = ping(world);
-		log.trace("Ping for world {} is: {}", world.getId(), ping);
-
-		if (panel.isActive())
-		{
-			SwingUtilities.invokeLater(() -> panel.updatePing(world.getId(), ping));
-		}
+		worldPinger.pingAll(Collections.singletonList(world));
 	}
 
 	/**
@@ -890,8 +893,8 @@ public class WorldHopperPlugin extends Plugin
 			return;
 		}
 
-		int ping = ping(currentWorld);
-		log.trace("Ping for current world is: {}", currentPing);
+		int ping = Ping.ping(currentWorld);
+		log.trace("Ping for current world is: {}", ping);
 
 		if (ping < 0)
 		{
@@ -899,10 +902,11 @@ public class WorldHopperPlugin extends Plugin
 		}
 
 		currentPing = ping;
+		int smoothedPing = worldPinger.record(currentWorld.getId(), ping);
 
 		if (panel.isActive())
 		{
-			SwingUtilities.invokeLater(() -> panel.updatePing(currentWorld.getId(), currentPing));
+			SwingUtilities.invokeLater(() -> panel.updatePing(currentWorld.getId(), smoothedPing));
 		}
 	}
 
@@ -913,13 +917,6 @@ public class WorldHopperPlugin extends Plugin
 			return null;
 		}
 
-		return storedPings.get(world.getId());
-	}
-
-	private int ping(World world)
-	{
-		int ping = Ping.ping(world);
-		storedPings.put(world.getId(), ping);
-		return ping;
+		return worldPinger.getPing(world.getId());
 	}
 }
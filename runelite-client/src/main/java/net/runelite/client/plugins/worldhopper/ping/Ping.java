@@ -35,6 +35,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.OSType;
 import net.runelite.http.api.worlds.World;
@@ -47,7 +48,8 @@ public class Ping
 	private static final int PORT = 43594;
 	private static final int MAX_IPV4_HEADER_SIZE = 60;
 
-	private static short seq;
+	// worlds are pinged concurrently, and on MacOS replies are matched to requests by sequence number alone
+	private static final AtomicInteger seq = new AtomicInteger();
 
 	public static int ping(World world)
 	{
@@ -149,7 +151,7 @@ public class Ping
 				throw new IOException("failed to set SO_SNDTIMEO");
 			}
 
-			short seqno = seq++;
+			short seqno = (short) seq.getAndIncrement();
 
 			// struct icmphdr
 			byte[] request = {
@@ -259,12 +261,17 @@ public class Ping
 	}
 
 	private static int tcpPing(InetAddress inetAddress) throws IOException
+	{
+		return tcpPing(new InetSocketAddress(inetAddress, PORT));
+	}
+
+	static int tcpPing(InetSocketAddress address) throws IOException
 	{
 		try (Socket socket = new Socket())
 		{
 			socket.setSoTimeout(TIMEOUT);
 			long start = System.nanoTime();
-			socket.connect(new InetSocketAddress(inetAddress, PORT));
+			socket.connect(address, TIMEOUT);
 			long end = System.nanoTime();
 			return (int) ((end - start) / 1000000L);
 		}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.worldhopper.ping;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.worlds.World;
+
+/**
+ * Pings many worlds concurrently with a bounded number of probes in flight, keeping an
+ * exponentially smoothed round trip time per world. Results are handed to the publisher
+ * in batches rather than one world at a time.
+ */
+@Slf4j
+public class WorldPinger
+{
+	/**
+	 * Weight given to a new sample when updating the smoothed round trip time
+	 */
+	static final double SMOOTHING = 0.25;
+	/**
+	 * Number of consecutive failed probes after which a world's estimate is discarded
+	 */
+	static final int MAX_FAILURES = 3;
+	private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final ToIntFunction<World> prober;
+	private final int batchSize;
+	private final Consumer<Map<Integer, Integer>> publisher;
+	private final ExecutorService executor;
+
+	private final Map<Integer, Estimate> estimates = new ConcurrentHashMap<>();
+	private final AtomicBoolean passRunning = new AtomicBoolean();
+
+	// guarded by this
+	private Map<Integer, Integer> pending = new HashMap<>();
+	private long lastPublish;
+
+	private static final class Estimate
+	{
+		private int rtt = -1;
+		private int failures;
+	}
+
+	/**
+	 * @param prober blocking probe returning the round trip time to a world in milliseconds, or -1 on failure
+	 * @param maxInFlight maximum number of probes running at once
+	 * @param batchSize number of results collected before they are published
+	 * @param publisher receives batches of world id to smoothed round trip time
+	 */
+	public WorldPinger(ToIntFunction<World> prober, int maxInFlight, int batchSize, Consumer<Map<Integer, Integer>> publisher)
+	{
+		this.prober = prober;
+		this.batchSize = batchSize;
+		this.publisher = publisher;
+		this.executor = Executors.newFixedThreadPool(maxInFlight, new ThreadFactoryBuilder()
+			.setNameFormat("world-pinger-%d")
+			.setDaemon(true)
+			.build());
+	}
+
+	/**
+	 * Ping each of the given worlds. Only one pass runs at a time.
+	 *
+	 * @return a future completed once every world has been pinged and published,
+	 * or null if a previous pass is still running
+	 */
+	public CompletableFuture<Void> pingAll(Collection<World> worlds)
+	{
+		if (!passRunning.compareAndSet(false, true))
+		{
+			return null;
+		}
+
+		final CompletableFuture<Void> pass = new CompletableFuture<>();
+		if (worlds.isEmpty())
+		{
+			passRunning.set(false);
+			pass.complete(null);
+			return pass;
+		}
+
+		final AtomicInteger remaining = new AtomicInteger(worlds.size());
+		try
+		{
+			for (World world : worlds)
+			{
+				executor.execute(() ->
+				{
+					try
+					{
+						int rtt = record(world.getId(), prober.applyAsInt(world));
+						queue(world.getId(), rtt);
+					}
+					catch (RuntimeException ex)
+					{
+						log.warn("error pinging world {}", world.getId(), ex);
+					}
+					finally
+					{
+						if (remaining.decrementAndGet() == 0)
+						{
+							publish();
+							passRunning.set(false);
+							pass.complete(null);
+						}
+					}
+				});
+			}
+		}
+		catch (RejectedExecutionException ex)
+		{
+			// shut down part way through submitting
+			passRunning.set(false);
+			pass.completeExceptionally(ex);
+		}
+
+		return pass;
+	}
+
+	/**
+	 * Fold a probe result into the smoothed round trip time for a world. A failed probe keeps
+	 * the previous estimate until {@link #MAX_FAILURES} failures occur in a row.
+	 *
+	 * @param world world id
+	 * @param rtt round trip time in milliseconds, or -1 if the probe failed
+	 * @return the smoothed round trip time, or -1 if unknown
+	 */
+	public int record(int world, int rtt)
+	{
+		final Estimate estimate = estimates.computeIfAbsent(world, k -> new Estimate());
+		synchronized (estimate)
+		{
+			if (rtt < 0)
+			{
+				if (++estimate.failures >= MAX_FAILURES)
+				{
+					estimate.rtt = -1;
+				}
+				return estimate.rtt;
+			}
+
+			estimate.failures = 0;
+			estimate.rtt = estimate.rtt < 0 ? rtt : (int) Math.round(estimate.rtt + (rtt - estimate.rtt) * SMOOTHING);
+			return estimate.rtt;
+		}
+	}
+
+	/**
+	 * @return the smoothed round trip time for a world, -1 if it could not be pinged, or null if it has not been pinged
+	 */
+	public Integer getPing(int world)
+	{
+		final Estimate estimate = estimates.get(world);
+		if (estimate == null)
+		{
+			return null;
+		}
+
+		synchronized (estimate)
+		{
+			return estimate.rtt;
+		}
+	}
+
+	public void shutdown()
+	{
+		executor.shutdownNow();
+	}
+
+	private void queue(int world, int rtt)
+	{
+		final Map<Integer, Integer> batch;
+		synchronized (this)
+		{
+			pending.put(world, rtt);
+			if (pending.size() < batchSize && System.nanoTime() - lastPublish < PUBLISH_INTERVAL_NANOS)
+			{
+				return;
+			}
+
+			batch = takePending();
+		}
+
+		publisher.accept(batch);
+	}
+
+	private void publish()
+	{
+		final Map<Integer, Integer> batch;
+		synchronized (this)
+		{
+			if (pending.isEmpty())
+			{
+				return;
+			}
+
+			batch = takePending();
+		}
+
+		publisher.accept(batch);
+	}
+
+	private Map<Integer, Integer> takePending()
+	{
+		final Map<Integer, Integer> batch = pending;
+		pending = new HashMap<>();
+		lastPublish = System.nanoTime();
+		return batch;
+	}
+}
@@ -37,6 +37,9 @@ public enum XpPanelLabel
 
 	XP_GAINED("XP Gained", snap -> format(snap.getXpGainedInSession())),
 	XP_HOUR("XP/hr", snap -> format(snap.getXpPerHour())),
+	XP_HOUR_5M("XP/hr (5m)", snap -> format(snap.getXpPerHour5m())),
+	XP_HOUR_15M("XP/hr (15m)", snap -> format(snap.getXpPerHour15m())),
+	XP_HOUR_1H("XP/hr (1h)", snap -> format(snap.getXpPerHour1h())),
 	XP_LEFT("XP Left", snap -> format(snap.getXpRemainingToGoal())),
 
 	ACTIONS_LEFT("Actions", snap -> format(snap.getActionsRemainingToGoal())),
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.xptracker;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Xp gained over the last hour of skill time, in 15 second buckets. Running sums are kept for
+ * each window so that rates are available without summing the buckets.
+ */
+class XpRateRecorder
+{
+	static final long BUCKET_MILLIS = 15_000;
+	static final int WINDOW_5M = 20;
+	static final int WINDOW_15M = 60;
+	static final int WINDOW_1H = 240;
+
+	private final int[] buckets = new int[WINDOW_1H];
+	// skill time in ms, and the bucket it falls in
+	private long time;
+	private long bucket;
+	private long sum5m;
+	private long sum15m;
+	private long sum1h;
+
+	void record(int xp)
+	{
+		buckets[(int) (bucket % WINDOW_1H)] += xp;
+		sum5m += xp;
+		sum15m += xp;
+		sum1h += xp;
+	}
+
+	void advance(long delta)
+	{
+		time += delta;
+		final long target = time / BUCKET_MILLIS;
+		if (target - bucket >= WINDOW_1H)
+		{
+			clear();
+			bucket = target;
+			return;
+		}
+
+		while (bucket < target)
+		{
+			++bucket;
+			// the new bucket pushes the oldest bucket out of each window
+			sum5m -= get(bucket - WINDOW_5M);
+			sum15m -= get(bucket - WINDOW_15M);
+			final int idx = (int) (bucket % WINDOW_1H);
+			sum1h -= buckets[idx];
+			buckets[idx] = 0;
+		}
+	}
+
+	void reset()
+	{
+		clear();
+		time = 0;
+		bucket = 0;
+	}
+
+	int getXpHr5m()
+	{
+		return toHourly(sum5m, WINDOW_5M);
+	}
+
+	int getXpHr15m()
+	{
+		return toHourly(sum15m, WINDOW_15M);
+	}
+
+	int getXpHr1h()
+	{
+		return toHourly(sum1h, WINDOW_1H);
+	}
+
+	private int toHourly(long xp, int window)
+	{
+		// the current bucket is only partially elapsed
+		long covered = Math.min(time, (window - 1) * BUCKET_MILLIS + time % BUCKET_MILLIS);
+		// same as XpStateSingle, treat anything under a minute as a minute to avoid huge early rates
+		covered = Math.max(60_000, covered);
+		return (int) (xp * 3_600_000 / covered);
+	}
+
+	private int get(long bucket)
+	{
+		return bucket < 0 ? 0 : buckets[(int) (bucket % WINDOW_1H)];
+	}
+
+	private void clear()
+	{
+		Arrays.fill(buckets, 0);
+		sum5m = sum15m = sum1h = 0;
+	}
+
+	/**
+	 * Encode the non-empty buckets, oldest first, as varint pairs of the distance from the previous
+	 * non-empty bucket and the xp gained in it. The result is bounded by the one hour window
+	 * regardless of session length.
+	 */
+	String save()
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long prev = bucket - WINDOW_1H;
+		for (long b = Math.max(0, bucket - WINDOW_1H + 1); b <= bucket; ++b)
+		{
+			final int xp = get(b);
+			if (xp != 0)
+			{
+				writeVarInt(out, (int) (b - prev));
+				writeVarInt(out, xp);
+				prev = b;
+			}
+		}
+		return Base64.getEncoder().encodeToString(out.toByteArray());
+	}
+
+	void restore(String save, long time)
+	{
+		reset();
+		advance(time);
+
+		if (save == null)
+		{
+			return;
+		}
+
+		try
+		{
+			ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(save));
+			long b = bucket - WINDOW_1H;
+			while (in.hasRemaining())
+			{
+				b += readVarInt(in);
+				final int xp = readVarInt(in);
+				if (b < 0 || b > bucket)
+				{
+					continue;
+				}
+
+				buckets[(int) (b % WINDOW_1H)] += xp;
+				sum1h += xp;
+				if (bucket - b < WINDOW_15M)
+				{
+					sum15m += xp;
+				}
+				if (bucket - b < WINDOW_5M)
+				{
+					sum5m += xp;
+				}
+			}
+		}
+		catch (IllegalArgumentException | BufferUnderflowException ex)
+		{
+			clear();
+		}
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(ByteBuffer in)
+	{
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7)
+		{
+			final byte b = in.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				break;
+			}
+		}
+		return value;
+	}
+}
@@ -53,6 +53,8 @@ class XpSaveSingle
 	int xpGainedSinceReset;
 	@SerializedName("t")
 	long time; // ms
+	@SerializedName("r")
+	String rates; // see XpRateRecorder#save
 }
 
 class XpSaveSerializer implements Serializer<XpSave>
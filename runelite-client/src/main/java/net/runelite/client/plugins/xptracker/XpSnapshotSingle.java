@@ -38,6 +38,9 @@ class XpSnapshotSingle
 	private int xpGainedInSession;
 	private int xpRemainingToGoal;
 	private int xpPerHour;
+	private int xpPerHour5m;
+	private int xpPerHour15m;
+	private int xpPerHour1h;
 	private double skillProgressToGoal;
 	private int actionsInSession;
 	private int actionsRemainingToGoal;
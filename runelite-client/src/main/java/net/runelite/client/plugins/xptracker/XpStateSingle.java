@@ -40,6 +40,7 @@ class XpStateSingle
 	private boolean actionsHistoryInitialized = false;
 	private final int[] actionExps = new int[10];
 	private int actionExpIndex = 0;
+	private final XpRateRecorder rates = new XpRateRecorder();
 
 	@Getter
 	@Setter
@@ -216,6 +217,7 @@ class XpStateSingle
 		xpGainedSinceReset = 0;
 		lastChangeMillis = System.currentTimeMillis();
 		setSkillTime(0);
+		rates.reset();
 	}
 
 	boolean update(long currentXp)
@@ -251,6 +253,11 @@ class XpStateSingle
 		actions++;
 		actionsSinceReset++;
 
+		if (actionExp > 0)
+		{
+			rates.record(actionExp);
+		}
+
 		// Calculate experience gained
 		xpGainedSinceReset = (int) (currentXp - (startXp + xpGainedBeforeReset));
 		lastChangeMillis = System.currentTimeMillis();
@@ -290,6 +297,7 @@ class XpStateSingle
 			return;
 		}
 		skillTime += delta;
+		rates.advance(delta);
 	}
 
 	XpSnapshotSingle snapshot()
@@ -300,6 +308,9 @@ class XpStateSingle
 			.xpGainedInSession(getTotalXpGained())
 			.xpRemainingToGoal(getXpRemaining())
 			.xpPerHour(getXpHr())
+			.xpPerHour5m(rates.getXpHr5m())
+			.xpPerHour15m(rates.getXpHr15m())
+			.xpPerHour1h(rates.getXpHr1h())
 			.skillProgressToGoal(getSkillProgress())
 			.actionsInSession(actions)
 			.actionsRemainingToGoal(getActionsRemaining())
@@ -320,6 +331,7 @@ class XpStateSingle
 		save.xpGainedBeforeReset = xpGainedBeforeReset;
 		save.xpGainedSinceReset = xpGainedSinceReset;
 		save.time = skillTime;
+		save.rates = rates.save();
 		return save;
 	}
 
@@ -329,5 +341,6 @@ class XpStateSingle
 		xpGainedBeforeReset = save.xpGainedBeforeReset;
 		xpGainedSinceReset = save.xpGainedSinceReset;
 		skillTime = save.time;
+		rates.restore(save.rates, save.time);
 	}
 }
@@ -25,11 +25,11 @@
 package net.runelite.client.task;
 
 import java.lang.reflect.Method;
-import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
 
 @RequiredArgsConstructor
@@ -42,6 +42,59 @@ public class ScheduledMethod
 	private final Object object;
 	@EqualsAndHashCode.Exclude
 	private final Runnable lambda;
-	@Setter
-	private Instant last = Instant.now();
+
+	// state owned by the Scheduler, in System.nanoTime() units
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	long period;
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	long nextRun;
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	boolean scheduled;
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	final AtomicBoolean running = new AtomicBoolean();
+
+	/**
+	 * Number of times the task has run
+	 */
+	@ToString.Exclude
+	private volatile long runs;
+	/**
+	 * Number of times the task was a whole period late, or was skipped because its previous
+	 * asynchronous run hadn't finished yet
+	 */
+	@ToString.Exclude
+	private volatile long missedDeadlines;
+	/**
+	 * Total and longest run time of the task, in nanoseconds
+	 */
+	@ToString.Exclude
+	private volatile long totalRunTime;
+	@ToString.Exclude
+	private volatile long maxRunTime;
+	/**
+	 * Longest time between the task becoming due and it being run, in nanoseconds
+	 */
+	@ToString.Exclude
+	private volatile long maxLateness;
+
+	synchronized void recordRun(long lateness, long runTime)
+	{
+		++runs;
+		if (lateness >= period)
+		{
+			++missedDeadlines;
+		}
+		totalRunTime += runTime;
+		maxRunTime = Math.max(maxRunTime, runTime);
+		maxLateness = Math.max(maxLateness, lateness);
+	}
+
+	synchronized void recordSkipped()
+	{
+		++missedDeadlines;
+	}
 }
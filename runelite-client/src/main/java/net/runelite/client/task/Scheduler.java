@@ -27,9 +27,11 @@ package net.runelite.client.task;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
@@ -41,18 +43,37 @@ import lombok.extern.slf4j.Slf4j;
 public class Scheduler
 {
 	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
+	/**
+	 * Scheduled methods ordered by when they are next due, so a tick only has to look at the due ones
+	 */
+	private final PriorityQueue<ScheduledMethod> queue = new PriorityQueue<>(Comparator.comparingLong(m -> m.nextRun));
+	private final List<ScheduledMethod> due = new ArrayList<>();
 
 	@Inject
 	ScheduledExecutorService executor;
 
 	public void addScheduledMethod(ScheduledMethod method)
 	{
+		Schedule schedule = method.getSchedule();
+		method.period = Duration.of(schedule.period(), schedule.unit()).toNanos();
+		method.nextRun = System.nanoTime() + method.period;
+
+		synchronized (queue)
+		{
+			method.scheduled = true;
+			queue.add(method);
+		}
 		scheduledMethods.add(method);
 	}
 
 	public void removeScheduledMethod(ScheduledMethod method)
 	{
 		scheduledMethods.remove(method);
+		synchronized (queue)
+		{
+			method.scheduled = false;
+			queue.remove(method);
+		}
 	}
 
 	public List<ScheduledMethod> getScheduledMethods()
@@ -62,37 +83,74 @@ public class Scheduler
 
 	public void tick()
 	{
-		Instant now = Instant.now();
+		final long now = System.nanoTime();
 
-		for (ScheduledMethod scheduledMethod : scheduledMethods)
+		synchronized (queue)
 		{
-			Instant last = scheduledMethod.getLast();
-
-			Duration difference = Duration.between(last, now);
+			ScheduledMethod next;
+			while ((next = queue.peek()) != null && next.nextRun - now <= 0)
+			{
+				due.add(queue.poll());
+			}
+		}
 
-			Schedule schedule = scheduledMethod.getSchedule();
-			Duration timeSinceRun = Duration.of(schedule.period(), schedule.unit());
+		if (due.isEmpty())
+		{
+			return;
+		}
 
-			if (difference.compareTo(timeSinceRun) > 0)
-			{
-				log.trace("Scheduled task triggered: {}", scheduledMethod);
+		for (ScheduledMethod scheduledMethod : due)
+		{
+			log.trace("Scheduled task triggered: {}", scheduledMethod);
 
-				scheduledMethod.setLast(now);
+			final long lateness = now - scheduledMethod.nextRun;
+			scheduledMethod.nextRun = now + scheduledMethod.period;
 
-				if (schedule.asynchronous())
+			if (scheduledMethod.getSchedule().asynchronous())
+			{
+				// coalesce runs of a task which is still running, instead of queueing them up on the executor
+				if (!scheduledMethod.running.compareAndSet(false, true))
 				{
-					executor.submit(() -> run(scheduledMethod));
+					log.debug("Skipping scheduled task which is still running: {}", scheduledMethod);
+					scheduledMethod.recordSkipped();
+					continue;
 				}
-				else
+
+				executor.submit(() ->
 				{
-					run(scheduledMethod);
+					try
+					{
+						run(scheduledMethod, lateness);
+					}
+					finally
+					{
+						scheduledMethod.running.set(false);
+					}
+				});
+			}
+			else
+			{
+				run(scheduledMethod, lateness);
+			}
+		}
+
+		synchronized (queue)
+		{
+			for (ScheduledMethod scheduledMethod : due)
+			{
+				// the task may have been unscheduled while it was running
+				if (scheduledMethod.scheduled)
+				{
+					queue.add(scheduledMethod);
 				}
 			}
 		}
+		due.clear();
 	}
 
-	private void run(ScheduledMethod scheduledMethod)
+	private void run(ScheduledMethod scheduledMethod, long lateness)
 	{
+		final long start = System.nanoTime();
 		try
 		{
 			Runnable lambda = scheduledMethod.getLambda();
@@ -114,5 +172,9 @@ public class Scheduler
 		{
 			log.warn("error during scheduled task", ex);
 		}
+		finally
+		{
+			scheduledMethod.recordRun(lateness, System.nanoTime() - start);
+		}
 	}
 }
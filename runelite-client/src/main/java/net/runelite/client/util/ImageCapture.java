@@ -26,6 +26,7 @@
 package net.runelite.client.util;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Insets;
@@ -35,18 +36,25 @@ import java.awt.TrayIcon;
 import java.awt.datatransfer.Clipboard;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
-import javax.imageio.ImageIO;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -65,14 +73,54 @@ import net.runelite.client.ui.DrawManager;
 public class ImageCapture
 {
 	private static final DateFormat TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+	/**
+	 * Number of captured frames which may wait to be encoded before further screenshots are dropped.
+	 * Each one holds a full copy of the frame.
+	 */
+	private static final int QUEUE_CAPACITY = 8;
 
 	private final Client client;
 	private final Notifier notifier;
 	private final ClientUI clientUi;
 	private final DrawManager drawManager;
-	private final ScheduledExecutorService executor;
 	private final EventBus eventBus;
 
+	private final ThreadPoolExecutor writer = createWriter();
+
+	/**
+	 * Number of screenshots written to disk
+	 */
+	@Getter
+	private volatile long screenshotsSaved;
+	private final AtomicLong screenshotsDropped = new AtomicLong();
+	/**
+	 * Total and longest time spent encoding screenshots, in nanoseconds
+	 */
+	@Getter
+	private volatile long totalEncodeTime;
+	@Getter
+	private volatile long maxEncodeTime;
+	/**
+	 * Total and longest time from a frame being captured to its screenshot being on disk, in nanoseconds.
+	 * This only covers screenshots which went through the queue.
+	 */
+	@Getter
+	private volatile long totalCaptureLatency;
+	@Getter
+	private volatile long maxCaptureLatency;
+
+	private static ThreadPoolExecutor createWriter()
+	{
+		ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+			new ThreadFactoryBuilder()
+				.setNameFormat("screenshot-writer")
+				.setDaemon(true)
+				.build());
+		writer.allowCoreThreadTimeOut(true);
+		return writer;
+	}
+
 	/**
 	 * Take a screenshot and save it
 	 * @param subDir the subdirectory to save the screenshot in
@@ -85,23 +133,61 @@ public class ImageCapture
 		boolean notify, boolean copyToClipboard)
 	{
 		drawManager.requestNextFrameListener((img) ->
+			queueScreenshot(img, includeClientFrame, fileName, subDir, notify, copyToClipboard, PngEncoder.DEFAULT_COMPRESSION));
+	}
+
+	/**
+	 * Queue a captured frame to be saved as a screenshot on the screenshot writer thread.
+	 * If too many screenshots are already waiting, this one is dropped.
+	 *
+	 * @param image the captured frame
+	 * @param includeClientFrame whether to include the client ui in the screenshot
+	 * @param fileName Filename to use, without file extension.
+	 * @param subDir Directory within the player screenshots dir to store the captured screenshot to.
+	 * @param notify Send a notification to the system tray when the image is captured.
+	 * @param saveToClipboard Whether to also save the screenshot to clipboard
+	 * @param compressionLevel PNG deflate level, from 0 to 9
+	 * @return whether the screenshot was queued
+	 */
+	public boolean queueScreenshot(Image image, boolean includeClientFrame, String fileName, @Nullable String subDir,
+		boolean notify, boolean saveToClipboard, int compressionLevel)
+	{
+		final long captureTime = System.nanoTime();
+		try
 		{
-			// This callback is on the client thread, move to executor thread now that we have the screenshot
-			executor.submit(() ->
+			writer.execute(() ->
 			{
 				final BufferedImage screenshot;
 				if (includeClientFrame)
 				{
-					screenshot = addClientFrame(img);
+					screenshot = addClientFrame(image);
 				}
 				else
 				{
-					screenshot = ImageUtil.bufferedImageFromImage(img);
+					screenshot = ImageUtil.bufferedImageFromImage(image);
 				}
 
-				saveScreenshot(screenshot, fileName, subDir, notify, copyToClipboard);
+				if (saveScreenshot(screenshot, fileName, subDir, notify, saveToClipboard, compressionLevel))
+				{
+					recordCaptureLatency(System.nanoTime() - captureTime);
+				}
 			});
-		});
+			return true;
+		}
+		catch (RejectedExecutionException ex)
+		{
+			screenshotsDropped.incrementAndGet();
+			log.warn("Screenshot queue is full, dropping screenshot {}", fileName);
+			return false;
+		}
+	}
+
+	/**
+	 * @return the number of screenshots dropped because the queue was full
+	 */
+	public long getScreenshotsDropped()
+	{
+		return screenshotsDropped.get();
 	}
 
 	/**
@@ -177,12 +263,24 @@ public class ImageCapture
 		boolean notify,
 		boolean saveToClipboard
 	)
+	{
+		saveScreenshot(screenshot, fileName, subDir, notify, saveToClipboard, PngEncoder.DEFAULT_COMPRESSION);
+	}
+
+	private boolean saveScreenshot(
+		BufferedImage screenshot,
+		String fileName,
+		@Nullable String subDir,
+		boolean notify,
+		boolean saveToClipboard,
+		int compressionLevel
+	)
 	{
 		if (client.getGameState() == GameState.LOGIN_SCREEN)
 		{
 			// Prevent the screenshot from being captured
 			log.debug("Login screenshot prevented");
-			return;
+			return false;
 		}
 
 		File playerFolder;
@@ -220,15 +318,17 @@ public class ImageCapture
 			screenshotFile = new File(playerFolder, fileName + String.format("(%d)", i++) + ".png");
 		}
 
-		try
+		final long start = System.nanoTime();
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(screenshotFile)))
 		{
-			ImageIO.write(screenshot, "PNG", screenshotFile);
+			PngEncoder.write(screenshot, out, compressionLevel);
 		}
 		catch (IOException ex)
 		{
 			log.error("error writing screenshot", ex);
-			return;
+			return false;
 		}
+		recordEncodeTime(System.nanoTime() - start);
 
 		if (saveToClipboard)
 		{
@@ -251,6 +351,20 @@ public class ImageCapture
 			screenshot
 		);
 		eventBus.post(screenshotTaken);
+		return true;
+	}
+
+	private synchronized void recordEncodeTime(long time)
+	{
+		screenshotsSaved++;
+		totalEncodeTime += time;
+		maxEncodeTime = Math.max(maxEncodeTime, time);
+	}
+
+	private synchronized void recordCaptureLatency(long time)
+	{
+		totalCaptureLatency += time;
+		maxCaptureLatency = Math.max(maxCaptureLatency, time);
 	}
 
 	/**
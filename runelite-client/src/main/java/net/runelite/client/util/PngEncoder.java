@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A PNG encoder for screenshots. Unlike {@link javax.imageio.ImageIO} it reads pixels straight out of
+ * an {@code int[]} raster, applies the Sub filter to every row instead of trying each filter, and lets
+ * the caller choose the deflate level.
+ */
+public final class PngEncoder
+{
+	/**
+	 * Deflate level which is used when none is configured
+	 */
+	public static final int DEFAULT_COMPRESSION = 3;
+
+	private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+	private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+	private static final int COLOR_TYPE_RGB = 2;
+	private static final int COLOR_TYPE_RGBA = 6;
+	private static final int FILTER_SUB = 1;
+	private static final int IDAT_SIZE = 1 << 16;
+
+	private final OutputStream out;
+	private final CRC32 crc = new CRC32();
+	private final byte[] header = new byte[8];
+
+	private PngEncoder(OutputStream out)
+	{
+		this.out = out;
+	}
+
+	/**
+	 * Encode an image as a PNG
+	 *
+	 * @param image the image
+	 * @param out the stream to write to, which is left open
+	 * @param compressionLevel deflate level from 0 (none) to 9 (best)
+	 */
+	public static void write(BufferedImage image, OutputStream out, int compressionLevel) throws IOException
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final WritableRaster raster = image.getRaster();
+
+		int[] pixels;
+		int offset;
+		int scanlineStride;
+		if ((image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)
+			&& raster.getDataBuffer() instanceof DataBufferInt
+			&& raster.getSampleModel() instanceof SinglePixelPackedSampleModel)
+		{
+			final DataBufferInt dataBuffer = (DataBufferInt) raster.getDataBuffer();
+			final SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+			pixels = dataBuffer.getData();
+			offset = dataBuffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(), -raster.getSampleModelTranslateY());
+			scanlineStride = sampleModel.getScanlineStride();
+		}
+		else
+		{
+			pixels = image.getRGB(0, 0, width, height, null, 0, width);
+			offset = 0;
+			scanlineStride = width;
+		}
+
+		final boolean alpha = image.getColorModel().hasAlpha() && !isOpaque(pixels, offset, scanlineStride, width, height);
+		new PngEncoder(out).write(pixels, offset, scanlineStride, width, height, alpha, compressionLevel);
+	}
+
+	private static boolean isOpaque(int[] pixels, int offset, int scanlineStride, int width, int height)
+	{
+		for (int y = 0; y < height; ++y)
+		{
+			for (int i = offset + y * scanlineStride, end = i + width; i < end; ++i)
+			{
+				if ((pixels[i] >>> 24) != 0xff)
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void write(int[] pixels, int offset, int scanlineStride, int width, int height, boolean alpha, int compressionLevel) throws IOException
+	{
+		out.write(SIGNATURE);
+
+		final byte[] ihdr = new byte[13];
+		putInt(ihdr, 0, width);
+		putInt(ihdr, 4, height);
+		ihdr[8] = 8; // bit depth
+		ihdr[9] = (byte) (alpha ? COLOR_TYPE_RGBA : COLOR_TYPE_RGB);
+		// compression, filter, and interlace methods are all 0
+		writeChunk(IHDR, ihdr, ihdr.length);
+
+		final int bpp = alpha ? 4 : 3;
+		final byte[] row = new byte[1 + width * bpp];
+		final byte[] idat = new byte[IDAT_SIZE];
+		final Deflater deflater = new Deflater(compressionLevel);
+		deflater.setStrategy(Deflater.FILTERED);
+		try
+		{
+			int idatLength = 0;
+			for (int y = 0; y < height; ++y)
+			{
+				filterRow(pixels, offset + y * scanlineStride, width, alpha, row);
+				deflater.setInput(row);
+				while (!deflater.needsInput())
+				{
+					idatLength += deflater.deflate(idat, idatLength, idat.length - idatLength);
+					if (idatLength == idat.length)
+					{
+						writeChunk(IDAT, idat, idatLength);
+						idatLength = 0;
+					}
+				}
+			}
+
+			deflater.finish();
+			while (!deflater.finished())
+			{
+				idatLength += deflater.deflate(idat, idatLength, idat.length - idatLength);
+				if (idatLength == idat.length)
+				{
+					writeChunk(IDAT, idat, idatLength);
+					idatLength = 0;
+				}
+			}
+
+			if (idatLength > 0)
+			{
+				writeChunk(IDAT, idat, idatLength);
+			}
+		}
+		finally
+		{
+			deflater.end();
+		}
+
+		writeChunk(IEND, idat, 0);
+		out.flush();
+	}
+
+	/**
+	 * Write one scanline into {@code row} with the Sub filter applied. Each byte is stored
+	 * as the difference from the same channel of the pixel to its left.
+	 */
+	private static void filterRow(int[] pixels, int offset, int width, boolean alpha, byte[] row)
+	{
+		row[0] = FILTER_SUB;
+		int r = 0, g = 0, b = 0, a = 0;
+		int i = 1;
+		for (int x = 0; x < width; ++x)
+		{
+			final int pixel = pixels[offset + x];
+			final int pr = pixel >>> 16 & 0xff;
+			final int pg = pixel >>> 8 & 0xff;
+			final int pb = pixel & 0xff;
+			row[i++] = (byte) (pr - r);
+			row[i++] = (byte) (pg - g);
+			row[i++] = (byte) (pb - b);
+			r = pr;
+			g = pg;
+			b = pb;
+
+			if (alpha)
+			{
+				final int pa = pixel >>> 24;
+				row[i++] = (byte) (pa - a);
+				a = pa;
+			}
+		}
+	}
+
+	private void writeChunk(byte[] type, byte[] data, int length) throws IOException
+	{
+		putInt(header, 0, length);
+		System.arraycopy(type, 0, header, 4, 4);
+		out.write(header, 0, 8);
+		out.write(data, 0, length);
+
+		crc.reset();
+		crc.update(type);
+		crc.update(data, 0, length);
+		putInt(header, 0, (int) crc.getValue());
+		out.write(header, 0, 4);
+	}
+
+	private static void putInt(byte[] b, int off, int v)
+	{
+		b[off] = (byte) (v >>> 24);
+		b[off + 1] = (byte) (v >>> 16);
+		b[off + 2] = (byte) (v >>> 8);
+		b[off + 3] = (byte) v;
+	}
+}
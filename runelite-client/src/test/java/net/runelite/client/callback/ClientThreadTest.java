@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Inject
+	private ClientThread clientThread;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	public void testInvokeOrder()
+	{
+		List<Integer> ran = new ArrayList<>();
+		for (int i = 0; i < 10; ++i)
+		{
+			final int n = i;
+			clientThread.invokeLater(() -> ran.add(n));
+		}
+		assertTrue(ran.isEmpty());
+
+		when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), ran);
+
+		clientThread.invoke(() -> ran.add(10));
+		assertEquals(11, ran.size());
+	}
+
+	@Test
+	public void testDeferredSupplier()
+	{
+		AtomicInteger calls = new AtomicInteger();
+		List<String> ran = new ArrayList<>();
+		clientThread.invokeLater(() -> calls.incrementAndGet() == 3);
+		clientThread.invokeLater(() -> ran.add("a"));
+
+		// only read by the client thread assertion in invoke(), so unused without -ea
+		lenient().when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		assertEquals(1, calls.get());
+		assertEquals(List.of("a"), ran);
+		assertEquals(1, clientThread.getStats().getQueueDepth());
+
+		clientThread.invokeLater(() -> ran.add("b"));
+		clientThread.invoke();
+		assertEquals(2, calls.get());
+		assertEquals(List.of("a", "b"), ran);
+
+		clientThread.invoke();
+		assertEquals(3, calls.get());
+		clientThread.invoke();
+		assertEquals(3, calls.get());
+		assertEquals(0, clientThread.getStats().getQueueDepth());
+	}
+
+	@Test
+	public void testException()
+	{
+		List<String> ran = new ArrayList<>();
+		clientThread.invokeLater(() ->
+		{
+			throw new IllegalStateException("test");
+		});
+		clientThread.invokeLater((BooleanSupplier) () ->
+		{
+			throw new IllegalStateException("test");
+		});
+		clientThread.invokeLater(() -> ran.add("a"));
+
+		lenient().when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		clientThread.invoke();
+		assertEquals(List.of("a"), ran);
+		assertEquals(0, clientThread.getStats().getQueueDepth());
+	}
+
+	@Test
+	public void testTickEnd()
+	{
+		List<String> ran = new ArrayList<>();
+		clientThread.invokeAtTickEnd(() -> ran.add("end"));
+		clientThread.invokeLater(() -> ran.add("a"));
+
+		lenient().when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		assertEquals(List.of("a"), ran);
+		clientThread.invokeTickEnd();
+		assertEquals(List.of("a", "end"), ran);
+	}
+
+	@Test
+	public void testOverflow()
+	{
+		InvokeQueue queue = new InvokeQueue(4);
+		for (int i = 0; i < 10; ++i)
+		{
+			queue.add(i, false);
+		}
+		assertEquals(10, queue.size());
+
+		// slots freed by the consumer are not used until the overflow has drained
+		assertTrue(queue.poll());
+		assertEquals(0, queue.task);
+		queue.add(10, true);
+
+		for (int i = 1; i <= 10; ++i)
+		{
+			assertTrue(queue.poll());
+			assertEquals(i, queue.task);
+			assertEquals(i == 10, queue.supplier);
+		}
+		assertFalse(queue.poll());
+		assertNull(queue.task);
+		assertEquals(0, queue.size());
+
+		queue.add(11, false);
+		assertTrue(queue.poll());
+		assertEquals(11, queue.task);
+	}
+
+	@Test
+	public void testProducers() throws InterruptedException
+	{
+		final int threads = 4;
+		final int tasks = 5000;
+		final AtomicInteger ran = new AtomicInteger();
+		final int[] last = new int[threads];
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> producers = new ArrayList<>();
+		for (int i = 0; i < threads; ++i)
+		{
+			final int id = i;
+			Thread t = new Thread(() ->
+			{
+				try
+				{
+					start.await();
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+
+				for (int j = 1; j <= tasks; ++j)
+				{
+					final int n = j;
+					clientThread.invokeLater(() ->
+					{
+						// tasks from a single producer run in the order they were queued
+						assertEquals(last[id] + 1, n);
+						last[id] = n;
+						ran.incrementAndGet();
+					});
+				}
+			});
+			t.start();
+			producers.add(t);
+		}
+
+		start.countDown();
+		lenient().when(client.isClientThread()).thenReturn(true);
+		while (producers.stream().anyMatch(Thread::isAlive))
+		{
+			clientThread.invoke();
+		}
+		for (Thread t : producers)
+		{
+			t.join();
+		}
+		clientThread.invoke();
+
+		assertEquals(threads * tasks, ran.get());
+		assertEquals(threads * tasks, clientThread.getStats().getTasksRun());
+	}
+
+	@Test
+	public void testStats()
+	{
+		clientThread.invokeLater(() ->
+		{
+		});
+		clientThread.invokeLater(() ->
+		{
+		});
+		clientThread.invokeAtTickEnd(() ->
+		{
+		});
+
+		InvokeStats stats = clientThread.getStats();
+		assertEquals(3, stats.getQueueDepth());
+		assertEquals(0, stats.getTasksRun());
+		assertEquals(Long.valueOf(3), stats.getSourceCounts().get(ClientThreadTest.class.getName()));
+
+		lenient().when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		clientThread.invokeTickEnd();
+
+		stats = clientThread.getStats();
+		assertEquals(0, stats.getQueueDepth());
+		assertEquals(3, stats.getTasksRun());
+		assertTrue(stats.getMaxLatencyNanos() >= stats.getMeanLatencyNanos());
+
+		clientThread.resetStats();
+		assertTrue(clientThread.getStats().getSourceCounts().isEmpty());
+		clientThread.invoke();
+		assertEquals(0, clientThread.getStats().getTasksRun());
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.externalplugins;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginHubDownloaderTest
+{
+	@Rule
+	public final MockWebServer server = new MockWebServer();
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final Map<String, byte[]> jars = new HashMap<>();
+	private final Map<String, String> lastRange = new HashMap<>();
+	private PluginHubDownloader downloader;
+
+	@Before
+	public void before()
+	{
+		server.setDispatcher(new Dispatcher()
+		{
+			@Override
+			public MockResponse dispatch(RecordedRequest request)
+			{
+				String name = request.getPath().substring(1);
+				byte[] data = jars.get(name);
+				if (data == null)
+				{
+					return new MockResponse().setResponseCode(404);
+				}
+
+				String range = request.getHeader("Range");
+				synchronized (lastRange)
+				{
+					lastRange.put(name, range);
+				}
+				if (range == null)
+				{
+					return new MockResponse().setBody(new Buffer().write(data));
+				}
+
+				int start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+				return new MockResponse()
+					.setResponseCode(206)
+					.setHeader("Content-Range", "bytes " + start + "-" + (data.length - 1) + "/" + data.length)
+					.setBody(new Buffer().write(Arrays.copyOfRange(data, start, data.length)));
+			}
+		});
+
+		downloader = new PluginHubDownloader(new OkHttpClient(),
+			jarData -> server.url("/" + jarData.getInternalName()),
+			folder.getRoot(), 3);
+	}
+
+	@Test
+	public void testDownload() throws Exception
+	{
+		ImmutableList.Builder<PluginHubManifest.JarData> builder = ImmutableList.builder();
+		for (int i = 0; i < 10; ++i)
+		{
+			builder.add(serve("plugin" + i, 1000 + i * 317));
+		}
+		ImmutableList<PluginHubManifest.JarData> toDownload = builder.build();
+
+		int[] progress = new int[1];
+		Set<PluginHubManifest.JarData> failed = downloader.download(toDownload, i ->
+		{
+			synchronized (progress)
+			{
+				progress[0] = Math.max(progress[0], i);
+			}
+		});
+
+		assertTrue(failed.isEmpty());
+		assertEquals(toDownload.stream().mapToInt(PluginHubManifest.JarData::getJarSize).sum(), progress[0]);
+		for (PluginHubManifest.JarData jarData : toDownload)
+		{
+			File file = jarData.getJarFile(folder.getRoot());
+			assertArrayEquals(jars.get(jarData.getInternalName()), Files.toByteArray(file));
+			assertFalse(new File(folder.getRoot(), file.getName() + ".part").exists());
+		}
+	}
+
+	@Test
+	public void testResume() throws Exception
+	{
+		PluginHubManifest.JarData jarData = serve("resumed", 5000);
+		File part = new File(folder.getRoot(), jarData.getJarFile(folder.getRoot()).getName() + ".part");
+		Files.write(Arrays.copyOf(jars.get("resumed"), 2000), part);
+
+		Set<PluginHubManifest.JarData> failed = downloader.download(ImmutableList.of(jarData), i ->
+		{
+		});
+
+		assertTrue(failed.isEmpty());
+		assertEquals("bytes=2000-", lastRange.get("resumed"));
+		assertArrayEquals(jars.get("resumed"), Files.toByteArray(jarData.getJarFile(folder.getRoot())));
+	}
+
+	@Test
+	public void testCorruptPartialRestarts() throws Exception
+	{
+		PluginHubManifest.JarData jarData = serve("corrupt", 3000);
+		File part = new File(folder.getRoot(), jarData.getJarFile(folder.getRoot()).getName() + ".part");
+		Files.write(new byte[1500], part);
+
+		Set<PluginHubManifest.JarData> failed = downloader.download(ImmutableList.of(jarData), i ->
+		{
+		});
+
+		assertTrue(failed.isEmpty());
+		assertEquals(null, lastRange.get("corrupt"));
+		assertArrayEquals(jars.get("corrupt"), Files.toByteArray(jarData.getJarFile(folder.getRoot())));
+	}
+
+	@Test
+	public void testHashMismatch() throws Exception
+	{
+		PluginHubManifest.JarData jarData = serve("bad", 1000);
+		jars.put("bad", new byte[1000]);
+
+		Set<PluginHubManifest.JarData> failed = downloader.download(ImmutableList.of(jarData), i ->
+		{
+		});
+
+		assertEquals(ImmutableList.of(jarData), ImmutableList.copyOf(failed));
+		assertFalse(jarData.getJarFile(folder.getRoot()).exists());
+	}
+
+	private PluginHubManifest.JarData serve(String name, int size) throws IOException
+	{
+		byte[] data = new byte[size];
+		new Random(name.hashCode()).nextBytes(data);
+		jars.put(name, data);
+
+		PluginHubManifest.JarData jarData = new PluginHubManifest.JarData();
+		jarData.setInternalName(name);
+		jarData.setDisplayName(name);
+		jarData.setJarSize(size);
+		jarData.setJarHash(PluginHubManifest.HASH_ENCODER.encodeToString(Hashing.sha256().hashBytes(data).asBytes()));
+		return jarData;
+	}
+}
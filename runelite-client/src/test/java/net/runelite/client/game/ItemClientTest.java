@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.gson.Gson;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import net.runelite.http.api.item.ItemPrice;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ItemClientTest
+{
+	private static final String PRICES = "[{\"id\":4151,\"name\":\"Abyssal whip\",\"price\":1500000,\"wikiPrice\":1450000},"
+		+ "{\"id\":995,\"name\":\"Coins\",\"price\":1,\"wikiPrice\":0}]";
+	private static final String STATS = "{\"4151\":{\"equipable\":true,\"weight\":0.453,\"ge_limit\":70}}";
+
+	@Rule
+	public MockWebServer server = new MockWebServer();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File snapshotDir;
+	private ItemClient itemClient;
+
+	@Before
+	public void before()
+	{
+		snapshotDir = new File(folder.getRoot(), "items");
+		itemClient = new ItemClient(new OkHttpClient(), server.url("/api/"), server.url("/static/"), new Gson(), snapshotDir);
+	}
+
+	@Test
+	public void testPricesRevalidated() throws Exception
+	{
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"v1\"")
+			.setHeader("Last-Modified", "Mon, 19 Oct 2026 00:00:00 GMT")
+			.setBody(PRICES));
+		server.enqueue(new MockResponse().setResponseCode(304));
+
+		ItemPrice[] prices = itemClient.getPrices();
+		assertNotNull(prices);
+		assertEquals(2, prices.length);
+		assertEquals("Abyssal whip", prices[0].getName());
+
+		RecordedRequest request = server.takeRequest();
+		assertEquals("/api/item/prices.js", request.getPath());
+		assertNull(request.getHeader("If-None-Match"));
+
+		assertNull(itemClient.getPrices());
+		request = server.takeRequest();
+		assertEquals("\"v1\"", request.getHeader("If-None-Match"));
+		assertEquals("Mon, 19 Oct 2026 00:00:00 GMT", request.getHeader("If-Modified-Since"));
+
+		ItemPriceTable table = new ItemPriceTable(itemClient.getCachedPrices());
+		assertEquals(2, table.size());
+		assertEquals(1_500_000, table.getPrice(4151));
+		assertEquals(1_450_000, table.getWikiPrice(4151));
+		assertEquals(0, table.getPrice(4152));
+		assertEquals(0, table.getPrice(100_000));
+	}
+
+	@Test
+	public void testFailedLookupKeepsSnapshot() throws Exception
+	{
+		server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(STATS));
+		server.enqueue(new MockResponse().setBody("{\"4151\":{\"equip"));
+		server.enqueue(new MockResponse().setResponseCode(500));
+
+		assertNotNull(itemClient.getStats());
+
+		try
+		{
+			itemClient.getStats();
+			fail("truncated body was accepted");
+		}
+		catch (IOException ex)
+		{
+			// expected
+		}
+		assertNull(itemClient.getStats());
+
+		Map<Integer, ItemStats> stats = itemClient.getCachedStats();
+		assertNotNull(stats);
+		assertEquals(70, stats.get(4151).getGeLimit());
+	}
+
+	@Test
+	public void testCorruptSnapshotDiscarded() throws Exception
+	{
+		snapshotDir.mkdirs();
+		Files.write(new File(snapshotDir, "prices.json").toPath(), "[{\"id\":".getBytes(StandardCharsets.UTF_8));
+
+		assertNull(itemClient.getCachedPrices());
+
+		server.enqueue(new MockResponse().setBody(PRICES));
+		assertNotNull(itemClient.getPrices());
+		assertNull(server.takeRequest().getHeader("If-None-Match"));
+	}
+}
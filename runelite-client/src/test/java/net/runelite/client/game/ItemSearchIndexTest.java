@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.http.api.item.ItemPrice;
+import static org.junit.Assert.assertEquals;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class ItemSearchIndexTest
+{
+	private static final int ITEMS = 4000;
+	private static final String[] QUERIES = {
+		"a", "ru", "rune", "dragon", "scimitar", "abyssal whip", "graceful hood", "potion", "of", "xyzzy", "_",
+	};
+
+	private static List<ItemPrice> items;
+
+	@BeforeClass
+	public static void beforeClass() throws IllegalAccessException
+	{
+		// the gameval names stand in for the tradeable item set
+		items = new ArrayList<>();
+		for (Field field : ItemID.class.getFields())
+		{
+			if (!Modifier.isStatic(field.getModifiers()) || field.getType() != int.class)
+			{
+				continue;
+			}
+
+			ItemPrice item = new ItemPrice();
+			item.setId(field.getInt(null));
+			item.setName(field.getName().replace('_', ' '));
+			items.add(item);
+			if (items.size() == ITEMS)
+			{
+				break;
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesScan()
+	{
+		ItemSearchIndex index = new ItemSearchIndex(items);
+		for (String query : QUERIES)
+		{
+			List<ItemPrice> expected = items.stream()
+				.filter(item -> item.getName().toLowerCase().contains(query))
+				.sorted(Comparator.comparing(ItemPrice::getId))
+				.collect(Collectors.toList());
+			List<ItemPrice> actual = index.search(query.toUpperCase());
+			actual.sort(Comparator.comparing(ItemPrice::getId));
+			assertEquals(query, expected, actual);
+		}
+	}
+
+	@Test
+	public void testRanking()
+	{
+		List<ItemPrice> items = new ArrayList<>();
+		for (String name : new String[]{"Super energy(4)", "Energy potion(4)", "Antienergy", "Energy"})
+		{
+			ItemPrice item = new ItemPrice();
+			item.setId(items.size());
+			item.setName(name);
+			items.add(item);
+		}
+
+		List<String> result = new ItemSearchIndex(items).search("energy").stream()
+			.map(ItemPrice::getName)
+			.collect(Collectors.toList());
+		assertEquals(List.of("Energy", "Energy potion(4)", "Super energy(4)", "Antienergy"), result);
+	}
+
+	@Test
+	@Ignore
+	public void testBenchmark()
+	{
+		long start = System.nanoTime();
+		ItemSearchIndex index = new ItemSearchIndex(items);
+		log.info("Index of {} items built in {}ms", items.size(), (System.nanoTime() - start) / 1_000_000);
+
+		final int iterations = 2_000;
+		for (String query : QUERIES)
+		{
+			int matches = 0;
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; ++i)
+			{
+				matches += index.search(query).size();
+			}
+			long indexed = (System.nanoTime() - start) / iterations;
+
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; ++i)
+			{
+				matches -= scan(query).size();
+			}
+			long scanned = (System.nanoTime() - start) / iterations;
+
+			assertEquals(0, matches);
+			log.info("{}: index {}us, scan {}us", query, indexed / 1000, scanned / 1000);
+		}
+	}
+
+	private static List<ItemPrice> scan(String query)
+	{
+		List<ItemPrice> result = new ArrayList<>();
+		for (ItemPrice item : items)
+		{
+			if (item.getName().toLowerCase().contains(query))
+			{
+				result.add(item);
+			}
+		}
+		return result;
+	}
+}
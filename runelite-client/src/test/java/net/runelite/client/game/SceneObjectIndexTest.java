@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.Set;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.Point;
+import net.runelite.api.WallObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.events.WorldViewUnloaded;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SceneObjectIndexTest
+{
+	private static final int BASE_X = 3136;
+	private static final int BASE_Y = 3136;
+
+	@Inject
+	private SceneObjectIndex index;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private ClientThread clientThread;
+
+	@Bind
+	private EventBus eventBus = new EventBus();
+
+	@Mock
+	private WorldView wv;
+
+	@Mock
+	private WorldView boat;
+
+	@Before
+	public void before()
+	{
+		lenient().when(wv.getBaseX()).thenReturn(BASE_X);
+		lenient().when(wv.getBaseY()).thenReturn(BASE_Y);
+		lenient().when(client.getTopLevelWorldView()).thenReturn(wv);
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	public void testSpawnAndDespawn()
+	{
+		final GameObject tree = gameObject(wv, 1276, 10, 10, 11, 11);
+		final GameObject otherTree = gameObject(wv, 1276, 20, 20, 20, 20);
+		spawn(tree);
+		spawn(otherTree);
+		spawn(tree);
+
+		assertEquals(Set.of(tree, otherTree), index.getObjects(1276));
+		assertEquals(2, index.size());
+		// a 2x2 object is on all four of its tiles
+		assertEquals(1, index.getObjectsAt(new WorldPoint(BASE_X + 11, BASE_Y + 10, 0)).size());
+		assertEquals(1, index.getObjectsAt(new WorldPoint(BASE_X + 11, BASE_Y + 11, 0)).size());
+		assertTrue(index.getObjectsAt(new WorldPoint(BASE_X + 12, BASE_Y + 11, 0)).isEmpty());
+		assertEquals(Set.of(tree, otherTree), index.getObjectsInRegion(new WorldPoint(BASE_X, BASE_Y, 0).getRegionID()));
+
+		final GameObjectDespawned despawned = new GameObjectDespawned();
+		despawned.setGameObject(tree);
+		eventBus.post(despawned);
+
+		assertEquals(Set.of(otherTree), index.getObjects(1276));
+		assertTrue(index.getObjectsAt(new WorldPoint(BASE_X + 11, BASE_Y + 11, 0)).isEmpty());
+		assertEquals(Set.of(otherTree), index.getObjectsInRegion(new WorldPoint(BASE_X, BASE_Y, 0).getRegionID()));
+	}
+
+	@Test
+	public void testWallObject()
+	{
+		final WallObject door = mock(WallObject.class);
+		final WorldPoint location = new WorldPoint(BASE_X + 5, BASE_Y + 6, 1);
+		when(door.getId()).thenReturn(1530);
+		when(door.getWorldLocation()).thenReturn(location);
+
+		final WallObjectSpawned spawned = new WallObjectSpawned();
+		spawned.setWallObject(door);
+		eventBus.post(spawned);
+
+		assertEquals(Set.of(door), index.getObjects(1530));
+		assertEquals(1, index.getObjectsAt(location).size());
+	}
+
+	@Test
+	public void testSceneUnload()
+	{
+		final GameObject tree = gameObject(wv, 1276, 10, 10, 10, 10);
+		final GameObject boatObject = gameObject(boat, 1276, 1, 1, 1, 1);
+		spawn(tree);
+		spawn(boatObject);
+
+		final WorldViewUnloaded unloaded = new WorldViewUnloaded(boat);
+		eventBus.post(unloaded);
+		assertEquals(Set.of(tree), index.getObjects(1276));
+
+		final GameStateChanged loading = new GameStateChanged();
+		loading.setGameState(GameState.LOADING);
+		eventBus.post(loading);
+		assertEquals(0, index.size());
+		assertTrue(index.getObjectsAt(new WorldPoint(BASE_X + 10, BASE_Y + 10, 0)).isEmpty());
+	}
+
+	private void spawn(GameObject object)
+	{
+		final GameObjectSpawned spawned = new GameObjectSpawned();
+		spawned.setGameObject(object);
+		eventBus.post(spawned);
+	}
+
+	private static GameObject gameObject(WorldView wv, int id, int minX, int minY, int maxX, int maxY)
+	{
+		final GameObject object = mock(GameObject.class);
+		lenient().when(object.getId()).thenReturn(id);
+		lenient().when(object.getWorldView()).thenReturn(wv);
+		lenient().when(object.getPlane()).thenReturn(0);
+		lenient().when(object.getWorldLocation()).thenReturn(new WorldPoint(BASE_X + minX, BASE_Y + minY, 0));
+		lenient().when(object.getSceneMinLocation()).thenReturn(new Point(minX, minY));
+		lenient().when(object.getSceneMaxLocation()).thenReturn(new Point(maxX, maxY));
+		return object;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.hiscore;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HiscoreManagerTest
+{
+	@Mock
+	@Bind
+	private HiscoreClient hiscoreClient;
+
+	@Inject
+	private HiscoreManager hiscoreManager;
+
+	private final HiscoreResult result = new HiscoreResult("Zezima", ImmutableMap.of());
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	public void testConcurrentLookupsCoalesced() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		when(hiscoreClient.lookup("Zezima", HiscoreEndpoint.NORMAL)).thenAnswer(a ->
+		{
+			release.await();
+			return result;
+		});
+
+		CompletableFuture<HiscoreResult> first = CompletableFuture.supplyAsync(() -> lookup("Zezima"));
+		CompletableFuture<HiscoreResult> second = CompletableFuture.supplyAsync(() -> lookup("Zezima"));
+		CompletableFuture<HiscoreResult> refresh = hiscoreManager.refresh("Zezima", HiscoreEndpoint.NORMAL);
+
+		release.countDown();
+		assertSame(result, first.get(5, TimeUnit.SECONDS));
+		assertSame(result, second.get(5, TimeUnit.SECONDS));
+		assertSame(result, refresh.get(5, TimeUnit.SECONDS));
+
+		// cached
+		assertSame(result, hiscoreManager.lookup("Zezima", HiscoreEndpoint.NORMAL));
+		assertSame(result, hiscoreManager.lookupAsync("Zezima", HiscoreEndpoint.NORMAL));
+		verify(hiscoreClient, times(1)).lookup(anyString(), any(HiscoreEndpoint.class));
+	}
+
+	@Test
+	public void testNotFoundCached() throws Exception
+	{
+		assertNull(hiscoreManager.lookup("Nobody", HiscoreEndpoint.NORMAL));
+		assertNull(hiscoreManager.lookup("Nobody", HiscoreEndpoint.NORMAL));
+		verify(hiscoreClient, times(1)).lookup(anyString(), any(HiscoreEndpoint.class));
+	}
+
+	@Test
+	public void testFailureNotCached() throws Exception
+	{
+		when(hiscoreClient.lookup("Zezima", HiscoreEndpoint.NORMAL))
+			.thenThrow(new IOException("timeout"))
+			.thenReturn(result);
+
+		try
+		{
+			hiscoreManager.lookup("Zezima", HiscoreEndpoint.NORMAL);
+			fail();
+		}
+		catch (IOException ex)
+		{
+			// expected
+		}
+
+		// lookupAsync backs off after a failure, while a synchronous lookup retries
+		assertNull(hiscoreManager.lookupAsync("Zezima", HiscoreEndpoint.NORMAL));
+		assertSame(result, hiscoreManager.lookup("Zezima", HiscoreEndpoint.NORMAL));
+		verify(hiscoreClient, times(2)).lookup(anyString(), any(HiscoreEndpoint.class));
+	}
+
+	@Test
+	public void testLookupUncached() throws Exception
+	{
+		HiscoreResult updated = new HiscoreResult("Zezima", ImmutableMap.of());
+		when(hiscoreClient.lookup("Zezima", HiscoreEndpoint.NORMAL))
+			.thenReturn(result)
+			.thenReturn(updated);
+
+		assertSame(result, hiscoreManager.lookup("Zezima", HiscoreEndpoint.NORMAL));
+		assertSame(updated, hiscoreManager.lookupUncached("Zezima", HiscoreEndpoint.NORMAL));
+		// and the cache is updated
+		assertSame(updated, hiscoreManager.lookup("Zezima", HiscoreEndpoint.NORMAL));
+		verify(hiscoreClient, times(2)).lookup(anyString(), any(HiscoreEndpoint.class));
+	}
+
+	private HiscoreResult lookup(String username)
+	{
+		try
+		{
+			return hiscoreManager.lookup(username, HiscoreEndpoint.NORMAL);
+		}
+		catch (IOException ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -28,6 +28,7 @@ import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.inject.Binder;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.grapher.graphviz.GraphvizGrapher;
@@ -40,10 +41,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteModule;
@@ -55,6 +58,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
 import okhttp3.OkHttpClient;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Rule;
@@ -216,6 +220,111 @@ public class PluginManagerTest
 		}
 	}
 
+	@PluginDescriptor(name = "Root")
+	public static class RootPlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(name = "Middle")
+	@PluginDependency(RootPlugin.class)
+	public static class MiddlePlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(name = "Leaf")
+	@PluginDependency(MiddlePlugin.class)
+	public static class LeafPlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(name = "Joined")
+	@PluginDependency(RootPlugin.class)
+	@PluginDependency(LeafPlugin.class)
+	public static class JoinedPlugin extends Plugin
+	{
+	}
+
+	@PluginDescriptor(name = "Failing")
+	public static class FailingPlugin extends Plugin
+	{
+		public FailingPlugin()
+		{
+			throw new IllegalStateException("in plugin manager test");
+		}
+	}
+
+	@PluginDescriptor(name = "Dependent")
+	@PluginDependency(FailingPlugin.class)
+	public static class DependentPlugin extends Plugin
+	{
+	}
+
+	private static class UnexpectedError extends Error
+	{
+	}
+
+	@PluginDescriptor(name = "Unexpected")
+	public static class UnexpectedPlugin extends Plugin
+	{
+		@Override
+		public void configure(Binder binder)
+		{
+			// errors aren't wrapped by guice, so they escape instantiate
+			throw new UnexpectedError();
+		}
+	}
+
+	@Test
+	public void testDependencyOrder() throws Exception
+	{
+		PluginManager pluginManager = new PluginManager(false, false, null, null, null, null);
+		List<Integer> progress = new ArrayList<>();
+		Thread thread = Thread.currentThread();
+		List<Plugin> plugins = pluginManager.loadPlugins(
+			List.of(JoinedPlugin.class, LeafPlugin.class, MiddlePlugin.class, RootPlugin.class),
+			(loaded, total) ->
+			{
+				assertSame(thread, Thread.currentThread());
+				assertEquals(4, (int) total);
+				progress.add(loaded);
+			});
+
+		List<Class<?>> order = plugins.stream().map(Object::getClass).collect(Collectors.toList());
+		assertEquals(List.of(RootPlugin.class, MiddlePlugin.class, LeafPlugin.class, JoinedPlugin.class), order);
+		assertEquals(List.of(1, 2, 3, 4), progress);
+
+		// dependents are created in a child of their dependencies' injectors
+		Plugin root = plugins.get(0);
+		Plugin joined = plugins.get(3);
+		assertSame(root, plugins.get(1).getInjector().getInstance(RootPlugin.class));
+		assertSame(root, plugins.get(2).getInjector().getInstance(RootPlugin.class));
+		assertSame(root, joined.getInjector().getInstance(RootPlugin.class));
+		assertSame(plugins.get(2), joined.getInjector().getInstance(LeafPlugin.class));
+	}
+
+	@Test
+	public void testDependencyFailure() throws Exception
+	{
+		PluginManager pluginManager = new PluginManager(false, false, null, null, null, null);
+		List<Integer> progress = new ArrayList<>();
+		List<Plugin> plugins = pluginManager.loadPlugins(
+			List.of(DependentPlugin.class, FailingPlugin.class, RootPlugin.class),
+			(loaded, total) -> progress.add(loaded));
+
+		// the failure is logged, and takes its dependents with it
+		assertEquals(1, plugins.size());
+		assertTrue(plugins.get(0) instanceof RootPlugin);
+		assertEquals(List.of(1, 2, 3), progress);
+		assertEquals(plugins, List.copyOf(pluginManager.getPlugins()));
+	}
+
+	@Test(expected = UnexpectedError.class)
+	public void testUnexpectedException() throws Exception
+	{
+		PluginManager pluginManager = new PluginManager(false, false, null, null, null, null);
+		pluginManager.loadPlugins(List.of(UnexpectedPlugin.class, RootPlugin.class), null);
+	}
+
 	@Test
 	public void testTopologicalSort()
 	{
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.chatfilter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.gameval.ItemID;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class ChatFilterTest
+{
+	private static final int TERMS = 1000;
+	private static final int MESSAGES = 20_000;
+	private static final List<String> REGEXES = List.of(
+		"\\bw\\d{3}\\b",
+		"\\d+\\s*m\\s*gp",
+		"b+u+y+ing",
+		"(ha)+\\b",
+		"(\\w)\\1{3}",
+		"\\Qa+b\\E",
+		"^selling",
+		"[aeiou]{4}"
+	);
+
+	private static List<String> vocabulary;
+
+	@BeforeClass
+	public static void beforeClass() throws IllegalAccessException
+	{
+		// the words of the item names stand in for chat
+		Set<String> words = new LinkedHashSet<>();
+		for (Field field : ItemID.class.getFields())
+		{
+			if (Modifier.isStatic(field.getModifiers()) && field.getType() == int.class)
+			{
+				Collections.addAll(words, field.getName().toLowerCase().split("_"));
+			}
+		}
+		words.remove("");
+		vocabulary = new ArrayList<>(words);
+	}
+
+	@Test
+	public void testWords()
+	{
+		ChatFilter filter = ChatFilter.compile(List.of("aa", "hat", "that", "HAT", "ë"), Collections.emptyList());
+		assertNull(filter.match("nothing here"));
+		assertArrayEquals(new int[]{0, 4}, filter.match("That"));
+		// each word censors its own non-overlapping matches
+		assertArrayEquals(new int[]{1, 3}, filter.match("baaab"));
+		assertArrayEquals(new int[]{1, 5}, filter.match("baaaab"));
+		// only ascii case is ignored
+		assertNull(filter.match("Ë"));
+		assertArrayEquals(new int[]{0, 1}, filter.match("ë"));
+	}
+
+	@Test
+	public void testRegexes()
+	{
+		ChatFilter filter = ChatFilter.compile(Collections.emptyList(), List.of("(", "x{0}", "(a)\\1", "b+"));
+		// empty matches still count as a match
+		assertArrayEquals(new int[0], filter.match("zzz"));
+		assertArrayEquals(new int[]{0, 2, 3, 5}, filter.match("aacbb"));
+		assertTrue(ChatFilter.compile(Collections.emptyList(), List.of("^a", "b$")).matches("cab"));
+		assertFalse(ChatFilter.compile(Collections.emptyList(), List.of("^a", "b$")).matches("cabc"));
+	}
+
+	@Test
+	public void testCache()
+	{
+		ChatFilter filter = ChatFilter.compile(List.of("hat"), Collections.emptyList());
+		assertTrue(filter.matches("a hat"));
+		assertTrue(filter.matches("a hat"));
+		assertFalse(filter.matches("a cap"));
+		assertFalse(filter.matches("a cap"));
+		assertEquals(2, filter.getMatches());
+		assertEquals(2, filter.getCacheHits());
+	}
+
+	@Test
+	public void testMatchesPatterns()
+	{
+		List<String> words = terms();
+		List<Pattern> patterns = patterns(words);
+		ChatFilter filter = ChatFilter.compile(words, REGEXES);
+		for (String message : chat(new Random(1), 2000))
+		{
+			int[] expected = match(patterns, message);
+			assertArrayEquals(message, expected, filter.match(message));
+		}
+	}
+
+	@Test
+	@Ignore
+	public void benchmark()
+	{
+		List<String> words = terms();
+		List<Pattern> patterns = patterns(words);
+		List<String> chat = chat(new Random(2), MESSAGES);
+
+		long start = System.nanoTime();
+		ChatFilter filter = ChatFilter.compile(words, REGEXES);
+		long compileTime = System.nanoTime() - start;
+
+		int matched = 0;
+		start = System.nanoTime();
+		for (String message : chat)
+		{
+			if (match(patterns, message) != null)
+			{
+				++matched;
+			}
+		}
+		long patternTime = System.nanoTime() - start;
+
+		int filterMatched = 0;
+		start = System.nanoTime();
+		for (String message : chat)
+		{
+			if (filter.match(message) != null)
+			{
+				++filterMatched;
+			}
+		}
+		long filterTime = System.nanoTime() - start;
+
+		assertEquals(matched, filterMatched);
+		log.info("{} terms, {} messages, {} matched: compile {}us, patterns {}ns/message, filter {}ns/message ({} cache hits, max {}us)",
+			words.size() + REGEXES.size(), chat.size(), matched, compileTime / 1000,
+			patternTime / chat.size(), filterTime / chat.size(), filter.getCacheHits(), filter.getMaxMatchTime() / 1000);
+	}
+
+	private static List<String> terms()
+	{
+		List<String> terms = new ArrayList<>(TERMS);
+		for (int i = 0; terms.size() < TERMS; i += 7)
+		{
+			terms.add(vocabulary.get(i % vocabulary.size()));
+		}
+		return terms;
+	}
+
+	// public chat is mostly short, and often repeated
+	private static List<String> chat(Random random, int count)
+	{
+		List<String> chat = new ArrayList<>(count);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; ++i)
+		{
+			if (i > 0 && random.nextInt(4) == 0)
+			{
+				chat.add(chat.get(random.nextInt(Math.min(i, 50)) + Math.max(0, i - 50)));
+				continue;
+			}
+
+			int length = 2 + random.nextInt(10);
+			for (int w = 0; w < length; ++w)
+			{
+				if (w > 0)
+				{
+					sb.append(' ');
+				}
+				String word = vocabulary.get(random.nextInt(vocabulary.size()));
+				sb.append(random.nextInt(8) == 0 ? word.toUpperCase() : word);
+			}
+			chat.add(sb.toString());
+			sb.setLength(0);
+		}
+		return chat;
+	}
+
+	private static List<Pattern> patterns(List<String> words)
+	{
+		List<Pattern> patterns = new ArrayList<>();
+		for (String word : words)
+		{
+			patterns.add(Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE));
+		}
+		for (String regex : REGEXES)
+		{
+			patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+		}
+		return patterns;
+	}
+
+	// each pattern applied separately, as the plugin used to
+	private static int[] match(List<Pattern> patterns, String text)
+	{
+		boolean[] matched = new boolean[text.length()];
+		boolean found = false;
+		for (Pattern pattern : patterns)
+		{
+			Matcher m = pattern.matcher(text);
+			while (m.find())
+			{
+				Arrays.fill(matched, m.start(), m.end(), true);
+				found = true;
+			}
+		}
+
+		if (!found)
+		{
+			return null;
+		}
+
+		List<Integer> ranges = new ArrayList<>();
+		for (int i = 0; i < matched.length; ++i)
+		{
+			if (matched[i] && (i == 0 || !matched[i - 1]))
+			{
+				ranges.add(i);
+			}
+			if (matched[i] && (i + 1 == matched.length || !matched[i + 1]))
+			{
+				ranges.add(i + 1);
+			}
+		}
+		return ranges.stream().mapToInt(Integer::intValue).toArray();
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.cluescrolls;
+
+import java.util.Collections;
+import java.util.List;
+import net.runelite.api.Client;
+import net.runelite.api.DecorativeObject;
+import net.runelite.api.GameObject;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Point;
+import net.runelite.api.WallObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.game.SceneObjectIndex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClueObjectTrackerTest
+{
+	private static final int BASE_X = 3200;
+	private static final int BASE_Y = 3200;
+	private static final int CHEST = 100;
+	private static final WorldPoint TARGET = new WorldPoint(BASE_X + 10, BASE_Y + 20, 0);
+
+	@Mock
+	private Client client;
+
+	@Mock
+	private WorldView wv;
+
+	@Mock
+	private ObjectComposition plainComposition;
+
+	@Mock
+	private SceneObjectIndex sceneObjectIndex;
+
+	private ClueObjectTracker tracker;
+
+	@Before
+	public void before()
+	{
+		lenient().when(client.getPlane()).thenReturn(0);
+		lenient().when(client.getTopLevelWorldView()).thenReturn(wv);
+		lenient().when(client.getObjectDefinition(anyInt())).thenReturn(plainComposition);
+		lenient().when(wv.isTopLevel()).thenReturn(true);
+		lenient().when(wv.getBaseX()).thenReturn(BASE_X);
+		lenient().when(wv.getBaseY()).thenReturn(BASE_Y);
+
+		tracker = new ClueObjectTracker(client, sceneObjectIndex);
+	}
+
+	@Test
+	public void testScanOnlyWhenTargetsChange()
+	{
+		final GameObject chest = gameObject(CHEST, 10, 20, 10, 20);
+		final WallObject wall = mock(WallObject.class);
+		when(sceneObjectIndex.getObjectsAt(TARGET)).thenReturn(List.of(wall, chest));
+
+		tracker.setTargets(new WorldPoint[]{TARGET}, new int[]{CHEST});
+		assertEquals(List.of(chest), tracker.getObjects());
+
+		// the same clue on later ticks does not touch the scene or rebuild the list
+		final List<?> objects = tracker.getObjects();
+		for (int i = 0; i < 10; ++i)
+		{
+			tracker.setTargets(new WorldPoint[]{new WorldPoint(TARGET.getX(), TARGET.getY(), 0)}, new int[]{CHEST});
+			assertSame(objects, tracker.getObjects());
+		}
+		verify(sceneObjectIndex, times(1)).getObjectsAt(TARGET);
+
+		tracker.clear();
+		assertTrue(tracker.getObjects().isEmpty());
+	}
+
+	@Test
+	public void testSpawnAndDespawn()
+	{
+		tracker.setTargets(new WorldPoint[]{TARGET}, new int[]{CHEST});
+		assertTrue(tracker.getObjects().isEmpty());
+
+		// a 2x2 object whose origin is south west of the target still covers it
+		final GameObject chest = gameObject(CHEST, 9, 19, 10, 20);
+		final GameObject elsewhere = gameObject(CHEST, 30, 30, 30, 30);
+		tracker.objectSpawned(chest);
+		tracker.objectSpawned(elsewhere);
+		assertEquals(List.of(chest), tracker.getObjects());
+
+		tracker.objectDespawned(elsewhere);
+		assertEquals(List.of(chest), tracker.getObjects());
+
+		tracker.objectDespawned(chest);
+		assertTrue(tracker.getObjects().isEmpty());
+	}
+
+	@Test
+	public void testDecorativeObjectAndPlane()
+	{
+		final DecorativeObject decoration = mock(DecorativeObject.class);
+		when(decoration.getId()).thenReturn(CHEST);
+		when(decoration.getWorldView()).thenReturn(wv);
+		when(decoration.getWorldLocation()).thenReturn(TARGET);
+		when(decoration.getPlane()).thenReturn(0);
+
+		tracker.setTargets(new WorldPoint[]{TARGET}, new int[]{CHEST});
+		tracker.objectSpawned(decoration);
+		assertEquals(List.of(decoration), tracker.getObjects());
+
+		// objects are only highlighted on the player's plane
+		when(client.getPlane()).thenReturn(1);
+		assertTrue(tracker.getObjects().isEmpty());
+		when(client.getPlane()).thenReturn(0);
+		assertEquals(List.of(decoration), tracker.getObjects());
+
+		tracker.sceneLoading();
+		assertTrue(tracker.getObjects().isEmpty());
+	}
+
+	@Test
+	public void testImpostorChangesOnVarbit()
+	{
+		final int multiloc = 200;
+		final ObjectComposition multilocComposition = mock(ObjectComposition.class);
+		final ObjectComposition closed = mock(ObjectComposition.class);
+		final ObjectComposition open = mock(ObjectComposition.class);
+		when(client.getObjectDefinition(multiloc)).thenReturn(multilocComposition);
+		when(multilocComposition.getImpostorIds()).thenReturn(new int[]{CHEST - 1, CHEST});
+		when(multilocComposition.getImpostor()).thenReturn(closed, open);
+		when(closed.getId()).thenReturn(CHEST - 1);
+		when(open.getId()).thenReturn(CHEST);
+
+		tracker.setTargets(new WorldPoint[]{TARGET}, new int[]{CHEST});
+		final GameObject object = gameObject(multiloc, 10, 20, 10, 20);
+		tracker.objectSpawned(object);
+		assertTrue(tracker.getObjects().isEmpty());
+		assertTrue(tracker.getObjects().isEmpty());
+
+		tracker.varbitChanged();
+		assertEquals(Collections.singletonList(object), tracker.getObjects());
+	}
+
+	private GameObject gameObject(int id, int minX, int minY, int maxX, int maxY)
+	{
+		final GameObject object = mock(GameObject.class);
+		lenient().when(object.getId()).thenReturn(id);
+		lenient().when(object.getWorldView()).thenReturn(wv);
+		lenient().when(object.getPlane()).thenReturn(0);
+		lenient().when(object.getSceneMinLocation()).thenReturn(new Point(minX, minY));
+		lenient().when(object.getSceneMaxLocation()).thenReturn(new Point(maxX, maxY));
+		return object;
+	}
+}
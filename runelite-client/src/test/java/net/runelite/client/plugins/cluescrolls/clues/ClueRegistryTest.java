@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.cluescrolls.clues;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.runelite.api.Client;
+import net.runelite.api.gameval.VarbitID;
+import net.runelite.client.plugins.cluescrolls.ClueScrollPlugin;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClueRegistryTest
+{
+	@Mock
+	private ClueScrollPlugin plugin;
+
+	@Mock
+	private Client client;
+
+	@Before
+	public void before()
+	{
+		when(plugin.getClient()).thenReturn(client);
+	}
+
+	@Test
+	public void forTextMatchesLinearSearch()
+	{
+		final List<String> texts = new ArrayList<>();
+		for (AnagramClue clue : AnagramClue.CLUES)
+		{
+			if (clue.getText() != null)
+			{
+				texts.add(AnagramClue.ANAGRAM_TEXT + clue.getText());
+			}
+			texts.add(clue.getQuestion());
+		}
+		CipherClue.CLUES.forEach(clue ->
+		{
+			texts.add(clue.getText());
+			texts.add(clue.getQuestion());
+		});
+		CrypticClue.CLUES.forEach(clue ->
+		{
+			texts.add(clue.getText());
+			texts.add(clue.getQuestionText());
+		});
+		EmoteClue.CLUES.forEach(clue -> texts.add(clue.getText()));
+		FairyRingClue.CLUES.forEach(clue -> texts.add(clue.getText()));
+		FaloTheBardClue.CLUES.forEach(clue -> texts.add(clue.getText()));
+
+		for (String text : texts)
+		{
+			if (text != null)
+			{
+				final String lower = text.toLowerCase();
+				assertSame(text, linearForText(lower), ClueRegistry.forText(plugin, lower));
+			}
+		}
+		assertNull(ClueRegistry.forText(plugin, ""));
+	}
+
+	@Test
+	public void forTextIgnoresCaseAndWhitespace()
+	{
+		final CrypticClue clue = CrypticClue.CLUES.get(0);
+		assertSame(clue, ClueRegistry.forText(plugin, "  " + clue.getText().toUpperCase().replace(" ", "   ") + "\n"));
+	}
+
+	@Test
+	public void forTextHotCold()
+	{
+		assertSame(HotColdClue.MASTER_CLUE, ClueRegistry.forText(plugin, HotColdClue.MASTER_CLUE.getText()));
+	}
+
+	@Test
+	public void forTextDynamicAnagram()
+	{
+		when(client.getVarbitValue(VarbitID.MM2_SLAYER_MASTER)).thenReturn(0);
+		final ClueScroll nieve = ClueRegistry.forText(plugin, AnagramClue.ANAGRAM_TEXT + "I EVEN");
+
+		when(client.getVarbitValue(VarbitID.MM2_SLAYER_MASTER)).thenReturn(1);
+		assertNull(ClueRegistry.forText(plugin, AnagramClue.ANAGRAM_TEXT + "I EVEN"));
+		assertSame(nieve, ClueRegistry.forText(plugin, AnagramClue.ANAGRAM_TEXT + "VESTE"));
+	}
+
+	@Test
+	public void forItemIdMatchesLinearSearch()
+	{
+		final Set<Integer> itemIds = new LinkedHashSet<>();
+		MapClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		MusicClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		CoordinateClue.CLUES.values().forEach(clue -> itemIds.add(clue.getItemId()));
+		AnagramClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		CipherClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		CrypticClue.CLUES.forEach(clue -> itemIds.addAll(clue.getItemIds()));
+		EmoteClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		FairyRingClue.CLUES.forEach(clue -> itemIds.add(clue.getItemId()));
+		itemIds.remove(-1);
+
+		for (int itemId : itemIds)
+		{
+			assertSame(String.valueOf(itemId), linearForItemId(itemId), ClueRegistry.forItemId(itemId));
+		}
+		assertNull(ClueRegistry.forItemId(-1));
+	}
+
+	@Test
+	public void findNearest()
+	{
+		final CrypticClue clue = CrypticClue.forText("Talk to the Slayer Master in Burthorpe.");
+		// a dropped letter and changed punctuation
+		assertSame(clue, ClueRegistry.findNearest("talk to the slayer mastr in burthorpe!"));
+
+		assertNull(ClueRegistry.findNearest("talk to the bartender in burthorpe"));
+		assertNull(ClueRegistry.findNearest(AnagramClue.ANAGRAM_TEXT + "NOT A CLUE"));
+		assertNull(ClueRegistry.findNearest(""));
+	}
+
+	@Test
+	public void crypticForText()
+	{
+		for (CrypticClue clue : CrypticClue.CLUES)
+		{
+			assertEquals(clue.getText(), ClueRegistry.crypticForText(clue.getText()).getText());
+		}
+		assertNull(ClueRegistry.crypticForText(EmoteClue.CLUES.get(0).getText()));
+	}
+
+	private ClueScroll linearForText(String text)
+	{
+		ClueScroll clue = AnagramClue.forText(plugin, text);
+		if (clue == null)
+		{
+			clue = CipherClue.forText(text);
+		}
+		if (clue == null)
+		{
+			clue = CrypticClue.forText(text);
+		}
+		if (clue == null)
+		{
+			clue = EmoteClue.forText(text);
+		}
+		if (clue == null)
+		{
+			clue = FairyRingClue.forText(text);
+		}
+		if (clue == null)
+		{
+			clue = FaloTheBardClue.forText(text);
+		}
+		return clue;
+	}
+
+	private static ClueScroll linearForItemId(int itemId)
+	{
+		ClueScroll clue = MapClue.forItemId(itemId);
+		if (clue == null)
+		{
+			clue = MusicClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = CoordinateClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = AnagramClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = CipherClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = CrypticClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = EmoteClue.forItemId(itemId);
+		}
+		if (clue == null)
+		{
+			clue = FairyRingClue.forItemId(itemId);
+		}
+		return clue;
+	}
+}
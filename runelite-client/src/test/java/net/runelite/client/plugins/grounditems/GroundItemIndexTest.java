@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.grounditems;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.runelite.api.ItemLayer;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GroundItemIndexTest
+{
+	private final WorldView topLevel = worldView(true);
+	private final GroundItemIndex index = new GroundItemIndex();
+
+	@Test
+	public void testAddRemove()
+	{
+		WorldPoint wp = new WorldPoint(3200, 3200, 0);
+		GroundItem a = item(1, topLevel), b = item(2, topLevel);
+		index.add(wp, a);
+		index.add(wp, b);
+
+		assertSame(a, index.get(wp, 1));
+		assertSame(b, index.get(wp, 2));
+		assertEquals(List.of(a, b), index.getItems(wp));
+
+		index.remove(wp, 1);
+		assertNull(index.get(wp, 1));
+		assertEquals(List.of(b), index.getItems(wp));
+
+		index.remove(wp, 2);
+		assertTrue(index.getItems(wp).isEmpty());
+		assertTrue(index.getWorldPoints().isEmpty());
+		assertEquals(0, query(wp, 20).size());
+	}
+
+	@Test
+	public void testQuery()
+	{
+		WorldPoint near = new WorldPoint(3205, 3190, 0);
+		WorldPoint far = new WorldPoint(3300, 3200, 0);
+		WorldPoint otherPlane = new WorldPoint(3200, 3200, 1);
+		WorldPoint boat = new WorldPoint(10, 10, 0);
+		index.add(near, item(1, topLevel));
+		index.add(far, item(1, topLevel));
+		index.add(otherPlane, item(1, topLevel));
+		index.add(boat, item(1, worldView(false)));
+
+		List<WorldPoint> found = query(new WorldPoint(3200, 3200, 0), 20);
+		assertEquals(2, found.size());
+		assertTrue(found.contains(near));
+		assertTrue(found.contains(boat));
+
+		assertEquals(4, query(null, 20).size());
+
+		index.removeIf(g -> g.getItemLayer().getWorldView() != topLevel);
+		assertEquals(List.of(near), query(new WorldPoint(3200, 3200, 0), 20));
+	}
+
+	private List<WorldPoint> query(WorldPoint center, int radius)
+	{
+		List<GroundItemIndex.TileItems> tiles = new ArrayList<>();
+		index.query(center, radius, tiles);
+		return tiles.stream().map(GroundItemIndex.TileItems::getWorldPoint).collect(Collectors.toList());
+	}
+
+	private static WorldView worldView(boolean topLevel)
+	{
+		WorldView wv = mock(WorldView.class);
+		when(wv.isTopLevel()).thenReturn(topLevel);
+		return wv;
+	}
+
+	private static GroundItem item(int id, WorldView wv)
+	{
+		ItemLayer layer = mock(ItemLayer.class);
+		when(layer.getWorldView()).thenReturn(wv);
+		return GroundItem.builder()
+			.id(id)
+			.itemLayer(layer)
+			.build();
+	}
+}
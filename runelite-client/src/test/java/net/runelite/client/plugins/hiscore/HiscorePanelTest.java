@@ -26,7 +26,7 @@ package net.runelite.client.plugins.hiscore;
 
 import net.runelite.api.Client;
 import net.runelite.client.game.SpriteManager;
-import net.runelite.client.hiscore.HiscoreClient;
+import net.runelite.client.hiscore.HiscoreManager;
 import static net.runelite.client.plugins.hiscore.HiscorePanel.formatLevel;
 import net.runelite.client.hiscore.HiscoreEndpoint;
 import static org.junit.Assert.assertEquals;
@@ -42,7 +42,7 @@ public class HiscorePanelTest
 		HiscorePlugin plugin = mock(HiscorePlugin.class);
 		when(plugin.getWorldEndpoint()).thenReturn(HiscoreEndpoint.NORMAL);
 		new HiscorePanel(mock(Client.class), plugin, mock(HiscoreConfig.class),
-			mock(NameAutocompleter.class), mock(HiscoreClient.class), mock(SpriteManager.class));
+			mock(NameAutocompleter.class), mock(HiscoreManager.class), mock(SpriteManager.class));
 	}
 
 	@Test
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.loottracker;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import net.runelite.http.api.loottracker.LootRecordType;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LootStoreTest
+{
+	private static final String PROFILE = "rsprofile.abc";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Instant now = Instant.now();
+	private final Instant expiry = now.minus(Duration.ofDays(365));
+	private LootStore store;
+
+	@Before
+	public void before()
+	{
+		store = new LootStore(folder.getRoot());
+		store.open(PROFILE, expiry);
+	}
+
+	@Test
+	public void testAggregate()
+	{
+		store.add(List.of(loot("Goblin", 1, now, 526, 1, 995, 5)));
+		store.add(List.of(loot("Goblin", 2, now, 995, 10, 1139, 1), loot("Cow", 1, now, 526, 1)));
+
+		ConfigLoot goblin = store.get(LootRecordType.NPC, "Goblin");
+		assertEquals(3, goblin.kills);
+		assertArrayEquals(new int[]{526, 1, 995, 15, 1139, 1}, goblin.drops);
+
+		// reopening indexes the log again
+		store.open(PROFILE, expiry);
+		goblin = store.get(LootRecordType.NPC, "Goblin");
+		assertEquals(3, goblin.kills);
+		assertArrayEquals(new int[]{526, 1, 995, 15, 1139, 1}, goblin.drops);
+		assertEquals(1, store.get(LootRecordType.NPC, "Cow").kills);
+	}
+
+	@Test
+	public void testRemove()
+	{
+		store.add(List.of(loot("Goblin", 1, now, 526, 1)));
+		store.remove(LootRecordType.NPC, "Goblin");
+		assertNull(store.get(LootRecordType.NPC, "Goblin"));
+
+		store.add(List.of(loot("Goblin", 1, now, 995, 2)));
+		store.open(PROFILE, expiry);
+		assertArrayEquals(new int[]{995, 2}, store.get(LootRecordType.NPC, "Goblin").drops);
+
+		store.clear();
+		assertTrue(store.isEmpty());
+		store.open(PROFILE, expiry);
+		assertTrue(store.isEmpty());
+	}
+
+	@Test
+	public void testRecentAndExpiry()
+	{
+		store.add(List.of(
+			loot("Ancient", 1, now.minus(Duration.ofDays(400)), 526, 1),
+			loot("Old", 1, now.minus(Duration.ofDays(2)), 526, 1),
+			loot("New", 1, now, 526, 1)));
+
+		store.open(PROFILE, expiry);
+		assertNull(store.get(LootRecordType.NPC, "Ancient"));
+
+		List<ConfigLoot> recent = store.getRecent(1024);
+		assertEquals(2, recent.size());
+		assertEquals("Old", recent.get(0).name);
+		assertEquals("New", recent.get(1).name);
+
+		recent = store.getRecent(1);
+		assertEquals(1, recent.size());
+		assertEquals("New", recent.get(0).name);
+	}
+
+	@Test
+	public void testCompaction()
+	{
+		for (int i = 0; i < 1000; ++i)
+		{
+			store.add(List.of(loot("Goblin", 1, now, 526, 1, 995 + i % 3, 1)));
+		}
+
+		File log = new File(folder.getRoot(), PROFILE + ".log");
+		long before = log.length();
+		store.open(PROFILE, expiry);
+		assertTrue(log.length() < before / 100);
+
+		ConfigLoot goblin = store.get(LootRecordType.NPC, "Goblin");
+		assertEquals(1000, goblin.kills);
+		assertArrayEquals(new int[]{526, 1000, 995, 334, 996, 333, 997, 333}, goblin.drops);
+	}
+
+	@Test
+	public void testTruncatedRecord() throws IOException
+	{
+		store.add(List.of(loot("Goblin", 1, now, 526, 1)));
+		store.add(List.of(loot("Goblin", 1, now, 995, 1)));
+
+		File log = new File(folder.getRoot(), PROFILE + ".log");
+		try (RandomAccessFile raf = new RandomAccessFile(log, "rw"))
+		{
+			raf.setLength(raf.length() - 3);
+		}
+
+		store.open(PROFILE, expiry);
+		ConfigLoot goblin = store.get(LootRecordType.NPC, "Goblin");
+		assertEquals(1, goblin.kills);
+		assertArrayEquals(new int[]{526, 1}, goblin.drops);
+
+		// appends continue after the last good record
+		store.add(List.of(loot("Goblin", 1, now, 995, 1)));
+		store.open(PROFILE, expiry);
+		assertEquals(2, store.get(LootRecordType.NPC, "Goblin").kills);
+	}
+
+	@Test
+	public void testUnknownRecordType() throws IOException
+	{
+		store.add(List.of(loot("Goblin", 1, now, 526, 1)));
+
+		// a record written by a newer client with a type this one doesn't know
+		File log = new File(folder.getRoot(), PROFILE + ".log");
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(log, true)))
+		{
+			out.write(0);
+			out.writeUTF("FUTURE_TYPE");
+			out.writeUTF("Something");
+			out.writeLong(now.toEpochMilli());
+			out.writeLong(now.toEpochMilli());
+			out.writeInt(1);
+			out.writeInt(1);
+			out.writeInt(995);
+			out.writeInt(10);
+		}
+		store.add(List.of(loot("Cow", 1, now, 526, 1)));
+		final long length = log.length();
+
+		store.open(PROFILE, expiry);
+		assertEquals(length, log.length());
+		assertEquals(1, store.get(LootRecordType.NPC, "Cow").kills);
+		assertEquals(2, store.getRecent(1024).size());
+
+		// and survives compaction
+		for (int i = 0; i < 300; ++i)
+		{
+			store.add(List.of(loot("Cow", 1, now, 526, 1)));
+		}
+		store.open(PROFILE, expiry);
+		assertTrue(log.length() < length * 2);
+		assertTrue(new String(Files.readAllBytes(log.toPath()), StandardCharsets.UTF_8).contains("FUTURE_TYPE"));
+		assertEquals(301, store.get(LootRecordType.NPC, "Cow").kills);
+	}
+
+	@Test
+	public void testCorruptRecord() throws IOException
+	{
+		store.add(List.of(loot("Goblin", 1, now, 526, 1)));
+		File log = new File(folder.getRoot(), PROFILE + ".log");
+		final long length = log.length();
+		try (FileOutputStream out = new FileOutputStream(log, true))
+		{
+			out.write(new byte[]{42, 1, 2, 3});
+		}
+
+		store.open(PROFILE, expiry);
+		assertEquals(length, log.length());
+		assertEquals(1, store.get(LootRecordType.NPC, "Goblin").kills);
+	}
+
+	@Test
+	public void testImported()
+	{
+		store.add(List.of(loot("Goblin", 1, now, 995, 1)));
+		ConfigLoot goblin = loot("Goblin", 2, now, 526, 2);
+		assertTrue(store.addImported(Map.of("drops_NPC_Goblin", goblin)));
+		assertTrue(store.isImported("drops_NPC_Goblin", goblin));
+		assertEquals(3, store.get(LootRecordType.NPC, "Goblin").kills);
+
+		// the marker is read back, and kept through compaction
+		store.open(PROFILE, expiry);
+		assertTrue(store.isImported("drops_NPC_Goblin", goblin));
+		for (int i = 0; i < 300; ++i)
+		{
+			store.add(List.of(loot("Cow", 1, now, 526, 1)));
+		}
+		store.open(PROFILE, expiry);
+		assertTrue(store.isImported("drops_NPC_Goblin", goblin));
+		assertEquals(3, store.get(LootRecordType.NPC, "Goblin").kills);
+
+		// the key updated by another client replaces the loot imported from it
+		ConfigLoot updated = loot("Goblin", 3, now.plusSeconds(1), 526, 3);
+		assertFalse(store.isImported("drops_NPC_Goblin", updated));
+		assertTrue(store.addImported(Map.of("drops_NPC_Goblin", updated)));
+		assertFalse(store.isImported("drops_NPC_Goblin", goblin));
+
+		ConfigLoot loaded = store.get(LootRecordType.NPC, "Goblin");
+		assertEquals(4, loaded.kills);
+		assertArrayEquals(new int[]{995, 1, 526, 3}, loaded.drops);
+
+		store.open(PROFILE, expiry);
+		assertTrue(store.isImported("drops_NPC_Goblin", updated));
+		assertEquals(4, store.get(LootRecordType.NPC, "Goblin").kills);
+	}
+
+	private static ConfigLoot loot(String name, int kills, Instant time, int... drops)
+	{
+		ConfigLoot loot = new ConfigLoot(LootRecordType.NPC, name);
+		loot.kills = kills;
+		loot.first = time;
+		loot.last = time;
+		for (int i = 0; i < drops.length; i += 2)
+		{
+			loot.add(drops[i], drops[i + 1]);
+		}
+		return loot;
+	}
+}
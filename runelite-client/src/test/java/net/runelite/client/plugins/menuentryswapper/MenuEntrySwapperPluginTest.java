@@ -28,7 +28,11 @@ import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.KeyCode;
 import net.runelite.api.Menu;
@@ -37,6 +41,7 @@ import net.runelite.api.MenuEntry;
 import net.runelite.api.NPC;
 import net.runelite.api.NPCComposition;
 import net.runelite.api.ObjectComposition;
+import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.PostMenuSort;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.config.ConfigManager;
@@ -45,6 +50,7 @@ import net.runelite.client.menus.TestMenuEntry;
 import org.junit.After;
 import static org.junit.Assert.assertArrayEquals;
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -57,9 +63,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
+@Slf4j
 @RunWith(MockitoJUnitRunner.class)
 public class MenuEntrySwapperPluginTest
 {
@@ -385,4 +393,132 @@ public class MenuEntrySwapperPluginTest
 			menu("Last-destination (AIQ)", "Fairy ring", MenuAction.GAME_OBJECT_SECOND_OPTION),
 		}, argumentCaptor.getValue());
 	}
-}
\ No newline at end of file
+
+	@Test
+	@Ignore
+	public void benchmark()
+	{
+		// mock invocations are far slower than the plugin itself, so the client, config, menu and compositions
+		// are plain proxies
+		MenuEntrySwapperConfig benchmarkConfig = proxy(MenuEntrySwapperConfig.class, (method, args) ->
+			method.equals("swapBank") || method.equals("swapTrade") || method.equals("swapQuick") ? true : null);
+		ConfigManager benchmarkConfigManager = mock(ConfigManager.class, withSettings().stubOnly());
+		Menu benchmarkMenu = proxy(Menu.class, (method, args) ->
+		{
+			switch (method)
+			{
+				case "getMenuEntries":
+					return Arrays.copyOf(entries, entries.length);
+				case "setMenuEntries":
+					entries = (MenuEntry[]) args[0];
+					return null;
+				default:
+					return null;
+			}
+		});
+		ObjectComposition objectComposition = proxy(ObjectComposition.class, (method, args) -> null);
+		NPCComposition npcComposition = proxy(NPCComposition.class, (method, args) -> null);
+		NPC banker = proxy(NPC.class, (method, args) -> "getTransformedComposition".equals(method) ? npcComposition : null);
+		Client benchmarkClient = proxy(Client.class, (method, args) ->
+		{
+			switch (method)
+			{
+				case "getMenu":
+					return benchmarkMenu;
+				case "getMenuEntries":
+					return Arrays.copyOf(entries, entries.length);
+				case "getObjectDefinition":
+					return objectComposition;
+				default:
+					return null;
+			}
+		});
+
+		MenuEntrySwapperPlugin plugin = Guice.createInjector(binder ->
+		{
+			binder.bind(Client.class).toInstance(benchmarkClient);
+			binder.bind(ConfigManager.class).toInstance(benchmarkConfigManager);
+			binder.bind(ItemManager.class).toInstance(itemManager);
+			binder.bind(ChatMessageManager.class).toInstance(chatMessageManager);
+			binder.bind(MenuEntrySwapperConfig.class).toInstance(benchmarkConfig);
+		}).getInstance(MenuEntrySwapperPlugin.class);
+		plugin.startUp();
+
+		// a crowded menu in a bank: bankers, players, ground items and bank booths
+		List<MenuEntry> crowded = new ArrayList<>();
+		crowded.add(menu("Cancel", "", MenuAction.CANCEL));
+		for (int i = 0; i < 3; ++i)
+		{
+			crowded.add(menu("Examine", "<col=ffff>Bank booth", MenuAction.EXAMINE_OBJECT));
+			crowded.add(menu("Collect", "<col=ffff>Bank booth", MenuAction.GAME_OBJECT_THIRD_OPTION));
+			crowded.add(menu("Bank", "<col=ffff>Bank booth", MenuAction.GAME_OBJECT_SECOND_OPTION));
+		}
+		for (int i = 0; i < 5; ++i)
+		{
+			crowded.add(menu("Examine", "<col=ff9040>Bones", MenuAction.EXAMINE_ITEM_GROUND));
+			crowded.add(menu("Take", "<col=ff9040>Bones", MenuAction.GROUND_ITEM_THIRD_OPTION));
+		}
+		crowded.add(menu("Walk here", "", MenuAction.WALK));
+		for (int i = 0; i < 4; ++i)
+		{
+			String player = "<col=ffffff>Player " + i + "<col=ff00>  (level-126)";
+			crowded.add(menu("Report", player, MenuAction.RUNELITE_PLAYER));
+			crowded.add(menu("Trade with", player, MenuAction.PLAYER_FOURTH_OPTION));
+			crowded.add(menu("Follow", player, MenuAction.PLAYER_THIRD_OPTION));
+		}
+		for (int i = 0; i < 4; ++i)
+		{
+			crowded.add(menu("Examine", "<col=ffff00>Banker", MenuAction.EXAMINE_NPC));
+			crowded.add(menu("Collect", "<col=ffff00>Banker", MenuAction.NPC_FOURTH_OPTION));
+			crowded.add(menu("Bank", "<col=ffff00>Banker", MenuAction.NPC_THIRD_OPTION));
+			crowded.add(menu("Talk-to", "<col=ffff00>Banker", MenuAction.NPC_FIRST_OPTION));
+		}
+		crowded.forEach(e -> ((TestMenuEntry) e).setActor(banker));
+		MenuEntry[] menuEntries = crowded.toArray(new MenuEntry[0]);
+
+		final int warmup = 20_000, iterations = 100_000;
+		long time = 0;
+		for (int i = 0; i < warmup + iterations; ++i)
+		{
+			entries = menuEntries.clone();
+			long start = System.nanoTime();
+			plugin.onPostMenuSort(new PostMenuSort());
+			plugin.onClientTick(new ClientTick());
+			if (i >= warmup)
+			{
+				time += System.nanoTime() - start;
+			}
+		}
+		plugin.shutDown();
+
+		log.info("{} entries: {}ns per menu sort and client tick", menuEntries.length, time / iterations);
+	}
+
+	private interface ProxyHandler
+	{
+		Object invoke(String method, Object[] args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, ProxyHandler handler)
+	{
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+		{
+			Object value = handler.invoke(method.getName(), args);
+			if (value == null && method.getReturnType().isPrimitive())
+			{
+				Class<?> returnType = method.getReturnType();
+				return returnType == boolean.class ? Boolean.FALSE
+					: returnType == void.class ? null
+					: returnType == long.class ? (Object) 0L
+					: returnType == float.class ? (Object) 0f
+					: returnType == double.class ? (Object) 0d
+					: returnType == byte.class ? (Object) (byte) 0
+					: returnType == short.class ? (Object) (short) 0
+					: returnType == char.class ? (Object) (char) 0
+					: (Object) 0;
+			}
+			return value;
+		});
+	}
+}
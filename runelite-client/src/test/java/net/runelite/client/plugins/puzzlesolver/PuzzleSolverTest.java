@@ -25,17 +25,32 @@
  */
 package net.runelite.client.plugins.puzzlesolver;
 
+import java.io.File;
+import java.io.IOException;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.PatternDatabase;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
-import org.junit.Test;
+import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.PackedIDAStar;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class PuzzleSolverTest
 {
+	@ClassRule
+	public static final TemporaryFolder folder = new TemporaryFolder();
+
+	private static File patternDatabaseFile;
+	private static PatternDatabase patternDatabase;
+
 	private static final PuzzleState[] START_STATES =
 	{
 		new PuzzleState(new int[]{0, 11, 1, 3, 4, 5, 12, 2, 7, 9, 6, 20, 18, 16, 8, 15, 22, 10, 14, 13, 21, -1, 17, 23, 19}),
@@ -136,6 +151,14 @@ public class PuzzleSolverTest
 
 	private static final int[] FINISHED_STATE = new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, -1};
 
+	@BeforeClass
+	public static void buildPatternDatabase() throws IOException
+	{
+		patternDatabaseFile = new File(folder.newFolder(), "puzzle.pdb");
+		patternDatabase = new PatternDatabase(patternDatabaseFile);
+		patternDatabase.getTables();
+	}
+
 	@Test
 	public void testSolverMM()
 	{
@@ -163,4 +186,47 @@ public class PuzzleSolverTest
 			assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
 		}
 	}
+
+	@Test
+	public void testPackedSolver()
+	{
+		ManhattanDistance manhattanDistance = new ManhattanDistance();
+		for (PuzzleState state : START_STATES)
+		{
+			assertTrue(patternDatabase.computeValue(state) >= manhattanDistance.computeValue(state));
+
+			PuzzleSolver solver = new PuzzleSolver(new IDAStar(manhattanDistance), state);
+			solver.run();
+
+			PuzzleSolver packedSolver = new PuzzleSolver(new PackedIDAStar(patternDatabase), state);
+			packedSolver.run();
+
+			assertTrue(packedSolver.hasSolution());
+			assertFalse(packedSolver.hasFailed());
+			assertTrue(packedSolver.getStep(packedSolver.getStepCount() - 1).hasPieces(FINISHED_STATE));
+			// Both searches are optimal
+			assertEquals(solver.getStepCount(), packedSolver.getStepCount());
+		}
+	}
+
+	@Test
+	public void testPackedSolverUnsolvable()
+	{
+		// Two tiles swapped
+		PuzzleState state = new PuzzleState(new int[]{1, 0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, -1});
+		PuzzleSolver solver = new PuzzleSolver(new PackedIDAStar(patternDatabase), state);
+		solver.run();
+
+		assertTrue(solver.hasFailed());
+	}
+
+	@Test
+	public void testPatternDatabaseCache()
+	{
+		assertTrue(patternDatabaseFile.exists());
+
+		PatternDatabase cached = new PatternDatabase(patternDatabaseFile);
+		assertArrayEquals(patternDatabase.getTables(), cached.getTables());
+		assertEquals(0, cached.computeValue(new PuzzleState(FINISHED_STATE)));
+	}
 }
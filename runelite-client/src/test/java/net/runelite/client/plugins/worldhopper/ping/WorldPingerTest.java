@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.worldhopper.ping;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.http.api.worlds.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorldPingerTest
+{
+	private static final int WORLDS = 24;
+	private static final int MAX_IN_FLIGHT = 4;
+	private static final int BATCH_SIZE = 5;
+
+	private final List<ServerSocket> listeners = new ArrayList<>();
+	private final Map<Integer, Integer> ports = new HashMap<>();
+	private final List<World> worlds = new ArrayList<>();
+	private int closedWorld;
+
+	@Before
+	public void before() throws IOException
+	{
+		InetAddress loopback = InetAddress.getLoopbackAddress();
+		for (int i = 0; i < WORLDS; ++i)
+		{
+			int id = 301 + i;
+			// the kernel completes the handshake from the listen backlog, so nothing needs to accept
+			ServerSocket listener = new ServerSocket(0, 50, loopback);
+			listeners.add(listener);
+			ports.put(id, listener.getLocalPort());
+			worlds.add(World.builder().id(id).address(loopback.getHostAddress()).build());
+		}
+
+		// a world whose server is down refuses the connection
+		closedWorld = 301 + WORLDS;
+		try (ServerSocket closed = new ServerSocket(0, 50, loopback))
+		{
+			ports.put(closedWorld, closed.getLocalPort());
+		}
+		worlds.add(World.builder().id(closedWorld).address(loopback.getHostAddress()).build());
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		for (ServerSocket listener : listeners)
+		{
+			listener.close();
+		}
+	}
+
+	private int tcpPing(World world)
+	{
+		try
+		{
+			return Ping.tcpPing(new InetSocketAddress(world.getAddress(), ports.get(world.getId())));
+		}
+		catch (IOException ex)
+		{
+			return -1;
+		}
+	}
+
+	@Test
+	public void testPingAll() throws Exception
+	{
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		List<Map<Integer, Integer>> batches = new ArrayList<>();
+
+		WorldPinger pinger = new WorldPinger(world ->
+		{
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try
+			{
+				// hold the probe open long enough for the pool to fill up
+				Thread.sleep(10);
+				return tcpPing(world);
+			}
+			catch (InterruptedException ex)
+			{
+				return -1;
+			}
+			finally
+			{
+				inFlight.decrementAndGet();
+			}
+		}, MAX_IN_FLIGHT, BATCH_SIZE, batch ->
+		{
+			synchronized (batches)
+			{
+				batches.add(batch);
+			}
+		});
+
+		try
+		{
+			CompletableFuture<Void> pass = pinger.pingAll(worlds);
+			assertNotNull(pass);
+			pass.get(10, TimeUnit.SECONDS);
+
+			assertTrue(maxInFlight.get() <= MAX_IN_FLIGHT);
+
+			Map<Integer, Integer> published = new HashMap<>();
+			for (Map<Integer, Integer> batch : batches)
+			{
+				assertTrue(batch.size() <= BATCH_SIZE);
+				published.putAll(batch);
+			}
+			assertEquals(worlds.size(), published.size());
+
+			for (World world : worlds)
+			{
+				int ping = published.get(world.getId());
+				if (world.getId() == closedWorld)
+				{
+					assertEquals(-1, ping);
+				}
+				else
+				{
+					assertTrue(ping >= 0);
+				}
+				assertEquals(ping, (int) pinger.getPing(world.getId()));
+			}
+		}
+		finally
+		{
+			pinger.shutdown();
+		}
+	}
+
+	@Test
+	public void testPassesDoNotOverlap() throws Exception
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		WorldPinger pinger = new WorldPinger(world ->
+		{
+			try
+			{
+				release.await();
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return tcpPing(world);
+		}, MAX_IN_FLIGHT, BATCH_SIZE, batch ->
+		{
+		});
+
+		try
+		{
+			CompletableFuture<Void> pass = pinger.pingAll(worlds);
+			assertNotNull(pass);
+			assertNull(pinger.pingAll(worlds));
+
+			release.countDown();
+			pass.get(10, TimeUnit.SECONDS);
+
+			CompletableFuture<Void> next = pinger.pingAll(worlds);
+			assertNotNull(next);
+			next.get(10, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			pinger.shutdown();
+		}
+	}
+
+	@Test
+	public void testSmoothing()
+	{
+		WorldPinger pinger = new WorldPinger(world -> -1, 1, 1, batch ->
+		{
+		});
+
+		try
+		{
+			assertNull(pinger.getPing(301));
+			assertEquals(-1, pinger.record(301, -1));
+
+			assertEquals(100, pinger.record(301, 100));
+			assertEquals(125, pinger.record(301, 200));
+			assertEquals(119, pinger.record(301, 100));
+
+			// a dropped probe keeps the previous estimate
+			for (int i = 1; i < WorldPinger.MAX_FAILURES; ++i)
+			{
+				assertEquals(119, pinger.record(301, -1));
+			}
+			assertEquals(-1, pinger.record(301, -1));
+			assertEquals(-1, (int) pinger.getPing(301));
+
+			// and the next successful probe starts over
+			assertEquals(80, pinger.record(301, 80));
+		}
+		finally
+		{
+			pinger.shutdown();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.xptracker;
+
+import static net.runelite.client.plugins.xptracker.XpRateRecorder.BUCKET_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class XpRateRecorderTest
+{
+	@Test
+	public void testWindows()
+	{
+		XpRateRecorder recorder = new XpRateRecorder();
+
+		// 1000 xp every 15 seconds for 30 minutes, then nothing for 10 minutes
+		for (int i = 0; i < 120; ++i)
+		{
+			recorder.record(1000);
+			recorder.advance(BUCKET_MILLIS);
+		}
+
+		// 4000 xp/min
+		assertEquals(240_000, recorder.getXpHr5m());
+		assertEquals(240_000, recorder.getXpHr15m());
+		// only 30 minutes have passed
+		assertEquals(240_000, recorder.getXpHr1h());
+
+		recorder.advance(10 * 60 * 1000);
+		assertEquals(0, recorder.getXpHr5m());
+		// the window is 59 whole buckets plus the (empty) current bucket, 19 of which had xp
+		assertEquals(19_000 * 3_600_000L / (59 * BUCKET_MILLIS), recorder.getXpHr15m());
+		// 30 of the last 40 minutes had xp
+		assertEquals(180_000, recorder.getXpHr1h());
+
+		recorder.advance(60 * 60 * 1000);
+		assertEquals(0, recorder.getXpHr1h());
+	}
+
+	@Test
+	public void testFirstMinute()
+	{
+		XpRateRecorder recorder = new XpRateRecorder();
+		recorder.record(500);
+		recorder.advance(1000);
+		// treated as a minute rather than one second
+		assertEquals(30_000, recorder.getXpHr5m());
+	}
+
+	@Test
+	public void testSaveRestore()
+	{
+		XpRateRecorder recorder = new XpRateRecorder();
+		long time = 0;
+		// a 6 hour session with xp every other bucket
+		for (int i = 0; i < 6 * 240; ++i)
+		{
+			if (i % 2 == 0)
+			{
+				recorder.record(100 + i);
+			}
+			recorder.advance(BUCKET_MILLIS);
+			time += BUCKET_MILLIS;
+		}
+		recorder.advance(BUCKET_MILLIS / 3);
+		time += BUCKET_MILLIS / 3;
+
+		String save = recorder.save();
+		// the save covers only the last hour
+		assertTrue(save.length() < 1024);
+
+		XpRateRecorder restored = new XpRateRecorder();
+		restored.restore(save, time);
+		assertEquals(recorder.getXpHr5m(), restored.getXpHr5m());
+		assertEquals(recorder.getXpHr15m(), restored.getXpHr15m());
+		assertEquals(recorder.getXpHr1h(), restored.getXpHr1h());
+		assertEquals(save, restored.save());
+
+		restored.restore("not base64!", time);
+		assertEquals(0, restored.getXpHr1h());
+	}
+}
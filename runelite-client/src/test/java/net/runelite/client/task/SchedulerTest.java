@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.lang.reflect.Method;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SchedulerTest
+{
+	private Scheduler scheduler;
+	private int runs;
+
+	@Before
+	public void before()
+	{
+		scheduler = new Scheduler();
+		scheduler.executor = mock(ScheduledExecutorService.class);
+	}
+
+	@Schedule(period = 0, unit = ChronoUnit.MILLIS)
+	public void everyTick()
+	{
+		++runs;
+	}
+
+	@Schedule(period = 1, unit = ChronoUnit.HOURS)
+	public void hourly()
+	{
+		++runs;
+	}
+
+	@Schedule(period = 0, unit = ChronoUnit.MILLIS, asynchronous = true)
+	public void async()
+	{
+		++runs;
+	}
+
+	@Test
+	public void testDueTasksRun() throws Exception
+	{
+		ScheduledMethod method = schedule("everyTick");
+
+		scheduler.tick();
+		scheduler.tick();
+
+		assertEquals(2, runs);
+		assertEquals(2, method.getRuns());
+	}
+
+	@Test
+	public void testTasksNotDueDontRun() throws Exception
+	{
+		ScheduledMethod method = schedule("hourly");
+
+		scheduler.tick();
+
+		assertEquals(0, runs);
+		assertEquals(0, method.getRuns());
+	}
+
+	@Test
+	public void testRemovedTasksDontRun() throws Exception
+	{
+		ScheduledMethod method = schedule("everyTick");
+		scheduler.removeScheduledMethod(method);
+
+		scheduler.tick();
+
+		assertEquals(0, runs);
+		assertEquals(0, scheduler.getScheduledMethods().size());
+	}
+
+	@Test
+	public void testAsyncTasksAreCoalesced() throws Exception
+	{
+		ScheduledMethod method = schedule("async");
+
+		// the executor never runs the first submission, so the task is still running on the next ticks
+		scheduler.tick();
+		scheduler.tick();
+		scheduler.tick();
+
+		verify(scheduler.executor, times(1)).submit(any(Runnable.class));
+		assertEquals(2, method.getMissedDeadlines());
+	}
+
+	private ScheduledMethod schedule(String name) throws NoSuchMethodException
+	{
+		Method method = SchedulerTest.class.getMethod(name);
+		ScheduledMethod scheduledMethod = new ScheduledMethod(method.getAnnotation(Schedule.class), method, this, null);
+		scheduler.addScheduledMethod(scheduledMethod);
+		return scheduledMethod;
+	}
+}
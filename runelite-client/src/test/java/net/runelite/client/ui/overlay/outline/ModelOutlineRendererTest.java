@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GraphicsObject;
+import net.runelite.api.MainBufferProvider;
+import net.runelite.api.Model;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@Slf4j
+@RunWith(MockitoJUnitRunner.class)
+public class ModelOutlineRendererTest
+{
+	private static final int BASE_X = 6400;
+	private static final int BASE_Y = 6400;
+
+	@Inject
+	private ModelOutlineRenderer modelOutlineRenderer;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	private MainBufferProvider bufferProvider;
+
+	@Mock
+	private WorldView worldView;
+
+	private final BufferedImage image = new BufferedImage(765, 503, BufferedImage.TYPE_INT_RGB);
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.getBufferProvider()).thenReturn(bufferProvider);
+		when(bufferProvider.getImage()).thenReturn(image);
+		when(worldView.isTopLevel()).thenReturn(true);
+
+		when(client.getViewportXOffset()).thenReturn(4);
+		when(client.getViewportYOffset()).thenReturn(4);
+		when(client.getViewportWidth()).thenReturn(512);
+		when(client.getViewportHeight()).thenReturn(334);
+		when(client.getScale()).thenReturn(512);
+
+		// Looking straight down the y axis at the row of models
+		when(client.getCameraX()).thenReturn(BASE_X);
+		when(client.getCameraY()).thenReturn(BASE_Y - 2500);
+		when(client.getCameraZ()).thenReturn(0);
+		when(client.getCameraPitch()).thenReturn(0);
+		when(client.getCameraYaw()).thenReturn(0);
+	}
+
+	@Test
+	public void testBatchMatchesImmediate()
+	{
+		List<GraphicsObject> objects = createObjects(24);
+
+		clearImage();
+		drawAll(objects, 0, objects.size());
+		int[] immediate = pixels().clone();
+
+		clearImage();
+		modelOutlineRenderer.beginBatch();
+		try
+		{
+			drawAll(objects, 0, objects.size());
+			// Nothing is drawn until the batch ends
+			assertTrue(Arrays.stream(pixels()).allMatch(p -> p == 0));
+		}
+		finally
+		{
+			modelOutlineRenderer.endBatch();
+		}
+
+		assertTrue(Arrays.stream(immediate).anyMatch(p -> p != 0));
+		assertArrayEquals(immediate, pixels());
+	}
+
+	@Test
+	public void testNestedBatch()
+	{
+		List<GraphicsObject> objects = createObjects(4);
+
+		clearImage();
+		drawAll(objects, 0, objects.size());
+		int[] immediate = pixels().clone();
+
+		clearImage();
+		modelOutlineRenderer.beginBatch();
+		modelOutlineRenderer.beginBatch();
+		drawAll(objects, 0, 2);
+		modelOutlineRenderer.endBatch();
+		assertTrue(Arrays.stream(pixels()).allMatch(p -> p == 0));
+		drawAll(objects, 2, 4);
+		modelOutlineRenderer.endBatch();
+
+		assertArrayEquals(immediate, pixels());
+	}
+
+	@Test
+	public void testBatchCopiesFaces()
+	{
+		List<GraphicsObject> objects = createObjects(8);
+
+		clearImage();
+		drawAll(objects, 0, objects.size());
+		int[] immediate = pixels().clone();
+
+		clearImage();
+		modelOutlineRenderer.beginBatch();
+		try
+		{
+			drawAll(objects, 0, objects.size());
+			// the client reuses the face arrays of shared models before the batch is drawn
+			for (GraphicsObject object : objects)
+			{
+				Model model = object.getModel();
+				Arrays.fill(model.getFaceIndices1(), 0);
+				Arrays.fill(model.getFaceIndices2(), 0);
+				Arrays.fill(model.getFaceIndices3(), 0);
+			}
+		}
+		finally
+		{
+			modelOutlineRenderer.endBatch();
+		}
+
+		assertArrayEquals(immediate, pixels());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnbalancedEndBatch()
+	{
+		modelOutlineRenderer.endBatch();
+	}
+
+	@Test
+	@Ignore
+	public void testBatchPerformance()
+	{
+		List<GraphicsObject> objects = createObjects(48);
+
+		long immediate = Long.MAX_VALUE;
+		long batched = Long.MAX_VALUE;
+		for (int pass = 0; pass < 20; pass++)
+		{
+			long start = System.nanoTime();
+			drawAll(objects, 0, objects.size());
+			immediate = Math.min(immediate, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			modelOutlineRenderer.beginBatch();
+			try
+			{
+				drawAll(objects, 0, objects.size());
+			}
+			finally
+			{
+				modelOutlineRenderer.endBatch();
+			}
+			batched = Math.min(batched, System.nanoTime() - start);
+		}
+
+		log.info("{} outlines on {} cores: immediate {}us, batched {}us", objects.size(),
+			Runtime.getRuntime().availableProcessors(), immediate / 1000, batched / 1000);
+	}
+
+	private void drawAll(List<GraphicsObject> objects, int from, int to)
+	{
+		for (int i = from; i < to; i++)
+		{
+			// Mix of directly written and queued outlines
+			switch (i % 4)
+			{
+				case 0:
+					modelOutlineRenderer.drawOutline(objects.get(i), 1, Color.RED, 0);
+					break;
+				case 1:
+					modelOutlineRenderer.drawOutline(objects.get(i), 4, Color.GREEN, 0);
+					break;
+				case 2:
+					modelOutlineRenderer.drawOutline(objects.get(i), 6, new Color(0, 0, 255, 128), 2);
+					break;
+				default:
+					modelOutlineRenderer.drawOutline(objects.get(i), 12, Color.YELLOW, 4);
+					break;
+			}
+		}
+	}
+
+	private List<GraphicsObject> createObjects(int count)
+	{
+		List<GraphicsObject> objects = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+		{
+			// Spread across the viewport with neighbours overlapping
+			int x = BASE_X + (i % 8 - 4) * 300;
+			int y = BASE_Y + (i / 8) * 400;
+			LocalPoint location = new LocalPoint(x, y, worldView);
+			Model model = createCube(150 + (i % 3) * 50);
+			GraphicsObject object = mock(GraphicsObject.class);
+			when(object.getLocation()).thenReturn(location);
+			when(object.getModel()).thenReturn(model);
+			when(object.getWorldView()).thenReturn(worldView);
+			objects.add(object);
+		}
+		return objects;
+	}
+
+	private static Model createCube(int size)
+	{
+		float[] vx = new float[8];
+		float[] vy = new float[8];
+		float[] vz = new float[8];
+		for (int i = 0; i < 8; i++)
+		{
+			vx[i] = (i & 1) == 0 ? -size : size;
+			vy[i] = (i & 2) == 0 ? -size : size;
+			vz[i] = (i & 4) == 0 ? -size : size;
+		}
+
+		// Each face of the cube in both windings so culling always leaves the front faces
+		int[][] quads = {{0, 1, 3, 2}, {4, 5, 7, 6}, {0, 1, 5, 4}, {2, 3, 7, 6}, {0, 2, 6, 4}, {1, 3, 7, 5}};
+		int[] f1 = new int[quads.length * 4];
+		int[] f2 = new int[quads.length * 4];
+		int[] f3 = new int[quads.length * 4];
+		int face = 0;
+		for (int[] q : quads)
+		{
+			for (int[] tri : new int[][]{{q[0], q[1], q[2]}, {q[0], q[2], q[3]}, {q[2], q[1], q[0]}, {q[3], q[2], q[0]}})
+			{
+				f1[face] = tri[0];
+				f2[face] = tri[1];
+				f3[face] = tri[2];
+				face++;
+			}
+		}
+
+		Model model = mock(Model.class);
+		when(model.getVerticesCount()).thenReturn(8);
+		when(model.getVerticesX()).thenReturn(vx);
+		when(model.getVerticesY()).thenReturn(vy);
+		when(model.getVerticesZ()).thenReturn(vz);
+		when(model.getFaceCount()).thenReturn(face);
+		when(model.getFaceIndices1()).thenReturn(f1);
+		when(model.getFaceIndices2()).thenReturn(f2);
+		when(model.getFaceIndices3()).thenReturn(f3);
+		return model;
+	}
+
+	private void clearImage()
+	{
+		Arrays.fill(pixels(), 0);
+	}
+
+	private int[] pixels()
+	{
+		return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+}
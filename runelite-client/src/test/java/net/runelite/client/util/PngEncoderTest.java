@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Ignore;
+import org.junit.Test;
+
+@Slf4j
+public class PngEncoderTest
+{
+	private static BufferedImage scene(int width, int height, int type)
+	{
+		BufferedImage image = new BufferedImage(width, height, type);
+		Random random = new Random(42);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		graphics.setPaint(new GradientPaint(0, 0, new Color(40, 60, 90), 0, height, new Color(90, 120, 60)));
+		graphics.fillRect(0, 0, width, height);
+
+		// smoothly shaded noise, a stand in for textured terrain
+		BufferedImage texture = new BufferedImage(64, 40, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < texture.getHeight(); ++y)
+		{
+			for (int x = 0; x < texture.getWidth(); ++x)
+			{
+				texture.setRGB(x, y, random.nextInt(0xffffff));
+			}
+		}
+		graphics.drawImage(texture, 0, 0, width, height * 2 / 3, null);
+
+		for (int i = 0; i < 200; ++i)
+		{
+			int x = random.nextInt(width);
+			int y = random.nextInt(height);
+			graphics.setColor(new Color(random.nextInt(0xffffff)));
+			graphics.fillPolygon(new int[]{x, x + random.nextInt(80) - 40, x + random.nextInt(80) - 40},
+				new int[]{y, y + random.nextInt(80) - 40, y + random.nextInt(80) - 40}, 3);
+		}
+		graphics.setColor(Color.YELLOW);
+		graphics.drawString("Congratulations, you've just advanced a Woodcutting level.", 10, height - 10);
+		graphics.dispose();
+		return image;
+	}
+
+	private static BufferedImage roundTrip(BufferedImage image, int compressionLevel) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PngEncoder.write(image, out, compressionLevel);
+		return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+	private static void assertSamePixels(BufferedImage expected, BufferedImage actual)
+	{
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		for (int y = 0; y < expected.getHeight(); ++y)
+		{
+			for (int x = 0; x < expected.getWidth(); ++x)
+			{
+				assertEquals("pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testRgb() throws IOException
+	{
+		BufferedImage image = scene(317, 211, BufferedImage.TYPE_INT_RGB);
+		for (int level = 0; level <= 9; level += 3)
+		{
+			BufferedImage decoded = roundTrip(image, level);
+			assertFalse(decoded.getColorModel().hasAlpha());
+			assertSamePixels(image, decoded);
+		}
+	}
+
+	@Test
+	public void testAlpha() throws IOException
+	{
+		BufferedImage image = scene(64, 48, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB(3, 5, 0x80ff0000);
+		image.setRGB(63, 47, 0);
+
+		BufferedImage decoded = roundTrip(image, PngEncoder.DEFAULT_COMPRESSION);
+		assertTrue(decoded.getColorModel().hasAlpha());
+		assertSamePixels(image, decoded);
+	}
+
+	@Test
+	public void testOpaqueArgbIsWrittenAsRgb() throws IOException
+	{
+		BufferedImage image = scene(64, 48, BufferedImage.TYPE_INT_ARGB);
+
+		BufferedImage decoded = roundTrip(image, PngEncoder.DEFAULT_COMPRESSION);
+		assertFalse(decoded.getColorModel().hasAlpha());
+		assertSamePixels(image, decoded);
+	}
+
+	@Test
+	public void testSubimage() throws IOException
+	{
+		BufferedImage image = scene(200, 100, BufferedImage.TYPE_INT_RGB);
+		// shares the parent's raster, so rows start part way into a wider scanline
+		assertSamePixels(image.getSubimage(13, 7, 101, 50), roundTrip(image.getSubimage(13, 7, 101, 50), 1));
+	}
+
+	@Test
+	public void testOtherImageTypes() throws IOException
+	{
+		BufferedImage image = scene(90, 60, BufferedImage.TYPE_3BYTE_BGR);
+		assertSamePixels(image, roundTrip(image, PngEncoder.DEFAULT_COMPRESSION));
+	}
+
+	@Test
+	@Ignore
+	public void testBenchmark() throws IOException
+	{
+		final BufferedImage image = scene(1280, 800, BufferedImage.TYPE_INT_RGB);
+		final int iterations = 10;
+		long imageIoTime = 0, encoderTime = 0;
+		int imageIoSize = 0, encoderSize = 0;
+
+		for (int i = 0; i < iterations * 2; ++i)
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			long start = System.nanoTime();
+			ImageIO.write(image, "PNG", out);
+			long imageIo = System.nanoTime() - start;
+			imageIoSize = out.size();
+
+			out = new ByteArrayOutputStream();
+			start = System.nanoTime();
+			PngEncoder.write(image, out, PngEncoder.DEFAULT_COMPRESSION);
+			long encoder = System.nanoTime() - start;
+			encoderSize = out.size();
+
+			// first half is warmup
+			if (i >= iterations)
+			{
+				imageIoTime += imageIo;
+				encoderTime += encoder;
+			}
+		}
+
+		log.info("ImageIO: {}ms, {} bytes", imageIoTime / iterations / 1_000_000, imageIoSize);
+		log.info("PngEncoder: {}ms, {} bytes", encoderTime / iterations / 1_000_000, encoderSize);
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Builds an index of the plugins in a package from the compiled classes, so that the
+ * client can find its plugins without scanning and loading every class on the classpath.
+ * <p>
+ * Each line of the index is a plugin class name followed by a tab and its {@code developerPlugin}
+ * flag, which lets the client skip loading developer plugins entirely. Everything else about a
+ * plugin is read from its annotations once it is loaded.
+ */
+@Mojo(
+	name = "plugin-index",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES
+)
+public class PluginIndexMojo extends AbstractMojo
+{
+	private static final String PLUGIN = "net/runelite/client/plugins/Plugin";
+	private static final String PLUGIN_DESCRIPTOR = "Lnet/runelite/client/plugins/PluginDescriptor;";
+
+	@Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+	private File classesDirectory;
+
+	@Parameter(required = true)
+	private String pluginPackage;
+
+	@Parameter(required = true)
+	private File indexFile;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		File packageDirectory = new File(classesDirectory, pluginPackage.replace('.', File.separatorChar));
+		if (!packageDirectory.isDirectory())
+		{
+			throw new MojoExecutionException("plugin package " + pluginPackage + " does not exist in " + classesDirectory);
+		}
+
+		// sorted so the index is reproducible
+		Map<String, PluginEntry> plugins = new TreeMap<>();
+		scan(packageDirectory, plugins);
+
+		indexFile.getParentFile().mkdirs();
+		try (PrintWriter out = new PrintWriter(indexFile, StandardCharsets.UTF_8))
+		{
+			for (PluginEntry entry : plugins.values())
+			{
+				out.print(entry.className);
+				out.print('\t');
+				out.print(entry.developerPlugin);
+				out.print('\n');
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing plugin index", ex);
+		}
+
+		getLog().info("Indexed " + plugins.size() + " plugins");
+	}
+
+	private void scan(File directory, Map<String, PluginEntry> plugins) throws MojoExecutionException
+	{
+		File[] files = directory.listFiles();
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			if (file.isDirectory())
+			{
+				scan(file, plugins);
+			}
+			// plugins are always top level classes
+			else if (file.getName().endsWith(".class") && file.getName().indexOf('$') == -1)
+			{
+				PluginEntry entry = read(file);
+				if (entry != null)
+				{
+					plugins.put(entry.className, entry);
+				}
+			}
+		}
+	}
+
+	private static PluginEntry read(File file) throws MojoExecutionException
+	{
+		ClassReader reader;
+		try (InputStream in = new FileInputStream(file))
+		{
+			reader = new ClassReader(in);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("unable to read class " + file, ex);
+		}
+
+		PluginEntry entry = new PluginEntry(reader.getClassName().replace('/', '.'));
+		reader.accept(new ClassVisitor(Opcodes.ASM9)
+		{
+			@Override
+			public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
+			{
+				if (!PLUGIN_DESCRIPTOR.equals(descriptor))
+				{
+					return null;
+				}
+
+				entry.descriptor = true;
+				return new AnnotationVisitor(Opcodes.ASM9)
+				{
+					@Override
+					public void visit(String name, Object value)
+					{
+						if ("developerPlugin".equals(name))
+						{
+							entry.developerPlugin = (Boolean) value;
+						}
+					}
+				};
+			}
+		}, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+		// classes which extend Plugin without a descriptor are kept so the client can report them
+		if (!entry.descriptor && !PLUGIN.equals(reader.getSuperName()))
+		{
+			return null;
+		}
+		return entry;
+	}
+
+	private static class PluginEntry
+	{
+		private final String className;
+		private boolean descriptor;
+		private boolean developerPlugin;
+
+		PluginEntry(String className)
+		{
+			this.className = className;
+		}
+	}
+}
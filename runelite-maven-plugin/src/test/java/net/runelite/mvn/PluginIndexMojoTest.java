@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+public class PluginIndexMojoTest
+{
+	private static final String PLUGIN = "net/runelite/client/plugins/Plugin";
+	private static final String PLUGIN_DESCRIPTOR = "Lnet/runelite/client/plugins/PluginDescriptor;";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testIndex() throws Exception
+	{
+		File classes = folder.newFolder("classes");
+		writeClass(classes, "net/runelite/client/plugins/zoo/ZooPlugin", PLUGIN, true, false);
+		writeClass(classes, "net/runelite/client/plugins/zoo/ZooPlugin$Inner", PLUGIN, true, false);
+		writeClass(classes, "net/runelite/client/plugins/zoo/ZooConfig", "java/lang/Object", false, false);
+		writeClass(classes, "net/runelite/client/plugins/devtools/DevToolsPlugin", PLUGIN, true, true);
+		writeClass(classes, "net/runelite/client/plugins/broken/BrokenPlugin", PLUGIN, false, false);
+		writeClass(classes, "net/runelite/client/plugins/broken/NotAPlugin", "java/lang/Object", true, false);
+		// outside of the plugin package
+		writeClass(classes, "net/runelite/client/OtherPlugin", PLUGIN, true, false);
+
+		File index = new File(folder.getRoot(), "out/plugins.index");
+		PluginIndexMojo mojo = new PluginIndexMojo();
+		set(mojo, "classesDirectory", classes);
+		set(mojo, "pluginPackage", "net.runelite.client.plugins");
+		set(mojo, "indexFile", index);
+		mojo.execute();
+
+		// plugins without a descriptor, and descriptors on non plugins, are indexed so the client can report them
+		assertEquals(List.of(
+			"net.runelite.client.plugins.broken.BrokenPlugin\tfalse",
+			"net.runelite.client.plugins.broken.NotAPlugin\tfalse",
+			"net.runelite.client.plugins.devtools.DevToolsPlugin\ttrue",
+			"net.runelite.client.plugins.zoo.ZooPlugin\tfalse"
+		), Files.readAllLines(index.toPath()));
+	}
+
+	private static void writeClass(File classes, String name, String superName, boolean descriptor, boolean developerPlugin) throws IOException
+	{
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, null);
+		if (descriptor)
+		{
+			AnnotationVisitor av = cw.visitAnnotation(PLUGIN_DESCRIPTOR, true);
+			av.visit("name", name.substring(name.lastIndexOf('/') + 1));
+			if (developerPlugin)
+			{
+				av.visit("developerPlugin", true);
+			}
+			av.visitEnd();
+		}
+		cw.visitEnd();
+
+		File file = new File(classes, name + ".class");
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), cw.toByteArray());
+	}
+
+	private static void set(Object target, String field, Object value) throws ReflectiveOperationException
+	{
+		Field f = target.getClass().getDeclaredField(field);
+		f.setAccessible(true);
+		f.set(target, value);
+	}
+}